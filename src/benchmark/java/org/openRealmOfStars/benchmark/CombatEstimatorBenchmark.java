@@ -0,0 +1,155 @@
+package org.openRealmOfStars.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.player.combat.CombatEstimate;
+import org.openRealmOfStars.player.combat.CombatEstimator;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.player.ship.Ship;
+import org.openRealmOfStars.player.ship.ShipSize;
+import org.openRealmOfStars.player.ship.generator.ShipGenerator;
+import org.openRealmOfStars.player.ship.shipdesign.ShipDesign;
+import org.openRealmOfStars.player.tech.TechFactory;
+import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmark for combat estimator. Cache is cleared before every call,
+ * so each call simulates the combat several times.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CombatEstimatorBenchmark {
+
+  /**
+   * Seed for combat random
+   */
+  private static final long SEED = 20220102L;
+
+  /**
+   * Number of ships in both fleets
+   */
+  @Param({"1", "4"})
+  private int fleetSize;
+
+  /**
+   * Attacking realm
+   */
+  private PlayerInfo attacker;
+
+  /**
+   * Defending realm
+   */
+  private PlayerInfo defender;
+
+  /**
+   * Attacking fleet
+   */
+  private Fleet attackerFleet;
+
+  /**
+   * Defending fleet
+   */
+  private Fleet defenderFleet;
+
+  /**
+   * Create realm with few military techs.
+   * @param race Space race
+   * @param name Empire name
+   * @return PlayerInfo
+   */
+  private static PlayerInfo createRealm(final SpaceRace race,
+      final String name) {
+    PlayerInfo info = new PlayerInfo(race);
+    info.setEmpireName(name);
+    info.getTechList().addTech(TechFactory.createCombatTech(
+        "Photon torpedo Mk2", 2));
+    info.getTechList().addTech(TechFactory.createDefenseTech("Shield Mk2",
+        2));
+    info.getTechList().addTech(TechFactory.createHullTech("Destroyer Mk1",
+        1));
+    return info;
+  }
+
+  /**
+   * Create fleet of battle ships.
+   * @param info Realm owning the fleet
+   * @param x Fleet X coordinate
+   * @param y Fleet Y coordinate
+   * @return Fleet
+   */
+  private Fleet createFleet(final PlayerInfo info, final int x,
+      final int y) {
+    ShipDesign design = ShipGenerator.createBattleShip(info,
+        ShipSize.MEDIUM, false, false);
+    if (design == null) {
+      design = ShipGenerator.createBattleShip(info, ShipSize.SMALL, false,
+          false);
+    }
+    Fleet fleet = new Fleet(new Ship(design), x, y);
+    for (int i = 1; i < fleetSize; i++) {
+      fleet.addShip(new Ship(design));
+    }
+    info.getFleets().add(fleet);
+    return fleet;
+  }
+
+  /**
+   * Create realms and fleets once.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    DiceGenerator.initializeDeterministic(SEED);
+    attacker = createRealm(SpaceRace.HUMAN, "Terran alliance");
+    defender = createRealm(SpaceRace.SPORKS, "Spork empire");
+    attackerFleet = createFleet(attacker, 5, 5);
+    defenderFleet = createFleet(defender, 6, 5);
+  }
+
+  /**
+   * Estimate combat without cached result.
+   * @return Combat estimate
+   */
+  @Benchmark
+  public CombatEstimate estimate() {
+    CombatEstimator.clearCache();
+    return CombatEstimator.estimate(attackerFleet, attacker, defenderFleet,
+        defender, null);
+  }
+}
@@ -0,0 +1,150 @@
+package org.openRealmOfStars.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.ship.ShipComponent;
+import org.openRealmOfStars.player.ship.ShipComponentFactory;
+import org.openRealmOfStars.player.ship.ShipStat;
+import org.openRealmOfStars.player.tech.Tech;
+import org.openRealmOfStars.player.tech.TechFactory;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.starMap.planet.BuildingFactory;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openRealmOfStars.starMap.planet.construction.Building;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmarks for name lookups done while loading a game. Names are
+ * collected from fixture galaxy so lookups match what loading the same
+ * galaxy does. SaveGameBenchmark.loadGame shows the effect on whole load.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FactoryLookupBenchmark {
+
+  /**
+   * Tech names of all realms
+   */
+  private String[] techNames;
+
+  /**
+   * Component names of all realms' ship designs
+   */
+  private String[] componentNames;
+
+  /**
+   * Building names of all planets
+   */
+  private String[] buildingNames;
+
+  /**
+   * Collect names from fixture galaxy.
+   * @param fixture Galaxy fixture
+   */
+  @Setup(Level.Trial)
+  public void setup(final GalaxyFixture fixture) {
+    StarMap map = fixture.getStarMap();
+    ArrayList<String> techs = new ArrayList<>();
+    ArrayList<String> components = new ArrayList<>();
+    ArrayList<String> buildings = new ArrayList<>();
+    for (int i = 0; i < map.getPlayerList().getCurrentMaxPlayers(); i++) {
+      PlayerInfo info = map.getPlayerList().getPlayerInfoByIndex(i);
+      for (Tech tech : info.getTechList().getList()) {
+        techs.add(tech.getName());
+      }
+      for (ShipStat stat : info.getShipStatList()) {
+        for (ShipComponent component : stat.getDesign().getComponentList()) {
+          components.add(component.getName());
+        }
+      }
+    }
+    for (Planet planet : map.getPlanetList()) {
+      for (Building building : planet.getBuildingList()) {
+        buildings.add(building.getName());
+      }
+    }
+    techNames = techs.toArray(new String[techs.size()]);
+    componentNames = components.toArray(new String[components.size()]);
+    buildingNames = buildings.toArray(new String[buildings.size()]);
+  }
+
+  /**
+   * Find all techs by name.
+   * @return Number of techs found
+   */
+  @Benchmark
+  public int findTech() {
+    int found = 0;
+    for (String name : techNames) {
+      if (TechFactory.findTech(name) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Create all ship components by name.
+   * @return Number of components created
+   */
+  @Benchmark
+  public int createComponentByName() {
+    int found = 0;
+    for (String name : componentNames) {
+      if (ShipComponentFactory.createByName(name) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Create all buildings by name.
+   * @return Number of buildings created
+   */
+  @Benchmark
+  public int createBuildingByName() {
+    int found = 0;
+    for (String name : buildingNames) {
+      if (BuildingFactory.createByName(name) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+}
@@ -0,0 +1,75 @@
+package org.openRealmOfStars.benchmark;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Sizes of fixture galaxies used in benchmarks.
+ *
+ */
+public enum FixtureSize {
+
+  /**
+   * Very small galaxy with four realms.
+   */
+  SMALL(50, 4),
+  /**
+   * Medium galaxy with eight realms.
+   */
+  MEDIUM(128, 8),
+  /**
+   * Huge galaxy with maximum number of realms.
+   */
+  HUGE(256, 16);
+
+  /**
+   * Galaxy side length
+   */
+  private final int galaxySize;
+
+  /**
+   * Number of realms
+   */
+  private final int realms;
+
+  /**
+   * Constructor for fixture size
+   * @param galaxySize Galaxy side length
+   * @param realms Number of realms
+   */
+  FixtureSize(final int galaxySize, final int realms) {
+    this.galaxySize = galaxySize;
+    this.realms = realms;
+  }
+
+  /**
+   * Get galaxy side length
+   * @return Galaxy side length
+   */
+  public int getGalaxySize() {
+    return galaxySize;
+  }
+
+  /**
+   * Get number of realms
+   * @return Number of realms
+   */
+  public int getRealms() {
+    return realms;
+  }
+}
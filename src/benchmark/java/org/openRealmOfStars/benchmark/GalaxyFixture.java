@@ -0,0 +1,110 @@
+package org.openRealmOfStars.benchmark;
+
+import org.openRealmOfStars.audio.music.MusicPlayer;
+import org.openRealmOfStars.audio.soundeffect.SoundPlayer;
+import org.openRealmOfStars.game.simulation.AiSimulation;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Fixture galaxy for benchmarks. Galaxy is generated with fixed seed
+ * and AI plays few turns so that map has realms, fleets and colonized
+ * planets. Same size always gives the same galaxy.
+ *
+ */
+@State(Scope.Benchmark)
+public class GalaxyFixture {
+
+  /**
+   * Seed used for all fixture galaxies
+   */
+  public static final long SEED = 20220101L;
+
+  /**
+   * Number of AI turns played before benchmarking
+   */
+  public static final int TURNS = 5;
+
+  /**
+   * Fixture galaxy size
+   */
+  @Param({"SMALL", "MEDIUM", "HUGE"})
+  private FixtureSize size;
+
+  /**
+   * Generated star map
+   */
+  private StarMap map;
+
+  /**
+   * Create fixture galaxy for certain size.
+   * @param fixtureSize Fixture size
+   * @return StarMap
+   */
+  public static StarMap createStarMap(final FixtureSize fixtureSize) {
+    System.setProperty("java.awt.headless", "true");
+    MusicPlayer.setMusicEnabled(false);
+    SoundPlayer.setSoundEnabled(false);
+    DiceGenerator.initializeDeterministic(SEED);
+    AiSimulation simulation = new AiSimulation(AiSimulation.createConfig(
+        fixtureSize.getRealms(), fixtureSize.getGalaxySize()), TURNS);
+    simulation.run();
+    return simulation.getGame().getStarMap();
+  }
+
+  /**
+   * Generate the galaxy.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    map = createStarMap(size);
+  }
+
+  /**
+   * Turn off deterministic random after benchmark.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    DiceGenerator.disableDeterministic();
+  }
+
+  /**
+   * Get fixture size
+   * @return Fixture size
+   */
+  public FixtureSize getSize() {
+    return size;
+  }
+
+  /**
+   * Get fixture star map
+   * @return StarMap
+   */
+  public StarMap getStarMap() {
+    return map;
+  }
+}
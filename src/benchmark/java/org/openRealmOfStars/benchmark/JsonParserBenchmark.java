@@ -0,0 +1,108 @@
+package org.openRealmOfStars.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.utilities.json.JsonParser;
+import org.openRealmOfStars.utilities.json.JsonStream;
+import org.openRealmOfStars.utilities.json.values.JsonRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmark for JSON parsing. Document is similar to light list
+ * which is read from Hue bridge, with given number of lights.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonParserBenchmark {
+
+  /**
+   * Number of light objects in document
+   */
+  @Param({"10", "100", "1000"})
+  private int lights;
+
+  /**
+   * Document to parse
+   */
+  private byte[] document;
+
+  /**
+   * Create the document.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    for (int i = 0; i < lights; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append("\"");
+      sb.append(i + 1);
+      sb.append("\": {\"state\": {\"on\": ");
+      sb.append(i % 2 == 0);
+      sb.append(", \"bri\": ");
+      sb.append(i % 255);
+      sb.append(", \"hue\": ");
+      sb.append(i * 100 % 65535);
+      sb.append(", \"sat\": 254, \"xy\": [0.4573, 0.41],");
+      sb.append(" \"alert\": \"none\", \"reachable\": true},");
+      sb.append(" \"type\": \"Extended color light\",");
+      sb.append(" \"name\": \"Light \\\"");
+      sb.append(i);
+      sb.append("\\\"\", \"modelid\": \"LCT015\", \"swversion\": null}");
+    }
+    sb.append("}");
+    document = sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Parse the document.
+   * @return Parsed root
+   * @throws IOException If parsing fails
+   */
+  @Benchmark
+  public JsonRoot parseJson() throws IOException {
+    JsonStream stream = new JsonStream(document);
+    JsonParser parser = new JsonParser();
+    JsonRoot root = parser.parseJson(stream);
+    stream.close();
+    return root;
+  }
+}
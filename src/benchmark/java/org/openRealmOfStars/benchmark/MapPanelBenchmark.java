@@ -0,0 +1,107 @@
+package org.openRealmOfStars.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.gui.mapPanel.MapPanel;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmark for drawing star map view on full HD screen. Map is not
+ * changed between frames, which is the usual case since map is redrawn
+ * by animation timer. Full redraw shows cost without cached layers.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapPanelBenchmark {
+
+  /**
+   * Screen width used for map panel
+   */
+  private static final int SCREEN_WIDTH = 1920;
+  /**
+   * Screen height used for map panel
+   */
+  private static final int SCREEN_HEIGHT = 1080;
+
+  /**
+   * Draw all layers from scratch on every frame
+   */
+  @Param({"false", "true"})
+  private boolean fullRedraw;
+
+  /**
+   * Map panel to draw
+   */
+  private MapPanel panel;
+
+  /**
+   * Star map to draw
+   */
+  private StarMap map;
+
+  /**
+   * Create map panel centered on current realm's first planet.
+   * @param fixture Galaxy fixture
+   */
+  @Setup(Level.Trial)
+  public void setup(final GalaxyFixture fixture) {
+    map = fixture.getStarMap();
+    PlayerInfo info = map.getCurrentPlayerInfo();
+    for (Planet planet : map.getPlanetList()) {
+      if (planet.getPlanetPlayerInfo() == info) {
+        map.setDrawPos(planet.getX(), planet.getY());
+        break;
+      }
+    }
+    panel = new MapPanel(false);
+    panel.setSize(SCREEN_WIDTH, SCREEN_HEIGHT);
+    panel.setFullRedraw(fullRedraw);
+  }
+
+  /**
+   * Draw single star map frame.
+   * @return Number of sectors drawn into map layer so far
+   */
+  @Benchmark
+  public long drawMap() {
+    panel.drawMap(map);
+    return panel.getRedrawnSectors();
+  }
+}
@@ -0,0 +1,106 @@
+package org.openRealmOfStars.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.AI.Mission.Mission;
+import org.openRealmOfStars.AI.Mission.MissionList;
+import org.openRealmOfStars.AI.Mission.MissionPhase;
+import org.openRealmOfStars.AI.Mission.MissionType;
+import org.openRealmOfStars.starMap.Coordinate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmark for mission list lookups done for every fleet and sun
+ * during AI turn.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MissionListBenchmark {
+
+  /**
+   * Number of missions in list
+   */
+  @Param({"50", "400"})
+  private int missions;
+
+  /**
+   * Mission list to search
+   */
+  private MissionList list;
+
+  /**
+   * Create mission list with one mission for each fleet and sun.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    MissionType[] types = {MissionType.EXPLORE, MissionType.ATTACK,
+        MissionType.DEFEND, MissionType.COLONIZE, MissionType.GATHER };
+    MissionPhase[] phases = {MissionPhase.PLANNING, MissionPhase.TREKKING,
+        MissionPhase.EXECUTING };
+    list = new MissionList();
+    for (int i = 0; i < missions; i++) {
+      Mission mission = new Mission(types[i % types.length],
+          phases[i % phases.length], new Coordinate(i % 50, i / 50));
+      mission.setFleetName("Fleet #" + i);
+      mission.setTargetPlanet("Planet " + i);
+      mission.setSunName("Sun " + i);
+      list.add(mission);
+    }
+  }
+
+  /**
+   * Find mission for every fleet and sun like AI turn does.
+   * @return Number of missions found
+   */
+  @Benchmark
+  public int lookups() {
+    int found = 0;
+    for (int i = 0; i < missions; i++) {
+      if (list.getMissionForFleet("Fleet #" + i) != null) {
+        found++;
+      }
+      if (list.getExploringForSun("Sun " + i) != null) {
+        found++;
+      }
+      if (list.getMission(MissionType.COLONIZE, MissionPhase.PLANNING)
+          != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+}
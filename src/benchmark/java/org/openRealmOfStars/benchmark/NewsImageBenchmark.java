@@ -0,0 +1,101 @@
+package org.openRealmOfStars.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.starMap.newsCorp.ImageInstruction;
+import org.openRealmOfStars.starMap.newsCorp.NewsImageCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmark for drawing news headline image. Parse renders image from
+ * instruction string every time, cached uses news image cache.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NewsImageBenchmark {
+
+  /**
+   * Headline width
+   */
+  private static final int WIDTH = 1060;
+
+  /**
+   * Headline height
+   */
+  private static final int HEIGHT = 400;
+
+  /**
+   * Image instructions for news
+   */
+  private String instructions;
+
+  /**
+   * Create news image instructions.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    System.setProperty("java.awt.headless", "true");
+    ImageInstruction instruction = new ImageInstruction();
+    instruction.addBackground(ImageInstruction.BACKGROUND_STARS);
+    instruction.addPlanet(ImageInstruction.POSITION_CENTER,
+        ImageInstruction.PLANET_EARTH, ImageInstruction.SIZE_FULL);
+    instruction.addText("WAR BETWEEN REALMS");
+    instruction.addRelationSymbol(ImageInstruction.WAR);
+    instruction.addText("Terran Alliance and Spork Empire");
+    instructions = instruction.build();
+  }
+
+  /**
+   * Render news image from instructions.
+   * @return News image
+   */
+  @Benchmark
+  public BufferedImage parse() {
+    BufferedImage image = new BufferedImage(WIDTH, HEIGHT,
+        BufferedImage.TYPE_4BYTE_ABGR);
+    return ImageInstruction.parseImageInstructions(image, instructions);
+  }
+
+  /**
+   * Get news image from cache.
+   * @return News image
+   */
+  @Benchmark
+  public BufferedImage cached() {
+    return NewsImageCache.getImage(instructions, WIDTH, HEIGHT);
+  }
+}
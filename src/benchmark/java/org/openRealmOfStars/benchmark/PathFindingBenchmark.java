@@ -0,0 +1,112 @@
+package org.openRealmOfStars.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.AI.PathFinding.AStarSearch;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.starMap.Coordinate;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmark for A star path finding on star map. Routes are from
+ * fleets to planets so they have similar lengths as AI's routes.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathFindingBenchmark {
+
+  /**
+   * Maximum number of routes searched in one benchmark call
+   */
+  private static final int MAX_ROUTES = 32;
+
+  /**
+   * Route start points
+   */
+  private ArrayList<Coordinate> starts;
+
+  /**
+   * Route target points
+   */
+  private ArrayList<Coordinate> targets;
+
+  /**
+   * Pick the routes from fixture galaxy.
+   * @param fixture Galaxy fixture
+   */
+  @Setup(Level.Trial)
+  public void setup(final GalaxyFixture fixture) {
+    StarMap map = fixture.getStarMap();
+    ArrayList<Planet> planets = map.getPlanetList();
+    starts = new ArrayList<>();
+    targets = new ArrayList<>();
+    for (int i = 0; i < map.getPlayerList().getCurrentMaxPlayers(); i++) {
+      PlayerInfo info = map.getPlayerList().getPlayerInfoByIndex(i);
+      for (int j = 0; j < info.getFleets().getNumberOfFleets()
+          && starts.size() < MAX_ROUTES; j++) {
+        Fleet fleet = info.getFleets().getByIndex(j);
+        Planet planet = planets.get((starts.size() * 7) % planets.size());
+        starts.add(fleet.getCoordinate());
+        targets.add(planet.getCoordinate());
+      }
+    }
+  }
+
+  /**
+   * Search all the routes.
+   * @param fixture Galaxy fixture
+   * @return Number of routes found
+   */
+  @Benchmark
+  public int search(final GalaxyFixture fixture) {
+    StarMap map = fixture.getStarMap();
+    int found = 0;
+    for (int i = 0; i < starts.size(); i++) {
+      Coordinate start = starts.get(i);
+      Coordinate target = targets.get(i);
+      AStarSearch search = new AStarSearch(map, start.getX(), start.getY(),
+          target.getX(), target.getY(), false);
+      if (search.doSearch()) {
+        found++;
+      }
+    }
+    return found;
+  }
+}
@@ -0,0 +1,116 @@
+package org.openRealmOfStars.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.game.Game;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.utilities.repository.GameRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmarks for saving and loading fixture galaxy. Files are written
+ * into temporary folder which is removed after benchmark.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SaveGameBenchmark {
+
+  /**
+   * File name for saved game
+   */
+  private static final String SAVE_FILE = "benchmark.save";
+
+  /**
+   * Temporary folder for saves
+   */
+  private File folder;
+
+  /**
+   * Game repository
+   */
+  private GameRepository repository;
+
+  /**
+   * Create temporary folder and save the fixture for loading.
+   * Tutorial is needed since shown tutorial indexes are saved.
+   * @param fixture Galaxy fixture
+   * @throws IOException If tutorial cannot be read or temporary folder
+   *         cannot be created
+   */
+  @Setup(Level.Trial)
+  public void setup(final GalaxyFixture fixture) throws IOException {
+    Game.readTutorial(null);
+    folder = Files.createTempDirectory("oros-benchmark").toFile();
+    repository = new GameRepository();
+    repository.saveGame(folder.getPath(), SAVE_FILE, fixture.getStarMap());
+  }
+
+  /**
+   * Remove temporary folder.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    File[] files = folder.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    folder.delete();
+  }
+
+  /**
+   * Save the fixture galaxy.
+   * @param fixture Galaxy fixture
+   */
+  @Benchmark
+  public void saveGame(final GalaxyFixture fixture) {
+    repository.saveGame(folder.getPath(), SAVE_FILE, fixture.getStarMap());
+  }
+
+  /**
+   * Load the fixture galaxy.
+   * @return Loaded star map
+   */
+  @Benchmark
+  public StarMap loadGame() {
+    return repository.loadGame(folder.getPath(), SAVE_FILE);
+  }
+}
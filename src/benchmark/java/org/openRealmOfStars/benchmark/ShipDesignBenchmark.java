@@ -0,0 +1,70 @@
+package org.openRealmOfStars.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.ship.ShipSize;
+import org.openRealmOfStars.player.ship.generator.ShipGenerator;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmark for military ship designing with realms' own techs.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShipDesignBenchmark {
+
+  /**
+   * Design battle ships and bombers in all sizes for all realms.
+   * @param fixture Galaxy fixture
+   * @return Number of designs which were possible
+   */
+  @Benchmark
+  public int createBattleShip(final GalaxyFixture fixture) {
+    StarMap map = fixture.getStarMap();
+    int designs = 0;
+    for (int i = 0; i < map.getPlayerList().getCurrentMaxPlayers(); i++) {
+      PlayerInfo info = map.getPlayerList().getPlayerInfoByIndex(i);
+      for (ShipSize size : ShipSize.values()) {
+        if (ShipGenerator.createBattleShip(info, size, false, false)
+            != null) {
+          designs++;
+        }
+        if (ShipGenerator.createBattleShip(info, size, true, false)
+            != null) {
+          designs++;
+        }
+      }
+    }
+    return designs;
+  }
+}
@@ -0,0 +1,160 @@
+package org.openRealmOfStars.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.gui.panels.SphereProjection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmark for rendering one frame of rotating planet in BigSpherePanel.
+ * Ovals draws samples one by one with trigonometry and fillOval, which
+ * is how sphere was drawn before projection tables.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SphereBenchmark {
+
+  /**
+   * Planet texture
+   */
+  private BufferedImage texture;
+
+  /**
+   * Projection for texture
+   */
+  private SphereProjection projection;
+
+  /**
+   * Target image
+   */
+  private BufferedImage target;
+
+  /**
+   * Texture rotation
+   */
+  private int rotation;
+
+  /**
+   * Create random planet texture.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    System.setProperty("java.awt.headless", "true");
+    texture = new BufferedImage(720, 360, BufferedImage.TYPE_INT_ARGB);
+    Random random = new Random(1);
+    for (int y = 0; y < texture.getHeight(); y++) {
+      for (int x = 0; x < texture.getWidth(); x++) {
+        texture.setRGB(x, y, random.nextInt());
+      }
+    }
+    projection = SphereProjection.getProjection(texture.getWidth(),
+        texture.getHeight());
+    target = projection.createImage();
+  }
+
+  /**
+   * Rotate texture for next frame.
+   */
+  private void rotate() {
+    rotation++;
+    if (rotation >= texture.getWidth() / 2) {
+      rotation = 0;
+    }
+  }
+
+  /**
+   * Draw sphere with fillOval for each sample.
+   * @return Target image
+   */
+  @Benchmark
+  public BufferedImage ovals() {
+    Graphics2D g2d = target.createGraphics();
+    double northAngle = 0;
+    for (int i = 0; i < 360; i++) {
+      double westAngle = 0;
+      for (int j = 0; j < 180; j++) {
+        double y = Math.sin(Math.toRadians(northAngle / 2.0));
+        double x = -Math.cos(Math.toRadians(westAngle)) * y
+            * texture.getWidth() / 4.0 + texture.getWidth() / 8.0;
+        double z = Math.sin(Math.toRadians(westAngle)) * y * 8;
+        y = -Math.cos(Math.toRadians(northAngle / 2.0))
+            * texture.getHeight() / 2.0 + texture.getHeight() / 2.0;
+        int size = Math.min((int) z, 8);
+        if (size < 0) {
+          size = 1;
+        }
+        g2d.setColor(new Color(texture.getRGB(rotation + j, i)));
+        if (size > 0) {
+          g2d.fillOval(-projection.getMinX() + (int) x,
+              -projection.getMinY() + (int) y, size, size);
+        }
+        westAngle++;
+      }
+      northAngle++;
+    }
+    g2d.dispose();
+    rotate();
+    return target;
+  }
+
+  /**
+   * Render sphere with projection tables.
+   * @return Target image
+   */
+  @Benchmark
+  public BufferedImage projection() {
+    projection.render(SphereProjection.getPixels(texture), rotation,
+        SphereProjection.getPixels(target), false);
+    rotate();
+    return target;
+  }
+
+  /**
+   * Render sphere with projection tables using multiple threads.
+   * @return Target image
+   */
+  @Benchmark
+  public BufferedImage projectionParallel() {
+    projection.render(SphereProjection.getPixels(texture), rotation,
+        SphereProjection.getPixels(target), true);
+    rotate();
+    return target;
+  }
+}
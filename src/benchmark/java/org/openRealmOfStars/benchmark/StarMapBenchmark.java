@@ -0,0 +1,192 @@
+package org.openRealmOfStars.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.AI.Mission.ColonizationCandidates;
+import org.openRealmOfStars.AI.Mission.MissionHandling;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmarks for star map updates done on every turn.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StarMapBenchmark {
+
+  /**
+   * Rebuild fleet tile information.
+   * @param fixture Galaxy fixture
+   * @param hole Blackhole
+   */
+  @Benchmark
+  public void fleetTiles(final GalaxyFixture fixture, final Blackhole hole) {
+    hole.consume(fixture.getStarMap().getFleetTiles(true));
+  }
+
+  /**
+   * Recalculate culture from all owned planets.
+   * @param fixture Galaxy fixture
+   */
+  @Benchmark
+  public void culture(final GalaxyFixture fixture) {
+    StarMap map = fixture.getStarMap();
+    map.resetCulture();
+    for (Planet planet : map.getPlanetList()) {
+      PlayerInfo info = planet.getPlanetPlayerInfo();
+      if (info != null) {
+        int index = map.getPlayerList().getIndex(info);
+        if (index > -1) {
+          map.calculateCulture(planet.getX(), planet.getY(),
+              planet.getCulture(), index);
+        }
+      }
+    }
+  }
+
+  /**
+   * Update culture from all owned planets with batch stamping. In
+   * incremental mode nothing changes between calls, so this measures
+   * the bookkeeping only.
+   * @param fixture Galaxy fixture
+   */
+  @Benchmark
+  public void cultureUpdate(final GalaxyFixture fixture) {
+    StarMap map = fixture.getStarMap();
+    map.beginCultureUpdate();
+    map.stampPlanetCulture();
+    map.endCultureUpdate();
+  }
+
+  /**
+   * Read every production of all planets like planet view and AI
+   * construction scoring do. Planets do not change between calls, so
+   * values come from production cache.
+   * @param fixture Galaxy fixture
+   * @return Sum of productions
+   */
+  @Benchmark
+  public int planetProduction(final GalaxyFixture fixture) {
+    int result = 0;
+    for (Planet planet : fixture.getStarMap().getPlanetList()) {
+      for (int i = 0; i <= Planet.PRODUCTION_ARTIFACT_RESEARCH; i++) {
+        if (i != Planet.PRODUCTION_MATERIAL) {
+          result = result + planet.getTotalProduction(i);
+        }
+        result = result + planet.getTotalProductionFromBuildings(i);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Read derived stats of all fleets like mission planning and fleet
+   * tiles do. Ships do not change between calls, so values come from
+   * ship and fleet stats caches.
+   * @param fixture Galaxy fixture
+   * @return Sum of stats
+   */
+  @Benchmark
+  public int fleetStats(final GalaxyFixture fixture) {
+    int result = 0;
+    StarMap map = fixture.getStarMap();
+    for (int i = 0; i < map.getPlayerList().getCurrentMaxPlayers(); i++) {
+      PlayerInfo info = map.getPlayerList().getPlayerInfoByIndex(i);
+      for (int j = 0; j < info.getFleets().getNumberOfFleets(); j++) {
+        Fleet fleet = info.getFleets().getByIndex(j);
+        result = result + fleet.getMilitaryValue()
+            + fleet.getFleetScannerLvl() + fleet.getFleetCloakDetection()
+            + fleet.getFleetCloackingValue() + fleet.getFleetSpeed()
+            + fleet.getFleetFtlSpeed();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Closest colonizable planet for all fleets by scanning planet list.
+   * @param hole Blackhole consuming planets
+   * @param fixture Galaxy fixture
+   */
+  @Benchmark
+  public void colonyTargetScan(final GalaxyFixture fixture,
+      final Blackhole hole) {
+    StarMap map = fixture.getStarMap();
+    for (int i = 0; i < map.getPlayerList().getCurrentMaxPlayers(); i++) {
+      PlayerInfo info = map.getPlayerList().getPlayerInfoByIndex(i);
+      for (int j = 0; j < info.getFleets().getNumberOfFleets(); j++) {
+        Fleet fleet = info.getFleets().getByIndex(j);
+        hole.consume(MissionHandling.findFreeColonizablePlanet(info,
+            map.getPlanetList(), fleet));
+      }
+    }
+  }
+
+  /**
+   * Closest colonizable planet for all fleets from colonization
+   * candidates.
+   * @param hole Blackhole consuming planets
+   * @param fixture Galaxy fixture
+   */
+  @Benchmark
+  public void colonyTargetTable(final GalaxyFixture fixture,
+      final Blackhole hole) {
+    StarMap map = fixture.getStarMap();
+    for (int i = 0; i < map.getPlayerList().getCurrentMaxPlayers(); i++) {
+      PlayerInfo info = map.getPlayerList().getPlayerInfoByIndex(i);
+      for (int j = 0; j < info.getFleets().getNumberOfFleets(); j++) {
+        Fleet fleet = info.getFleets().getByIndex(j);
+        hole.consume(ColonizationCandidates.getCandidates(info, map)
+            .findClosestPlanet(fleet.getCoordinate()));
+      }
+    }
+  }
+
+  /**
+   * Scan update for all fleets of all realms.
+   * @param fixture Galaxy fixture
+   */
+  @Benchmark
+  public void fleetScan(final GalaxyFixture fixture) {
+    StarMap map = fixture.getStarMap();
+    for (int i = 0; i < map.getPlayerList().getCurrentMaxPlayers(); i++) {
+      PlayerInfo info = map.getPlayerList().getPlayerInfoByIndex(i);
+      for (int j = 0; j < info.getFleets().getNumberOfFleets(); j++) {
+        Fleet fleet = info.getFleets().getByIndex(j);
+        map.doFleetScanUpdate(info, fleet, null);
+      }
+    }
+  }
+}
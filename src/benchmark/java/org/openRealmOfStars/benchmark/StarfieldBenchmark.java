@@ -0,0 +1,99 @@
+package org.openRealmOfStars.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openRealmOfStars.gui.utilies.ProceduralRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Benchmark for background star field generation and loading it
+ * from cache.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StarfieldBenchmark {
+
+  /**
+   * Cache folder for benchmark
+   */
+  private static final String CACHE_FOLDER = "target/starfield-benchmark";
+
+  /**
+   * Star field seed
+   */
+  private long seed;
+
+  /**
+   * Save star field in cache.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    System.setProperty("java.awt.headless", "true");
+    seed = 42;
+    ProceduralRenderer.saveStars(CACHE_FOLDER, seed,
+        ProceduralRenderer.generateStars(seed, false));
+  }
+
+  /**
+   * Generate star field in single thread.
+   * @return Star field
+   */
+  @Benchmark
+  public BufferedImage generate() {
+    seed++;
+    return ProceduralRenderer.generateStars(seed, false);
+  }
+
+  /**
+   * Generate star field rendering nebulae in parallel.
+   * @return Star field
+   */
+  @Benchmark
+  public BufferedImage generateParallel() {
+    seed++;
+    return ProceduralRenderer.generateStars(seed, true);
+  }
+
+  /**
+   * Load star field from cache.
+   * @return Star field
+   */
+  @Benchmark
+  public BufferedImage loadCached() {
+    return ProceduralRenderer.loadStars(CACHE_FOLDER, 42);
+  }
+}
@@ -0,0 +1,417 @@
+package org.openRealmOfStars.AI.Mission;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.starMap.Coordinate;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.starMap.planet.Planet;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Colonization candidate table for single AI realm. Table contains
+ * planets which are not gas giants. It is built once per turn
+ * and newly charted planets are added when realm's charted version
+ * changes. Ownership is checked in queries, so planets which are
+ * colonized or become unowned again during the turn are handled
+ * right away. Charted candidates are sorted by X coordinate for closest
+ * planet search and by colony score for best planet search. Scores
+ * are calculated again when realm center or realm's tech count
+ * changes.
+ *
+ */
+public final class ColonizationCandidates {
+
+  /**
+   * Planets further than this are never selected as closest planet
+   */
+  private static final double MAX_DISTANCE = 999;
+
+  /**
+   * Minimum score from distance to realm center
+   */
+  private static final int MIN_DISTANCE_SCORE = -10;
+
+  /**
+   * Candidates sorted by X coordinate and then by planet list order
+   */
+  private static final Comparator<Candidate> BY_X =
+      new Comparator<Candidate>() {
+    @Override
+    public int compare(final Candidate first, final Candidate second) {
+      if (first.x != second.x) {
+        return Integer.compare(first.x, second.x);
+      }
+      return Integer.compare(first.index, second.index);
+    }
+  };
+
+  /**
+   * Candidates sorted by score, best first, and then by planet list order
+   */
+  private static final Comparator<Candidate> BY_SCORE =
+      new Comparator<Candidate>() {
+    @Override
+    public int compare(final Candidate first, final Candidate second) {
+      if (first.score != second.score) {
+        return Integer.compare(second.score, first.score);
+      }
+      return Integer.compare(first.index, second.index);
+    }
+  };
+
+  /**
+   * Realm whose candidates these are
+   */
+  private final PlayerInfo info;
+
+  /**
+   * Star map where table was built. Weak reference so that old map
+   * is not kept alive after loading a game.
+   */
+  private WeakReference<StarMap> mapReference;
+
+  /**
+   * Star map's maximum X coordinate
+   */
+  private int maxX;
+
+  /**
+   * Turn when table was built
+   */
+  private int turn;
+
+  /**
+   * Number of planets when table was built
+   */
+  private int planetCount;
+
+  /**
+   * Realm's charted version when charted candidates were updated
+   */
+  private int chartedVersion;
+
+  /**
+   * Realm center used for scores
+   */
+  private Coordinate scoreCenter;
+
+  /**
+   * Realm's tech count used for scores
+   */
+  private int scoreTechCount;
+
+  /**
+   * Charted candidates sorted by X coordinate
+   */
+  private final ArrayList<Candidate> charted;
+
+  /**
+   * Candidates which are still uncharted
+   */
+  private final ArrayList<Candidate> uncharted;
+
+  /**
+   * Charted candidates sorted by score. Null until needed.
+   */
+  private TreeSet<Candidate> byScore;
+
+  /**
+   * Constructor for colonization candidates.
+   * @param info Realm whose candidates these are
+   */
+  private ColonizationCandidates(final PlayerInfo info) {
+    this.info = info;
+    charted = new ArrayList<>();
+    uncharted = new ArrayList<>();
+  }
+
+  /**
+   * Get realm's colonization candidates up to date for current turn.
+   * @param info Realm whose candidates to get
+   * @param map StarMap
+   * @return ColonizationCandidates
+   */
+  public static ColonizationCandidates getCandidates(final PlayerInfo info,
+      final StarMap map) {
+    ColonizationCandidates candidates = info.getColonizationCandidates();
+    if (candidates == null) {
+      candidates = new ColonizationCandidates(info);
+      info.setColonizationCandidates(candidates);
+    }
+    candidates.update(map);
+    return candidates;
+  }
+
+  /**
+   * Update table. Table is built again on new turn, otherwise only newly
+   * charted planets are added.
+   * @param starMap StarMap
+   */
+  private void update(final StarMap starMap) {
+    if (mapReference == null || mapReference.get() != starMap
+        || starMap.getTurn() != turn
+        || starMap.getPlanetList().size() != planetCount) {
+      build(starMap);
+    } else if (info.getChartedVersion() != chartedVersion) {
+      addChartedPlanets();
+    }
+    Coordinate center = info.getCenterRealm();
+    if (byScore != null && (center == null || scoreCenter == null
+        || center.getX() != scoreCenter.getX()
+        || center.getY() != scoreCenter.getY()
+        || info.getTechList().getTechCount() != scoreTechCount)) {
+      byScore = null;
+    }
+  }
+
+  /**
+   * Build table from star map's planets.
+   * @param starMap StarMap
+   */
+  private void build(final StarMap starMap) {
+    mapReference = new WeakReference<>(starMap);
+    maxX = starMap.getMaxX();
+    turn = starMap.getTurn();
+    ArrayList<Planet> planets = starMap.getPlanetList();
+    planetCount = planets.size();
+    chartedVersion = info.getChartedVersion();
+    charted.clear();
+    uncharted.clear();
+    byScore = null;
+    for (int i = 0; i < planets.size(); i++) {
+      Planet planet = planets.get(i);
+      if (!planet.isGasGiant()) {
+        Candidate candidate = new Candidate(planet, i);
+        if (info.getSectorVisibility(planet.getCoordinate())
+            == PlayerInfo.UNCHARTED) {
+          uncharted.add(candidate);
+        } else {
+          charted.add(candidate);
+        }
+      }
+    }
+    Collections.sort(charted, BY_X);
+  }
+
+  /**
+   * Move newly charted candidates from uncharted to charted.
+   */
+  private void addChartedPlanets() {
+    chartedVersion = info.getChartedVersion();
+    Iterator<Candidate> iterator = uncharted.iterator();
+    while (iterator.hasNext()) {
+      Candidate candidate = iterator.next();
+      if (info.getSectorVisibility(candidate.planet.getCoordinate())
+          != PlayerInfo.UNCHARTED) {
+        iterator.remove();
+        int position = Collections.binarySearch(charted, candidate, BY_X);
+        charted.add(-position - 1, candidate);
+        if (byScore != null) {
+          candidate.score = calculateScore(candidate.planet);
+          byScore.add(candidate);
+        }
+      }
+    }
+  }
+
+  /**
+   * Calculate colony score for planet. Score is based on distance to
+   * realm center, planet size and world type value for realm.
+   * @param planet Planet
+   * @return Colony score
+   */
+  private int calculateScore(final Planet planet) {
+    int worldValue = info.getWorldTypeValue(
+        planet.getPlanetType().getWorldType());
+    int size = planet.getGroundSize();
+    double dist = info.getCenterRealm().calculateDistance(
+        planet.getCoordinate());
+    double maxDistPoints = maxX / 4;
+    int score = (int) (maxDistPoints - dist);
+    if (score < MIN_DISTANCE_SCORE) {
+      score = MIN_DISTANCE_SCORE;
+    }
+    score = score + size * 2;
+    worldValue = (worldValue - 50) / 3;
+    score = score + worldValue;
+    return score;
+  }
+
+  /**
+   * Sort charted candidates by score if not done yet.
+   */
+  private void sortByScore() {
+    if (byScore == null) {
+      scoreCenter = info.getCenterRealm();
+      scoreTechCount = info.getTechList().getTechCount();
+      byScore = new TreeSet<>(BY_SCORE);
+      for (Candidate candidate : charted) {
+        candidate.score = calculateScore(candidate.planet);
+        byScore.add(candidate);
+      }
+    }
+  }
+
+  /**
+   * Find first candidate with X coordinate same or greater than given.
+   * @param x X coordinate
+   * @return Position in charted candidates
+   */
+  private int findFirstPosition(final int x) {
+    int low = 0;
+    int high = charted.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (charted.get(middle).x < x) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Find closest free colonizable planet. Planet must be charted,
+   * unowned and have radiation realm can handle. If several planets
+   * are as close first one in planet list is selected.
+   * @param coordinate Coordinate where to calculate distance
+   * @return Planet or null
+   */
+  public Planet findClosestPlanet(final Coordinate coordinate) {
+    int maxRad = info.getRace().getMaxRad();
+    int right = findFirstPosition(coordinate.getX());
+    int left = right - 1;
+    Candidate best = null;
+    double bestDistance = MAX_DISTANCE;
+    while (left >= 0 || right < charted.size()) {
+      Candidate candidate;
+      if (right >= charted.size() || left >= 0
+          && coordinate.getX() - charted.get(left).x
+          < charted.get(right).x - coordinate.getX()) {
+        candidate = charted.get(left);
+        left--;
+      } else {
+        candidate = charted.get(right);
+        right++;
+      }
+      if (Math.abs(candidate.x - coordinate.getX()) > bestDistance) {
+        // Remaining candidates are even further in X axel
+        break;
+      }
+      Planet planet = candidate.planet;
+      if (planet.getTotalRadiationLevel() <= maxRad
+          && planet.getPlanetPlayerInfo() == null
+          && info.getSectorVisibility(planet.getCoordinate())
+          >= PlayerInfo.FOG_OF_WAR) {
+        double dist = coordinate.calculateDistance(planet.getCoordinate());
+        if (dist < bestDistance || best != null && dist == bestDistance
+            && candidate.index < best.index) {
+          best = candidate;
+          bestDistance = dist;
+        }
+      }
+    }
+    if (best == null) {
+      return null;
+    }
+    return best.planet;
+  }
+
+  /**
+   * Find planet with best colony score for new colonize mission.
+   * Planet must be unowned and without colonize mission. Visible
+   * planets can have radiation up to given maximum radiation, planets
+   * in fog of war up to realm's maximum radiation. Only positive scores
+   * are accepted and if several planets have same score first one in
+   * planet list is selected.
+   * @param maxRad Maximum radiation for visible planets
+   * @return Planet or null if realm center is not known
+   */
+  public Planet findBestPlanet(final int maxRad) {
+    if (info.getCenterRealm() == null) {
+      return null;
+    }
+    sortByScore();
+    MissionList missions = info.getMissions();
+    for (Candidate candidate : byScore) {
+      if (candidate.score <= 0) {
+        break;
+      }
+      Planet planet = candidate.planet;
+      if (planet.getPlanetPlayerInfo() != null) {
+        continue;
+      }
+      byte visibility = info.getSectorVisibility(planet.getCoordinate());
+      int radiation = planet.getTotalRadiationLevel();
+      if ((visibility == PlayerInfo.VISIBLE && radiation <= maxRad
+          || visibility == PlayerInfo.FOG_OF_WAR
+          && radiation <= info.getRace().getMaxRad())
+          && missions.getColonizeMission(planet.getCoordinate().getX(),
+              planet.getCoordinate().getY()) == null) {
+        return planet;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Colonization candidate.
+   */
+  private static final class Candidate {
+
+    /**
+     * Candidate planet
+     */
+    private final Planet planet;
+
+    /**
+     * Planet's index in planet list
+     */
+    private final int index;
+
+    /**
+     * Planet's X coordinate
+     */
+    private final int x;
+
+    /**
+     * Colony score for realm
+     */
+    private int score;
+
+    /**
+     * Constructor for candidate.
+     * @param planet Candidate planet
+     * @param index Planet's index in planet list
+     */
+    Candidate(final Planet planet, final int index) {
+      this.planet = planet;
+      this.index = index;
+      this.x = planet.getCoordinate().getX();
+    }
+  }
+}
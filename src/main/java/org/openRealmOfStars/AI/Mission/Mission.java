@@ -78,6 +78,12 @@ public class Mission {
    */
   private int missionTime;
 
+  /**
+   * Mission list where mission belongs. This is notified when
+   * indexed values change.
+   */
+  private MissionList missionList;
+
   /**
    * Ship type trooper
    */
@@ -143,6 +149,7 @@ public class Mission {
    */
   public void setType(final MissionType missionType) {
     this.type = missionType;
+    indexChanged();
   }
 
   /**
@@ -159,6 +166,7 @@ public class Mission {
    */
   public void setPhase(final MissionPhase missionPhase) {
     this.phase = missionPhase;
+    indexChanged();
   }
 
   /**
@@ -175,6 +183,7 @@ public class Mission {
    */
   public void setFleetName(final String name) {
     this.fleetName = name;
+    indexChanged();
   }
 
   /**
@@ -191,6 +200,7 @@ public class Mission {
    */
   public void setPlanetBuilding(final String building) {
     this.planetBuilding = building;
+    indexChanged();
   }
 
   /**
@@ -281,6 +291,7 @@ public class Mission {
         || type == MissionType.COLONY_EXPLORE
         || type == MissionType.PRIVATEER) {
       this.parameter = name;
+      indexChanged();
     }
   }
 
@@ -375,6 +386,7 @@ public class Mission {
    */
   public void setTargetPlanet(final String target) {
     this.targetPlanet = target;
+    indexChanged();
   }
 
   /**
@@ -396,4 +408,21 @@ public class Mission {
     this.planetGathering = planetGathering;
   }
 
+  /**
+   * Set mission list where mission belongs.
+   * @param list Mission list or null if mission is removed from list
+   */
+  void setMissionList(final MissionList list) {
+    missionList = list;
+  }
+
+  /**
+   * Notify mission list that indexed value has changed.
+   */
+  private void indexChanged() {
+    if (missionList != null) {
+      missionList.updateIndex(this);
+    }
+  }
+
 }
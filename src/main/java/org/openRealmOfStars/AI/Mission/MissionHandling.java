@@ -16,6 +16,7 @@ import org.openRealmOfStars.mapTiles.TileNames;
 import org.openRealmOfStars.player.AiDifficulty;
 import org.openRealmOfStars.player.PlayerInfo;
 import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.player.combat.CombatEstimator;
 import org.openRealmOfStars.player.diplomacy.Attitude;
 import org.openRealmOfStars.player.diplomacy.Diplomacy;
 import org.openRealmOfStars.player.diplomacy.DiplomacyBonusList;
@@ -335,11 +336,8 @@ public final class MissionHandling {
           if (targetOrbital != null) {
             Fleet defenderFleet = game.getStarMap().getFleetByCoordinate(
                 targetOrbital.getX(), targetOrbital.getY());
-            int military = targetOrbital.getOrbital().getTotalMilitaryPower();
-            if (defenderFleet != null) {
-              military = military + defenderFleet.getMilitaryValue();
-            }
-            if (military < fleet.getMilitaryValue()) {
+            if (CombatEstimator.isFavourable(fleet, info, defenderFleet,
+                targetOrbital.getPlanetPlayerInfo(), targetOrbital)) {
               mission.setPhase(MissionPhase.EXECUTING);
               fleet.setRoute(null);
               AStarSearch search = new AStarSearch(game.getStarMap(),
@@ -717,8 +715,8 @@ public final class MissionHandling {
       fleet.setRoute(null);
       info.getMissions().remove(planningColony);
     } else {
-      Planet newTarget = findFreeColonizablePlanet(info,
-          game.getStarMap().getPlanetList(), fleet);
+      Planet newTarget = ColonizationCandidates.getCandidates(info,
+          game.getStarMap()).findClosestPlanet(fleet.getCoordinate());
       if (newTarget != null) {
         mission.setTarget(newTarget.getCoordinate());
         mission.setPhase(MissionPhase.TREKKING);
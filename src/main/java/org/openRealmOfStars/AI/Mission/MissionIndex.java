@@ -0,0 +1,306 @@
+package org.openRealmOfStars.AI.Mission;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Secondary indexes for mission list. Missions are grouped by fleet name,
+ * target planet, building planet, sun name, type and type with phase.
+ * Each group keeps missions in same order as they are in mission list,
+ * so first match from group is same as first match from whole list.
+ *
+ */
+final class MissionIndex {
+
+  /**
+   * Index by fleet name
+   */
+  static final int KEY_FLEET = 0;
+
+  /**
+   * Index by target planet name
+   */
+  static final int KEY_TARGET_PLANET = 1;
+
+  /**
+   * Index by name of planet building the fleet
+   */
+  static final int KEY_PLANET_BUILDING = 2;
+
+  /**
+   * Index by sun name
+   */
+  static final int KEY_SUN = 3;
+
+  /**
+   * Index by mission type
+   */
+  static final int KEY_TYPE = 4;
+
+  /**
+   * Index by mission type and phase
+   */
+  static final int KEY_TYPE_PHASE = 5;
+
+  /**
+   * Number of indexes
+   */
+  private static final int KEYS = KEY_TYPE_PHASE + 1;
+
+  /**
+   * Order and indexed keys for each mission
+   */
+  private final IdentityHashMap<Mission, Entry> entries;
+
+  /**
+   * Missions by key for each index
+   */
+  private final ArrayList<HashMap<Object, ArrayList<Mission>>> indexes;
+
+  /**
+   * Constructor for mission index.
+   */
+  MissionIndex() {
+    entries = new IdentityHashMap<>();
+    indexes = new ArrayList<>(KEYS);
+    for (int i = 0; i < KEYS; i++) {
+      indexes.add(new HashMap<Object, ArrayList<Mission>>());
+    }
+  }
+
+  /**
+   * Get key for type and phase index.
+   * @param type Mission type
+   * @param phase Mission phase
+   * @return Key or null if type or phase is missing
+   */
+  static Object getTypePhaseKey(final MissionType type,
+      final MissionPhase phase) {
+    if (type == null || phase == null) {
+      return null;
+    }
+    return Arrays.asList(type, phase);
+  }
+
+  /**
+   * Read current keys from mission.
+   * @param mission Mission
+   * @return Keys for each index, null for missing key
+   */
+  private static Object[] getKeys(final Mission mission) {
+    Object[] keys = new Object[KEYS];
+    keys[KEY_FLEET] = mission.getFleetName();
+    keys[KEY_TARGET_PLANET] = mission.getTargetPlanet();
+    keys[KEY_PLANET_BUILDING] = mission.getPlanetBuilding();
+    keys[KEY_SUN] = mission.getSunName();
+    keys[KEY_TYPE] = mission.getType();
+    keys[KEY_TYPE_PHASE] = getTypePhaseKey(mission.getType(),
+        mission.getPhase());
+    return keys;
+  }
+
+  /**
+   * Add mission into group keeping groups in mission list order.
+   * @param index Index where to add
+   * @param key Group key
+   * @param mission Mission to add
+   * @param order Mission's order
+   */
+  private void addToGroup(final int index, final Object key,
+      final Mission mission, final long order) {
+    if (key == null) {
+      return;
+    }
+    HashMap<Object, ArrayList<Mission>> map = indexes.get(index);
+    ArrayList<Mission> group = map.get(key);
+    if (group == null) {
+      group = new ArrayList<>();
+      map.put(key, group);
+    }
+    int position = group.size();
+    while (position > 0 && entries.get(group.get(position - 1)).order
+        > order) {
+      position--;
+    }
+    group.add(position, mission);
+  }
+
+  /**
+   * Remove mission from group.
+   * @param index Index where to remove
+   * @param key Group key
+   * @param mission Mission to remove
+   */
+  private void removeFromGroup(final int index, final Object key,
+      final Mission mission) {
+    if (key == null) {
+      return;
+    }
+    HashMap<Object, ArrayList<Mission>> map = indexes.get(index);
+    ArrayList<Mission> group = map.get(key);
+    if (group == null) {
+      return;
+    }
+    for (int i = 0; i < group.size(); i++) {
+      if (group.get(i) == mission) {
+        group.remove(i);
+        break;
+      }
+    }
+    if (group.isEmpty()) {
+      map.remove(key);
+    }
+  }
+
+  /**
+   * Add mission to indexes.
+   * @param mission Mission to add
+   * @param order Mission's order, smaller is earlier in mission list
+   */
+  void add(final Mission mission, final long order) {
+    remove(mission);
+    Entry entry = new Entry(order, getKeys(mission));
+    entries.put(mission, entry);
+    for (int i = 0; i < KEYS; i++) {
+      addToGroup(i, entry.keys[i], mission, order);
+    }
+  }
+
+  /**
+   * Remove mission from indexes.
+   * @param mission Mission to remove
+   */
+  void remove(final Mission mission) {
+    Entry entry = entries.get(mission);
+    if (entry == null) {
+      return;
+    }
+    for (int i = 0; i < KEYS; i++) {
+      removeFromGroup(i, entry.keys[i], mission);
+    }
+    entries.remove(mission);
+  }
+
+  /**
+   * Move mission to new groups if its keys have changed.
+   * @param mission Mission which has changed
+   */
+  void update(final Mission mission) {
+    Entry entry = entries.get(mission);
+    if (entry == null) {
+      return;
+    }
+    Object[] keys = getKeys(mission);
+    for (int i = 0; i < KEYS; i++) {
+      Object oldKey = entry.keys[i];
+      if (oldKey == null && keys[i] == null
+          || oldKey != null && oldKey.equals(keys[i])) {
+        continue;
+      }
+      removeFromGroup(i, oldKey, mission);
+      addToGroup(i, keys[i], mission, entry.order);
+      entry.keys[i] = keys[i];
+    }
+  }
+
+  /**
+   * Get mission's order.
+   * @param mission Mission
+   * @return Order or zero if mission is not indexed
+   */
+  long getOrder(final Mission mission) {
+    Entry entry = entries.get(mission);
+    if (entry == null) {
+      return 0;
+    }
+    return entry.order;
+  }
+
+  /**
+   * Set mission's order. New order must keep missions in same relative
+   * order, since groups are not sorted again.
+   * @param mission Mission
+   * @param order New order
+   */
+  void setOrder(final Mission mission, final long order) {
+    Entry entry = entries.get(mission);
+    if (entry != null) {
+      entry.order = order;
+    }
+  }
+
+  /**
+   * Get missions in group. Returned list must not be modified.
+   * @param index Index to search, see KEY_*
+   * @param key Group key
+   * @return Missions in mission list order, never null
+   */
+  List<Mission> get(final int index, final Object key) {
+    ArrayList<Mission> group = null;
+    if (key != null) {
+      group = indexes.get(index).get(key);
+    }
+    if (group == null) {
+      return Collections.emptyList();
+    }
+    return group;
+  }
+
+  /**
+   * Remove all missions from indexes.
+   */
+  void clear() {
+    entries.clear();
+    for (HashMap<Object, ArrayList<Mission>> map : indexes) {
+      map.clear();
+    }
+  }
+
+  /**
+   * Mission's order and keys it is indexed with.
+   */
+  private static final class Entry {
+
+    /**
+     * Mission's order
+     */
+    private long order;
+
+    /**
+     * Keys for each index
+     */
+    private final Object[] keys;
+
+    /**
+     * Constructor for entry.
+     * @param order Mission's order
+     * @param keys Keys for each index
+     */
+    Entry(final long order, final Object[] keys) {
+      this.order = order;
+      this.keys = keys;
+    }
+  }
+}
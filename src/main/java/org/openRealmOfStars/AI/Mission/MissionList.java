@@ -12,6 +12,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  *
@@ -43,18 +44,34 @@ public class MissionList {
    */
   private ArrayList<Mission> missions;
 
+  /**
+   * Gap between orders of missions added to the end or to the beginning
+   * of the list. Missions added between are given order in the middle.
+   */
+  private static final long ORDER_GAP = 1L << 20;
+
+  /**
+   * Secondary indexes for missions
+   */
+  private MissionIndex missionIndex;
+
   /**
    * Constructor for MissionList.
    */
   public MissionList() {
     missions = new ArrayList<>();
+    missionIndex = new MissionIndex();
   }
 
   /**
    * Clear all missions from the list.
    */
   public void clearMissions() {
+    for (Mission mission : missions) {
+      mission.setMissionList(null);
+    }
     missions = new ArrayList<>();
+    missionIndex.clear();
   }
   /**
    * Read MissionList from DataInputStream
@@ -63,10 +80,11 @@ public class MissionList {
    */
   public MissionList(final DataInputStream dis) throws IOException {
     missions = new ArrayList<>();
+    missionIndex = new MissionIndex();
     int count = dis.readInt();
     for (int i = 0; i < count; i++) {
       Mission mission = new MissionRepository().restoreMission(dis);
-      missions.add(mission);
+      add(mission);
     }
   }
 
@@ -90,10 +108,9 @@ public class MissionList {
    */
   public Mission getMissionForFleet(final String fleetName,
       final MissionType type) {
-    for (Mission mission : missions) {
-      if (mission.getFleetName() != null
-          && mission.getFleetName().equals(fleetName)
-          && mission.getType() == type) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_FLEET,
+        fleetName)) {
+      if (mission.getType() == type) {
         return mission;
       }
     }
@@ -107,16 +124,13 @@ public class MissionList {
    * @return Mission or null
    */
   public Mission getExploringForSun(final String sunName) {
-    for (Mission mission : missions) {
-      if (mission.getType() == MissionType.COLONY_EXPLORE
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_SUN, sunName)) {
+      if ((mission.getType() == MissionType.COLONY_EXPLORE
           || mission.getType() == MissionType.EXPLORE
-          || mission.getType() == MissionType.PRIVATEER) {
-        String missionSunName = mission.getSunName();
-        if (sunName.equals(missionSunName)
-            && (mission.getPhase() == MissionPhase.EXECUTING
-            || mission.getPhase() == MissionPhase.TREKKING)) {
-          return mission;
-        }
+          || mission.getType() == MissionType.PRIVATEER)
+          && (mission.getPhase() == MissionPhase.EXECUTING
+          || mission.getPhase() == MissionPhase.TREKKING)) {
+        return mission;
       }
     }
     return null;
@@ -127,11 +141,11 @@ public class MissionList {
    * @param newName New name where to change
    */
   public void changeFleetName(final String oldName, final String newName) {
-    for (Mission mission : missions) {
-      if (mission.getFleetName() != null
-          && mission.getFleetName().equals(oldName)) {
-        mission.setFleetName(newName);
-      }
+    // Copy since renaming moves missions in fleet name index
+    ArrayList<Mission> fleetMissions = new ArrayList<>(
+        missionIndex.get(MissionIndex.KEY_FLEET, oldName));
+    for (Mission mission : fleetMissions) {
+      mission.setFleetName(newName);
     }
   }
   /**
@@ -141,14 +155,10 @@ public class MissionList {
    */
   public Mission getMissionForFleet(final String fleetName) {
     Mission first = null;
-    for (Mission mission : missions) {
-      if (mission.getFleetName() != null
-          && mission.getFleetName().equals(fleetName) && first == null) {
-        first = mission;
-      }
-      if (mission.getFleetName() != null
-          && mission.getFleetName().equals(fleetName)
-          && mission.getType() == MissionType.ESPIONAGE_MISSION) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_FLEET,
+        fleetName)) {
+      if (first == null
+          || mission.getType() == MissionType.ESPIONAGE_MISSION) {
         first = mission;
       }
     }
@@ -173,36 +183,34 @@ public class MissionList {
     if (info.getTechList().isTech("Radiation well")) {
       maxRad++;
     }
-    for (Mission mission : missions) {
-      if (mission.getType() == MissionType.COLONIZE
-          && mission.getPhase() == MissionPhase.PLANNING) {
-        Planet colonPlanet = map.getPlanetByCoordinate(mission.getX(),
-            mission.getY());
-        int value = (colonPlanet.getGroundSize() - 6) * 10;
-        if (coordinate != null) {
-          double dist = coordinate.calculateDistance(
-              colonPlanet.getCoordinate());
-          if (dist < 10) {
-            value = value + 40;
-          } else  if (dist < 15) {
-            value = value + 20;
-          } else  if (dist > 40) {
-            value = value - 20;
-          }
-        }
-        if (info.getRace() == SpaceRace.CHIRALOIDS) {
-          value = value + colonPlanet.getRadiationLevel() * 2;
-        } else {
-          value = value - colonPlanet.getRadiationLevel();
-          if (colonPlanet.getRadiationLevel() > maxRad) {
-            value = 0;
-          }
+    for (Mission mission : getMissions(MissionType.COLONIZE,
+        MissionPhase.PLANNING)) {
+      Planet colonPlanet = map.getPlanetByCoordinate(mission.getX(),
+          mission.getY());
+      int value = (colonPlanet.getGroundSize() - 6) * 10;
+      if (coordinate != null) {
+        double dist = coordinate.calculateDistance(
+            colonPlanet.getCoordinate());
+        if (dist < 10) {
+          value = value + 40;
+        } else  if (dist < 15) {
+          value = value + 20;
+        } else  if (dist > 40) {
+          value = value - 20;
         }
-        if (value > totalValue) {
-          result = mission;
-          totalValue = value;
+      }
+      if (info.getRace() == SpaceRace.CHIRALOIDS) {
+        value = value + colonPlanet.getRadiationLevel() * 2;
+      } else {
+        value = value - colonPlanet.getRadiationLevel();
+        if (colonPlanet.getRadiationLevel() > maxRad) {
+          value = 0;
         }
       }
+      if (value > totalValue) {
+        result = mission;
+        totalValue = value;
+      }
     }
     return result;
   }
@@ -213,9 +221,9 @@ public class MissionList {
    * @return Mission or null if not found
    */
   public Mission getColonizeMission(final int x, final int y) {
-    for (Mission mission : missions) {
-      if (mission.getX() == x && mission.getY() == y
-          && mission.getType() == MissionType.COLONIZE) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_TYPE,
+        MissionType.COLONIZE)) {
+      if (mission.getX() == x && mission.getY() == y) {
         return mission;
       }
     }
@@ -228,13 +236,8 @@ public class MissionList {
    * @return True or false
    */
   public boolean hasPlannedColonyMission() {
-    for (Mission mission : missions) {
-      if (mission.getPhase() == MissionPhase.PLANNING
-          && mission.getType() == MissionType.COLONIZE) {
-        return true;
-      }
-    }
-    return false;
+    return !getMissions(MissionType.COLONIZE, MissionPhase.PLANNING)
+        .isEmpty();
   }
   /**
    * Find a destroy fleet mission for coordinate
@@ -242,10 +245,10 @@ public class MissionList {
    * @return Mission or null if not found
    */
   public Mission getDestroyFleetMission(final Coordinate coordinate) {
-    for (Mission mission : missions) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_TYPE,
+        MissionType.DESTROY_FLEET)) {
       if (mission.getX() == coordinate.getX()
-          && mission.getY() == coordinate.getY()
-          && mission.getType() == MissionType.DESTROY_FLEET) {
+          && mission.getY() == coordinate.getY()) {
         return mission;
       }
     }
@@ -259,9 +262,9 @@ public class MissionList {
    * @return Mission or null if not found
    */
   public Mission getDeployStarbaseMission(final int x, final int y) {
-    for (Mission mission : missions) {
-      if (mission.getX() == x && mission.getY() == y
-          && mission.getType() == MissionType.DEPLOY_STARBASE) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_TYPE,
+        MissionType.DEPLOY_STARBASE)) {
+      if (mission.getX() == x && mission.getY() == y) {
         return mission;
       }
     }
@@ -274,10 +277,9 @@ public class MissionList {
    * @return Mission or null if not found
    */
   public Mission getAttackMission(final String name) {
-    for (Mission mission : missions) {
-      if (mission.getTargetPlanet() != null
-          && mission.getTargetPlanet().equals(name)
-          && mission.getType() == MissionType.ATTACK) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_TARGET_PLANET,
+        name)) {
+      if (mission.getType() == MissionType.ATTACK) {
         return mission;
       }
     }
@@ -291,10 +293,9 @@ public class MissionList {
    * @return Mission or null if not found
    */
   public Mission getTradeMission(final String name) {
-    for (Mission mission : missions) {
-      if (mission.getTargetPlanet() != null
-          && mission.getTargetPlanet().equals(name)
-          && mission.getType() == MissionType.TRADE_FLEET) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_TARGET_PLANET,
+        name)) {
+      if (mission.getType() == MissionType.TRADE_FLEET) {
         return mission;
       }
     }
@@ -309,10 +310,9 @@ public class MissionList {
    * @return Mission or null if not found
    */
   public Mission getDestroyStarbaseMission(final String name) {
-    for (Mission mission : missions) {
-      if (mission.getTargetPlanet() != null
-          && mission.getTargetPlanet().equals(name)
-          && mission.getType() == MissionType.DESTROY_STARBASE) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_TARGET_PLANET,
+        name)) {
+      if (mission.getType() == MissionType.DESTROY_STARBASE) {
         return mission;
       }
     }
@@ -327,9 +327,9 @@ public class MissionList {
    */
   public boolean noMoreGatherMissions(final String planetName) {
     int count = 0;
-    for (Mission mission : missions) {
-      if (mission.getType() == MissionType.GATHER
-          && mission.getTargetPlanet().equals(planetName)) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_TARGET_PLANET,
+        planetName)) {
+      if (mission.getType() == MissionType.GATHER) {
         count++;
       }
     }
@@ -345,13 +345,7 @@ public class MissionList {
    * @return number of missions
    */
   public int getNumberOfMissionTypes(final MissionType type) {
-    int count = 0;
-    for (Mission mission : missions) {
-      if (mission.getType() == type) {
-        count++;
-      }
-    }
-    return count;
+    return missionIndex.get(MissionIndex.KEY_TYPE, type).size();
   }
 
   /**
@@ -362,14 +356,7 @@ public class MissionList {
    */
   public int getNumberOfMissionTypes(final MissionType type,
       final MissionPhase phase) {
-    int count = 0;
-    for (Mission mission : missions) {
-      if (mission.getType() == type
-          && mission.getPhase() == phase) {
-        count++;
-      }
-    }
-    return count;
+    return getMissions(type, phase).size();
   }
 
   /**
@@ -379,13 +366,23 @@ public class MissionList {
    * @return Mission or null if not found
    */
   public Mission getMission(final MissionType type, final MissionPhase phase) {
-    for (Mission mission : missions) {
-      if (mission.getType() == type
-          && mission.getPhase() == phase) {
-        return mission;
-      }
+    List<Mission> list = getMissions(type, phase);
+    if (list.isEmpty()) {
+      return null;
     }
-    return null;
+    return list.get(0);
+  }
+
+  /**
+   * Get missions where type is certain and phase is certain.
+   * @param type Mission type
+   * @param phase Mission phase
+   * @return Missions in list order, must not be modified
+   */
+  private List<Mission> getMissions(final MissionType type,
+      final MissionPhase phase) {
+    return missionIndex.get(MissionIndex.KEY_TYPE_PHASE,
+        MissionIndex.getTypePhaseKey(type, phase));
   }
 
   /**
@@ -394,9 +391,9 @@ public class MissionList {
    * @return Diplomatic mission or null
    */
   public Mission getDiplomaticMission(final String realmName) {
-    for (Mission mission : missions) {
-      if (mission.getType() == MissionType.DIPLOMATIC_DELEGACY
-          && mission.getTargetRealmName().equals(realmName)) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_TYPE,
+        MissionType.DIPLOMATIC_DELEGACY)) {
+      if (mission.getTargetRealmName().equals(realmName)) {
         return mission;
       }
     }
@@ -408,10 +405,9 @@ public class MissionList {
    * @return Gather mission or null
    */
   public Mission getGatherMission(final String shipType) {
-    for (Mission mission : missions) {
-      if (mission.getType() == MissionType.GATHER
-          && mission.getPhase() == MissionPhase.PLANNING
-          && mission.getShipType().equals(shipType)) {
+    for (Mission mission : getMissions(MissionType.GATHER,
+        MissionPhase.PLANNING)) {
+      if (mission.getShipType().equals(shipType)) {
         return mission;
       }
     }
@@ -426,10 +422,9 @@ public class MissionList {
    */
   public Mission getMissionForPlanet(final String planetName,
       final MissionType type) {
-    for (Mission mission : missions) {
-      if (mission.getPlanetBuilding() != null
-          && mission.getPlanetBuilding().equals(planetName)
-          && mission.getType() == type) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_PLANET_BUILDING,
+        planetName)) {
+      if (mission.getType() == type) {
         return mission;
       }
     }
@@ -444,10 +439,9 @@ public class MissionList {
    */
   public Mission getMissionForPlanet(final String planetName,
       final MissionPhase phase) {
-    for (Mission mission : missions) {
-      if (mission.getPlanetBuilding() != null
-          && mission.getPlanetBuilding().equals(planetName)
-          && mission.getPhase() == phase) {
+    for (Mission mission : missionIndex.get(MissionIndex.KEY_PLANET_BUILDING,
+        planetName)) {
+      if (mission.getPhase() == phase) {
         return mission;
       }
     }
@@ -459,7 +453,10 @@ public class MissionList {
    * @param mission Mission to remove
    */
   public void remove(final Mission mission) {
-    missions.remove(mission);
+    if (missions.remove(mission)) {
+      missionIndex.remove(mission);
+      mission.setMissionList(null);
+    }
   }
 
   /**
@@ -467,14 +464,10 @@ public class MissionList {
    * @param fleetName Fleet name to delete
    */
   public void deleteMissionForFleet(final String fleetName) {
-    ArrayList<Mission> deletableMissions = new ArrayList<>();
-    for (Mission mission : missions) {
-      if (fleetName.equals(mission.getFleetName())) {
-        deletableMissions.add(mission);
-      }
-    }
+    ArrayList<Mission> deletableMissions = new ArrayList<>(
+        missionIndex.get(MissionIndex.KEY_FLEET, fleetName));
     for (Mission mission : deletableMissions) {
-      missions.remove(mission);
+      remove(mission);
     }
   }
 
@@ -519,7 +512,13 @@ public class MissionList {
    * @param mission The mission to add to the list
    */
   public void add(final Mission mission) {
+    long order = 0;
+    if (!missions.isEmpty()) {
+      Mission last = missions.get(missions.size() - 1);
+      order = missionIndex.getOrder(last) + ORDER_GAP;
+    }
     missions.add(mission);
+    addToIndex(mission, order);
   }
 
   /**
@@ -527,7 +526,12 @@ public class MissionList {
    * @param mission The mission to add to the list
    */
   public void addHighestPriority(final Mission mission) {
+    long order = 0;
+    if (!missions.isEmpty()) {
+      order = missionIndex.getOrder(missions.get(0)) - ORDER_GAP;
+    }
     missions.add(0, mission);
+    addToIndex(mission, order);
   }
 
   /**
@@ -548,7 +552,46 @@ public class MissionList {
         break;
       }
     }
+    if (priority == missions.size()) {
+      add(mission);
+      return;
+    }
+    long before = missionIndex.getOrder(missions.get(priority - 1));
+    long after = missionIndex.getOrder(missions.get(priority));
+    if (after - before < 2) {
+      renumberOrders();
+      before = missionIndex.getOrder(missions.get(priority - 1));
+      after = missionIndex.getOrder(missions.get(priority));
+    }
     missions.add(priority, mission);
+    addToIndex(mission, before + (after - before) / 2);
+  }
+
+  /**
+   * Add mission to indexes.
+   * @param mission Mission which was added to list
+   * @param order Mission's order
+   */
+  private void addToIndex(final Mission mission, final long order) {
+    mission.setMissionList(this);
+    missionIndex.add(mission, order);
+  }
+
+  /**
+   * Spread mission orders evenly so there is room between missions.
+   */
+  private void renumberOrders() {
+    for (int i = 0; i < missions.size(); i++) {
+      missionIndex.setOrder(missions.get(i), i * ORDER_GAP);
+    }
+  }
+
+  /**
+   * Update indexes after indexed value of mission has changed.
+   * @param mission Mission which has changed
+   */
+  void updateIndex(final Mission mission) {
+    missionIndex.update(mission);
   }
 
   /**
@@ -29,6 +29,7 @@ import org.openRealmOfStars.starMap.StarMap;
  *
  *
  * A Star path searching algorithm. This works with BattleMap and StarMap.
+ * Actual searching is done by PathSearchEngine.
  *
  */
 
@@ -44,30 +45,25 @@ public class AStarSearch {
   private int maxY;
 
   /**
-   * Map value for blocked
+   * Bitset containing the block information. On star map this is
+   * shared with StarMap so it must not be modified.
    */
-  private static final int BLOCKED = Integer.MAX_VALUE;
+  private long[] blockMap;
 
   /**
-   * Map value for unblocked
+   * Route points after doRoute. First one is target and last one
+   * is the first move.
    */
-  private static final int UNBLOCKED = 200000;
-
-  /**
-   * Start distance for PathPoint. This number just needs to bigger
-   * than it ever can be calculated from map.
-   */
-  private static final int START_DISTANCE = 999999;
+  private List<PathPoint> points;
 
   /**
-   * Map containing the block information
+   * Start X coordinate
    */
-  private int[][] blockMap;
-
+  private int sx;
   /**
-   * Points to still to check
+   * Start Y coordinate
    */
-  private List<PathPoint> points;
+  private int sy;
 
   /**
    * Target X coordinate
@@ -83,6 +79,11 @@ public class AStarSearch {
    */
   private int targetDistance;
 
+  /**
+   * Found path as square indexes from first move to target.
+   */
+  private int[] path;
+
   /**
    * Found target point after search
    */
@@ -93,6 +94,18 @@ public class AStarSearch {
    */
   private int routeIndex;
 
+  /**
+   * Initialize reusable A Star Search for grid. Search is started with
+   * reset() and same search can be used for several routes.
+   * @param maxX Grid width
+   * @param maxY Grid height
+   */
+  public AStarSearch(final int maxX, final int maxY) {
+    this.maxX = maxX;
+    this.maxY = maxY;
+    initialize(0, 0, 0, 0);
+  }
+
   /**
    * Initialize A Star Search for combat map.
    * @param combat Actual combat map
@@ -104,29 +117,16 @@ public class AStarSearch {
       final CombatShip target, final int targetDistance) {
     maxX = Combat.MAX_X;
     maxY = Combat.MAX_Y;
-    blockMap = new int[maxX][maxY];
-    this.targetDistance = targetDistance;
+    blockMap = PathSearchEngine.createGrid(maxX, maxY);
     for (int y = 0; y < maxY; y++) {
       for (int x = 0; x < maxX; x++) {
         if (combat.isBlocked(x, y, true)) {
-          blockMap[x][y] = BLOCKED;
-        } else {
-          blockMap[x][y] = UNBLOCKED;
+          PathSearchEngine.setBlocked(blockMap, y * maxX + x);
         }
       }
     }
-    points = new ArrayList<>();
-    tx = target.getX();
-    ty = target.getY();
+    initialize(start.getX(), start.getY(), target.getX(), target.getY());
     this.targetDistance = targetDistance;
-    Coordinate startCoordinate = new Coordinate(start.getX(), start.getY());
-    Coordinate targetCoordinate = new Coordinate(target.getX(), target.getY());
-    PathPoint point1 = new PathPoint(start.getX(), start.getY(),
-            startCoordinate.calculateDistance(targetCoordinate));
-    points.add(point1);
-    blockMap[point1.getX()][point1.getY()] = 0;
-    targetPoint = null;
-    routeIndex = -1;
   }
 
   /**
@@ -140,34 +140,22 @@ public class AStarSearch {
       final Coordinate target, final int targetDistance) {
     maxX = Combat.MAX_X;
     maxY = Combat.MAX_Y;
-    blockMap = new int[maxX][maxY];
-    this.targetDistance = targetDistance;
+    blockMap = PathSearchEngine.createGrid(maxX, maxY);
     for (int y = 0; y < maxY; y++) {
       for (int x = 0; x < maxX; x++) {
         if (combat.isBlocked(x, y, true)) {
-          blockMap[x][y] = BLOCKED;
-        } else {
-          blockMap[x][y] = UNBLOCKED;
-        }
-        if (combat.getWormHoleCoordinate() != null
-            && combat.getWormHoleCoordinate().sameAs(target)
-            && x == target.getX() && y == target.getY()) {
-          blockMap[x][y] = UNBLOCKED;
+          PathSearchEngine.setBlocked(blockMap, y * maxX + x);
         }
       }
     }
-    points = new ArrayList<>();
-    tx = target.getX();
-    ty = target.getY();
+    if (combat.getWormHoleCoordinate() != null
+        && combat.getWormHoleCoordinate().sameAs(target)
+        && isValidPos(target.getX(), target.getY())) {
+      PathSearchEngine.clearBlocked(blockMap,
+          target.getY() * maxX + target.getX());
+    }
+    initialize(start.getX(), start.getY(), target.getX(), target.getY());
     this.targetDistance = targetDistance;
-    Coordinate startCoordinate = new Coordinate(start.getX(), start.getY());
-    Coordinate targetCoordinate = new Coordinate(target.getX(), target.getY());
-    PathPoint point1 = new PathPoint(start.getX(), start.getY(),
-            startCoordinate.calculateDistance(targetCoordinate));
-    points.add(point1);
-    blockMap[point1.getX()][point1.getY()] = 0;
-    targetPoint = null;
-    routeIndex = -1;
   }
 
   /**
@@ -186,30 +174,17 @@ public class AStarSearch {
       final boolean dangerousBlocked) {
     maxX = map.getMaxX();
     maxY = map.getMaxY();
-    blockMap = new int[maxX][maxY];
+    blockMap = map.getPassabilityLayer(dangerousBlocked);
     FleetTileInfo[][] fleetTiles = map.getFleetTiles();
     int ownerIndex = -1;
     if (fleetTiles != null && fleetTiles[sx][sy] != null) {
       ownerIndex = fleetTiles[sx][sy].getPlayerIndex();
     }
-    for (int y = 0; y < maxY; y++) {
-      for (int x = 0; x < maxX; x++) {
-        if (map.isBlocked(x, y) || dangerousBlocked && map.isDangerous(x, y)) {
-          blockMap[x][y] = BLOCKED;
-        } else {
-          blockMap[x][y] = UNBLOCKED;
-        }
-        if (ownerIndex != -1) {
-          FleetTileInfo fleetTile = fleetTiles[x][y];
-          if (fleetTile != null && fleetTile.getPlayerIndex() != ownerIndex) {
-            blockMap[x][y] = BLOCKED;
-          }
-        }
-      }
+    if (ownerIndex != -1) {
+      blockMap = PathSearchEngine.union(blockMap,
+          map.getForeignFleetLayer(ownerIndex));
     }
-    points = new ArrayList<>();
-    this.tx = tx;
-    this.ty = ty;
+    initialize(sx, sy, tx, ty);
     Coordinate startCoordinate = new Coordinate(sx, sy);
     Coordinate targetCoordinate = new Coordinate(tx, ty);
     this.targetDistance = (int) Math
@@ -218,12 +193,6 @@ public class AStarSearch {
       // Target is actually in reroute area
       this.targetDistance = 0;
     }
-    PathPoint point1 = new PathPoint(sx, sy,
-            startCoordinate.calculateDistance(targetCoordinate));
-    points.add(point1);
-    blockMap[point1.getX()][point1.getY()] = 0;
-    targetPoint = null;
-    routeIndex = -1;
   }
 
   /**
@@ -239,26 +208,48 @@ public class AStarSearch {
       final int tx, final int ty, final boolean dangerousBlocked) {
     maxX = map.getMaxX();
     maxY = map.getMaxY();
-    blockMap = new int[maxX][maxY];
-    for (int y = 0; y < maxY; y++) {
-      for (int x = 0; x < maxX; x++) {
-        if (map.isBlocked(x, y) || dangerousBlocked && map.isDangerous(x, y)) {
-          blockMap[x][y] = BLOCKED;
-        } else {
-          blockMap[x][y] = UNBLOCKED;
-        }
-      }
-    }
-    points = new ArrayList<>();
-    this.tx = tx;
-    this.ty = ty;
+    blockMap = map.getPassabilityLayer(dangerousBlocked);
+    initialize(sx, sy, tx, ty);
     this.targetDistance = 0;
-    Coordinate startCoordinate = new Coordinate(sx, sy);
-    Coordinate targetCoordinate = new Coordinate(tx, ty);
-    PathPoint point1 = new PathPoint(sx, sy,
-        startCoordinate.calculateDistance(targetCoordinate));
-    points.add(point1);
-    blockMap[point1.getX()][point1.getY()] = 0;
+  }
+
+  /**
+   * Reset search for new route. Block map is used as is, so it must
+   * not be changed before search has been done.
+   * @param blocked Blocked squares as bitset grid
+   * @param startX Start X coordinate
+   * @param startY Start Y coordinate
+   * @param targetX Target X coordinate
+   * @param targetY Target Y coordinate
+   * @param distance How near is enough
+   */
+  public void reset(final long[] blocked, final int startX,
+      final int startY, final int targetX, final int targetY,
+      final int distance) {
+    blockMap = blocked;
+    initialize(startX, startY, targetX, targetY);
+    targetDistance = distance;
+  }
+
+  /**
+   * Initialize start and target points.
+   * @param startX Start X coordinate
+   * @param startY Start Y coordinate
+   * @param targetX Target X coordinate
+   * @param targetY Target Y coordinate
+   */
+  private void initialize(final int startX, final int startY,
+      final int targetX, final int targetY) {
+    sx = startX;
+    sy = startY;
+    tx = targetX;
+    ty = targetY;
+    if (points == null) {
+      points = new ArrayList<>();
+    } else {
+      points.clear();
+    }
+    path = null;
     targetPoint = null;
     routeIndex = -1;
   }
@@ -277,68 +268,50 @@ public class AStarSearch {
   }
 
   /**
-   * Do actual A Star search with initialized values
+   * Calculate distance from point to target
+   * @param x X Coordinate
+   * @param y Y Coordinate
+   * @return Distance
+   */
+  private double distanceToTarget(final int x, final int y) {
+    int dx = x - tx;
+    int dy = y - ty;
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+
+  /**
+   * Run the search engine.
+   * @param preferStraight Prefer straight lines
    * @return True if successful and false if not
    */
-  public boolean doSearch() {
-    boolean noMorePoints = false;
-    int count = 0;
-    if (isValidPos(tx, ty) && blockMap[tx][ty] == BLOCKED
+  private boolean search(final boolean preferStraight) {
+    if (isValidPos(tx, ty)
+        && PathSearchEngine.isBlocked(blockMap, ty * maxX + tx)
         && targetDistance == 0) {
       targetDistance = 1;
     }
-    while (!noMorePoints) {
-      count++;
-      if (points.size() > 0) {
-        PathPoint point = points.get(0);
-        points.remove(0);
-        for (int y = -1; y < 2; y++) {
-          for (int x = -1; x < 2; x++) {
-            if (y == 0 && x == 0) {
-              continue;
-            }
-            int mx = x + point.getX();
-            int my = y + point.getY();
-            if (isValidPos(mx, my) && blockMap[mx][my] > count
-                && blockMap[mx][my] != BLOCKED) {
-              blockMap[mx][my] = count;
-              Coordinate coordinate = new Coordinate(mx, my);
-              Coordinate targetCoordinate = new Coordinate(tx, ty);
-              double distance = coordinate.calculateDistance(targetCoordinate);
-              PathPoint newPoint = new PathPoint(mx, my, distance);
-              if (distance < point.getDistance()) {
-                if (points.size() > 0) {
-                  PathPoint first = points.get(0);
-                  if (first != null && distance < first.getDistance()) {
-                    // Seems to be closer, so adding it to first one
-                    points.add(0, newPoint);
-                  } else {
-                    // Seems to be closer, but not close as first one in list
-                    points.add(1, newPoint);
-                  }
-                } else {
-                  // Seems to be closer, so adding it to first one
-                  points.add(0, newPoint);
-
-                }
-              } else {
-                // Seems to be more far away so adding it to end
-                points.add(newPoint);
-              }
-              if ((int) Math.ceil(distance) == targetDistance) {
-                // Target found and acquired
-                targetPoint = newPoint;
-                return true;
-              }
-            }
-          }
-        }
-      } else {
-        noMorePoints = true;
-      }
+    if (!isValidPos(sx, sy)) {
+      return false;
     }
-    // Target is not found, no path available
-    return false;
+    path = PathSearchEngine.getEngine().search(blockMap, maxX, maxY, sx, sy,
+        tx, ty, targetDistance, preferStraight);
+    if (path == null) {
+      // Target is not found, no path available
+      return false;
+    }
+    int last = path[path.length - 1];
+    int x = last % maxX;
+    int y = last / maxX;
+    targetPoint = new PathPoint(x, y, distanceToTarget(x, y));
+    return true;
+  }
+
+  /**
+   * Do actual A Star search with initialized values
+   * @return True if successful and false if not
+   */
+  public boolean doSearch() {
+    return search(false);
   }
 
   /**
@@ -347,145 +320,19 @@ public class AStarSearch {
    * @return True if successful and false if not
    */
   public boolean doSearchPreferStraightLines() {
-    boolean noMorePoints = false;
-    int count = 0;
-    if (isValidPos(tx, ty) && blockMap[tx][ty] == BLOCKED
-        && targetDistance == 0) {
-      targetDistance = 1;
-    }
-    while (!noMorePoints) {
-      count++;
-      if (points.size() > 0) {
-        PathPoint point = points.get(0);
-        points.remove(0);
-        for (int k = 0; k < 8; k++) {
-          int x = 0;
-          int y = 0;
-          switch (k) {
-          default:
-          case 0: {
-            x = -1;
-            y = 0;
-            break;
-          }
-          case 1: {
-            x = 1;
-            y = 0;
-            break;
-          }
-          case 2: {
-            x = 0;
-            y = -1;
-            break;
-          }
-          case 3: {
-            x = 0;
-            y = 1;
-            break;
-          }
-          case 4: {
-            x = -1;
-            y = -1;
-            break;
-          }
-          case 5: {
-            x = 1;
-            y = -1;
-            break;
-          }
-          case 6: {
-            x = -1;
-            y = 1;
-            break;
-          }
-          case 7: {
-            x = 1;
-            y = 1;
-            break;
-          }
-          }
-          int mx = x + point.getX();
-          int my = y + point.getY();
-          if (isValidPos(mx, my) && blockMap[mx][my] > count
-              && blockMap[mx][my] != BLOCKED) {
-            blockMap[mx][my] = count;
-            Coordinate coordinate = new Coordinate(mx, my);
-            Coordinate targetCoordinate = new Coordinate(tx, ty);
-            double distance = coordinate.calculateDistance(targetCoordinate);
-            PathPoint newPoint = new PathPoint(mx, my, distance);
-            if (distance < point.getDistance()) {
-              if (points.size() > 0) {
-                PathPoint first = points.get(0);
-                if (first != null && distance < first.getDistance()) {
-                  // Seems to be closer, so adding it to first one
-                  points.add(0, newPoint);
-                } else {
-                  // Seems to be closer, but not close as first one in list
-                  points.add(1, newPoint);
-                }
-              } else {
-                // Seems to be closer, so adding it to first one
-                points.add(0, newPoint);
-              }
-            } else {
-              // Seems to be more far away so adding it to end
-              points.add(newPoint);
-            }
-            if ((int) Math.ceil(distance) == targetDistance) {
-              // Target found and acquired
-              targetPoint = newPoint;
-              return true;
-            }
-          }
-        }
-      } else {
-        noMorePoints = true;
-      }
-    }
-    // Target is not found, no path available
-    return false;
+    return search(true);
   }
 
   /**
    * Calculate Route
    */
   public void doRoute() {
-    boolean targetReached = false;
     if (targetPoint != null) {
-      points = new ArrayList<>();
-      points.add(targetPoint);
-      int count = UNBLOCKED;
-      while (!targetReached) {
-        PathPoint point = points.get(points.size() - 1);
-        int bx = 0;
-        int by = 0;
-        double bestDistance = START_DISTANCE;
-        for (int y = -1; y < 2; y++) {
-          for (int x = -1; x < 2; x++) {
-            if (y == 0 && x == 0) {
-              continue;
-            }
-            int mx = x + point.getX();
-            int my = y + point.getY();
-            Coordinate coordinate = new Coordinate(mx, my);
-            Coordinate targetCoordinate = new Coordinate(tx, ty);
-            double distance = coordinate.calculateDistance(targetCoordinate);
-            if (isValidPos(mx, my) && blockMap[mx][my] < count
-                && distance <= bestDistance) {
-              bx = mx;
-              by = my;
-              bestDistance = distance;
-              count = blockMap[bx][by];
-            }
-          }
-        }
-        PathPoint newPoint = new PathPoint(bx, by, bestDistance);
-        if (blockMap[bx][by] != 0) {
-          points.add(newPoint);
-        } else {
-          targetReached = true;
-        }
-
+      points.clear();
+      for (int i = path.length - 1; i >= 0; i--) {
+        int x = path[i] % maxX;
+        int y = path[i] / maxX;
+        points.add(new PathPoint(x, y, distanceToTarget(x, y)));
       }
       routeIndex = points.size() - 1;
     }
@@ -0,0 +1,438 @@
+package org.openRealmOfStars.AI.PathFinding;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * A Star search engine working on flat primitive arrays. Open set
+ * is binary heap and all per node data is kept in scratch arrays which
+ * are reused between searches. Each thread has its own engine so
+ * searches can be done from several threads at the same time.
+ *
+ * Blocked information is given as bitset where each map square
+ * is one bit in row major order. Every move to any of eight neighbour
+ * squares costs one move point.
+ *
+ */
+
+public final class PathSearchEngine {
+
+  /**
+   * Engine per thread.
+   */
+  private static final ThreadLocal<PathSearchEngine> ENGINES =
+      new ThreadLocal<PathSearchEngine>() {
+    @Override
+    protected PathSearchEngine initialValue() {
+      return new PathSearchEngine();
+    }
+  };
+
+  /**
+   * Get search engine for current thread.
+   * @return PathSearchEngine
+   */
+  public static PathSearchEngine getEngine() {
+    return ENGINES.get();
+  }
+
+  /**
+   * Number of bits in single bitset word.
+   */
+  private static final int WORD_BITS = 64;
+
+  /**
+   * Shift for converting bit index to word index.
+   */
+  private static final int WORD_SHIFT = 6;
+
+  /**
+   * Bit shift for total cost in heap key.
+   */
+  private static final int COST_SHIFT = 40;
+
+  /**
+   * Bit shift for heuristic in heap key.
+   */
+  private static final int HEURISTIC_SHIFT = 24;
+
+  /**
+   * Multiplier for Euclidean distance used for tie breaking.
+   */
+  private static final int TIE_SCALE = 64;
+
+  /**
+   * Initial heap size.
+   */
+  private static final int INITIAL_HEAP_SIZE = 256;
+
+  /**
+   * Neighbour X offsets, row by row.
+   */
+  private static final int[] NEIGHBOUR_X = {-1, 0, 1, -1, 1, -1, 0, 1 };
+  /**
+   * Neighbour Y offsets, row by row.
+   */
+  private static final int[] NEIGHBOUR_Y = {-1, -1, -1, 0, 0, 1, 1, 1 };
+  /**
+   * Neighbour X offsets, straight directions first.
+   */
+  private static final int[] STRAIGHT_X = {-1, 1, 0, 0, -1, 1, -1, 1 };
+  /**
+   * Neighbour Y offsets, straight directions first.
+   */
+  private static final int[] STRAIGHT_Y = {0, 0, -1, 1, -1, -1, 1, 1 };
+
+  /**
+   * Moves used to reach square from start point.
+   */
+  private int[] costs;
+  /**
+   * Diagonal moves used to reach square from start point.
+   */
+  private int[] diagonals;
+  /**
+   * Index of previous square in path.
+   */
+  private int[] parents;
+  /**
+   * Search generation when square was reached. If value differs
+   * from current generation square has not been reached.
+   */
+  private int[] reached;
+  /**
+   * Search generation when square was closed.
+   */
+  private int[] closed;
+  /**
+   * Current search generation
+   */
+  private int generation;
+  /**
+   * Square indexes in open set heap
+   */
+  private int[] heapNodes;
+  /**
+   * Keys for open set heap
+   */
+  private long[] heapKeys;
+  /**
+   * Number of elements in open set heap.
+   */
+  private int heapSize;
+
+  /**
+   * Constructor for path search engine. Use getEngine() instead
+   * so that scratch arrays are shared within thread.
+   */
+  private PathSearchEngine() {
+    costs = new int[0];
+    diagonals = new int[0];
+    parents = new int[0];
+    reached = new int[0];
+    closed = new int[0];
+    generation = 0;
+    heapNodes = new int[INITIAL_HEAP_SIZE];
+    heapKeys = new long[INITIAL_HEAP_SIZE];
+    heapSize = 0;
+  }
+
+  /**
+   * Create new empty bitset grid where all squares are free.
+   * @param width Grid width
+   * @param height Grid height
+   * @return Bitset grid
+   */
+  public static long[] createGrid(final int width, final int height) {
+    return new long[(width * height + WORD_BITS - 1) / WORD_BITS];
+  }
+
+  /**
+   * Mark square blocked in bitset grid.
+   * @param grid Bitset grid
+   * @param index Square index (y * width + x)
+   */
+  public static void setBlocked(final long[] grid, final int index) {
+    grid[index >>> WORD_SHIFT] |= 1L << index;
+  }
+
+  /**
+   * Mark square free in bitset grid.
+   * @param grid Bitset grid
+   * @param index Square index (y * width + x)
+   */
+  public static void clearBlocked(final long[] grid, final int index) {
+    grid[index >>> WORD_SHIFT] &= ~(1L << index);
+  }
+
+  /**
+   * Is square blocked in bitset grid.
+   * @param grid Bitset grid
+   * @param index Square index (y * width + x)
+   * @return True if blocked
+   */
+  public static boolean isBlocked(final long[] grid, final int index) {
+    return (grid[index >>> WORD_SHIFT] & 1L << index) != 0;
+  }
+
+  /**
+   * Create new bitset grid where square is blocked if it is blocked
+   * in either of given grids.
+   * @param first First bitset grid
+   * @param second Second bitset grid
+   * @return New bitset grid
+   */
+  public static long[] union(final long[] first, final long[] second) {
+    long[] result = new long[first.length];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = first[i] | second[i];
+    }
+    return result;
+  }
+
+  /**
+   * Make sure that scratch arrays can hold given number of squares.
+   * @param size Number of squares
+   */
+  private void ensureCapacity(final int size) {
+    if (costs.length < size) {
+      costs = new int[size];
+      diagonals = new int[size];
+      parents = new int[size];
+      reached = new int[size];
+      closed = new int[size];
+      generation = 0;
+    }
+  }
+
+  /**
+   * Start new search generation. Stamp arrays are cleared only
+   * when generation counter would overflow.
+   */
+  private void nextGeneration() {
+    if (generation == Integer.MAX_VALUE) {
+      Arrays.fill(reached, 0);
+      Arrays.fill(closed, 0);
+      generation = 0;
+    }
+    generation++;
+    heapSize = 0;
+  }
+
+  /**
+   * Add square into open set heap.
+   * @param node Square index
+   * @param key Priority key, smaller is better
+   */
+  private void push(final int node, final long key) {
+    if (heapSize == heapNodes.length) {
+      heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+      heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+    }
+    int i = heapSize;
+    heapSize++;
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (heapKeys[parent] <= key) {
+        break;
+      }
+      heapNodes[i] = heapNodes[parent];
+      heapKeys[i] = heapKeys[parent];
+      i = parent;
+    }
+    heapNodes[i] = node;
+    heapKeys[i] = key;
+  }
+
+  /**
+   * Remove best square from open set heap.
+   * @return Square index
+   */
+  private int pop() {
+    int result = heapNodes[0];
+    heapSize--;
+    int node = heapNodes[heapSize];
+    long key = heapKeys[heapSize];
+    int i = 0;
+    int half = heapSize >>> 1;
+    while (i < half) {
+      int child = 2 * i + 1;
+      int right = child + 1;
+      if (right < heapSize && heapKeys[right] < heapKeys[child]) {
+        child = right;
+      }
+      if (key <= heapKeys[child]) {
+        break;
+      }
+      heapNodes[i] = heapNodes[child];
+      heapKeys[i] = heapKeys[child];
+      i = child;
+    }
+    heapNodes[i] = node;
+    heapKeys[i] = key;
+    return result;
+  }
+
+  /**
+   * Is square inside the target distance. Square is target if its
+   * distance to target rounded up is exactly target distance.
+   * @param squareDistance Squared distance to target
+   * @param targetDistance Target distance
+   * @return True if square is a target square
+   */
+  private static boolean isTarget(final int squareDistance,
+      final int targetDistance) {
+    if (targetDistance == 0) {
+      return squareDistance == 0;
+    }
+    return squareDistance > (targetDistance - 1) * (targetDistance - 1)
+        && squareDistance <= targetDistance * targetDistance;
+  }
+
+  /**
+   * Search shortest path.
+   * @param blocked Bitset grid of blocked squares
+   * @param width Grid width
+   * @param height Grid height
+   * @param sx Start X coordinate
+   * @param sy Start Y coordinate
+   * @param tx Target X coordinate
+   * @param ty Target Y coordinate
+   * @param targetDistance How near target is enough
+   * @param preferStraight Prefer straight lines over diagonal moves
+   *        when there are several paths with same length
+   * @return Path as square indexes from first move to last move or null
+   *         if path was not found.
+   */
+  public int[] search(final long[] blocked, final int width,
+      final int height, final int sx, final int sy, final int tx,
+      final int ty, final int targetDistance, final boolean preferStraight) {
+    int size = width * height;
+    ensureCapacity(size);
+    nextGeneration();
+    int[] offsetX = NEIGHBOUR_X;
+    int[] offsetY = NEIGHBOUR_Y;
+    if (preferStraight) {
+      offsetX = STRAIGHT_X;
+      offsetY = STRAIGHT_Y;
+    }
+    int start = sy * width + sx;
+    costs[start] = 0;
+    diagonals[start] = 0;
+    parents[start] = -1;
+    reached[start] = generation;
+    push(start, 0);
+    while (heapSize > 0) {
+      int node = pop();
+      if (closed[node] == generation) {
+        // Stale entry, square was already handled with smaller key
+        continue;
+      }
+      closed[node] = generation;
+      int x = node % width;
+      int y = node / width;
+      int dx = x - tx;
+      int dy = y - ty;
+      if (node != start && isTarget(dx * dx + dy * dy, targetDistance)) {
+        return buildPath(node);
+      }
+      int cost = costs[node] + 1;
+      for (int i = 0; i < offsetX.length; i++) {
+        int mx = x + offsetX[i];
+        int my = y + offsetY[i];
+        if (mx < 0 || my < 0 || mx >= width || my >= height) {
+          continue;
+        }
+        int next = my * width + mx;
+        if (closed[next] == generation || isBlocked(blocked, next)) {
+          continue;
+        }
+        int diagonal = diagonals[node];
+        if (offsetX[i] != 0 && offsetY[i] != 0) {
+          diagonal++;
+        }
+        if (reached[next] == generation) {
+          if (costs[next] < cost) {
+            continue;
+          }
+          if (costs[next] == cost
+              && (!preferStraight || diagonals[next] <= diagonal)) {
+            continue;
+          }
+        }
+        reached[next] = generation;
+        costs[next] = cost;
+        diagonals[next] = diagonal;
+        parents[next] = node;
+        push(next, calculateKey(mx, my, tx, ty, cost, diagonal,
+            targetDistance, preferStraight));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Calculate open set key for square. Key is ordered by total cost,
+   * then by heuristic and last by tie breaker.
+   * @param x Square X coordinate
+   * @param y Square Y coordinate
+   * @param tx Target X coordinate
+   * @param ty Target Y coordinate
+   * @param cost Moves from start
+   * @param diagonal Diagonal moves from start
+   * @param targetDistance How near target is enough
+   * @param preferStraight Use diagonal moves as tie breaker
+   * @return Key for the heap
+   */
+  private static long calculateKey(final int x, final int y, final int tx,
+      final int ty, final int cost, final int diagonal,
+      final int targetDistance, final boolean preferStraight) {
+    int dx = Math.abs(x - tx);
+    int dy = Math.abs(y - ty);
+    // Chebyshev distance is never more than actual moves needed
+    int heuristic = Math.max(dx, dy) - targetDistance;
+    if (heuristic < 0) {
+      heuristic = 0;
+    }
+    long tie;
+    if (preferStraight) {
+      tie = diagonal;
+    } else {
+      tie = (long) (Math.sqrt(dx * dx + dy * dy) * TIE_SCALE);
+    }
+    return (long) (cost + heuristic) << COST_SHIFT
+        | (long) heuristic << HEURISTIC_SHIFT | tie;
+  }
+
+  /**
+   * Build path from parent indexes.
+   * @param target Last square in path
+   * @return Path from first move to target
+   */
+  private int[] buildPath(final int target) {
+    int[] path = new int[costs[target]];
+    int node = target;
+    for (int i = path.length - 1; i >= 0; i--) {
+      path[i] = node;
+      node = parents[node];
+    }
+    return path;
+  }
+}
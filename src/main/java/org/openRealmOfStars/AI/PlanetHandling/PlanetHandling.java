@@ -2,6 +2,7 @@ package org.openRealmOfStars.AI.PlanetHandling;
 
 import java.util.ArrayList;
 
+import org.openRealmOfStars.AI.RealmPlan;
 import org.openRealmOfStars.AI.Mission.Mission;
 import org.openRealmOfStars.AI.Mission.MissionPhase;
 import org.openRealmOfStars.AI.Mission.MissionType;
@@ -321,8 +322,27 @@ public final class PlanetHandling {
    */
   public static void handlePlanet(final StarMap map, final Planet planet,
       final int index) {
-    int credit = map
-        .getTotalProductionByPlayerPerTurn(Planet.PRODUCTION_CREDITS, index);
+    handlePlanet(map, planet, index, null);
+  }
+
+  /**
+   * AI player handling for a single planet, what to build
+   * and how to set population work. Realm's credit and research
+   * totals are taken from realm plan if available.
+   * @param map Star Map
+   * @param planet Planet to handle
+   * @param index Player Index;
+   * @param plan Realm plan for the AI turn, may be null
+   */
+  public static void handlePlanet(final StarMap map, final Planet planet,
+      final int index, final RealmPlan plan) {
+    int credit;
+    if (plan != null) {
+      credit = plan.getCredits();
+    } else {
+      credit = map.getTotalProductionByPlayerPerTurn(
+          Planet.PRODUCTION_CREDITS, index);
+    }
     PlayerInfo info = map.getPlayerByIndex(index);
     if (info != null) {
       if (info.getAiDifficulty() == AiDifficulty.NORMAL
@@ -336,8 +356,13 @@ public final class PlanetHandling {
           }
         }
       }
-      int totalResearch = map.getTotalProductionByPlayerPerTurn(
-          Planet.PRODUCTION_RESEARCH, index);
+      int totalResearch;
+      if (plan != null) {
+        totalResearch = plan.getResearch();
+      } else {
+        totalResearch = map.getTotalProductionByPlayerPerTurn(
+            Planet.PRODUCTION_RESEARCH, index);
+      }
       Attitude attitude = info.getAiAttitude();
       handlePlanetPopulation(planet, info, totalResearch);
       if (credit < 0
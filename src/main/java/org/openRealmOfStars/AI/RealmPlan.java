@@ -0,0 +1,95 @@
+package org.openRealmOfStars.AI;
+
+import org.openRealmOfStars.starMap.Coordinate;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.starMap.planet.Planet;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Plan for single AI realm made when realm's turn starts. Plan
+ * holds realm center and reads realm's credit and research totals
+ * from star map's realm ledger. Ledger recalculates only planets whose
+ * production has changed, so totals are always up to date without
+ * going through all the planets' production again.
+ *
+ */
+
+public class RealmPlan {
+
+  /**
+   * Star map where realm is
+   */
+  private final StarMap map;
+
+  /**
+   * Realm index
+   */
+  private final int realmIndex;
+
+  /**
+   * Center of the realm
+   */
+  private final Coordinate center;
+
+  /**
+   * Create realm plan for realm whose turn is starting.
+   * @param map StarMap
+   * @param index Realm index
+   */
+  public RealmPlan(final StarMap map, final int index) {
+    this.map = map;
+    realmIndex = index;
+    center = map.calculateCenterOfRealm(index);
+  }
+
+  /**
+   * Get realm index
+   * @return Realm index
+   */
+  public int getRealmIndex() {
+    return realmIndex;
+  }
+
+  /**
+   * Get center of the realm
+   * @return Center coordinate
+   */
+  public Coordinate getCenter() {
+    return center;
+  }
+
+  /**
+   * Get total credits per turn
+   * @return Credits per turn
+   */
+  public int getCredits() {
+    return map.getTotalProductionByPlayerPerTurn(Planet.PRODUCTION_CREDITS,
+        realmIndex, map.getRealmLedger());
+  }
+
+  /**
+   * Get total research per turn
+   * @return Research per turn
+   */
+  public int getResearch() {
+    return map.getTotalProductionByPlayerPerTurn(Planet.PRODUCTION_RESEARCH,
+        realmIndex, map.getRealmLedger());
+  }
+}
@@ -2,7 +2,7 @@ package org.openRealmOfStars.audio.soundeffect;
 
 import java.util.ArrayList;
 
-import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openRealmOfStars.utilities.RandomStream;
 
 
 /**
@@ -31,6 +31,13 @@ import org.openRealmOfStars.utilities.DiceGenerator;
 */
 public final class SoundPlayer {
 
+  /**
+   * Random stream for choosing sound variations. Sounds do not use
+   * game's random numbers, so they cannot change outcome of the game.
+   */
+  private static final RandomStream SOUND_RANDOM = new RandomStream(
+      System.nanoTime());
+
   /**
    * No use for constructor
    */
@@ -354,7 +361,7 @@ public final class SoundPlayer {
    * Play menu sound. This should be called when button is pressed.
    */
   public static void playMenuSound() {
-    int i = DiceGenerator.getRandom(3);
+    int i = SOUND_RANDOM.getRandom(3);
     switch (i) {
     case 0: {
       playSound(MENU1);
@@ -380,7 +387,7 @@ public final class SoundPlayer {
    * Play Engine sound for space ships
    */
   public static void playEngineSound() {
-    int i = DiceGenerator.getRandom(2);
+    int i = SOUND_RANDOM.getRandom(2);
     switch (i) {
     case 0: {
       playSound(ENGINE1);
@@ -402,7 +409,7 @@ public final class SoundPlayer {
    * Play Shield sound for space ships
    */
   public static void playShieldSound() {
-    int i = DiceGenerator.getRandom(2);
+    int i = SOUND_RANDOM.getRandom(2);
     switch (i) {
     case 0: {
       playSound(SHIELD1);
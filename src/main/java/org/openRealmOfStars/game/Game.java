@@ -68,6 +68,7 @@ import org.openRealmOfStars.game.States.StatView;
 import org.openRealmOfStars.game.States.VoteView;
 import org.openRealmOfStars.game.config.ConfigFile;
 import org.openRealmOfStars.game.config.ConfigLine;
+import org.openRealmOfStars.game.simulation.AiSimulation;
 import org.openRealmOfStars.game.tutorial.HelpLine;
 import org.openRealmOfStars.game.tutorial.TutorialList;
 import org.openRealmOfStars.gui.icons.Icons;
@@ -2417,6 +2418,11 @@ public class Game implements ActionListener {
       System.out.println(printTechWiki());
     } else if (args.length > 0 && args[0].equals("--save-update")) {
       saveGameUpdate();
+    } else if (args.length > 0 && args[0].equals("--simulate")) {
+      System.setProperty("java.awt.headless", "true");
+      MusicPlayer.setMusicEnabled(false);
+      SoundPlayer.setSoundEnabled(false);
+      AiSimulation.runFromCommandLine(args);
     } else if (args.length > 1 && args[0].equals("--text")) {
       System.out.println("Disabling the music...");
       MusicPlayer.setMusicEnabled(false);
@@ -2435,6 +2441,9 @@ public class Game implements ActionListener {
       if (args.length > 0 && args[0].equals("--debug")) {
         System.out.println("Debugging enabled.");
         ErrorLogger.enabledDebugging();
+        Planet.setProductionCacheCheck(true);
+        Ship.setStatsCacheCheck(true);
+        Fleet.setStatsCacheCheck(true);
       }
       mainMethodCalled = true;
       new Game(true);
@@ -7,6 +7,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
 
 import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.starMap.SaveGameHeader;
 import org.openRealmOfStars.starMap.StarMap;
 import org.openRealmOfStars.utilities.repository.GameRepository;
 
@@ -77,23 +78,53 @@ public class SavedGame implements Comparable<SavedGame> {
    */
   public SavedGame(final String folderName, final String filename)
       throws IOException {
+    this(folderName, filename, readHeader(folderName, filename));
+  }
+
+  /**
+   * Saved game information from already read save game header.
+   * @param folderName Folder name where saved game is
+   * @param filename File name
+   * @param header Save game header
+   * @throws IOException if reading file attributes fails
+   */
+  public SavedGame(final String folderName, final String filename,
+      final SaveGameHeader header) throws IOException {
     File file = new File(folderName + "/" + filename);
     BasicFileAttributes attr = Files.readAttributes(file.toPath(),
         BasicFileAttributes.class);
     SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
     creationTimeMillis = attr.creationTime().toMillis();
     creationTime = dateFormat.format(creationTimeMillis);
-    StarMap starMap = new GameRepository().loadGame(folderName, filename);
-    if (starMap == null) {
-      throw new IOException("Error while reading the saved game: "
-          + folderName + "/" + filename);
-    }
     this.filename = filename;
-    turnNumber = starMap.getTurn();
-    galaxySize = starMap.getMaxX() + " X " + starMap.getMaxY();
-    playerRace = starMap.getPlayerList().getPlayerInfoByIndex(0).getRace();
-    empireName = starMap.getPlayerList().getPlayerInfoByIndex(0)
-        .getEmpireName();
+    turnNumber = header.getTurn();
+    galaxySize = header.getMaxX() + " X " + header.getMaxY();
+    playerRace = header.getRace();
+    empireName = header.getEmpireName();
+  }
+
+  /**
+   * Read save game header from saved game. If saved game is older
+   * without header then whole game is loaded and header is created
+   * from it.
+   * @param folderName Folder name where to load saved games
+   * @param filename File name
+   * @return Save game header
+   * @throws IOException if reading fails
+   */
+  public static SaveGameHeader readHeader(final String folderName,
+      final String filename) throws IOException {
+    GameRepository repository = new GameRepository();
+    SaveGameHeader header = repository.loadGameHeader(folderName, filename);
+    if (header == null) {
+      StarMap starMap = repository.loadGame(folderName, filename);
+      if (starMap == null) {
+        throw new IOException("Error while reading the saved game: "
+            + folderName + "/" + filename);
+      }
+      header = new SaveGameHeader(starMap);
+    }
+    return header;
   }
 
   /**
@@ -0,0 +1,208 @@
+package org.openRealmOfStars.game;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.openRealmOfStars.starMap.SaveGameHeader;
+import org.openRealmOfStars.utilities.ErrorLogger;
+import org.openRealmOfStars.utilities.IOUtilities;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Index of save game headers stored in save game folder. Entry is
+ * valid as long as save file's size and modification time do not change.
+ * This way save files are not opened at all when listing saved games
+ * and older saves without header are read only once.
+ *
+ */
+public class SavedGameIndex {
+
+  /**
+   * Index file name in save game folder
+   */
+  public static final String INDEX_FILENAME = "savegames.index";
+
+  /**
+   * Magic string for index file
+   */
+  public static final String MAGIC_STRING = "OROS-SAVE-INDEX-0.1";
+
+  /**
+   * Folder where saved games are
+   */
+  private String folderName;
+
+  /**
+   * Index entries by file name
+   */
+  private HashMap<String, Entry> entries;
+
+  /**
+   * File names which have been requested after loading index
+   */
+  private HashSet<String> used;
+
+  /**
+   * Has index changed after loading it
+   */
+  private boolean changed;
+
+  /**
+   * Load saved game index from save game folder. If index does not exist
+   * or it cannot be read then empty index is created.
+   * @param folderName Folder where saved games are
+   */
+  public SavedGameIndex(final String folderName) {
+    this.folderName = folderName;
+    entries = new HashMap<>();
+    used = new HashSet<>();
+    changed = false;
+    File file = new File(folderName + "/" + INDEX_FILENAME);
+    if (!file.exists()) {
+      return;
+    }
+    try (FileInputStream is = new FileInputStream(file)) {
+      DataInputStream dis = new DataInputStream(new BufferedInputStream(is));
+      String str = IOUtilities.readString(dis);
+      if (!str.equals(MAGIC_STRING)) {
+        changed = true;
+        return;
+      }
+      int count = dis.readInt();
+      for (int i = 0; i < count; i++) {
+        String filename = IOUtilities.readString(dis);
+        long size = dis.readLong();
+        long modified = dis.readLong();
+        SaveGameHeader header = new SaveGameHeader(dis);
+        entries.put(filename, new Entry(size, modified, header));
+      }
+    } catch (IOException e) {
+      ErrorLogger.log("Error while reading save game index: "
+          + e.getMessage());
+      entries.clear();
+      changed = true;
+    }
+  }
+
+  /**
+   * Get saved game information. Header is taken from index if it is
+   * up to date, otherwise it is read from save file and index is updated.
+   * @param filename Save game file name
+   * @return SavedGame
+   * @throws IOException if reading fails
+   */
+  public SavedGame getSavedGame(final String filename) throws IOException {
+    File file = new File(folderName + "/" + filename);
+    long size = file.length();
+    long modified = file.lastModified();
+    used.add(filename);
+    Entry entry = entries.get(filename);
+    if (entry == null || entry.size != size || entry.modified != modified) {
+      SaveGameHeader header = SavedGame.readHeader(folderName, filename);
+      entry = new Entry(size, modified, header);
+      entries.put(filename, entry);
+      changed = true;
+    }
+    return new SavedGame(folderName, filename, entry.header);
+  }
+
+  /**
+   * Save index into save game folder. Entries for save files which
+   * were not requested after loading the index are dropped. Index is
+   * written only if it has changed.
+   */
+  public void save() {
+    if (entries.keySet().retainAll(used)) {
+      changed = true;
+    }
+    File folder = new File(folderName);
+    if (!changed || !folder.exists()) {
+      return;
+    }
+    File file = new File(folderName + "/" + INDEX_FILENAME);
+    try (DataOutputStream dos = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(file)))) {
+      IOUtilities.writeString(dos, MAGIC_STRING);
+      dos.writeInt(entries.size());
+      for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+        Entry entry = mapEntry.getValue();
+        IOUtilities.writeString(dos, mapEntry.getKey());
+        dos.writeLong(entry.size);
+        dos.writeLong(entry.modified);
+        entry.header.write(dos);
+      }
+      changed = false;
+    } catch (IOException e) {
+      ErrorLogger.log("Error while writing save game index: "
+          + e.getMessage());
+    }
+  }
+
+  /**
+   * Is index changed since it was loaded or saved.
+   * @return True if index needs to be saved
+   */
+  public boolean isChanged() {
+    return changed;
+  }
+
+  /**
+   * Single index entry.
+   */
+  private static class Entry {
+
+    /**
+     * Save file size in bytes
+     */
+    private long size;
+
+    /**
+     * Save file modification time
+     */
+    private long modified;
+
+    /**
+     * Save game header
+     */
+    private SaveGameHeader header;
+
+    /**
+     * Constructor for index entry.
+     * @param size Save file size in bytes
+     * @param modified Save file modification time
+     * @param header Save game header
+     */
+    Entry(final long size, final long modified,
+        final SaveGameHeader header) {
+      this.size = size;
+      this.modified = modified;
+      this.header = header;
+    }
+  }
+}
@@ -11,6 +11,7 @@ import javax.swing.BoxLayout;
 import javax.swing.JComponent;
 
 import org.openRealmOfStars.AI.AiThread;
+import org.openRealmOfStars.AI.Mission.ColonizationCandidates;
 import org.openRealmOfStars.AI.Mission.Mission;
 import org.openRealmOfStars.AI.Mission.MissionHandling;
 import org.openRealmOfStars.AI.Mission.MissionPhase;
@@ -21,6 +22,8 @@ import org.openRealmOfStars.audio.soundeffect.SoundPlayer;
 import org.openRealmOfStars.game.Game;
 import org.openRealmOfStars.game.GameCommands;
 import org.openRealmOfStars.game.GameState;
+import org.openRealmOfStars.game.simulation.TurnPhase;
+import org.openRealmOfStars.game.simulation.TurnProfiler;
 import org.openRealmOfStars.gui.icons.Icons;
 import org.openRealmOfStars.gui.labels.TransparentLabel;
 import org.openRealmOfStars.gui.panels.BigImagePanel;
@@ -34,6 +37,7 @@ import org.openRealmOfStars.player.PlayerList;
 import org.openRealmOfStars.player.WinningStrategy;
 import org.openRealmOfStars.player.SpaceRace.SpaceRace;
 import org.openRealmOfStars.player.artifact.ArtifactFactory;
+import org.openRealmOfStars.player.combat.CombatEstimator;
 import org.openRealmOfStars.player.diplomacy.Attitude;
 import org.openRealmOfStars.player.diplomacy.Diplomacy;
 import org.openRealmOfStars.player.diplomacy.DiplomacyBonusList;
@@ -63,6 +67,7 @@ import org.openRealmOfStars.starMap.Coordinate;
 import org.openRealmOfStars.starMap.CulturePower;
 import org.openRealmOfStars.starMap.KarmaType;
 import org.openRealmOfStars.starMap.PirateDifficultLevel;
+import org.openRealmOfStars.starMap.RealmLedger;
 import org.openRealmOfStars.starMap.Route;
 import org.openRealmOfStars.starMap.StarMap;
 import org.openRealmOfStars.starMap.StarMapUtilities;
@@ -89,6 +94,7 @@ import org.openRealmOfStars.starMap.vote.sports.Sports;
 import org.openRealmOfStars.starMap.vote.sports.VotingChoice;
 import org.openRealmOfStars.utilities.DiceGenerator;
 import org.openRealmOfStars.utilities.ErrorLogger;
+import org.openRealmOfStars.utilities.RandomStream;
 
 /**
  *
@@ -1176,38 +1182,19 @@ public class AITurnView extends BlackPanel {
   }
 
   /**
-   * Find best colony mission for realm.
+   * Find best colony mission for realm. Planet is selected from realm's
+   * colonization candidates.
    * @param map StarMap
-   * @param colonyMissions Array list of possible colony missions.
    * @param info Realm which is selecting.
+   * @param maxRad Maximum radiation for visible planets
    */
   private static void findBestColonyMission(final StarMap map,
-      final ArrayList<Mission> colonyMissions, final PlayerInfo info) {
-    int bestScore = 0;
-    Mission bestMission = null;
-    for (Mission mission : colonyMissions) {
-      Planet planet = map.getPlanetByCoordinate(mission.getX(), mission.getY());
-      if (planet != null) {
-        int worldValue = info.getWorldTypeValue(
-            planet.getPlanetType().getWorldType());
-        int size = planet.getGroundSize();
-        double dist = info.getCenterRealm().calculateDistance(
-            new Coordinate(mission.getX(), mission.getY()));
-        double maxDistPoints = map.getMaxX() / 4;
-        int score = (int) (maxDistPoints - dist);
-        if (score < -10) {
-          score = -10;
-        }
-        score = score + size * 2;
-        worldValue = (worldValue - 50) / 3;
-        score = score + worldValue;
-        if (score > bestScore) {
-          bestScore = score;
-          bestMission = mission;
-        }
-      }
-    }
-    if (bestMission != null) {
+      final PlayerInfo info, final int maxRad) {
+    Planet planet = ColonizationCandidates.getCandidates(info, map)
+        .findBestPlanet(maxRad);
+    if (planet != null) {
+      Mission bestMission = new Mission(MissionType.COLONIZE,
+          MissionPhase.PLANNING, planet.getCoordinate());
       info.getMissions().addHighestPriority(bestMission);
       Mission mission = info.getMissions().getMission(
           MissionType.COLONY_EXPLORE, MissionPhase.EXECUTING);
@@ -1307,7 +1294,6 @@ public class AITurnView extends BlackPanel {
     PlayerInfo info = game.getPlayers()
         .getPlayerInfoByIndex(game.getStarMap().getAiTurnNumber());
     if (info != null && !info.isHuman()) {
-      ArrayList<Planet> planets = game.getStarMap().getPlanetList();
       int colonizations = info.getMissions().getNumberOfMissionTypes(
           MissionType.COLONIZE, MissionPhase.PLANNING);
       int maxRad = info.getRace().getMaxRad();
@@ -1317,36 +1303,9 @@ public class AITurnView extends BlackPanel {
       if (info.getTechList().isTech("Radiation well")) {
         maxRad++;
       }
-      ArrayList<Mission> colonyMissions = new ArrayList<>();
-      for (Planet planet : planets) {
-        if (planet.getTotalRadiationLevel() <= maxRad
-            && planet.getPlanetPlayerInfo() == null && !planet.isGasGiant()
-            && info.getSectorVisibility(planet.getCoordinate())
-            == PlayerInfo.VISIBLE) {
-          // New planet to colonize, adding it to mission list
-          Mission mission = new Mission(MissionType.COLONIZE,
-              MissionPhase.PLANNING, planet.getCoordinate());
-          if (info.getMissions().getColonizeMission(mission.getX(),
-              mission.getY()) == null && colonizations < LIMIT_COLONIZATIONS) {
-            // No colonize mission for this planet found, so adding it.
-            colonyMissions.add(mission);
-          }
-        }
-        if (planet.getTotalRadiationLevel() <= info.getRace().getMaxRad()
-            && !planet.isGasGiant()
-            && planet.getPlanetPlayerInfo() == null
-            && info.getSectorVisibility(planet.getCoordinate())
-            == PlayerInfo.FOG_OF_WAR) {
-          // New planet to colonize, adding it to mission list
-          Mission mission = new Mission(MissionType.COLONIZE,
-              MissionPhase.PLANNING, planet.getCoordinate());
-          if (info.getMissions().getColonizeMission(mission.getX(),
-              mission.getY()) == null && colonizations < LIMIT_COLONIZATIONS) {
-            colonyMissions.add(mission);
-          }
-        }
-      } // End of for loop of planets
-      findBestColonyMission(game.getStarMap(), colonyMissions, info);
+      if (colonizations < LIMIT_COLONIZATIONS) {
+        findBestColonyMission(game.getStarMap(), info, maxRad);
+      }
     }
   }
 
@@ -1371,36 +1330,9 @@ public class AITurnView extends BlackPanel {
       if (info.getTechList().isTech("Radiation well")) {
         maxRad++;
       }
-      ArrayList<Mission> colonyMissions = new ArrayList<>();
       ArrayList<Planet> attackMissions = new ArrayList<>();
       ArrayList<Planet> tradeMissions = new ArrayList<>();
       for (Planet planet : planets) {
-        if (planet.getTotalRadiationLevel() <= maxRad
-            && planet.getPlanetPlayerInfo() == null && !planet.isGasGiant()
-            && info.getSectorVisibility(planet.getCoordinate())
-            == PlayerInfo.VISIBLE) {
-          // New planet to colonize, adding it to mission list
-          Mission mission = new Mission(MissionType.COLONIZE,
-              MissionPhase.PLANNING, planet.getCoordinate());
-          if (info.getMissions().getColonizeMission(mission.getX(),
-              mission.getY()) == null && colonizations < LIMIT_COLONIZATIONS) {
-            // No colonize mission for this planet found, so adding it.
-            colonyMissions.add(mission);
-          }
-        }
-        if (planet.getTotalRadiationLevel() <= info.getRace().getMaxRad()
-            && !planet.isGasGiant()
-            && planet.getPlanetPlayerInfo() == null
-            && info.getSectorVisibility(planet.getCoordinate())
-            == PlayerInfo.FOG_OF_WAR) {
-          // New planet to colonize, adding it to mission list
-          Mission mission = new Mission(MissionType.COLONIZE,
-              MissionPhase.PLANNING, planet.getCoordinate());
-          if (info.getMissions().getColonizeMission(mission.getX(),
-              mission.getY()) == null && colonizations < LIMIT_COLONIZATIONS) {
-            colonyMissions.add(mission);
-          }
-        }
         if (planet.getTotalRadiationLevel() <= info.getRace().getMaxRad()
             && planet.getPlanetPlayerInfo() != null
             && planet.getPlanetPlayerInfo() != info && !planet.isGasGiant()) {
@@ -1496,7 +1428,9 @@ public class AITurnView extends BlackPanel {
           }
         } // End of owned planet handling
       } // End of for loop of planets
-      findBestColonyMission(game.getStarMap(), colonyMissions, info);
+      if (colonizations < LIMIT_COLONIZATIONS) {
+        findBestColonyMission(game.getStarMap(), info, maxRad);
+      }
       findBestAttackPlanet(attackMissions, info);
       findBestTradePlanet(tradeMissions, info);
     }
@@ -1511,7 +1445,6 @@ public class AITurnView extends BlackPanel {
    */
   public Fleet getClosestInterceptMission(final Fleet origin,
       final PlayerInfo info, final StarMap map) {
-    int military = origin.getMilitaryValue();
     int speed = origin.getMovesLeft();
     if (!origin.allFixed() || info.isHuman()) {
       return null;
@@ -1526,11 +1459,26 @@ public class AITurnView extends BlackPanel {
       return null;
     }
 
+    // Same fleet tiles are used for all the candidates
+    FleetTileInfo[][] fleetTiles = map.getFleetTiles(false);
     for (Fleet fleet : info.getInterceptableFleets()) {
-      if (fleet.getMilitaryValue() < military) {
-        double dist = fleet.getCoordinate().calculateDistance(
-            origin.getCoordinate());
-        if (dist <= speed) {
+      double dist = fleet.getCoordinate().calculateDistance(
+          origin.getCoordinate());
+      if (dist <= speed) {
+        PlayerInfo owner = null;
+        FleetTileInfo fleetTile = fleetTiles[fleet.getX()][fleet.getY()];
+        if (fleetTile != null) {
+          owner = map.getPlayerList().getPlayerInfoByIndex(
+              fleetTile.getPlayerIndex());
+        }
+        Planet ownerPlanet = map.getPlanetByCoordinate(fleet.getX(),
+            fleet.getY());
+        if (ownerPlanet != null && (owner == null
+            || ownerPlanet.getPlanetPlayerInfo() != owner)) {
+          ownerPlanet = null;
+        }
+        if (CombatEstimator.isFavourable(origin, info, fleet, owner,
+            ownerPlanet)) {
           AStarSearch search = new AStarSearch(map, origin.getX(),
               origin.getY(), fleet.getX(), fleet.getY(), true);
           if (search.doSearch()) {
@@ -3246,7 +3194,7 @@ public class AITurnView extends BlackPanel {
    * Update whole star map to next turn
    */
   public void updateStarMapToNextTurn() {
-    game.getStarMap().resetCulture();
+    game.getStarMap().beginCultureUpdate();
     int richest = game.getStarMap().getNewsCorpData().getCredit().getBiggest();
     int poorest = game.getStarMap().getNewsCorpData().getCredit().getSmallest();
     for (int i = 0; i < game.getPlayers().getCurrentMaxPlayers(); i++) {
@@ -3429,8 +3377,10 @@ public class AITurnView extends BlackPanel {
           game.getStarMap().doFleetScanUpdate(info, fleet, null);
           if (fleet.getCulturalValue() > 0 && fleet.isStarBaseDeployed()) {
          // Recalculate culture for the map for each player
-            game.getStarMap().calculateCulture(fleet.getX(), fleet.getY(),
+            TurnPhase previous = TurnProfiler.switchTo(TurnPhase.CULTURE);
+            game.getStarMap().stampCulture(fleet, fleet.getX(), fleet.getY(),
                 fleet.getCulturalValue(), i);
+            TurnProfiler.switchTo(previous);
           }
         }
       }
@@ -3480,16 +3430,15 @@ public class AITurnView extends BlackPanel {
         }
         // Update each planet one by one
         planet.updateOneTurn(enemyOrbiting, game.getStarMap());
-        int index = game.getPlayers().getIndex(info);
-        if (index > -1) {
-          // Recalculate culture for the map for each player
-          game.getStarMap().calculateCulture(planet.getX(), planet.getY(),
-              planet.getCulture(), index);
-        }
         // Fleets and planets do the scan
         game.getStarMap().doFleetScanUpdate(info, null, planet);
       }
     }
+    // Recalculate culture for the map for each player
+    TurnPhase phaseBeforeCulture = TurnProfiler.switchTo(TurnPhase.CULTURE);
+    game.getStarMap().stampPlanetCulture();
+    game.getStarMap().endCultureUpdate();
+    TurnProfiler.switchTo(phaseBeforeCulture);
     if (game.getStarMap().getTurn() > 0) {
       handleDiplomaticVotes(towers);
     }
@@ -3540,6 +3489,7 @@ public class AITurnView extends BlackPanel {
     game.getStarMap().getHistory().updateCultureEventMap(game.getStarMap());
     GameLengthState oldState = game.getStarMap().getGameLengthState();
     game.getStarMap().setTurn(game.getStarMap().getTurn() + 1);
+    CombatEstimator.clearCache();
     if (game.getStarMap().getTurn() == 1 && Game.getTutorial() != null
         && game.getStarMap().isTutorialEnabled()) {
       String tutorialText = Game.getTutorial().showTutorialText(12);
@@ -3572,11 +3522,13 @@ public class AITurnView extends BlackPanel {
       }
     }
     game.getStarMap().getHistory().addTurn(game.getStarMap().getTurn());
+    TurnPhase previousPhase = TurnProfiler.switchTo(TurnPhase.NEWS);
     if (game.getStarMap().getTurn() % NewsCorpData.NEWS_PUBLISH_RATE == 0) {
       NewsCorpData newsData = game.getStarMap().getNewsCorpData();
+      RealmLedger ledger = new RealmLedger(game.getStarMap().getPlanetList(),
+          game.getStarMap().getPlayerList().getCurrentMaxPlayers(), false);
       newsData.calculateCredit(game.getStarMap().getPlayerList());
-      newsData.calculateCulture(game.getStarMap().getPlanetList(),
-          game.getStarMap().getPlayerList());
+      newsData.calculateCulture(ledger, game.getStarMap().getPlayerList());
       boolean lastTurn = false;
       if (game.getStarMap().getTurn() == game.getStarMap()
           .getScoreVictoryTurn()) {
@@ -3585,8 +3537,8 @@ public class AITurnView extends BlackPanel {
       game.getStarMap().getPlayerList().handlePlayerFakeMilitaryCost();
       newsData.calculateMilitary(game.getStarMap().getPlayerList(), lastTurn);
       newsData.calculateResearch(game.getStarMap().getPlayerList());
-      newsData.calculatePlanets(game.getStarMap().getPlanetList());
-      newsData.calculatePopulation(game.getStarMap().getPlanetList());
+      newsData.calculatePlanets(ledger);
+      newsData.calculatePopulation(ledger);
       NewsData news = NewsFactory.makeStatNews(game.getStarMap());
       newsData.addNews(news);
       if (Game.getTutorial() != null
@@ -3618,6 +3570,7 @@ public class AITurnView extends BlackPanel {
       GalacticEvent event = new GalacticEvent(news.getNewsText());
       game.getStarMap().getHistory().addEvent(event);
     }
+    TurnProfiler.switchTo(previousPhase);
     if (game.getStarMap().getTurn() > 0) {
       if (game.getStarMap().getTurn() == game.getStarMap()
           .getScoreVictoryTurn() / 2) {
@@ -3841,22 +3794,48 @@ public class AITurnView extends BlackPanel {
     return true;
   }
   /**
-   * Handle Ai Turn
+   * Handle Ai Turn. In deterministic mode realm's own random stream
+   * is used while realm is being handled.
    * @return True when turn has finished or need to change state
    */
   public boolean handleAiTurn() {
+    RandomStream stream = game.getStarMap().getAiRandomStream(
+        game.getStarMap().getAiTurnNumber());
+    if (stream != null) {
+      DiceGenerator.bindStream(stream);
+    }
+    try {
+      return handleAiTurnStep();
+    } finally {
+      if (stream != null) {
+        DiceGenerator.unbindStream();
+      }
+    }
+  }
+
+  /**
+   * Handle single step of Ai Turn.
+   * @return True when turn has finished or need to change state
+   */
+  private boolean handleAiTurnStep() {
     game.getStarMap().setAiOrAutomateTakingMoves(true);
     if (game.getStarMap().getAIFleet() == null) {
+      TurnPhase previous = TurnProfiler.switchTo(TurnPhase.MISSIONS);
       // Searching for fleet which has crossed the borders
       searchForBorderCrossing();
       searchForInterceptFleets();
       searchForFleetDestruction();
+      TurnProfiler.switchTo(TurnPhase.DIPLOMACY);
       game.getStarMap().handleDiplomaticDelegacies();
       game.getStarMap().handleFakingMilitarySize();
+      TurnProfiler.switchTo(TurnPhase.PLANETS);
       // This must be last since this changes the realm at very end.
       game.getStarMap().handleAIResearchAndPlanets();
+      TurnProfiler.switchTo(previous);
     } else {
+      TurnPhase previous = TurnProfiler.switchTo(TurnPhase.MISSIONS);
       handleAIFleet();
+      TurnProfiler.switchTo(previous);
       if (getNextState() != null) {
         return true;
       }
@@ -3868,15 +3847,20 @@ public class AITurnView extends BlackPanel {
       }
     }
     if (game.getStarMap().isAllAIsHandled()) {
+      TurnPhase previous = TurnProfiler.switchTo(TurnPhase.END_OF_TURN);
       updateStarMapToNextTurn();
       if (game.getStarMap().getTurn() > 0) {
         handleGalaxyKarma();
       }
+      // Realms' changes in this loop do not change planet production
+      // before realm's own production is read, so one ledger is enough.
+      RealmLedger ledger = game.getStarMap().getRealmLedger();
       for (int i = 0; i < game.getPlayers().getCurrentMaxPlayers(); i++) {
         // Handle player research at end of turn
         PlayerInfo info = game.getPlayers().getPlayerInfoByIndex(i);
         info.getTechList().updateResearchPointByTurn(game.getStarMap()
-            .getTotalProductionByPlayerPerTurn(Planet.PRODUCTION_RESEARCH, i),
+            .getTotalProductionByPlayerPerTurn(Planet.PRODUCTION_RESEARCH, i,
+            ledger),
             info, game.getStarMap().getScoreVictoryTurn(),
             game.getStarMap().isTutorialEnabled());
         if (!info.areLeadersDead() && !info.isBoard()) {
@@ -3884,13 +3868,13 @@ public class AITurnView extends BlackPanel {
           if (scientist != null) {
             info.getArtifactLists().updateResearchPointByTurn(
                 game.getStarMap().getTotalProductionByPlayerPerTurn(
-                    Planet.PRODUCTION_ARTIFACT_RESEARCH, i), info,
+                    Planet.PRODUCTION_ARTIFACT_RESEARCH, i, ledger), info,
                 game.getStarMap().getScoreVictoryTurn(), scientist,
                 game.getStarMap().isTutorialEnabled());
           }
         }
         int creditFlow = game.getStarMap().getTotalProductionByPlayerPerTurn(
-            Planet.PRODUCTION_CREDITS, i);
+            Planet.PRODUCTION_CREDITS, i, ledger);
         handleLowCreditWarning(info, creditFlow);
         // Handle war fatigue for player
         GovernmentType government = info.getGovernment();
@@ -3961,6 +3945,7 @@ public class AITurnView extends BlackPanel {
           }
         }
       }
+      TurnProfiler.switchTo(previous);
       game.getStarMap().clearAITurn();
       return true;
     }
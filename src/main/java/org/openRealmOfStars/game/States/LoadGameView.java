@@ -18,6 +18,7 @@ import javax.swing.ListSelectionModel;
 
 import org.openRealmOfStars.game.GameCommands;
 import org.openRealmOfStars.game.SavedGame;
+import org.openRealmOfStars.game.SavedGameIndex;
 import org.openRealmOfStars.gui.ListRenderers.SaveGameListRenderer;
 import org.openRealmOfStars.gui.buttons.SpaceButton;
 import org.openRealmOfStars.gui.infopanel.InfoPanel;
@@ -102,14 +103,16 @@ public class LoadGameView extends BlackPanel {
     }
 
     ArrayList<SavedGame> listOfGames = new ArrayList<>();
+    SavedGameIndex index = new SavedGameIndex(
+        GameRepository.DEFAULT_SAVE_FOLDER);
     for (int i = 0; i < files.length; i++) {
       try {
-        listOfGames.add(new SavedGame(GameRepository.DEFAULT_SAVE_FOLDER,
-                                 files[i].getName()));
+        listOfGames.add(index.getSavedGame(files[i].getName()));
       } catch (IOException e) {
         ErrorLogger.log("Failed reading save game " + files[i].getName());
       }
     }
+    index.save();
     Collections.sort(listOfGames, Collections.reverseOrder());
     SavedGame[] games = listOfGames.toArray(new SavedGame[listOfGames.size()]);
 
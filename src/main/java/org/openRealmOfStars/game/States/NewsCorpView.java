@@ -22,8 +22,8 @@ import org.openRealmOfStars.gui.panels.BlackPanel;
 import org.openRealmOfStars.gui.panels.ImagePanel;
 import org.openRealmOfStars.gui.panels.SpaceGreyPanel;
 import org.openRealmOfStars.gui.utilies.GuiStatics;
-import org.openRealmOfStars.starMap.newsCorp.ImageInstruction;
 import org.openRealmOfStars.starMap.newsCorp.NewsData;
+import org.openRealmOfStars.starMap.newsCorp.NewsImageCache;
 
 /**
 *
@@ -54,6 +54,11 @@ public class NewsCorpView extends BlackPanel {
   */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * How many upcoming news images are rendered in background
+   */
+  private static final int PREFETCH_NEWS = 2;
+
   /**
    * News image
    */
@@ -138,11 +143,7 @@ public class NewsCorpView extends BlackPanel {
     InfoPanel newsPanel = new InfoPanel();
     newsPanel.setLayout(new BoxLayout(newsPanel, BoxLayout.Y_AXIS));
     newsPanel.setTitle("News headline");
-    BufferedImage image = new BufferedImage(widthHeadLine, heightHeadLine,
-        BufferedImage.TYPE_4BYTE_ABGR);
-    image = ImageInstruction.parseImageInstructions(image,
-        news[0].getImageInstructions());
-    newsImage = new ImagePanel(image);
+    newsImage = new ImagePanel(getNewsImage(0));
     newsPanel.add(newsImage, BorderLayout.WEST);
     newsPanel.add(Box.createRigidArea(new Dimension(15, 10)));
     textArea = new InfoTextArea();
@@ -183,6 +184,28 @@ public class NewsCorpView extends BlackPanel {
     this.add(bottomPanel, BorderLayout.SOUTH);
   }
 
+  /**
+   * Get headline image for news. Images for next and previous news
+   * are rendered in background, so they are ready when browsing.
+   * @param index News index
+   * @return Headline image
+   */
+  private BufferedImage getNewsImage(final int index) {
+    BufferedImage image = NewsImageCache.getImage(
+        newsList[index].getImageInstructions(), widthHeadLine, heightHeadLine);
+    for (int i = 1; i <= PREFETCH_NEWS; i++) {
+      if (index + i < newsList.length) {
+        NewsImageCache.prefetch(newsList[index + i].getImageInstructions(),
+            widthHeadLine, heightHeadLine);
+      }
+    }
+    if (index > 0) {
+      NewsImageCache.prefetch(newsList[index - 1].getImageInstructions(),
+          widthHeadLine, heightHeadLine);
+    }
+    return image;
+  }
+
   /**
    * Handle events for NewsCorpView.
    * @param arg0 ActionEvent
@@ -222,11 +245,7 @@ public class NewsCorpView extends BlackPanel {
     if (arg0.getActionCommand().equals(GameCommands.COMMAND_NEXT_TARGET)
         && newsIndex < newsList.length - 1) {
       newsIndex++;
-      BufferedImage image = new BufferedImage(widthHeadLine, heightHeadLine,
-          BufferedImage.TYPE_4BYTE_ABGR);
-      image = ImageInstruction.parseImageInstructions(image,
-          newsList[newsIndex].getImageInstructions());
-      newsImage.setImage(image);
+      newsImage.setImage(getNewsImage(newsIndex));
       textArea.setText(newsList[newsIndex].getNewsText());
       newsLabel.setText(newsIndex + 1 + "/" + newsList.length);
       repaint();
@@ -234,11 +253,7 @@ public class NewsCorpView extends BlackPanel {
     if (arg0.getActionCommand().equals(GameCommands.COMMAND_PREV_TARGET)
         && newsIndex > 0) {
       newsIndex--;
-      BufferedImage image = new BufferedImage(widthHeadLine, heightHeadLine,
-          BufferedImage.TYPE_4BYTE_ABGR);
-      image = ImageInstruction.parseImageInstructions(image,
-          newsList[newsIndex].getImageInstructions());
-      newsImage.setImage(image);
+      newsImage.setImage(getNewsImage(newsIndex));
       textArea.setText(newsList[newsIndex].getNewsText());
       newsLabel.setText(newsIndex + 1 + "/" + newsList.length);
       repaint();
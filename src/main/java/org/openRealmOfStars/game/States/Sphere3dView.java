@@ -46,6 +46,7 @@ public class Sphere3dView extends BlackPanel {
     this.setLayout(new BorderLayout());
 
     BigSpherePanel imgBase = new BigSpherePanel(true, text);
+    imgBase.setParallelRendering(true);
     InvisiblePanel invisible = new InvisiblePanel(imgBase);
     invisible.setLayout(new BoxLayout(invisible, BoxLayout.Y_AXIS));
     invisible.add(Box.createRigidArea(new Dimension(500, 250)));
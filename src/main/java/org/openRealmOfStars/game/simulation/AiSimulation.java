@@ -0,0 +1,302 @@
+package org.openRealmOfStars.game.simulation;
+
+import java.util.Locale;
+
+import org.openRealmOfStars.game.Game;
+import org.openRealmOfStars.game.States.AITurnView;
+import org.openRealmOfStars.starMap.GalaxyConfig;
+import org.openRealmOfStars.utilities.DiceGenerator;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Headless AI versus AI simulation. Builds a galaxy from galaxy config
+ * with only AI realms and runs full turns without showing anything.
+ * Reports turns per second, time used in each turn phase and heap usage.
+ *
+ */
+
+public class AiSimulation {
+
+  /**
+   * Default number of turns to simulate
+   */
+  public static final int DEFAULT_TURNS = 100;
+
+  /**
+   * Default number of realms
+   */
+  public static final int DEFAULT_REALMS = 8;
+
+  /**
+   * Default galaxy size
+   */
+  public static final int DEFAULT_SIZE = 128;
+
+  /**
+   * Nanoseconds in millisecond
+   */
+  private static final double NANOS_IN_MILLI = 1000000.0;
+
+  /**
+   * Bytes in megabyte
+   */
+  private static final long BYTES_IN_MEGA = 1024 * 1024;
+
+  /**
+   * Galaxy config for simulation
+   */
+  private GalaxyConfig config;
+
+  /**
+   * Number of turns to simulate
+   */
+  private int turns;
+
+  /**
+   * Number of turns simulated
+   */
+  private int turnsSimulated;
+
+  /**
+   * Total time used in nanoseconds
+   */
+  private long totalTime;
+
+  /**
+   * Times for each phase in nanoseconds
+   */
+  private long[] phaseTimes;
+
+  /**
+   * Heap usage after galaxy creation in bytes
+   */
+  private long startHeap;
+
+  /**
+   * Highest heap usage seen after turn in bytes
+   */
+  private long peakHeap;
+
+  /**
+   * Game used in simulation
+   */
+  private Game game;
+
+  /**
+   * Constructor for AI simulation
+   * @param config Galaxy config, AI only flag is set on
+   * @param turns Number of turns to simulate
+   */
+  public AiSimulation(final GalaxyConfig config, final int turns) {
+    this.config = config;
+    this.config.setAiOnly(true);
+    this.turns = turns;
+    phaseTimes = new long[TurnPhase.values().length];
+  }
+
+  /**
+   * Create galaxy config for simulation.
+   * @param realms Number of realms
+   * @param size Galaxy side length
+   * @return GalaxyConfig
+   */
+  public static GalaxyConfig createConfig(final int realms, final int size) {
+    GalaxyConfig config = new GalaxyConfig();
+    config.setMaxPlayers(realms);
+    config.setSize(size, 0);
+    config.setStartingPosition(GalaxyConfig.START_POSITION_RANDOM);
+    config.setAiOnly(true);
+    return config;
+  }
+
+  /**
+   * Get current heap usage.
+   * @return Used heap in bytes
+   */
+  private static long getUsedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  /**
+   * Run the simulation. Simulation stops when number of turns
+   * has been simulated or game has ended.
+   */
+  public void run() {
+    game = new Game(false);
+    game.setGalaxyConfig(config);
+    game.makeNewGame(false);
+    for (int i = 0; i < game.getPlayers().getCurrentMaxPlayers(); i++) {
+      game.getPlayers().getPlayerInfoByIndex(i).setHuman(false);
+    }
+    startHeap = getUsedHeap();
+    peakHeap = startHeap;
+    turnsSimulated = 0;
+    boolean profilerEnabled = TurnProfiler.isEnabled();
+    TurnProfiler.reset();
+    TurnProfiler.setEnabled(true);
+    long start = System.nanoTime();
+    TurnProfiler.switchTo(TurnPhase.OTHER);
+    int startTurn = game.getStarMap().getTurn();
+    AITurnView view = null;
+    while (turnsSimulated < turns && !game.getStarMap().isGameEnded()) {
+      if (view == null) {
+        // New view for each turn
+        view = new AITurnView(game);
+        game.setAITurnView(view);
+      }
+      boolean turnEnd = false;
+      do {
+        turnEnd = view.handleAiTurn();
+      } while (!turnEnd);
+      // Handling may stop before turn has changed, since there is no
+      // AI turn game state without GUI.
+      if (game.getStarMap().getTurn() - startTurn > turnsSimulated) {
+        turnsSimulated = game.getStarMap().getTurn() - startTurn;
+        view = null;
+        long heap = getUsedHeap();
+        if (heap > peakHeap) {
+          peakHeap = heap;
+        }
+      }
+    }
+    TurnProfiler.switchTo(null);
+    totalTime = System.nanoTime() - start;
+    for (TurnPhase phase : TurnPhase.values()) {
+      phaseTimes[phase.ordinal()] = TurnProfiler.getTime(phase);
+    }
+    TurnProfiler.setEnabled(profilerEnabled);
+  }
+
+  /**
+   * Get game used in simulation.
+   * @return Game or null if simulation has not been run
+   */
+  public Game getGame() {
+    return game;
+  }
+
+  /**
+   * Get number of turns simulated
+   * @return Number of turns
+   */
+  public int getTurnsSimulated() {
+    return turnsSimulated;
+  }
+
+  /**
+   * Get total time used for turns
+   * @return Time in nanoseconds
+   */
+  public long getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * Get time used in turn phase.
+   * @param phase Turn phase
+   * @return Time in nanoseconds
+   */
+  public long getPhaseTime(final TurnPhase phase) {
+    return phaseTimes[phase.ordinal()];
+  }
+
+  /**
+   * Get highest heap usage seen after turn.
+   * @return Heap usage in bytes
+   */
+  public long getPeakHeap() {
+    return peakHeap;
+  }
+
+  /**
+   * Get turns per second
+   * @return Turns per second
+   */
+  public double getTurnsPerSecond() {
+    if (totalTime == 0) {
+      return 0;
+    }
+    return turnsSimulated * NANOS_IN_MILLI * 1000 / totalTime;
+  }
+
+  /**
+   * Get simulation report as text.
+   * @return Report
+   */
+  public String getReport() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format(Locale.ENGLISH,
+        "Simulated %d turns with %d realms in %dx%d galaxy%n",
+        turnsSimulated, config.getMaxPlayers(), config.getSizeX(),
+        config.getSizeY()));
+    sb.append(String.format(Locale.ENGLISH,
+        "Total time: %.1f ms, %.3f turns/second%n",
+        totalTime / NANOS_IN_MILLI, getTurnsPerSecond()));
+    for (TurnPhase phase : TurnPhase.values()) {
+      long time = phaseTimes[phase.ordinal()];
+      double percent = 0;
+      if (totalTime > 0) {
+        percent = time * 100.0 / totalTime;
+      }
+      sb.append(String.format(Locale.ENGLISH,
+          "%-12s %10.1f ms %5.1f%%%n", phase.toString(),
+          time / NANOS_IN_MILLI, percent));
+    }
+    sb.append(String.format(Locale.ENGLISH,
+        "Heap after galaxy creation: %d MB, peak after turn: %d MB%n",
+        startHeap / BYTES_IN_MEGA, peakHeap / BYTES_IN_MEGA));
+    return sb.toString();
+  }
+
+  /**
+   * Parse integer argument.
+   * @param args Arguments
+   * @param index Argument index
+   * @param defaultValue Value if argument is missing
+   * @return Parsed value
+   */
+  private static int parseArgument(final String[] args, final int index,
+      final int defaultValue) {
+    if (args.length > index) {
+      return Integer.parseInt(args[index]);
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Run simulation from command line arguments. Arguments are
+   * --simulate [turns] [realms] [galaxy size] [seed].
+   * If seed is given random generators are in deterministic mode.
+   * @param args Command line arguments
+   */
+  public static void runFromCommandLine(final String[] args) {
+    int turns = parseArgument(args, 1, DEFAULT_TURNS);
+    int realms = parseArgument(args, 2, DEFAULT_REALMS);
+    int size = parseArgument(args, 3, DEFAULT_SIZE);
+    if (args.length > 4) {
+      DiceGenerator.initializeDeterministic(Long.parseLong(args[4]));
+    }
+    AiSimulation simulation = new AiSimulation(createConfig(realms, size),
+        turns);
+    simulation.run();
+    System.out.print(simulation.getReport());
+  }
+}
@@ -0,0 +1,61 @@
+package org.openRealmOfStars.game.simulation;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Phases of AI turn which are timed by TurnProfiler.
+ *
+ */
+
+public enum TurnPhase {
+
+  /**
+   * Fleet missions and mission planning
+   */
+  MISSIONS,
+  /**
+   * Planet handling
+   */
+  PLANETS,
+  /**
+   * Research and ship designs
+   */
+  RESEARCH,
+  /**
+   * Diplomatic delegacies and faking military size
+   */
+  DIPLOMACY,
+  /**
+   * Culture calculation
+   */
+  CULTURE,
+  /**
+   * News and galactic statistics
+   */
+  NEWS,
+  /**
+   * Rest of end of turn handling
+   */
+  END_OF_TURN,
+  /**
+   * Anything else
+   */
+  OTHER;
+
+}
@@ -0,0 +1,112 @@
+package org.openRealmOfStars.game.simulation;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Profiler for timing phases of AI turn. Time is always accumulated
+ * for the current phase, so phases do not overlap. Profiler is off by
+ * default and then switching the phase does nothing.
+ *
+ */
+
+public final class TurnProfiler {
+
+  /**
+   * Just hiding the constructor.
+   */
+  private TurnProfiler() {
+    // Nothing to do here
+  }
+
+  /**
+   * Is profiler enabled
+   */
+  private static boolean enabled;
+
+  /**
+   * Current phase or null if no phase is being timed
+   */
+  private static TurnPhase current;
+
+  /**
+   * Time when current phase started in nanoseconds
+   */
+  private static long phaseStart;
+
+  /**
+   * Accumulated times for each phase in nanoseconds
+   */
+  private static long[] times = new long[TurnPhase.values().length];
+
+  /**
+   * Enable or disable profiler. Disabling stops timing of current phase.
+   * @param enable True to enable
+   */
+  public static synchronized void setEnabled(final boolean enable) {
+    if (!enable) {
+      switchTo(null);
+    }
+    enabled = enable;
+  }
+
+  /**
+   * Is profiler enabled
+   * @return True if enabled
+   */
+  public static synchronized boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Reset all the accumulated times.
+   */
+  public static synchronized void reset() {
+    times = new long[TurnPhase.values().length];
+    current = null;
+  }
+
+  /**
+   * Stop timing current phase and start timing new phase.
+   * @param phase New phase or null to stop timing
+   * @return Previous phase, which can be given back after
+   *         new phase has ended. Null if profiler is not enabled.
+   */
+  public static synchronized TurnPhase switchTo(final TurnPhase phase) {
+    if (!enabled) {
+      return null;
+    }
+    long now = System.nanoTime();
+    TurnPhase previous = current;
+    if (previous != null) {
+      times[previous.ordinal()] += now - phaseStart;
+    }
+    current = phase;
+    phaseStart = now;
+    return previous;
+  }
+
+  /**
+   * Get accumulated time for phase.
+   * @param phase Turn phase
+   * @return Time in nanoseconds
+   */
+  public static synchronized long getTime(final TurnPhase phase) {
+    return times[phase.ordinal()];
+  }
+}
@@ -1,5 +1,6 @@
 package org.openRealmOfStars.gui.mapPanel;
 
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
@@ -235,6 +236,60 @@ public class MapPanel extends JPanel {
    * Draw weapon range for combat.
    */
   private boolean drawWeaponRange;
+  /**
+   * Parallax background of star map view. This is drawn again only when
+   * view is scrolled or map changes.
+   */
+  private BufferedImage backgroundLayer;
+  /**
+   * Transparent layer containing everything sector specific in star map
+   * view: culture, tiles, fleets, fog of war and texts.
+   */
+  private BufferedImage mapLayer;
+  /**
+   * Signatures of sectors drawn in map layer.
+   */
+  private long[][] sectorSignatures;
+  /**
+   * Star map drawn in layers.
+   */
+  private StarMap layerStarMap;
+  /**
+   * Player info drawn in layers.
+   */
+  private PlayerInfo layerInfo;
+  /**
+   * Center X coordinate of layers.
+   */
+  private int layerCenterX;
+  /**
+   * Center Y coordinate of layers.
+   */
+  private int layerCenterY;
+  /**
+   * Draw layers from scratch on every frame.
+   */
+  private boolean fullRedraw;
+  /**
+   * Time spent in latest star map frame in nanoseconds.
+   */
+  private long lastFrameTime;
+  /**
+   * Total time spent in star map frames in nanoseconds.
+   */
+  private long totalFrameTime;
+  /**
+   * Number of star map frames drawn.
+   */
+  private int frameCount;
+  /**
+   * Number of times layers have been drawn from scratch.
+   */
+  private int layerRebuilds;
+  /**
+   * Number of sectors drawn into map layer.
+   */
+  private long redrawnSectors;
   /**
    * Constructor for Map Panel. This can be used for drawing star map
    * or battle map
@@ -404,6 +459,27 @@ public class MapPanel extends JPanel {
    * Flicker upper limit
    */
   private static final int FLICKER_UPPER_LIMIT = 384;
+  /**
+   * Number of bits fleet takes in sector signature
+   */
+  private static final int SIGNATURE_FLEET_BITS = 30;
+  /**
+   * Whole map layer is drawn again if more than one per divider
+   * sectors have changed.
+   */
+  private static final int DIRTY_SECTOR_DIVIDER = 4;
+  /**
+   * How many sectors left sun's text can reach
+   */
+  private static final int TEXT_SECTORS_LEFT = 2;
+  /**
+   * How many sectors up gas giant's text can reach
+   */
+  private static final int TEXT_SECTORS_UP = 1;
+  /**
+   * How often frame statistics are logged in debug mode
+   */
+  private static final int FRAME_STATISTICS_INTERVAL = 500;
 
   /**
    * Update black hole effect while drawing the map
@@ -415,62 +491,77 @@ public class MapPanel extends JPanel {
    */
   public void updateBlackHoleEffect(final int pixelX, final int pixelY,
       final int i, final int j, final Tile tile) {
+    updateBlackHoleEffect(screen, pixelX, pixelY, i, j, tile);
+  }
+
+  /**
+   * Update black hole effect from image
+   * @param source Image where background is taken
+   * @param pixelX Pixel coordinate for X
+   * @param pixelY Pixel coordinate for Y
+   * @param i Map position in X coordinate
+   * @param j Map position in Y coordinate
+   * @param tile Black hole tile
+   */
+  private void updateBlackHoleEffect(final BufferedImage source,
+      final int pixelX, final int pixelY, final int i, final int j,
+      final Tile tile) {
     int safePixelX = pixelX;
     int safePixelY = pixelY;
     if (safePixelX - Tile.MAX_WIDTH < 0) {
       safePixelX = Tile.MAX_WIDTH;
     }
-    if (safePixelX + Tile.MAX_WIDTH > screen.getWidth()) {
-      safePixelX = screen.getWidth() - Tile.MAX_WIDTH;
+    if (safePixelX + Tile.MAX_WIDTH > source.getWidth()) {
+      safePixelX = source.getWidth() - Tile.MAX_WIDTH;
     }
     if (safePixelY - Tile.MAX_HEIGHT < 0) {
       safePixelY = Tile.MAX_HEIGHT;
     }
-    if (safePixelY + Tile.MAX_HEIGHT > screen.getHeight()) {
-      safePixelY = screen.getHeight() - Tile.MAX_HEIGHT;
+    if (safePixelY + Tile.MAX_HEIGHT > source.getHeight()) {
+      safePixelY = source.getHeight() - Tile.MAX_HEIGHT;
     }
     if (tile.getName() == TileNames.BLACKHOLE_NW
         && j + 1 < viewPointY && i + 1 < viewPointX) {
-      BufferedImage tmp = screen.getSubimage(safePixelX + Tile.MAX_WIDTH,
+      BufferedImage tmp = source.getSubimage(safePixelX + Tile.MAX_WIDTH,
           safePixelY + Tile.MAX_HEIGHT, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
       Tile.updateBlackHoleEffect(tmp);
     } else if (tile.getName() == TileNames.BLACKHOLE_N
         && j + 1 < viewPointY && i < viewPointX) {
-      BufferedImage tmp = screen.getSubimage(safePixelX,
+      BufferedImage tmp = source.getSubimage(safePixelX,
           safePixelY + Tile.MAX_HEIGHT, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
       Tile.updateBlackHoleEffect(tmp);
     } else if (tile.getName() == TileNames.BLACKHOLE_NE
         && j + 1 < viewPointY && i - 1 >= -viewPointX) {
-      BufferedImage tmp = screen.getSubimage(safePixelX - Tile.MAX_WIDTH,
+      BufferedImage tmp = source.getSubimage(safePixelX - Tile.MAX_WIDTH,
           safePixelY + Tile.MAX_HEIGHT, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
       Tile.updateBlackHoleEffect(tmp);
     } else if (tile.getName() == TileNames.BLACKHOLE_W
         && j < viewPointY && i < viewPointX) {
-      BufferedImage tmp = screen.getSubimage(safePixelX + Tile.MAX_WIDTH,
+      BufferedImage tmp = source.getSubimage(safePixelX + Tile.MAX_WIDTH,
           safePixelY, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
       Tile.updateBlackHoleEffect(tmp);
     } else if (tile.getName() == TileNames.BLACKHOLE_E
         && j < viewPointY && i + 1 < viewPointX) {
-      BufferedImage tmp = screen.getSubimage(safePixelX - Tile.MAX_WIDTH,
+      BufferedImage tmp = source.getSubimage(safePixelX - Tile.MAX_WIDTH,
           safePixelY, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
       Tile.updateBlackHoleEffect(tmp);
     } else if (tile.getName() == TileNames.BLACKHOLE_SW
         && j - 1  >= -viewPointY && i + 1 < viewPointX) {
-      BufferedImage tmp = screen.getSubimage(safePixelX + Tile.MAX_WIDTH,
+      BufferedImage tmp = source.getSubimage(safePixelX + Tile.MAX_WIDTH,
           safePixelY - Tile.MAX_HEIGHT, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
       Tile.updateBlackHoleEffect(tmp);
     } else if (tile.getName() == TileNames.BLACKHOLE_SW
         && j - 1  >= -viewPointY && i < viewPointX) {
-      BufferedImage tmp = screen.getSubimage(safePixelX,
+      BufferedImage tmp = source.getSubimage(safePixelX,
           safePixelY - Tile.MAX_HEIGHT, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
       Tile.updateBlackHoleEffect(tmp);
     } else if (tile.getName() == TileNames.BLACKHOLE_SE
         && j - 1  >= -viewPointY && i - 1 >= -viewPointX) {
-      BufferedImage tmp = screen.getSubimage(safePixelX - Tile.MAX_WIDTH,
+      BufferedImage tmp = source.getSubimage(safePixelX - Tile.MAX_WIDTH,
           safePixelY - Tile.MAX_HEIGHT, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
       Tile.updateBlackHoleEffect(tmp);
     } else {
-      BufferedImage tmp = screen.getSubimage(safePixelX,
+      BufferedImage tmp = source.getSubimage(safePixelX,
           safePixelY, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
       Tile.updateBlackHoleEffect(tmp);
     }
@@ -480,6 +571,7 @@ public class MapPanel extends JPanel {
    * @param starMap Star map to draw
    */
   public void drawMap(final StarMap starMap) {
+    long frameStart = System.nanoTime();
     PlayerInfo info = starMap.getCurrentPlayerInfo();
     if (updateAnimation) {
       updateAnimation = false;
@@ -517,7 +609,6 @@ public class MapPanel extends JPanel {
         return;
       }
     }
-    boolean blackholeUpdated = false;
     byte[][] routeData = null;
     if (route != null) {
       routeData = route.getRouteOnMap(starMap.getMaxX(), starMap.getMaxY());
@@ -541,42 +632,18 @@ public class MapPanel extends JPanel {
       cy = starMap.getMaxY() - viewPointY - 1;
     }
     starMap.setDrawPos(cx, cy);
-    // -20 for safety
-    int speedX = (GuiStatics.NEBULAE_IMAGE.getWidth() - this.getWidth()
-        - SAFETY_OFFSET) / starMap.getMaxX();
-    int speedY = (GuiStatics.NEBULAE_IMAGE.getHeight() - this.getHeight()
-        - SAFETY_OFFSET) / starMap.getMaxY();
-    if (speedX < 5) {
-      speedX = 5;
-    }
-    if (speedY < 5) {
-      speedY = 5;
-    }
-    int speedStarX = (GuiStatics.getStarField().getWidth() - this.getWidth()
-        - SAFETY_OFFSET) / starMap.getMaxX();
-    int speedStarY = (GuiStatics.getStarField().getHeight() - this.getHeight()
-        - SAFETY_OFFSET) / starMap.getMaxY();
-    if (speedStarX < 3) {
-      speedStarX = 3;
-    }
-    if (speedStarY < 3) {
-      speedStarY = 3;
-    }
-    if (!improvedParallax) {
-      GraphRoutines.drawTiling(gr, GuiStatics.getStarNebulae(),
-          -PARALLAX_OFFSET - cx * speedStarX,
-          -PARALLAX_OFFSET - cy * speedStarY,
-          this.getWidth(), this.getHeight());
-    } else {
-      // Parallax Scrolling with just two lines!!!
-      GraphRoutines.drawTiling(gr, GuiStatics.getStarField(),
-          -PARALLAX_OFFSET - cx * speedStarX,
-          -PARALLAX_OFFSET - cy * speedStarY,
-          this.getWidth(), this.getHeight());
-      GraphRoutines.drawTiling(gr, GuiStatics.NEBULAE_IMAGE,
-          -PARALLAX_OFFSET - cx * speedX,
-          -PARALLAX_OFFSET - cy * speedY,
-          this.getWidth(), this.getHeight());
+    boolean rebuild = fullRedraw || backgroundLayer == null
+        || backgroundLayer.getWidth() != screen.getWidth()
+        || backgroundLayer.getHeight() != screen.getHeight()
+        || layerStarMap != starMap || layerInfo != info
+        || layerCenterX != cx || layerCenterY != cy;
+    if (rebuild) {
+      drawBackgroundLayer(starMap, cx, cy);
+      layerStarMap = starMap;
+      layerInfo = info;
+      layerCenterX = cx;
+      layerCenterY = cy;
+      layerRebuilds++;
     }
 
     lastDrawnCenterX = cx;
@@ -605,188 +672,56 @@ public class MapPanel extends JPanel {
     }
 
     FleetTileInfo[][] fleetMap = starMap.getFleetTiles(false);
-
+    updateMapLayer(starMap, info, fleetMap, cx, cy, rebuild);
+    gr.drawImage(backgroundLayer, 0, 0, null);
+    Stroke dashed = new BasicStroke(1, BasicStroke.CAP_SQUARE,
+        BasicStroke.JOIN_BEVEL, 1, new float[] {0.1f, 4.5f }, 0);
+    Stroke cursorStroke = new BasicStroke(1, BasicStroke.CAP_SQUARE,
+        BasicStroke.JOIN_BEVEL, 1, new float[] {1f }, 0);
+    // Flickering sector grid is under the map layer. Grid is same for
+    // every sector, so sector's grid is drawn once and copied.
+    BufferedImage gridFull = createGridTile(dashed, colorDarkBlue, true,
+        true);
+    BufferedImage gridRight = createGridTile(dashed, colorDarkBlue, true,
+        false);
+    BufferedImage gridBottom = createGridTile(dashed, colorDarkBlue, false,
+        true);
     int pixelX = viewPointOffsetX;
     int pixelY = viewPointOffsetY;
     for (int j = -viewPointY; j < viewPointY + 1; j++) {
       for (int i = -viewPointX; i < viewPointX + 1; i++) {
-        Stroke dashed = new BasicStroke(1, BasicStroke.CAP_SQUARE,
-            BasicStroke.JOIN_BEVEL, 1, new float[] {0.1f, 4.5f }, 0);
-        Stroke full = new BasicStroke(1, BasicStroke.CAP_SQUARE,
-            BasicStroke.JOIN_BEVEL, 1, new float[] {1f }, 0);
-        gr.setStroke(dashed);
-        gr.setColor(colorDarkBlue);
-        Tile blackholeTile = starMap.getTile(i + cx, j + cy);
-        if (blackholeTile != null && blackholeTile.isBlackhole()
-            && !blackholeUpdated) {
-          updateBlackHoleEffect(pixelX, pixelY, i, j, blackholeTile);
-          blackholeUpdated = true;
+        BufferedImage grid = null;
+        if (i != viewPointX && j != viewPointY) {
+          grid = gridFull;
+        } else if (i != viewPointX) {
+          grid = gridRight;
+        } else if (j != viewPointY) {
+          grid = gridBottom;
         }
-        if (i != viewPointX) {
-          // Right line
-          gr.drawLine(pixelX + Tile.MAX_WIDTH - 1, pixelY,
-              pixelX + Tile.MAX_WIDTH - 1, pixelY + Tile.MAX_HEIGHT - 1);
-        }
-        if (j != viewPointY) {
-          // Bottom line
-          gr.drawLine(pixelX, pixelY + Tile.MAX_HEIGHT - 1,
-              pixelX + Tile.MAX_WIDTH - 1, pixelY + Tile.MAX_HEIGHT - 1);
-        }
-        if (info != null && info.getSectorVisibility(new Coordinate(i + cx,
-            j + cy)) != PlayerInfo.UNCHARTED) {
-          CulturePower culture = starMap.getSectorCulture(i + cx, j + cy);
-          if (culture != null) {
-            int index = culture.getHighestCulture();
-            if (index != -1) {
-              PlayerInfo cultureInfo = starMap.getPlayerByIndex(index);
-              Tile tile = Tiles.getTileByName(
-                  cultureInfo.getColor().getCultureTile());
-              if (tile != null) {
-                tile.draw(gr, pixelX, pixelY);
-              }
-            }
-          }
-        }
-        Tile tile = starMap.getTile(i + cx, j + cy);
-        if (tile == null) {
-          continue;
-        }
-        if (tile.getAnimationIndex() != tile.getIndex() && updateAnimation) {
-          // Change map tile for next drawing
-          starMap.setTile(i + cx, j + cy,
-              Tiles.getTileByIndex(tile.getAnimationIndex()));
-        }
-        // Draw only non empty tiles
-        if (info != null && !tile.getName().equals(TileNames.EMPTY)
-            && info.getSectorVisibility(new Coordinate(i + cx,
-                j + cy)) != PlayerInfo.UNCHARTED
-            || starMap.getTileInfo(i + cx, j + cy)
-                .getType() == SquareInfo.TYPE_SUN
-            || starMap.getTileInfo(i + cx, j + cy)
-                .getType() == SquareInfo.TYPE_BLACKHOLE_CENTER) {
-          tile.draw(gr, pixelX, pixelY);
-        }
-
-        // Draw home world marker
-        Planet planet = starMap.getPlanetByCoordinate(i + cx, j + cy);
-        if (planet != null && !planet.isGasGiant() && info != null
-            && info.getSectorVisibility(new Coordinate(i + cx,
-                j + cy)) != PlayerInfo.UNCHARTED
-            && planet.getHomeWorldIndex() != -1) {
-          Icon16x16 icon = Icons.getIconByName(Icons.ICON_CULTURE);
-          icon.draw(gr, pixelX + Icon16x16.MAX_WIDTH,
-              pixelY + Icon16x16.MAX_HEIGHT);
-        }
-
-        // Draw deep space anchor marker
-        if ((tile.getName().equals(TileNames.DEEP_SPACE_ANCHOR1)
-            || tile.getName().equals(TileNames.DEEP_SPACE_ANCHOR2))
-            && info != null && info.getSectorVisibility(new Coordinate(i + cx,
-                j + cy)) != PlayerInfo.UNCHARTED) {
-          Icon16x16 icon = Icons.getIconByName(Icons.ICON_STARBASE);
-          icon.draw(gr, pixelX + Icon16x16.MAX_WIDTH,
-              pixelY + Icon16x16.MAX_HEIGHT);
+        if (grid != null) {
+          gr.drawImage(grid, pixelX - 1, pixelY - 1, null);
         }
+        pixelX = pixelX + Tile.MAX_WIDTH;
+      }
+      pixelX = viewPointOffsetX;
+      pixelY = pixelY + Tile.MAX_HEIGHT;
+    }
+    gr.drawImage(mapLayer, 0, 0, null);
 
-        // Draw fleet
-        Fleet fleet = null;
-        PlayerInfo fleetOwner = null;
-        int fleetOwnerIndex = -1;
-        if (fleetMap[i + cx][j + cy] != null) {
-          fleet = starMap.getFleetByFleetTileInfo(fleetMap[i + cx]
-              [j + cy]);
-          if (fleet != null) {
-            fleetOwner = starMap.getPlayerInfoByFleet(fleet);
-            fleetOwnerIndex = starMap.getPlayerList().getIndex(fleetOwner);
-          }
-        }
-        if (info != null && fleet != null) {
-          FleetVisibility visibility = new FleetVisibility(info, fleet,
-              fleetOwnerIndex);
-          boolean drawShip = visibility.isFleetVisible();
-          boolean recognized = visibility.isRecognized();
-          boolean espionageDetected = visibility.isEspionageDetected();
-          if (recognized && fleetOwnerIndex != -1 && drawShip) {
-            PlayerInfo shipInfo = starMap.getPlayerByIndex(fleetOwnerIndex);
-            Tile fleetColor = Tiles.getTileByName(
-                shipInfo.getColor().getShipTile());
-            if (fleetColor != null) {
-              fleetColor.draw(gr, pixelX, pixelY);
-            }
-            if (fleetOwner != info && Game.getTutorial() != null
-                && starMap.isTutorialEnabled() && info.isHuman()) {
-              String tutorialText = Game.getTutorial().showTutorialText(50);
-              if (tutorialText != null) {
-                Message msg = new Message(MessageType.INFORMATION, tutorialText,
-                    Icons.getIconByName(Icons.ICON_TUTORIAL));
-                msg.setCoordinate(new Coordinate(i + cx, j + cy));
-                info.getMsgList().addNewMessage(msg);
-              }
-              tutorialText = Game.getTutorial().showTutorialText(90);
-              if (tutorialText != null) {
-                Message msg = new Message(MessageType.INFORMATION, tutorialText,
-                    Icons.getIconByName(Icons.ICON_TUTORIAL));
-                msg.setCoordinate(new Coordinate(i + cx, j + cy));
-                info.getMsgList().addNewMessage(msg);
-              }
-            }
-          }
-          if (drawShip) {
-            BufferedImage img = ShipImages
-                .getByRace(fleetMap[i + cx][j + cy].getRace())
-                .getSmallShipImage(fleetMap[i + cx][j + cy].getImageIndex());
-            gr.drawImage(img, pixelX, pixelY, null);
-            if (espionageDetected) {
-              Icon16x16 icon = Icons.getIconByName(Icons.ICON_SPY_GOGGLES);
-              icon.draw(gr, pixelX + Icon16x16.MAX_WIDTH,
-                  pixelY + Icon16x16.MAX_HEIGHT);
-            }
-          }
-        }
-        if (fleet == null && fleetMap[i + cx][j + cy] != null) {
-          Planet planetOrbital = starMap.getPlanetByFleetTileInfo(
-              fleetMap[i + cx][j + cy]);
-          if (planetOrbital != null && planetOrbital.getOrbital() != null
-              && info != null
-              && info.getSectorVisibility(planetOrbital.getCoordinate())
-              == PlayerInfo.VISIBLE) {
-            // Draw orbital
-            BufferedImage img = ShipImages
-                .getByRace(fleetMap[i + cx][j + cy].getRace())
-                .getSmallShipImage(fleetMap[i + cx][j + cy].getImageIndex());
-            gr.drawImage(img, pixelX, pixelY, null);
-          }
-        }
-        // Draw fog of war and uncharted tiles
-        if (info != null) {
-          switch (info.getSectorVisibility(new Coordinate(i + cx,
-              j + cy))) {
-          case PlayerInfo.UNCHARTED: {
-            if (starMap.getTileInfo(i + cx, j + cy)
-                .getType() != SquareInfo.TYPE_SUN) {
-              Tiles.getTileByName(TileNames.UNCHARTED).draw(gr, pixelX, pixelY);
-            }
-            break;
-          }
-          case PlayerInfo.FOG_OF_WAR: {
-            if (starMap.getTileInfo(i + cx, j + cy)
-                .getType() != SquareInfo.TYPE_SUN) {
-              Tiles.getTileByName(TileNames.FOG_OF_WAR).draw(gr, pixelX,
-                  pixelY);
-            }
-            break;
-          }
-          default:
-            // Do nothing
-            break;
-          }
+    // Cursor and route are drawn on top of map layer on every frame
+    pixelX = viewPointOffsetX;
+    pixelY = viewPointOffsetY;
+    for (int j = -viewPointY; j < viewPointY + 1; j++) {
+      for (int i = -viewPointX; i < viewPointX + 1; i++) {
+        if (starMap.getTile(i + cx, j + cy) == null) {
+          pixelX = pixelX + Tile.MAX_WIDTH;
+          continue;
         }
-
         // Draw the map cursor
         if (i + cx == starMap.getCursorX() && j + cy == starMap.getCursorY()) {
           cursorPixelX = pixelX;
           cursorPixelY = pixelY;
-          gr.setStroke(full);
+          gr.setStroke(cursorStroke);
           gr.setColor(colorFlickerBlue);
           // Top line
           gr.drawLine(pixelX, pixelY, pixelX + Tile.MAX_WIDTH - 1, pixelY);
@@ -802,92 +737,6 @@ public class MapPanel extends JPanel {
           gr.setColor(colorDarkBlue);
         }
 
-        // Draw sun's text
-        if ((tile.getName().equals(TileNames.SUN_E)
-            || tile.getName().equals(TileNames.BLUE_STAR_E)
-            || tile.getName().equals(TileNames.STAR_E))
-            && i > -viewPointX + 1) {
-          Sun sun = starMap.getSunByCoordinate(i + cx, j + cy);
-          if (sun != null) {
-            int textWidth = (int) GuiStatics.getFontCubellanSC()
-                .getStringBounds(sun.getName(), gr.getFontRenderContext())
-                .getWidth();
-            int offset = Tile.MAX_WIDTH / 2 + textWidth / 2 - 2;
-            gr.setStroke(GuiStatics.TEXT_LINE);
-            if (tile.getName().equals(TileNames.SUN_E)) {
-              gr.setColor(GuiStatics.COLOR_GOLD_TRANS);
-            }
-            if (tile.getName().equals(TileNames.STAR_E)) {
-              gr.setColor(GuiStatics.COLOR_SPACE_YELLOW);
-            }
-            if (tile.getName().equals(TileNames.BLUE_STAR_E)) {
-              gr.setColor(GuiStatics.COLOR_COOL_SPACE_BLUE);
-            }
-            gr.drawLine(pixelX - offset, pixelY + Tile.MAX_HEIGHT / 2 - 3,
-                pixelX - Tile.MAX_WIDTH + offset,
-                pixelY + Tile.MAX_HEIGHT / 2 - 3);
-            gr.setColor(Color.BLACK);
-            gr.setFont(GuiStatics.getFontCubellanSC());
-            gr.drawString(sun.getName(),
-                pixelX - Tile.MAX_WIDTH / 2 - textWidth / 2,
-                pixelY + Tile.MAX_HEIGHT / 2);
-          }
-        }
-
-        // Draw Gas giant text
-        if ((tile.getName().equals(TileNames.GAS_GIANT_1_SE) && i > -viewPointX
-            || tile.getName().equals(TileNames.GAS_GIANT_2_SE)
-                && i > -viewPointX
-            || tile.getName().equals(TileNames.GAS_GIANT_3_SE)
-                && i > -viewPointX
-            || tile.getName().equals(TileNames.JUPITER_SE)
-                && i > -viewPointX
-            || tile.getName().equals(TileNames.SATURN_SE)
-                && i > -viewPointX
-            || tile.getName().equals(TileNames.ICEGIANT1_SE)
-                && i > -viewPointX
-            || tile.getName().equals(TileNames.ICEGIANT2_SE)
-                && i > -viewPointX)
-            && planet != null && info != null && info
-                .getSectorVisibility(new Coordinate(i + cx,
-                    j + cy)) != PlayerInfo.UNCHARTED) {
-          int textWidth = (int) GuiStatics.getFontCubellanSC()
-              .getStringBounds(RandomSystemNameGenerator.numberToRoman(
-                  planet.getOrderNumber()), gr.getFontRenderContext())
-              .getWidth();
-          int offset = textWidth / 2 - 2;
-          gr.setStroke(GuiStatics.TEXT_LINE);
-          gr.setColor(GuiStatics.COLOR_GREYBLUE);
-          gr.drawLine(pixelX - offset, pixelY - 3, pixelX + offset, pixelY - 3);
-          gr.setColor(Color.BLACK);
-          gr.setFont(GuiStatics.getFontCubellanSC());
-          gr.drawString(
-              RandomSystemNameGenerator.numberToRoman(planet.getOrderNumber()),
-              pixelX - textWidth / 2, pixelY);
-        }
-
-        // Draw planet text
-        if (planet != null && !planet.isGasGiant()
-            && planet.getOrderNumber() != 0 && info != null && info
-            .getSectorVisibility(new Coordinate(i + cx,
-                j + cy)) != PlayerInfo.UNCHARTED) {
-          int textWidth = (int) GuiStatics.getFontCubellanSC()
-              .getStringBounds(RandomSystemNameGenerator.numberToRoman(
-                  planet.getOrderNumber()), gr.getFontRenderContext())
-              .getWidth();
-          int offset = Tile.MAX_WIDTH / 2 - textWidth / 2 - 2;
-          gr.setStroke(GuiStatics.TEXT_LINE);
-          gr.setColor(GuiStatics.COLOR_GREYBLUE);
-          gr.drawLine(pixelX + offset, pixelY + Tile.MAX_HEIGHT / 2 - 3,
-              pixelX + Tile.MAX_WIDTH - offset,
-              pixelY + Tile.MAX_HEIGHT / 2 - 3);
-          gr.setColor(Color.BLACK);
-          gr.setFont(GuiStatics.getFontCubellanSC());
-          gr.drawString(
-              RandomSystemNameGenerator.numberToRoman(planet.getOrderNumber()),
-              pixelX + Tile.MAX_WIDTH / 2 - textWidth / 2,
-              pixelY + Tile.MAX_HEIGHT / 2);
-        }
         if (routeData != null && routeData[i + cx][j + cy] == 1) {
           if (route.isDefending()) {
             gr.drawImage(Route.getDefenseDot(), pixelX, pixelY, null);
@@ -979,6 +828,571 @@ public class MapPanel extends JPanel {
           screen.getHeight());
     }
     gr.dispose();
+    updateFrameStatistics(System.nanoTime() - frameStart);
+  }
+
+  /**
+   * Create image of sector's grid lines. Image has one pixel margin
+   * around the sector for line caps.
+   * @param stroke Stroke for grid lines
+   * @param color Grid color
+   * @param right True to draw right line
+   * @param bottom True to draw bottom line
+   * @return Grid image
+   */
+  private static BufferedImage createGridTile(final Stroke stroke,
+      final Color color, final boolean right, final boolean bottom) {
+    BufferedImage grid = new BufferedImage(Tile.MAX_WIDTH + 2,
+        Tile.MAX_HEIGHT + 2, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D gr = grid.createGraphics();
+    gr.setStroke(stroke);
+    gr.setColor(color);
+    if (right) {
+      gr.drawLine(Tile.MAX_WIDTH, 1, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
+    }
+    if (bottom) {
+      gr.drawLine(1, Tile.MAX_HEIGHT, Tile.MAX_WIDTH, Tile.MAX_HEIGHT);
+    }
+    gr.dispose();
+    return grid;
+  }
+
+  /**
+   * Update star map frame statistics and log them every now and then
+   * in debug mode.
+   * @param frameTime Time spent in frame in nanoseconds
+   */
+  private void updateFrameStatistics(final long frameTime) {
+    lastFrameTime = frameTime;
+    totalFrameTime = totalFrameTime + frameTime;
+    frameCount++;
+    if (frameCount % FRAME_STATISTICS_INTERVAL == 0) {
+      ErrorLogger.debug("Star map frame average "
+          + getAverageFrameTime() / 1000 + " us, layer rebuilds "
+          + layerRebuilds + ", redrawn sectors " + redrawnSectors
+          + " in " + frameCount + " frames.");
+    }
+  }
+
+  /**
+   * Draw parallax background into background layer. Black hole effect
+   * is taken from background layer, so black hole does not need to sample
+   * screen on every frame.
+   * @param starMap Star map to draw
+   * @param cx Center X coordinate
+   * @param cy Center Y coordinate
+   */
+  private void drawBackgroundLayer(final StarMap starMap, final int cx,
+      final int cy) {
+    if (backgroundLayer == null
+        || backgroundLayer.getWidth() != screen.getWidth()
+        || backgroundLayer.getHeight() != screen.getHeight()) {
+      backgroundLayer = new BufferedImage(screen.getWidth(),
+          screen.getHeight(), BufferedImage.TYPE_INT_RGB);
+    }
+    Graphics2D gr = backgroundLayer.createGraphics();
+    // -20 for safety
+    int speedX = (GuiStatics.NEBULAE_IMAGE.getWidth() - this.getWidth()
+        - SAFETY_OFFSET) / starMap.getMaxX();
+    int speedY = (GuiStatics.NEBULAE_IMAGE.getHeight() - this.getHeight()
+        - SAFETY_OFFSET) / starMap.getMaxY();
+    if (speedX < 5) {
+      speedX = 5;
+    }
+    if (speedY < 5) {
+      speedY = 5;
+    }
+    int speedStarX = (GuiStatics.getStarField().getWidth() - this.getWidth()
+        - SAFETY_OFFSET) / starMap.getMaxX();
+    int speedStarY = (GuiStatics.getStarField().getHeight() - this.getHeight()
+        - SAFETY_OFFSET) / starMap.getMaxY();
+    if (speedStarX < 3) {
+      speedStarX = 3;
+    }
+    if (speedStarY < 3) {
+      speedStarY = 3;
+    }
+    if (!improvedParallax) {
+      GraphRoutines.drawTiling(gr, GuiStatics.getStarNebulae(),
+          -PARALLAX_OFFSET - cx * speedStarX,
+          -PARALLAX_OFFSET - cy * speedStarY,
+          this.getWidth(), this.getHeight());
+    } else {
+      // Parallax Scrolling with just two lines!!!
+      GraphRoutines.drawTiling(gr, GuiStatics.getStarField(),
+          -PARALLAX_OFFSET - cx * speedStarX,
+          -PARALLAX_OFFSET - cy * speedStarY,
+          this.getWidth(), this.getHeight());
+      GraphRoutines.drawTiling(gr, GuiStatics.NEBULAE_IMAGE,
+          -PARALLAX_OFFSET - cx * speedX,
+          -PARALLAX_OFFSET - cy * speedY,
+          this.getWidth(), this.getHeight());
+    }
+    gr.dispose();
+    int pixelX = viewPointOffsetX;
+    int pixelY = viewPointOffsetY;
+    for (int j = -viewPointY; j < viewPointY + 1; j++) {
+      for (int i = -viewPointX; i < viewPointX + 1; i++) {
+        Tile tile = starMap.getTile(i + cx, j + cy);
+        if (tile != null && tile.isBlackhole()) {
+          updateBlackHoleEffect(backgroundLayer, pixelX, pixelY, i, j, tile);
+          return;
+        }
+        pixelX = pixelX + Tile.MAX_WIDTH;
+      }
+      pixelX = viewPointOffsetX;
+      pixelY = pixelY + Tile.MAX_HEIGHT;
+    }
+  }
+
+  /**
+   * Calculate signature of everything that map layer draws into
+   * a sector. Sector needs redrawing only when signature changes.
+   * @param starMap Star map to draw
+   * @param info Player whose view is drawn, may be null
+   * @param fleetMap Fleet tiles
+   * @param x Sector X coordinate
+   * @param y Sector Y coordinate
+   * @return Sector signature
+   */
+  private static long getSectorSignature(final StarMap starMap,
+      final PlayerInfo info, final FleetTileInfo[][] fleetMap, final int x,
+      final int y) {
+    Tile tile = starMap.getTile(x, y);
+    if (tile == null) {
+      return 0;
+    }
+    long signature = tile.getIndex() + 1;
+    int visibility = 3;
+    if (info != null) {
+      visibility = info.getSectorVisibility(x, y);
+    }
+    signature = signature << 2 | visibility;
+    int cultureOwner = -1;
+    CulturePower culture = starMap.getSectorCulture(x, y);
+    if (culture != null) {
+      cultureOwner = culture.getHighestCulture();
+    }
+    signature = signature << 6 | cultureOwner + 1;
+    Planet planet = starMap.getPlanetByCoordinate(x, y);
+    int homeWorld = 0;
+    if (planet != null && planet.getHomeWorldIndex() != -1) {
+      homeWorld = 1;
+    }
+    signature = signature << 1 | homeWorld;
+    FleetTileInfo fleetTile = fleetMap[x][y];
+    if (fleetTile == null) {
+      return signature << SIGNATURE_FLEET_BITS;
+    }
+    signature = signature << 8 | fleetTile.getRace().ordinal() + 1;
+    signature = signature << 12 | fleetTile.getImageIndex() & 0xfff;
+    int fleetFlags = 0;
+    int fleetOwnerIndex = -1;
+    Fleet fleet = starMap.getFleetByFleetTileInfo(fleetTile);
+    if (fleet != null) {
+      fleetOwnerIndex = starMap.getPlayerList().getIndex(
+          starMap.getPlayerInfoByFleet(fleet));
+      if (info != null) {
+        FleetVisibility fleetVisibility = new FleetVisibility(info, fleet,
+            fleetOwnerIndex);
+        if (fleetVisibility.isFleetVisible()) {
+          fleetFlags = fleetFlags | 1;
+        }
+        if (fleetVisibility.isRecognized()) {
+          fleetFlags = fleetFlags | 2;
+        }
+        if (fleetVisibility.isEspionageDetected()) {
+          fleetFlags = fleetFlags | 4;
+        }
+      }
+    } else {
+      Planet planetOrbital = starMap.getPlanetByFleetTileInfo(fleetTile);
+      if (planetOrbital != null && planetOrbital.getOrbital() != null
+          && info != null
+          && info.getSectorVisibility(planetOrbital.getCoordinate())
+          == PlayerInfo.VISIBLE) {
+        fleetFlags = 8;
+      }
+    }
+    signature = signature << 6 | fleetOwnerIndex + 1;
+    return signature << 4 | fleetFlags;
+  }
+
+  /**
+   * Update map layer. Sectors whose signature has changed since previous
+   * frame are redrawn. Texts may reach two sectors left and one sector
+   * up, so redrawn area covers those and all sectors which can draw
+   * into that area are drawn again inside the clip. If large part of
+   * the view has changed whole layer is drawn again.
+   * Animated tiles are changed for next frame after drawing.
+   * @param starMap Star map to draw
+   * @param info Player whose view is drawn
+   * @param fleetMap Fleet tiles
+   * @param cx Center X coordinate
+   * @param cy Center Y coordinate
+   * @param rebuild True if whole layer must be drawn again
+   */
+  private void updateMapLayer(final StarMap starMap, final PlayerInfo info,
+      final FleetTileInfo[][] fleetMap, final int cx, final int cy,
+      final boolean rebuild) {
+    int columns = 2 * viewPointX + 1;
+    int rows = 2 * viewPointY + 1;
+    boolean drawAll = rebuild;
+    if (mapLayer == null || mapLayer.getWidth() != screen.getWidth()
+        || mapLayer.getHeight() != screen.getHeight()) {
+      mapLayer = new BufferedImage(screen.getWidth(), screen.getHeight(),
+          BufferedImage.TYPE_INT_ARGB);
+      drawAll = true;
+    }
+    if (sectorSignatures == null || sectorSignatures.length != rows
+        || sectorSignatures[0].length != columns) {
+      sectorSignatures = new long[rows][columns];
+      drawAll = true;
+    }
+    boolean[][] dirty = new boolean[rows][columns];
+    int dirtyCount = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        long signature = getSectorSignature(starMap, info, fleetMap,
+            column - viewPointX + cx, row - viewPointY + cy);
+        if (drawAll || signature != sectorSignatures[row][column]) {
+          sectorSignatures[row][column] = signature;
+          dirty[row][column] = true;
+          dirtyCount++;
+        }
+      }
+    }
+    if (dirtyCount * DIRTY_SECTOR_DIVIDER > rows * columns) {
+      drawAll = true;
+    }
+    Graphics2D gr = mapLayer.createGraphics();
+    if (drawAll) {
+      gr.setComposite(AlphaComposite.Clear);
+      gr.fillRect(0, 0, mapLayer.getWidth(), mapLayer.getHeight());
+      gr.setComposite(AlphaComposite.SrcOver);
+      for (int j = -viewPointY; j < viewPointY + 1; j++) {
+        for (int i = -viewPointX; i < viewPointX + 1; i++) {
+          drawMapSector(gr, starMap, info, fleetMap, i, j, cx, cy);
+        }
+      }
+      redrawnSectors = redrawnSectors + rows * columns;
+    } else {
+      for (int row = 0; row < rows; row++) {
+        for (int column = 0; column < columns; column++) {
+          if (dirty[row][column]) {
+            redrawArea(gr, starMap, info, fleetMap, column - viewPointX,
+                row - viewPointY, cx, cy);
+          }
+        }
+      }
+      redrawnSectors = redrawnSectors + dirtyCount;
+    }
+    gr.dispose();
+    if (updateAnimation) {
+      for (int j = -viewPointY; j < viewPointY + 1; j++) {
+        for (int i = -viewPointX; i < viewPointX + 1; i++) {
+          Tile tile = starMap.getTile(i + cx, j + cy);
+          if (tile != null && tile.getAnimationIndex() != tile.getIndex()) {
+            // Change map tile for next drawing
+            starMap.setTile(i + cx, j + cy,
+                Tiles.getTileByIndex(tile.getAnimationIndex()));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Clear and redraw area around changed sector in map layer.
+   * @param gr Graphics for map layer
+   * @param starMap Star map to draw
+   * @param info Player whose view is drawn
+   * @param fleetMap Fleet tiles
+   * @param i Changed sector's X position in view
+   * @param j Changed sector's Y position in view
+   * @param cx Center X coordinate
+   * @param cy Center Y coordinate
+   */
+  private void redrawArea(final Graphics2D gr, final StarMap starMap,
+      final PlayerInfo info, final FleetTileInfo[][] fleetMap, final int i,
+      final int j, final int cx, final int cy) {
+    int left = Math.max(i - TEXT_SECTORS_LEFT, -viewPointX);
+    int top = Math.max(j - TEXT_SECTORS_UP, -viewPointY);
+    int areaX = viewPointOffsetX + (left + viewPointX) * Tile.MAX_WIDTH;
+    int areaY = viewPointOffsetY + (top + viewPointY) * Tile.MAX_HEIGHT;
+    int areaWidth = (i - left + 1) * Tile.MAX_WIDTH;
+    int areaHeight = (j - top + 1) * Tile.MAX_HEIGHT;
+    // Texts on the edge of view may go over the view offset
+    if (left == -viewPointX) {
+      areaWidth = areaWidth + areaX;
+      areaX = 0;
+    }
+    if (top == -viewPointY) {
+      areaHeight = areaHeight + areaY;
+      areaY = 0;
+    }
+    gr.setClip(areaX, areaY, areaWidth, areaHeight);
+    gr.setComposite(AlphaComposite.Clear);
+    gr.fillRect(areaX, areaY, areaWidth, areaHeight);
+    gr.setComposite(AlphaComposite.SrcOver);
+    int right = Math.min(i + TEXT_SECTORS_LEFT, viewPointX);
+    int bottom = Math.min(j + TEXT_SECTORS_UP, viewPointY);
+    for (int y = top; y <= bottom; y++) {
+      for (int x = left; x <= right; x++) {
+        drawMapSector(gr, starMap, info, fleetMap, x, y, cx, cy);
+      }
+    }
+    gr.setClip(null);
+  }
+
+  /**
+   * Draw single sector into map layer. This draws culture, tile,
+   * markers, fleet, fog of war and texts.
+   * @param gr Graphics for map layer
+   * @param starMap Star map to draw
+   * @param info Player whose view is drawn
+   * @param fleetMap Fleet tiles
+   * @param i Sector's X position in view
+   * @param j Sector's Y position in view
+   * @param cx Center X coordinate
+   * @param cy Center Y coordinate
+   */
+  private void drawMapSector(final Graphics2D gr, final StarMap starMap,
+      final PlayerInfo info, final FleetTileInfo[][] fleetMap, final int i,
+      final int j, final int cx, final int cy) {
+    int pixelX = viewPointOffsetX + (i + viewPointX) * Tile.MAX_WIDTH;
+    int pixelY = viewPointOffsetY + (j + viewPointY) * Tile.MAX_HEIGHT;
+    if (info != null && info.getSectorVisibility(new Coordinate(i + cx,
+        j + cy)) != PlayerInfo.UNCHARTED) {
+      CulturePower culture = starMap.getSectorCulture(i + cx, j + cy);
+      if (culture != null) {
+        int index = culture.getHighestCulture();
+        if (index != -1) {
+          PlayerInfo cultureInfo = starMap.getPlayerByIndex(index);
+          Tile tile = Tiles.getTileByName(
+              cultureInfo.getColor().getCultureTile());
+          if (tile != null) {
+            tile.draw(gr, pixelX, pixelY);
+          }
+        }
+      }
+    }
+    Tile tile = starMap.getTile(i + cx, j + cy);
+    if (tile == null) {
+      return;
+    }
+    // Draw only non empty tiles
+    if (info != null && !tile.getName().equals(TileNames.EMPTY)
+        && info.getSectorVisibility(new Coordinate(i + cx,
+            j + cy)) != PlayerInfo.UNCHARTED
+        || starMap.getTileInfo(i + cx, j + cy)
+            .getType() == SquareInfo.TYPE_SUN
+        || starMap.getTileInfo(i + cx, j + cy)
+            .getType() == SquareInfo.TYPE_BLACKHOLE_CENTER) {
+      tile.draw(gr, pixelX, pixelY);
+    }
+
+    // Draw home world marker
+    Planet planet = starMap.getPlanetByCoordinate(i + cx, j + cy);
+    if (planet != null && !planet.isGasGiant() && info != null
+        && info.getSectorVisibility(new Coordinate(i + cx,
+            j + cy)) != PlayerInfo.UNCHARTED
+        && planet.getHomeWorldIndex() != -1) {
+      Icon16x16 icon = Icons.getIconByName(Icons.ICON_CULTURE);
+      icon.draw(gr, pixelX + Icon16x16.MAX_WIDTH,
+          pixelY + Icon16x16.MAX_HEIGHT);
+    }
+
+    // Draw deep space anchor marker
+    if ((tile.getName().equals(TileNames.DEEP_SPACE_ANCHOR1)
+        || tile.getName().equals(TileNames.DEEP_SPACE_ANCHOR2))
+        && info != null && info.getSectorVisibility(new Coordinate(i + cx,
+            j + cy)) != PlayerInfo.UNCHARTED) {
+      Icon16x16 icon = Icons.getIconByName(Icons.ICON_STARBASE);
+      icon.draw(gr, pixelX + Icon16x16.MAX_WIDTH,
+          pixelY + Icon16x16.MAX_HEIGHT);
+    }
+
+    // Draw fleet
+    Fleet fleet = null;
+    PlayerInfo fleetOwner = null;
+    int fleetOwnerIndex = -1;
+    if (fleetMap[i + cx][j + cy] != null) {
+      fleet = starMap.getFleetByFleetTileInfo(fleetMap[i + cx]
+          [j + cy]);
+      if (fleet != null) {
+        fleetOwner = starMap.getPlayerInfoByFleet(fleet);
+        fleetOwnerIndex = starMap.getPlayerList().getIndex(fleetOwner);
+      }
+    }
+    if (info != null && fleet != null) {
+      FleetVisibility visibility = new FleetVisibility(info, fleet,
+          fleetOwnerIndex);
+      boolean drawShip = visibility.isFleetVisible();
+      boolean recognized = visibility.isRecognized();
+      boolean espionageDetected = visibility.isEspionageDetected();
+      if (recognized && fleetOwnerIndex != -1 && drawShip) {
+        PlayerInfo shipInfo = starMap.getPlayerByIndex(fleetOwnerIndex);
+        Tile fleetColor = Tiles.getTileByName(
+            shipInfo.getColor().getShipTile());
+        if (fleetColor != null) {
+          fleetColor.draw(gr, pixelX, pixelY);
+        }
+        if (fleetOwner != info && Game.getTutorial() != null
+            && starMap.isTutorialEnabled() && info.isHuman()) {
+          String tutorialText = Game.getTutorial().showTutorialText(50);
+          if (tutorialText != null) {
+            Message msg = new Message(MessageType.INFORMATION, tutorialText,
+                Icons.getIconByName(Icons.ICON_TUTORIAL));
+            msg.setCoordinate(new Coordinate(i + cx, j + cy));
+            info.getMsgList().addNewMessage(msg);
+          }
+          tutorialText = Game.getTutorial().showTutorialText(90);
+          if (tutorialText != null) {
+            Message msg = new Message(MessageType.INFORMATION, tutorialText,
+                Icons.getIconByName(Icons.ICON_TUTORIAL));
+            msg.setCoordinate(new Coordinate(i + cx, j + cy));
+            info.getMsgList().addNewMessage(msg);
+          }
+        }
+      }
+      if (drawShip) {
+        BufferedImage img = ShipImages
+            .getByRace(fleetMap[i + cx][j + cy].getRace())
+            .getSmallShipImage(fleetMap[i + cx][j + cy].getImageIndex());
+        gr.drawImage(img, pixelX, pixelY, null);
+        if (espionageDetected) {
+          Icon16x16 icon = Icons.getIconByName(Icons.ICON_SPY_GOGGLES);
+          icon.draw(gr, pixelX + Icon16x16.MAX_WIDTH,
+              pixelY + Icon16x16.MAX_HEIGHT);
+        }
+      }
+    }
+    if (fleet == null && fleetMap[i + cx][j + cy] != null) {
+      Planet planetOrbital = starMap.getPlanetByFleetTileInfo(
+          fleetMap[i + cx][j + cy]);
+      if (planetOrbital != null && planetOrbital.getOrbital() != null
+          && info != null
+          && info.getSectorVisibility(planetOrbital.getCoordinate())
+          == PlayerInfo.VISIBLE) {
+        // Draw orbital
+        BufferedImage img = ShipImages
+            .getByRace(fleetMap[i + cx][j + cy].getRace())
+            .getSmallShipImage(fleetMap[i + cx][j + cy].getImageIndex());
+        gr.drawImage(img, pixelX, pixelY, null);
+      }
+    }
+    // Draw fog of war and uncharted tiles
+    if (info != null) {
+      switch (info.getSectorVisibility(new Coordinate(i + cx,
+          j + cy))) {
+      case PlayerInfo.UNCHARTED: {
+        if (starMap.getTileInfo(i + cx, j + cy)
+            .getType() != SquareInfo.TYPE_SUN) {
+          Tiles.getTileByName(TileNames.UNCHARTED).draw(gr, pixelX, pixelY);
+        }
+        break;
+      }
+      case PlayerInfo.FOG_OF_WAR: {
+        if (starMap.getTileInfo(i + cx, j + cy)
+            .getType() != SquareInfo.TYPE_SUN) {
+          Tiles.getTileByName(TileNames.FOG_OF_WAR).draw(gr, pixelX,
+              pixelY);
+        }
+        break;
+      }
+      default:
+        // Do nothing
+        break;
+      }
+    }
+
+    // Draw sun's text
+    if ((tile.getName().equals(TileNames.SUN_E)
+        || tile.getName().equals(TileNames.BLUE_STAR_E)
+        || tile.getName().equals(TileNames.STAR_E))
+        && i > -viewPointX + 1) {
+      Sun sun = starMap.getSunByCoordinate(i + cx, j + cy);
+      if (sun != null) {
+        int textWidth = (int) GuiStatics.getFontCubellanSC()
+            .getStringBounds(sun.getName(), gr.getFontRenderContext())
+            .getWidth();
+        int offset = Tile.MAX_WIDTH / 2 + textWidth / 2 - 2;
+        gr.setStroke(GuiStatics.TEXT_LINE);
+        if (tile.getName().equals(TileNames.SUN_E)) {
+          gr.setColor(GuiStatics.COLOR_GOLD_TRANS);
+        }
+        if (tile.getName().equals(TileNames.STAR_E)) {
+          gr.setColor(GuiStatics.COLOR_SPACE_YELLOW);
+        }
+        if (tile.getName().equals(TileNames.BLUE_STAR_E)) {
+          gr.setColor(GuiStatics.COLOR_COOL_SPACE_BLUE);
+        }
+        gr.drawLine(pixelX - offset, pixelY + Tile.MAX_HEIGHT / 2 - 3,
+            pixelX - Tile.MAX_WIDTH + offset,
+            pixelY + Tile.MAX_HEIGHT / 2 - 3);
+        gr.setColor(Color.BLACK);
+        gr.setFont(GuiStatics.getFontCubellanSC());
+        gr.drawString(sun.getName(),
+            pixelX - Tile.MAX_WIDTH / 2 - textWidth / 2,
+            pixelY + Tile.MAX_HEIGHT / 2);
+      }
+    }
+
+    // Draw Gas giant text
+    if ((tile.getName().equals(TileNames.GAS_GIANT_1_SE) && i > -viewPointX
+        || tile.getName().equals(TileNames.GAS_GIANT_2_SE)
+            && i > -viewPointX
+        || tile.getName().equals(TileNames.GAS_GIANT_3_SE)
+            && i > -viewPointX
+        || tile.getName().equals(TileNames.JUPITER_SE)
+            && i > -viewPointX
+        || tile.getName().equals(TileNames.SATURN_SE)
+            && i > -viewPointX
+        || tile.getName().equals(TileNames.ICEGIANT1_SE)
+            && i > -viewPointX
+        || tile.getName().equals(TileNames.ICEGIANT2_SE)
+            && i > -viewPointX)
+        && planet != null && info != null && info
+            .getSectorVisibility(new Coordinate(i + cx,
+                j + cy)) != PlayerInfo.UNCHARTED) {
+      int textWidth = (int) GuiStatics.getFontCubellanSC()
+          .getStringBounds(RandomSystemNameGenerator.numberToRoman(
+              planet.getOrderNumber()), gr.getFontRenderContext())
+          .getWidth();
+      int offset = textWidth / 2 - 2;
+      gr.setStroke(GuiStatics.TEXT_LINE);
+      gr.setColor(GuiStatics.COLOR_GREYBLUE);
+      gr.drawLine(pixelX - offset, pixelY - 3, pixelX + offset, pixelY - 3);
+      gr.setColor(Color.BLACK);
+      gr.setFont(GuiStatics.getFontCubellanSC());
+      gr.drawString(
+          RandomSystemNameGenerator.numberToRoman(planet.getOrderNumber()),
+          pixelX - textWidth / 2, pixelY);
+    }
+
+    // Draw planet text
+    if (planet != null && !planet.isGasGiant()
+        && planet.getOrderNumber() != 0 && info != null && info
+        .getSectorVisibility(new Coordinate(i + cx,
+            j + cy)) != PlayerInfo.UNCHARTED) {
+      int textWidth = (int) GuiStatics.getFontCubellanSC()
+          .getStringBounds(RandomSystemNameGenerator.numberToRoman(
+              planet.getOrderNumber()), gr.getFontRenderContext())
+          .getWidth();
+      int offset = Tile.MAX_WIDTH / 2 - textWidth / 2 - 2;
+      gr.setStroke(GuiStatics.TEXT_LINE);
+      gr.setColor(GuiStatics.COLOR_GREYBLUE);
+      gr.drawLine(pixelX + offset, pixelY + Tile.MAX_HEIGHT / 2 - 3,
+          pixelX + Tile.MAX_WIDTH - offset,
+          pixelY + Tile.MAX_HEIGHT / 2 - 3);
+      gr.setColor(Color.BLACK);
+      gr.setFont(GuiStatics.getFontCubellanSC());
+      gr.drawString(
+          RandomSystemNameGenerator.numberToRoman(planet.getOrderNumber()),
+          pixelX + Tile.MAX_WIDTH / 2 - textWidth / 2,
+          pixelY + Tile.MAX_HEIGHT / 2);
+    }
   }
 
   /**
@@ -1933,6 +2347,67 @@ public class MapPanel extends JPanel {
     return miniMapBotY;
   }
 
+  /**
+   * Is star map drawn from scratch on every frame.
+   * @return True if layers are drawn again on every frame
+   */
+  public boolean isFullRedraw() {
+    return fullRedraw;
+  }
+
+  /**
+   * Set star map to be drawn from scratch on every frame. This is slower
+   * but useful for comparing against cached drawing.
+   * @param fullRedraw True to draw layers again on every frame
+   */
+  public void setFullRedraw(final boolean fullRedraw) {
+    this.fullRedraw = fullRedraw;
+  }
+
+  /**
+   * Get time spent in latest star map frame.
+   * @return Frame time in nanoseconds
+   */
+  public long getLastFrameTime() {
+    return lastFrameTime;
+  }
+
+  /**
+   * Get average time spent in star map frame.
+   * @return Average frame time in nanoseconds
+   */
+  public long getAverageFrameTime() {
+    if (frameCount == 0) {
+      return 0;
+    }
+    return totalFrameTime / frameCount;
+  }
+
+  /**
+   * Get number of times star map layers have been drawn from scratch.
+   * @return Number of layer rebuilds
+   */
+  public int getLayerRebuilds() {
+    return layerRebuilds;
+  }
+
+  /**
+   * Get number of sectors drawn into map layer. Without caching this
+   * would be number of frames times visible sectors.
+   * @return Number of redrawn sectors
+   */
+  public long getRedrawnSectors() {
+    return redrawnSectors;
+  }
+
+  /**
+   * Get drawn screen image.
+   * @return Screen image or null if nothing has been drawn
+   */
+  BufferedImage getScreen() {
+    return screen;
+  }
+
   /**
    * Get minimap.
    * @return Minimap
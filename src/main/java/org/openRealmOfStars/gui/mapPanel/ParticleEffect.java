@@ -3,7 +3,7 @@ package org.openRealmOfStars.gui.mapPanel;
 import java.awt.Color;
 
 import org.openRealmOfStars.gui.utilies.GuiStatics;
-import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openRealmOfStars.utilities.RandomStream;
 
 /**
  *
@@ -30,6 +30,13 @@ import org.openRealmOfStars.utilities.DiceGenerator;
 
 public class ParticleEffect {
 
+  /**
+   * Random stream for particles. Particles do not use game's
+   * random numbers, so they cannot change outcome of the game.
+   */
+  private static final RandomStream EFFECT_RANDOM = new RandomStream(
+      System.nanoTime());
+
   /**
    * Particle X coordinate
    */
@@ -90,48 +97,48 @@ public class ParticleEffect {
     this.type = type;
     switch (this.type) {
     case EXPLOSION_PARTICLE: {
-      mx = DiceGenerator.getRandom(5, 50);
+      mx = EFFECT_RANDOM.getRandom(5, 50);
       mx = mx / 10;
-      my = DiceGenerator.getRandom(5, 50);
+      my = EFFECT_RANDOM.getRandom(5, 50);
       my = my / 10;
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         mx = mx * -1;
       }
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         my = my * -1;
       }
-      ttl = DiceGenerator.getRandom(15, 30);
-      color = GuiStatics.EXPLOSION_COLORS[DiceGenerator
+      ttl = EFFECT_RANDOM.getRandom(15, 30);
+      color = GuiStatics.EXPLOSION_COLORS[EFFECT_RANDOM
           .getRandom(GuiStatics.EXPLOSION_COLORS.length - 1)];
       break;
     }
     case ION_PARTICLE: {
-      mx = DiceGenerator.getRandom(5, 40);
+      mx = EFFECT_RANDOM.getRandom(5, 40);
       mx = mx / 10;
-      my = DiceGenerator.getRandom(5, 40);
+      my = EFFECT_RANDOM.getRandom(5, 40);
       my = my / 10;
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         mx = mx * -1;
       }
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         my = my * -1;
       }
-      ttl = DiceGenerator.getRandom(5, 15);
-      color = GuiStatics.BLUE_BEAM_COLORS[DiceGenerator
+      ttl = EFFECT_RANDOM.getRandom(5, 15);
+      color = GuiStatics.BLUE_BEAM_COLORS[EFFECT_RANDOM
           .getRandom(GuiStatics.BLUE_BEAM_COLORS.length - 1)];
       break;
     }
     case ION_PARTICLE_LOW_ACTIVE: {
       mx = 1;
       my = 1;
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         mx = mx * -1;
       }
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         my = my * -1;
       }
-      ttl = DiceGenerator.getRandom(1, 5);
-      color = GuiStatics.BLUE_BEAM_COLORS[DiceGenerator
+      ttl = EFFECT_RANDOM.getRandom(1, 5);
+      color = GuiStatics.BLUE_BEAM_COLORS[EFFECT_RANDOM
           .getRandom(GuiStatics.BLUE_BEAM_COLORS.length - 1)];
       break;
     }
@@ -139,7 +146,7 @@ public class ParticleEffect {
       mx = 0;
       my = 0;
       ttl = 2;
-      color = GuiStatics.BEAM_COLORS[DiceGenerator
+      color = GuiStatics.BEAM_COLORS[EFFECT_RANDOM
           .getRandom(GuiStatics.BEAM_COLORS.length - 1)];
       break;
     }
@@ -154,7 +161,7 @@ public class ParticleEffect {
       mx = 0;
       my = 0;
       ttl = 2;
-      color = GuiStatics.GREEN_BEAM_COLORS[DiceGenerator
+      color = GuiStatics.GREEN_BEAM_COLORS[EFFECT_RANDOM
           .getRandom(GuiStatics.GREEN_BEAM_COLORS.length - 1)];
       break;
     }
@@ -162,38 +169,38 @@ public class ParticleEffect {
       mx = 0;
       my = 0;
       ttl = 2;
-      color = GuiStatics.BLUE_BEAM_COLORS[DiceGenerator
+      color = GuiStatics.BLUE_BEAM_COLORS[EFFECT_RANDOM
           .getRandom(GuiStatics.BLUE_BEAM_COLORS.length - 1)];
       break;
     }
     case PHOTON_TORP_PARTICILE: {
       color = new Color(PHOTON_TORPEDO_RED, MAX_COLOR, 0);
-      mx = DiceGenerator.getRandom(5, 20);
+      mx = EFFECT_RANDOM.getRandom(5, 20);
       mx = mx / 10;
-      my = DiceGenerator.getRandom(5, 20);
+      my = EFFECT_RANDOM.getRandom(5, 20);
       my = my / 10;
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         mx = mx * -1;
       }
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         my = my * -1;
       }
       ttl = 10;
       break;
     }
     case PLASMA_PARTICLE: {
-      int value = DiceGenerator.getRandom(PHOTON_TORPEDO_RED, MAX_COLOR - 25);
-      color = new Color(value + DiceGenerator.getRandom(0, 25),
-          value + DiceGenerator.getRandom(0, 25),
-          value + DiceGenerator.getRandom(0, 25));
-      mx = DiceGenerator.getRandom(5, 20);
+      int value = EFFECT_RANDOM.getRandom(PHOTON_TORPEDO_RED, MAX_COLOR - 25);
+      color = new Color(value + EFFECT_RANDOM.getRandom(0, 25),
+          value + EFFECT_RANDOM.getRandom(0, 25),
+          value + EFFECT_RANDOM.getRandom(0, 25));
+      mx = EFFECT_RANDOM.getRandom(5, 20);
       mx = mx / 10;
-      my = DiceGenerator.getRandom(5, 20);
+      my = EFFECT_RANDOM.getRandom(5, 20);
       my = my / 10;
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         mx = mx * -1;
       }
-      if (DiceGenerator.getRandom(1) == 0) {
+      if (EFFECT_RANDOM.getRandom(1) == 0) {
         my = my * -1;
       }
       ttl = 10;
@@ -243,14 +250,14 @@ public class ParticleEffect {
       if (ttl < 6) {
         color = new Color(40 + ttl * 10, 40 + ttl * 10, 40 + ttl * 10);
         if (ttl == 5) {
-          mx = DiceGenerator.getRandom(5, 20);
+          mx = EFFECT_RANDOM.getRandom(5, 20);
           mx = mx / 10;
-          my = DiceGenerator.getRandom(5, 20);
+          my = EFFECT_RANDOM.getRandom(5, 20);
           my = my / 10;
-          if (DiceGenerator.getRandom(1) == 0) {
+          if (EFFECT_RANDOM.getRandom(1) == 0) {
             mx = mx * -1;
           }
-          if (DiceGenerator.getRandom(1) == 0) {
+          if (EFFECT_RANDOM.getRandom(1) == 0) {
             my = my * -1;
           }
         }
@@ -131,6 +131,14 @@ public class BigSpherePanel extends JPanel {
    * Planet's texture offset for rotation
    */
   private int planetTextureOffset = 0;
+  /**
+   * Image where rotating sphere is rendered.
+   */
+  private BufferedImage sphereImg;
+  /**
+   * Render sphere with multiple threads.
+   */
+  private boolean parallelRendering;
   /**
    * Create BigSpherePanel
    * @param starField Use star field or not
@@ -141,7 +149,7 @@ public class BigSpherePanel extends JPanel {
     super();
     this.setBackground(Color.black);
     backgroundImg = new BufferedImage(360 * 2, 360,
-        BufferedImage.TYPE_4BYTE_ABGR);
+        BufferedImage.TYPE_INT_ARGB);
     BufferedImage temp = new BufferedImage(360, 360,
         BufferedImage.TYPE_4BYTE_ABGR);
     Graphics graphics = temp.getGraphics();
@@ -402,34 +410,16 @@ public class BigSpherePanel extends JPanel {
    */
   private void paintSphere(final Graphics2D g2d,
        final int offsetX, final int offsetY) {
-    double westAngle = 0;
-    double northAngle = 0;
-    final int maxPixelSize = 8;
-    for (int i = 0; i < 360; i++) {
-      westAngle = 0;
-      for (int j = 0; j < 180; j++) {
-        double y = Math.sin(Math.toRadians(northAngle / 2.0));
-        double x = -Math.cos(Math.toRadians(westAngle)) * y
-            * backgroundImg.getWidth() / 4.0 + backgroundImg.getWidth() / 8.0;
-        double z = Math.sin(Math.toRadians(westAngle)) * y * maxPixelSize;
-        y = -Math.cos(Math.toRadians(northAngle / 2.0))
-            * backgroundImg.getHeight() / 2.0 + backgroundImg.getHeight() / 2.0;
-        int size = (int) z;
-        if (size < 0) {
-          size = 1;
-        }
-        if (size > maxPixelSize) {
-          size = maxPixelSize;
-        }
-        int color = backgroundImg.getRGB(planetTextureOffset + j, i);
-        g2d.setColor(new Color(color));
-        if (size > 0) {
-          g2d.fillOval(offsetX + (int) x, offsetY + (int) y, size, size);
-        }
-        westAngle++;
-      }
-      northAngle++;
+    SphereProjection projection = SphereProjection.getProjection(
+        backgroundImg.getWidth(), backgroundImg.getHeight());
+    if (sphereImg == null) {
+      sphereImg = projection.createImage();
     }
+    projection.render(SphereProjection.getPixels(backgroundImg),
+        planetTextureOffset, SphereProjection.getPixels(sphereImg),
+        parallelRendering);
+    g2d.drawImage(sphereImg, offsetX + projection.getMinX(),
+        offsetY + projection.getMinY(), null);
     planetTextureOffset++;
     if (planetTextureOffset >= backgroundImg.getWidth() / 2) {
       planetTextureOffset = 0;
@@ -803,6 +793,23 @@ public class BigSpherePanel extends JPanel {
     this.customOrbital = customOrbital;
   }
 
+  /**
+   * Is sphere rendered with multiple threads.
+   * @return True if parallel rendering is used
+   */
+  public boolean isParallelRendering() {
+    return parallelRendering;
+  }
+
+  /**
+   * Set sphere to be rendered with multiple threads. Result is same
+   * as with single thread.
+   * @param parallelRendering True to use parallel rendering
+   */
+  public void setParallelRendering(final boolean parallelRendering) {
+    this.parallelRendering = parallelRendering;
+  }
+
   /**
    * Is title text in middle of Y axis.
    * @return True if in middle
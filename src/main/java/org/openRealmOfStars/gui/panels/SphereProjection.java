@@ -0,0 +1,435 @@
+package org.openRealmOfStars.gui.panels;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Precomputed projection from sphere texture into rotating sphere.
+ * Sphere is drawn from 360x180 samples, each drawn as small filled oval
+ * whose size depends on sample's depth. Sample positions and sizes do not
+ * change when sphere rotates, only texture column does, so they are
+ * calculated once per texture size. Ovals are rasterized once per size
+ * into pixel offset masks and written directly to image raster.
+ *
+ */
+public final class SphereProjection {
+
+  /**
+   * Number of sample rows, north to south in half degrees
+   */
+  public static final int SAMPLE_ROWS = 360;
+
+  /**
+   * Number of sample columns, west to east in degrees
+   */
+  public static final int SAMPLE_COLUMNS = 180;
+
+  /**
+   * Maximum sample size in pixels
+   */
+  public static final int MAX_PIXEL_SIZE = 8;
+
+  /**
+   * Alpha channel bits for opaque color
+   */
+  private static final int OPAQUE = 0xff000000;
+
+  /**
+   * Projections by texture size
+   */
+  private static final HashMap<Long, SphereProjection> PROJECTIONS =
+      new HashMap<>();
+
+  /**
+   * Fork join pool for parallel rendering. Created when needed first time.
+   */
+  private static ForkJoinPool pool;
+
+  /**
+   * Texture width
+   */
+  private final int textureWidth;
+
+  /**
+   * Image X offset compared to drawing position
+   */
+  private final int minX;
+
+  /**
+   * Image Y offset compared to drawing position
+   */
+  private final int minY;
+
+  /**
+   * Image width
+   */
+  private final int width;
+
+  /**
+   * Image height
+   */
+  private final int height;
+
+  /**
+   * Sample's pixel index in image
+   */
+  private final int[] samplePixel;
+
+  /**
+   * Sample's row in image
+   */
+  private final int[] sampleY;
+
+  /**
+   * Sample's size, zero for samples which are not drawn
+   */
+  private final int[] sampleSize;
+
+  /**
+   * Sample's texture index without rotation
+   */
+  private final int[] sampleTexture;
+
+  /**
+   * Pixel offsets of ovals by size. Offset is packed as y * width + x.
+   */
+  private final int[][] ovalOffsets;
+
+  /**
+   * Pixel rows of ovals by size.
+   */
+  private final int[][] ovalRows;
+
+  /**
+   * Calculate projection for texture size.
+   * @param textureWidth Texture width, half of this is one full rotation
+   * @param textureHeight Texture height
+   */
+  private SphereProjection(final int textureWidth, final int textureHeight) {
+    this.textureWidth = textureWidth;
+    int samples = SAMPLE_ROWS * SAMPLE_COLUMNS;
+    int[] x = new int[samples];
+    int[] y = new int[samples];
+    sampleSize = new int[samples];
+    sampleTexture = new int[samples];
+    int left = Integer.MAX_VALUE;
+    int top = Integer.MAX_VALUE;
+    int right = Integer.MIN_VALUE;
+    int bottom = Integer.MIN_VALUE;
+    double northAngle = 0;
+    for (int i = 0; i < SAMPLE_ROWS; i++) {
+      double westAngle = 0;
+      for (int j = 0; j < SAMPLE_COLUMNS; j++) {
+        int index = i * SAMPLE_COLUMNS + j;
+        double sy = Math.sin(Math.toRadians(northAngle / 2.0));
+        double sx = -Math.cos(Math.toRadians(westAngle)) * sy
+            * textureWidth / 4.0 + textureWidth / 8.0;
+        double z = Math.sin(Math.toRadians(westAngle)) * sy * MAX_PIXEL_SIZE;
+        sy = -Math.cos(Math.toRadians(northAngle / 2.0))
+            * textureHeight / 2.0 + textureHeight / 2.0;
+        int size = (int) z;
+        if (size < 0) {
+          size = 1;
+        }
+        if (size > MAX_PIXEL_SIZE) {
+          size = MAX_PIXEL_SIZE;
+        }
+        x[index] = (int) sx;
+        y[index] = (int) sy;
+        sampleSize[index] = size;
+        sampleTexture[index] = i * textureWidth + j;
+        if (size > 0) {
+          left = Math.min(left, x[index]);
+          top = Math.min(top, y[index]);
+          right = Math.max(right, x[index] + size);
+          bottom = Math.max(bottom, y[index] + size);
+        }
+        westAngle++;
+      }
+      northAngle++;
+    }
+    // One pixel margin for ovals reaching over their bounds
+    minX = left - 1;
+    minY = top - 1;
+    width = right - minX + 1;
+    height = bottom - minY + 1;
+    samplePixel = new int[samples];
+    sampleY = new int[samples];
+    for (int i = 0; i < samples; i++) {
+      sampleY[i] = y[i] - minY;
+      samplePixel[i] = sampleY[i] * width + x[i] - minX;
+    }
+    ovalOffsets = new int[MAX_PIXEL_SIZE + 1][];
+    ovalRows = new int[MAX_PIXEL_SIZE + 1][];
+    for (int size = 1; size <= MAX_PIXEL_SIZE; size++) {
+      rasterizeOval(size);
+    }
+  }
+
+  /**
+   * Rasterize filled oval with Java2D and store its pixels as offsets.
+   * @param size Oval size
+   */
+  private void rasterizeOval(final int size) {
+    BufferedImage img = new BufferedImage(size + 2, size + 2,
+        BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2d = img.createGraphics();
+    g2d.fillOval(1, 1, size, size);
+    g2d.dispose();
+    int count = 0;
+    for (int y = 0; y < img.getHeight(); y++) {
+      for (int x = 0; x < img.getWidth(); x++) {
+        if (img.getRGB(x, y) != 0) {
+          count++;
+        }
+      }
+    }
+    ovalOffsets[size] = new int[count];
+    ovalRows[size] = new int[count];
+    count = 0;
+    for (int y = 0; y < img.getHeight(); y++) {
+      for (int x = 0; x < img.getWidth(); x++) {
+        if (img.getRGB(x, y) != 0) {
+          ovalOffsets[size][count] = (y - 1) * width + x - 1;
+          ovalRows[size][count] = y - 1;
+          count++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Get projection for texture size. Projections are calculated once
+   * and shared.
+   * @param textureWidth Texture width
+   * @param textureHeight Texture height
+   * @return SphereProjection
+   */
+  public static synchronized SphereProjection getProjection(
+      final int textureWidth, final int textureHeight) {
+    Long key = Long.valueOf((long) textureWidth << 32 | textureHeight);
+    SphereProjection projection = PROJECTIONS.get(key);
+    if (projection == null) {
+      projection = new SphereProjection(textureWidth, textureHeight);
+      PROJECTIONS.put(key, projection);
+    }
+    return projection;
+  }
+
+  /**
+   * Get fork join pool for parallel rendering.
+   * @return ForkJoinPool
+   */
+  private static synchronized ForkJoinPool getPool() {
+    if (pool == null) {
+      pool = new ForkJoinPool();
+    }
+    return pool;
+  }
+
+  /**
+   * Create image where sphere can be rendered.
+   * @return BufferedImage
+   */
+  public BufferedImage createImage() {
+    return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+  }
+
+  /**
+   * Get pixels of image. Texture and sphere images must be
+   * TYPE_INT_ARGB.
+   * @param img Image
+   * @return Pixels
+   */
+  public static int[] getPixels(final BufferedImage img) {
+    return ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+  }
+
+  /**
+   * Render sphere into image created with createImage(). Result is same
+   * as drawing samples with fillOval in sample order. Rows of image
+   * can be rendered in parallel since each band of rows goes through
+   * samples in the same order.
+   * @param texture Texture pixels
+   * @param rotation Texture column offset for rotation
+   * @param target Target image pixels
+   * @param parallel True to render bands of rows in parallel
+   */
+  public void render(final int[] texture, final int rotation,
+      final int[] target, final boolean parallel) {
+    if (parallel) {
+      ForkJoinPool renderPool = getPool();
+      renderPool.invoke(new RenderTask(this, texture, rotation, target, 0,
+          height, height / renderPool.getParallelism() + 1));
+    } else {
+      renderRows(texture, rotation, target, 0, height);
+    }
+  }
+
+  /**
+   * Render pixels which are in range of rows.
+   * @param texture Texture pixels
+   * @param rotation Texture column offset for rotation
+   * @param target Target image pixels
+   * @param startRow First row
+   * @param endRow Last row exclusive
+   */
+  void renderRows(final int[] texture, final int rotation,
+      final int[] target, final int startRow, final int endRow) {
+    boolean allRows = startRow == 0 && endRow == height;
+    for (int i = 0; i < sampleSize.length; i++) {
+      int size = sampleSize[i];
+      if (size == 0) {
+        continue;
+      }
+      int row = sampleY[i];
+      if (row + size < startRow || row - 1 >= endRow) {
+        continue;
+      }
+      int color = texture[sampleTexture[i] + rotation] | OPAQUE;
+      int pixel = samplePixel[i];
+      int[] offsets = ovalOffsets[size];
+      if (allRows) {
+        for (int j = 0; j < offsets.length; j++) {
+          target[pixel + offsets[j]] = color;
+        }
+      } else {
+        int[] rows = ovalRows[size];
+        for (int j = 0; j < offsets.length; j++) {
+          int pixelRow = row + rows[j];
+          if (pixelRow >= startRow && pixelRow < endRow) {
+            target[pixel + offsets[j]] = color;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Get X offset of sphere image compared to drawing position.
+   * @return X offset
+   */
+  public int getMinX() {
+    return minX;
+  }
+
+  /**
+   * Get Y offset of sphere image compared to drawing position.
+   * @return Y offset
+   */
+  public int getMinY() {
+    return minY;
+  }
+
+  /**
+   * Get texture width used for this projection.
+   * @return Texture width
+   */
+  public int getTextureWidth() {
+    return textureWidth;
+  }
+
+  /**
+   * Task for rendering band of rows. Range is split until it is
+   * at most band height.
+   */
+  private static class RenderTask extends RecursiveAction {
+
+    /**
+     * Serial version UID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Projection to render
+     */
+    private final transient SphereProjection projection;
+
+    /**
+     * Texture pixels
+     */
+    private final transient int[] texture;
+
+    /**
+     * Texture rotation
+     */
+    private final int rotation;
+
+    /**
+     * Target pixels
+     */
+    private final transient int[] target;
+
+    /**
+     * First row
+     */
+    private final int start;
+
+    /**
+     * Last row exclusive
+     */
+    private final int end;
+
+    /**
+     * Maximum rows in single task
+     */
+    private final int band;
+
+    /**
+     * Constructor for render task
+     * @param projection Projection to render
+     * @param texture Texture pixels
+     * @param rotation Texture rotation
+     * @param target Target pixels
+     * @param start First row
+     * @param end Last row exclusive
+     * @param band Maximum rows in single task
+     */
+    RenderTask(final SphereProjection projection, final int[] texture,
+        final int rotation, final int[] target, final int start,
+        final int end, final int band) {
+      this.projection = projection;
+      this.texture = texture;
+      this.rotation = rotation;
+      this.target = target;
+      this.start = start;
+      this.end = end;
+      this.band = band;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start <= band) {
+        projection.renderRows(texture, rotation, target, start, end);
+      } else {
+        int middle = (start + end) >>> 1;
+        invokeAll(new RenderTask(projection, texture, rotation, target,
+            start, middle, band),
+            new RenderTask(projection, texture, rotation, target, middle,
+                end, band));
+      }
+    }
+  }
+}
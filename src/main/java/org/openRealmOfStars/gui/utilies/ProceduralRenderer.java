@@ -1,11 +1,19 @@
 package org.openRealmOfStars.gui.utilies;
 
-import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.imageio.ImageIO;
 
 import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openRealmOfStars.utilities.ErrorLogger;
+import org.openRealmOfStars.utilities.RandomStream;
 
 /**
 *
@@ -26,11 +34,82 @@ import org.openRealmOfStars.utilities.DiceGenerator;
 * along with this program; if not, see http://www.gnu.org/licenses/
 *
 *
-* Thread for procedural rendering of background stars.
+* Thread for procedural rendering of background stars. Star field is
+* rendered straight into image raster from its own random stream, so
+* same seed always gives same star field. Generated star field is cached
+* on disk and cached one is used on next launch.
 *
 */
 public class ProceduralRenderer extends Thread {
 
+  /**
+   * Star field width
+   */
+  public static final int WIDTH = 2100;
+
+  /**
+   * Star field height
+   */
+  public static final int HEIGHT = 2100;
+
+  /**
+   * Default folder for cached star field
+   */
+  public static final String DEFAULT_CACHE_FOLDER = "cache";
+
+  /**
+   * Cached star field file name prefix. Number in prefix is generator
+   * version, so changing generator invalidates old cache files.
+   */
+  private static final String CACHE_PREFIX = "starfield-1-";
+
+  /**
+   * Cached star field file name suffix
+   */
+  private static final String CACHE_SUFFIX = ".png";
+
+  /**
+   * Tile size for parallel nebulae rendering
+   */
+  private static final int TILE_SIZE = 300;
+
+  /**
+   * Steps in single dark nebula
+   */
+  private static final int NEBULA_STEPS = 900;
+
+  /**
+   * Minimum nebula oval size
+   */
+  private static final int MIN_OVAL_SIZE = 4;
+
+  /**
+   * Maximum nebula oval size
+   */
+  private static final int MAX_OVAL_SIZE = 20;
+
+  /**
+   * Opaque black pixel
+   */
+  private static final int BLACK = 0xff000000;
+
+  /**
+   * Row stride used in oval mask pixels
+   */
+  private static final int OVAL_STRIDE = 64;
+
+  /**
+   * Nebula oval pixels by width and height. Pixel is packed
+   * as (y + 1) * OVAL_STRIDE + x + 1, since oval may reach one pixel
+   * over its top left corner.
+   */
+  private static int[][][] ovalMasks;
+
+  /**
+   * Fork join pool for rendering. Created when needed first time.
+   */
+  private static ForkJoinPool pool;
+
   /**
    * Has thread started?
    */
@@ -46,13 +125,27 @@ public class ProceduralRenderer extends Thread {
    */
   private BufferedImage stars;
 
+  /**
+   * Folder for cached star field, null if cache is not used
+   */
+  private final String cacheFolder;
+
   /**
    * Constructor for Procedural Renderer.
    */
   public ProceduralRenderer() {
+    this(DEFAULT_CACHE_FOLDER);
+  }
+
+  /**
+   * Constructor for Procedural Renderer with cache folder.
+   * @param cacheFolder Folder for cached star field, null for no cache
+   */
+  public ProceduralRenderer(final String cacheFolder) {
     started = false;
     running = false;
     stars = null;
+    this.cacheFolder = cacheFolder;
   }
   /**
    * Has thread started yet
@@ -78,158 +171,525 @@ public class ProceduralRenderer extends Thread {
 
   /**
    * Put single pixel in image with coordinate check
-   * @param image Image where to draw.
+   * @param pixels Image pixels where to draw.
    * @param x X coordinate
    * @param y Y coordinate
    * @param color Pixel color
    */
-  private static void putPixel(final BufferedImage image, final int x,
+  private static void putPixel(final int[] pixels, final int x,
       final int y, final int color) {
-    if (x >= 0 && x < image.getWidth() && y >= 0 && y < image.getHeight()) {
-      image.setRGB(x, y, color);
+    if (x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT) {
+      pixels[y * WIDTH + x] = color;
     }
   }
 
+  /**
+   * Get opaque pixel value for color components.
+   * @param red Red component
+   * @param green Green component
+   * @param blue Blue component
+   * @return Pixel value
+   */
+  private static int rgb(final int red, final int green, final int blue) {
+    return BLACK | red << 16 | green << 8 | blue;
+  }
+
   @Override
   public void run() {
     synchronized (this) {
       running = true;
     }
-    stars = new BufferedImage(2100, 2100,
-        BufferedImage.TYPE_4BYTE_ABGR);
-    Graphics graphics = stars.getGraphics();
-    if (graphics instanceof Graphics2D) {
-      Graphics2D g2d = (Graphics2D) graphics;
-      g2d.setColor(Color.black);
-      g2d.fillRect(0, 0, stars.getWidth(),
-          stars.getHeight());
-      int w = stars.getWidth();
-      int h = stars.getHeight();
-      int darkNebulae = DiceGenerator.getRandom(100, 400);
-      int mx = DiceGenerator.getRandom(w);
-      int my = DiceGenerator.getRandom(h);
+    long seed = -1;
+    BufferedImage image = null;
+    if (cacheFolder != null) {
+      Long cachedSeed = findCachedSeed(cacheFolder);
+      if (cachedSeed != null) {
+        image = loadStars(cacheFolder, cachedSeed.longValue());
+      }
+    }
+    boolean generated = false;
+    if (image == null) {
+      seed = (long) DiceGenerator.getRandom(Integer.MAX_VALUE - 1) << 31
+          | DiceGenerator.getRandom(Integer.MAX_VALUE - 1);
+      image = generateStars(seed, true);
+      generated = true;
+    }
+    stars = image;
+    synchronized (this) {
+      running = false;
+    }
+    if (generated && cacheFolder != null) {
+      saveStars(cacheFolder, seed, image);
+    }
+  }
+
+  /**
+   * Rasterize nebula ovals with Java2D and store their pixels as offsets.
+   * @return Oval masks by width and height
+   */
+  private static synchronized int[][][] getOvalMasks() {
+    if (ovalMasks == null) {
+      int[][][] masks = new int[MAX_OVAL_SIZE + 1][MAX_OVAL_SIZE + 1][];
+      for (int w = MIN_OVAL_SIZE; w <= MAX_OVAL_SIZE; w++) {
+        for (int h = MIN_OVAL_SIZE; h <= MAX_OVAL_SIZE; h++) {
+          BufferedImage img = new BufferedImage(w + 2, h + 2,
+              BufferedImage.TYPE_INT_ARGB);
+          Graphics2D g2d = img.createGraphics();
+          g2d.fillOval(1, 1, w, h);
+          g2d.dispose();
+          int[] pixels = new int[img.getWidth() * img.getHeight()];
+          int count = 0;
+          for (int y = 0; y < img.getHeight(); y++) {
+            for (int x = 0; x < img.getWidth(); x++) {
+              if (img.getRGB(x, y) != 0) {
+                pixels[count] = y * OVAL_STRIDE + x;
+                count++;
+              }
+            }
+          }
+          masks[w][h] = Arrays.copyOf(pixels, count);
+        }
+      }
+      ovalMasks = masks;
+    }
+    return ovalMasks;
+  }
+
+  /**
+   * Get fork join pool for rendering.
+   * @return ForkJoinPool
+   */
+  private static synchronized ForkJoinPool getPool() {
+    if (pool == null) {
+      pool = new ForkJoinPool();
+    }
+    return pool;
+  }
+
+  /**
+   * Generate star field for seed. Same seed always generates same star
+   * field, whether or not it is rendered in parallel.
+   * @param seed Seed for star field
+   * @param parallel True to render nebulae tiles in parallel
+   * @return Star field image
+   */
+  public static BufferedImage generateStars(final long seed,
+      final boolean parallel) {
+    RandomStream random = new RandomStream(seed);
+    BufferedImage image = new BufferedImage(WIDTH, HEIGHT,
+        BufferedImage.TYPE_INT_ARGB);
+    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+        .getData();
+    Arrays.fill(pixels, BLACK);
+    NebulaOvals ovals = new NebulaOvals(random);
+    int tiles = ovals.getTilesX() * ovals.getTilesY();
+    if (parallel) {
+      getPool().invoke(new NebulaTask(ovals, pixels, 0, tiles));
+    } else {
+      for (int i = 0; i < tiles; i++) {
+        ovals.renderTile(pixels, i);
+      }
+    }
+    drawStars(random, pixels);
+    return image;
+  }
+
+  /**
+   * Draw stars over nebulae.
+   * @param random Random stream
+   * @param pixels Image pixels
+   */
+  private static void drawStars(final RandomStream random,
+      final int[] pixels) {
+    int w = WIDTH;
+    int h = HEIGHT;
+    int smallStars = random.getRandom(3200, 4800);
+    for (int i = 0; i < smallStars; i++) {
+      int shade = random.getRandom(108, 215);
+      int c = rgb(shade + random.getRandom(40),
+          shade + random.getRandom(40),
+          shade + random.getRandom(40));
+      putPixel(pixels, random.getRandom(w), random.getRandom(h), c);
+    }
+    int mediumStars = random.getRandom(900, 1200);
+    for (int i = 0; i < mediumStars; i++) {
+      int shade = random.getRandom(168, 205);
+      int c = rgb(shade + random.getRandom(40),
+          shade + random.getRandom(40),
+          shade + random.getRandom(40));
+      int x = random.getRandom(w);
+      int y = random.getRandom(h);
+      putPixel(pixels, x, y, c);
+      putPixel(pixels, x + 1, y, c);
+      putPixel(pixels, x, y + 1, c);
+      putPixel(pixels, x + 1, y + 1, c);
+    }
+    int bigStars = random.getRandom(200, 600);
+    for (int i = 0; i < bigStars; i++) {
+      int shade = random.getRandom(200, 215);
+      int r = shade + random.getRandom(40);
+      int g = shade + random.getRandom(40);
+      int b = shade + random.getRandom(40);
+      int c = rgb(r, g, b);
+      int c2 = rgb(r / 2, g / 2, b / 2);
+      int c3 = rgb(r / 3, g / 3, b / 3);
+      int x = random.getRandom(w);
+      int y = random.getRandom(h);
+      putPixel(pixels, x, y, c);
+      putPixel(pixels, x + 1, y, c2);
+      putPixel(pixels, x, y + 1, c2);
+      putPixel(pixels, x - 1, y, c2);
+      putPixel(pixels, x, y - 1, c2);
+      putPixel(pixels, x - 1, y - 1, c3);
+      putPixel(pixels, x + 1, y - 1, c3);
+      putPixel(pixels, x - 1, y + 1, c3);
+      putPixel(pixels, x + 1, y + 1, c3);
+    }
+    int massiveStars = random.getRandom(100, 400);
+    for (int i = 0; i < massiveStars; i++) {
+      int shade = random.getRandom(200, 215);
+      int r = shade + random.getRandom(40);
+      int g = shade + random.getRandom(40);
+      int b = shade + random.getRandom(40);
+      int c = rgb(r, g, b);
+      int c2 = rgb(r / 2, g / 2, b / 2);
+      int c3 = rgb(r / 3, g / 3, b / 3);
+      int x = random.getRandom(w);
+      int y = random.getRandom(h);
+      putPixel(pixels, x, y, c);
+      putPixel(pixels, x + 1, y, c);
+      putPixel(pixels, x, y + 1, c);
+      putPixel(pixels, x - 1, y, c);
+      putPixel(pixels, x, y - 1, c);
+      putPixel(pixels, x - 1, y - 1, c2);
+      putPixel(pixels, x + 1, y - 1, c2);
+      putPixel(pixels, x - 1, y + 1, c2);
+      putPixel(pixels, x + 1, y + 1, c2);
+      putPixel(pixels, x - 2, y, c3);
+      putPixel(pixels, x + 2, y, c3);
+      putPixel(pixels, x, y - 2, c3);
+      putPixel(pixels, x, y + 2, c3);
+    }
+  }
+
+  /**
+   * Get cached star field file.
+   * @param folder Cache folder
+   * @param seed Star field seed
+   * @return File
+   */
+  private static File getCacheFile(final String folder, final long seed) {
+    return new File(folder + "/" + CACHE_PREFIX + seed + CACHE_SUFFIX);
+  }
+
+  /**
+   * Find seed of star field in cache folder.
+   * @param folder Cache folder
+   * @return Seed or null if there is no cached star field
+   */
+  public static Long findCachedSeed(final String folder) {
+    File[] files = new File(folder).listFiles();
+    if (files == null) {
+      return null;
+    }
+    for (File file : files) {
+      String name = file.getName();
+      if (name.startsWith(CACHE_PREFIX) && name.endsWith(CACHE_SUFFIX)) {
+        try {
+          return Long.valueOf(name.substring(CACHE_PREFIX.length(),
+              name.length() - CACHE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+          ErrorLogger.log("Bad cached star field name: " + name);
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Load cached star field.
+   * @param folder Cache folder
+   * @param seed Star field seed
+   * @return Star field image or null if it cannot be read
+   */
+  public static BufferedImage loadStars(final String folder,
+      final long seed) {
+    File file = getCacheFile(folder, seed);
+    try {
+      BufferedImage image = ImageIO.read(file);
+      if (image != null && image.getWidth() == WIDTH
+          && image.getHeight() == HEIGHT) {
+        return image;
+      }
+      ErrorLogger.log("Cached star field has wrong size: " + file.getName());
+    } catch (IOException e) {
+      ErrorLogger.log("Error while reading cached star field: "
+          + e.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * Save star field into cache folder.
+   * @param folder Cache folder
+   * @param seed Star field seed
+   * @param image Star field image
+   */
+  public static void saveStars(final String folder, final long seed,
+      final BufferedImage image) {
+    File dir = new File(folder);
+    if (!dir.exists() && !dir.mkdir()) {
+      ErrorLogger.log("Cannot create cache folder: " + folder);
+      return;
+    }
+    try {
+      ImageIO.write(image, "png", getCacheFile(folder, seed));
+    } catch (IOException e) {
+      ErrorLogger.log("Error while writing cached star field: "
+          + e.getMessage());
+    }
+  }
+
+  /**
+   * Get background stars image
+   * @return BufferedImage.
+   */
+  public BufferedImage getStars() {
+    if (isStarted() && !isRunning()) {
+      return stars;
+    }
+    return null;
+  }
+
+  /**
+   * Dark nebulae as ovals drawn in random walk. Ovals are generated in
+   * one go and sorted in tiles, so tiles can be rendered independently.
+   * Ovals are kept in drawing order inside tile.
+   */
+  private static final class NebulaOvals {
+
+    /**
+     * Oval X coordinates
+     */
+    private final int[] ovalX;
+
+    /**
+     * Oval Y coordinates
+     */
+    private final int[] ovalY;
+
+    /**
+     * Oval width, height, shade and alpha packed in single value
+     */
+    private final int[] ovalStyle;
+
+    /**
+     * Tile columns
+     */
+    private final int tilesX;
+
+    /**
+     * Tile rows
+     */
+    private final int tilesY;
+
+    /**
+     * Oval indexes by tile
+     */
+    private final int[][] tileOvals;
+
+    /**
+     * Generate nebula ovals.
+     * @param random Random stream
+     */
+    NebulaOvals(final RandomStream random) {
+      int w = WIDTH;
+      int h = HEIGHT;
+      int darkNebulae = random.getRandom(100, 400);
+      int count = darkNebulae * NEBULA_STEPS;
+      ovalX = new int[count];
+      ovalY = new int[count];
+      ovalStyle = new int[count];
+      int mx = random.getRandom(w);
+      int my = random.getRandom(h);
+      int index = 0;
       for (int i = 0; i < darkNebulae; i++) {
-        for (int j = 0; j < 900; j++) {
-          int shade = DiceGenerator.getRandom(5, 24);
-          int transparent = DiceGenerator.getRandom(30, 128);
-          Color c = new Color(shade, shade, shade, transparent);
-          g2d.setColor(c);
-          g2d.fillOval(mx, my, DiceGenerator.getRandom(4, 20),
-              DiceGenerator.getRandom(4, 20));
-          int choice = DiceGenerator.getRandom(3);
+        for (int j = 0; j < NEBULA_STEPS; j++) {
+          int shade = random.getRandom(5, 24);
+          int transparent = random.getRandom(30, 128);
+          int ovalWidth = random.getRandom(MIN_OVAL_SIZE, MAX_OVAL_SIZE);
+          int ovalHeight = random.getRandom(MIN_OVAL_SIZE, MAX_OVAL_SIZE);
+          ovalX[index] = mx;
+          ovalY[index] = my;
+          ovalStyle[index] = ovalWidth << 24 | ovalHeight << 16
+              | shade << 8 | transparent;
+          index++;
+          int choice = random.getRandom(3);
           if (choice == 0) {
-            my = my - DiceGenerator.getRandom(1, 6);
+            my = my - random.getRandom(1, 6);
             if (my < 0) {
               my = my + h;
             }
           }
           if (choice == 1) {
-            mx = mx - DiceGenerator.getRandom(1, 6);
+            mx = mx - random.getRandom(1, 6);
             if (mx < 0) {
               mx = mx + w;
             }
           }
           if (choice == 2) {
-            mx = mx + DiceGenerator.getRandom(1, 6);
+            mx = mx + random.getRandom(1, 6);
             if (mx > w) {
               mx = mx - w;
             }
           }
           if (choice == 3) {
-            my = my + DiceGenerator.getRandom(1, 6);
+            my = my + random.getRandom(1, 6);
             if (my > h) {
               my = my - h;
             }
           }
         }
       }
-      int smallStars = DiceGenerator.getRandom(3200, 4800);
-      for (int i = 0; i < smallStars; i++) {
-        int shade = DiceGenerator.getRandom(108, 215);
-        Color c = new Color(shade + DiceGenerator.getRandom(40),
-            shade + DiceGenerator.getRandom(40),
-            shade + DiceGenerator.getRandom(40));
-        putPixel(stars, DiceGenerator.getRandom(w),
-            DiceGenerator.getRandom(h), c.getRGB());
+      tilesX = (w + TILE_SIZE - 1) / TILE_SIZE;
+      tilesY = (h + TILE_SIZE - 1) / TILE_SIZE;
+      int[] tileCount = new int[tilesX * tilesY];
+      sortInTiles(tileCount, null);
+      tileOvals = new int[tileCount.length][];
+      for (int i = 0; i < tileCount.length; i++) {
+        tileOvals[i] = new int[tileCount[i]];
+        tileCount[i] = 0;
       }
-      int mediumStars = DiceGenerator.getRandom(900, 1200);
-      for (int i = 0; i < mediumStars; i++) {
-        int shade = DiceGenerator.getRandom(168, 205);
-        Color c = new Color(shade + DiceGenerator.getRandom(40),
-            shade + DiceGenerator.getRandom(40),
-            shade + DiceGenerator.getRandom(40));
-        int x = DiceGenerator.getRandom(w);
-        int y = DiceGenerator.getRandom(h);
-        putPixel(stars, x, y, c.getRGB());
-        putPixel(stars, x + 1, y, c.getRGB());
-        putPixel(stars, x, y + 1, c.getRGB());
-        putPixel(stars, x + 1, y + 1, c.getRGB());
+      sortInTiles(tileCount, tileOvals);
+    }
 
-      }
-      int bigStars = DiceGenerator.getRandom(200, 600);
-      for (int i = 0; i < bigStars; i++) {
-        int shade = DiceGenerator.getRandom(200, 215);
-        int r = DiceGenerator.getRandom(40);
-        int g = DiceGenerator.getRandom(40);
-        int b = DiceGenerator.getRandom(40);
-        Color c = new Color(shade + r, shade + g, shade + b);
-        Color c2 = new Color((shade + r) / 2, (shade + g) / 2,
-            (shade + b) / 2);
-        Color c3 = new Color((shade + r) / 3, (shade + g) / 3,
-            (shade + b) / 3);
-        int x = DiceGenerator.getRandom(w);
-        int y = DiceGenerator.getRandom(h);
-        putPixel(stars, x, y, c.getRGB());
-        putPixel(stars, x + 1, y, c2.getRGB());
-        putPixel(stars, x, y + 1, c2.getRGB());
-        putPixel(stars, x - 1, y, c2.getRGB());
-        putPixel(stars, x, y - 1, c2.getRGB());
-        putPixel(stars, x - 1, y - 1, c3.getRGB());
-        putPixel(stars, x + 1, y - 1, c3.getRGB());
-        putPixel(stars, x - 1, y + 1, c3.getRGB());
-        putPixel(stars, x + 1, y + 1, c3.getRGB());
-      }
-      int massiveStars = DiceGenerator.getRandom(100, 400);
-      for (int i = 0; i < massiveStars; i++) {
-        int shade = DiceGenerator.getRandom(200, 215);
-        int r = DiceGenerator.getRandom(40);
-        int g = DiceGenerator.getRandom(40);
-        int b = DiceGenerator.getRandom(40);
-        Color c = new Color(shade + r, shade + g, shade + b);
-        Color c2 = new Color((shade + r) / 2, (shade + g) / 2,
-            (shade + b) / 2);
-        Color c3 = new Color((shade + r) / 3, (shade + g) / 3,
-            (shade + b) / 3);
-        int x = DiceGenerator.getRandom(w);
-        int y = DiceGenerator.getRandom(h);
-        putPixel(stars, x, y, c.getRGB());
-        putPixel(stars, x + 1, y, c.getRGB());
-        putPixel(stars, x, y + 1, c.getRGB());
-        putPixel(stars, x - 1, y, c.getRGB());
-        putPixel(stars, x, y - 1, c.getRGB());
-        putPixel(stars, x - 1, y - 1, c2.getRGB());
-        putPixel(stars, x + 1, y - 1, c2.getRGB());
-        putPixel(stars, x - 1, y + 1, c2.getRGB());
-        putPixel(stars, x + 1, y + 1, c2.getRGB());
-        putPixel(stars, x - 2, y, c3.getRGB());
-        putPixel(stars, x + 2, y, c3.getRGB());
-        putPixel(stars, x, y - 2, c3.getRGB());
-        putPixel(stars, x, y + 2, c3.getRGB());
+    /**
+     * Go through ovals and add them to every tile they touch.
+     * @param tileCount Number of ovals added in each tile
+     * @param tiles Oval indexes by tile, null to only count them
+     */
+    private void sortInTiles(final int[] tileCount, final int[][] tiles) {
+      for (int i = 0; i < ovalX.length; i++) {
+        int left = Math.max(ovalX[i] - 1, 0) / TILE_SIZE;
+        int top = Math.max(ovalY[i] - 1, 0) / TILE_SIZE;
+        int right = Math.min(ovalX[i] + MAX_OVAL_SIZE, WIDTH - 1)
+            / TILE_SIZE;
+        int bottom = Math.min(ovalY[i] + MAX_OVAL_SIZE, HEIGHT - 1)
+            / TILE_SIZE;
+        for (int ty = top; ty <= bottom; ty++) {
+          for (int tx = left; tx <= right; tx++) {
+            int tile = ty * tilesX + tx;
+            if (tiles != null) {
+              tiles[tile][tileCount[tile]] = i;
+            }
+            tileCount[tile]++;
+          }
+        }
       }
     }
-    synchronized (this) {
-      running = false;
+
+    /**
+     * Get number of tile columns.
+     * @return Tile columns
+     */
+    int getTilesX() {
+      return tilesX;
+    }
+
+    /**
+     * Get number of tile rows.
+     * @return Tile rows
+     */
+    int getTilesY() {
+      return tilesY;
+    }
+
+    /**
+     * Blend ovals into single tile. Nebulae are grey on black, so only
+     * one color component needs to be blended.
+     * @param pixels Image pixels
+     * @param tile Tile index
+     */
+    void renderTile(final int[] pixels, final int tile) {
+      int[][][] masks = getOvalMasks();
+      int left = tile % tilesX * TILE_SIZE;
+      int top = tile / tilesX * TILE_SIZE;
+      int right = Math.min(left + TILE_SIZE, WIDTH);
+      int bottom = Math.min(top + TILE_SIZE, HEIGHT);
+      for (int i : tileOvals[tile]) {
+        int style = ovalStyle[i];
+        int shade = style >> 8 & 0xff;
+        int alpha = style & 0xff;
+        int[] mask = masks[style >>> 24][style >> 16 & 0xff];
+        for (int packed : mask) {
+          int x = ovalX[i] + packed % OVAL_STRIDE - 1;
+          int y = ovalY[i] + packed / OVAL_STRIDE - 1;
+          if (x >= left && x < right && y >= top && y < bottom) {
+            int pixel = y * WIDTH + x;
+            int value = pixels[pixel] & 0xff;
+            value = (shade * alpha + value * (255 - alpha) + 127) / 255;
+            pixels[pixel] = rgb(value, value, value);
+          }
+        }
+      }
     }
   }
 
   /**
-   * Get background stars image
-   * @return BufferedImage.
+   * Task for rendering range of nebula tiles. Range is split until
+   * it contains single tile.
    */
-  public BufferedImage getStars() {
-    if (isStarted() && !isRunning()) {
-      return stars;
+  private static class NebulaTask extends RecursiveAction {
+
+    /**
+     * Serial version UID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Nebula ovals
+     */
+    private final transient NebulaOvals ovals;
+
+    /**
+     * Image pixels
+     */
+    private final transient int[] pixels;
+
+    /**
+     * First tile
+     */
+    private final int start;
+
+    /**
+     * Last tile exclusive
+     */
+    private final int end;
+
+    /**
+     * Constructor for nebula task
+     * @param ovals Nebula ovals
+     * @param pixels Image pixels
+     * @param start First tile
+     * @param end Last tile exclusive
+     */
+    NebulaTask(final NebulaOvals ovals, final int[] pixels, final int start,
+        final int end) {
+      this.ovals = ovals;
+      this.pixels = pixels;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start <= 1) {
+        ovals.renderTile(pixels, start);
+      } else {
+        int middle = (start + end) >>> 1;
+        invokeAll(new NebulaTask(ovals, pixels, start, middle),
+            new NebulaTask(ovals, pixels, middle, end));
+      }
     }
-    return null;
   }
 }
@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 
+import org.openRealmOfStars.AI.Mission.ColonizationCandidates;
 import org.openRealmOfStars.AI.Mission.MissionList;
 import org.openRealmOfStars.AI.PathFinding.PathPoint;
 import org.openRealmOfStars.player.SpaceRace.SpaceRace;
@@ -117,17 +118,12 @@ public class PlayerInfo {
   private FleetList fleets;
 
   /**
-   * Map Data
+   * Map Data and cloaking detection per sector
    * 0: Uncharted only suns are drawn
    * 1: Fog of war, no fleets are drawn
    * 2: Visible everything is drawn
    */
-  private byte[][] mapData;
-
-  /**
-   * Cloaking detection per sector
-   */
-  private int[][] mapCloakDetection;
+  private VisibilityGrid mapData;
 
   /**
    * Map size
@@ -148,6 +144,12 @@ public class PlayerInfo {
    */
   private MissionList missions;
 
+  /**
+   * AI's colonization candidates. This is not saved, it is
+   * created again when needed.
+   */
+  private ColonizationCandidates colonizationCandidates;
+
   /**
    * Player's diplomacy relations to other players
    */
@@ -1035,6 +1037,46 @@ public class PlayerInfo {
     this(race, 4, 0);
   }
 
+  /**
+   * Constructor for lightweight realm copy used in combat simulation.
+   * @param source Realm to copy
+   */
+  private PlayerInfo(final PlayerInfo source) {
+    race = source.race;
+    government = source.government;
+    warFatigue = source.warFatigue;
+    empireName = source.empireName;
+    totalCredits = source.totalCredits;
+    techList = new TechList(source.techList);
+    msgList = new MessageList();
+    shipStatList = new ArrayList<>();
+    fleets = new FleetList();
+    human = source.human;
+    board = source.board;
+    missions = new MissionList();
+    fakeMilitarySize = source.fakeMilitarySize;
+    attitude = source.attitude;
+    strategy = source.strategy;
+    elderRealm = source.elderRealm;
+    leaderPool = new ArrayList<>();
+    color = source.color;
+    aiDifficulty = source.aiDifficulty;
+    artifactLists = new ArtifactLists();
+  }
+
+  /**
+   * Create lightweight copy of realm for combat simulation. Copy has
+   * same race, government and flags as this realm and its own copy of
+   * tech list, so realm based combat bonuses are same. Fleets, missions,
+   * messages, ship stats and leaders are empty and diplomacy, espionage
+   * and map data are not created at all. Combat may change the copy
+   * without changing this realm.
+   * @return Realm copy for combat simulation
+   */
+  public PlayerInfo createCombatCopy() {
+    return new PlayerInfo(this);
+  }
+
   /**
    * Read PlayerInfo from DataInputStream
    * @param dis DataInputStream
@@ -1093,7 +1135,7 @@ public class PlayerInfo {
     try {
       for (int y = 0; y < maxCoordinate.getY(); y++) {
         for (int x = 0; x < maxCoordinate.getX(); x++) {
-          mapData[x][y] = dis.readByte();
+          mapData.setVisibility(x, y, dis.readByte());
           mapOffset++;
         }
       }
@@ -1192,7 +1234,7 @@ public class PlayerInfo {
     }
     for (int y = 0; y < maxCoordinate.getY(); y++) {
       for (int x = 0; x < maxCoordinate.getX(); x++) {
-        dos.writeByte(mapData[x][y]);
+        dos.writeByte(mapData.getVisibility(x, y));
       }
     }
     DiplomacyRepository.saveDiplomacy(dos, diplomacy);
@@ -1451,7 +1493,7 @@ public class PlayerInfo {
       int nx = (int) Math.round(startX);
       int ny = (int) Math.round(startY);
       if (new Coordinate(nx, ny).isValidCoordinate(maxCoordinate)
-          && mapData[nx][ny] == UNCHARTED) {
+          && mapData.getVisibility(nx, ny) == UNCHARTED) {
         result++;
       }
     }
@@ -1464,29 +1506,57 @@ public class PlayerInfo {
   * @return How many percentage is uncharted
   */
   public int getUnchartedValueSystem(final Sun sun) {
-    int unCharted = 0;
-    int charted = 0;
-    for (int x = -StarMap.SOLAR_SYSTEM_WIDTH - 2;
-        x < StarMap.SOLAR_SYSTEM_WIDTH + 3; x++) {
-      for (int y = -StarMap.SOLAR_SYSTEM_WIDTH - 2;
-          y < StarMap.SOLAR_SYSTEM_WIDTH + 3; y++) {
-        Coordinate coordinate = new Coordinate(sun.getCenterX() + x,
-            sun.getCenterY() + y);
-        if (coordinate.isValidCoordinate(maxCoordinate)
-            && (x > 1 || x < -1 || y > 1 || y < -1)) {
-          if (mapData[sun.getCenterX() + x][sun.getCenterY()
-              + y] == UNCHARTED) {
-            unCharted++;
-          } else {
-            charted++;
-          }
-        }
-      }
-    }
-    unCharted = 100 * unCharted / (charted + unCharted);
+    int cx = sun.getCenterX();
+    int cy = sun.getCenterY();
+    int radius = StarMap.SOLAR_SYSTEM_WIDTH + 2;
+    // Sun and sectors right next to it are not counted
+    int unCharted = mapData.countUncharted(cx - radius, cy - radius,
+        cx + radius, cy + radius)
+        - mapData.countUncharted(cx - 1, cy - 1, cx + 1, cy + 1);
+    int sectors = countValidSectors(cx - radius, cy - radius, cx + radius,
+        cy + radius) - countValidSectors(cx - 1, cy - 1, cx + 1, cy + 1);
+    unCharted = 100 * unCharted / sectors;
     return unCharted;
   }
 
+  /**
+   * Count sectors inside the map in rectangle.
+   * @param x0 Left X coordinate, inclusive
+   * @param y0 Top Y coordinate, inclusive
+   * @param x1 Right X coordinate, inclusive
+   * @param y1 Bottom Y coordinate, inclusive
+   * @return Number of sectors inside the map
+   */
+  private int countValidSectors(final int x0, final int y0, final int x1,
+      final int y1) {
+    int width = Math.min(maxCoordinate.getX() - 1, x1) - Math.max(0, x0)
+        + 1;
+    int height = Math.min(maxCoordinate.getY() - 1, y1) - Math.max(0, y0)
+        + 1;
+    if (width <= 0 || height <= 0) {
+      return 0;
+    }
+    return width * height;
+  }
+
+  /**
+   * Count sectors which this realm has charted but other realm has not.
+   * @param other Other realm
+   * @return Number of sectors
+   */
+  public int getChartedSectorsUnknownTo(final PlayerInfo other) {
+    return mapData.countChartedUnknownTo(other.mapData);
+  }
+
+  /**
+   * Give all sectors charted by this realm to other realm. Sectors
+   * uncharted by other realm become fog of war.
+   * @param receiver Realm receiving the map
+   */
+  public void shareChartedSectors(final PlayerInfo receiver) {
+    mapData.shareChartedTo(receiver.mapData);
+  }
+
   /**
    * Calculate amount of uncharted sectors.
    * @param coord Center coordinate
@@ -1566,8 +1636,8 @@ public class PlayerInfo {
             sun.getCenterY() + y);
         if (coordinate.isValidCoordinate(maxCoordinate)
             && (x > 1 || x < -1 || y > 1 || y < -1)
-            && mapData[sun.getCenterX() + x][sun.getCenterY()
-              + y] == UNCHARTED) {
+            && mapData.getVisibility(sun.getCenterX() + x,
+                sun.getCenterY() + y) == UNCHARTED) {
           double dist = coordinate.calculateDistance(fleet.getCoordinate());
           if (dist < bestDistance) {
             double sundist = coordinate.calculateDistance(
@@ -1612,8 +1682,8 @@ public class PlayerInfo {
             sun.getCenterY() + y);
         if (coordinate.isValidCoordinate(maxCoordinate)
             && (x > 1 || x < -1 || y > 1 || y < -1)
-            && mapData[sun.getCenterX() + x][sun.getCenterY()
-              + y] == UNCHARTED) {
+            && mapData.getVisibility(sun.getCenterX() + x,
+                sun.getCenterY() + y) == UNCHARTED) {
           double dist = coordinate.calculateDistance(fleet.getCoordinate());
           if (dist <= bestDistance) {
             double sundist = coordinate.calculateDistance(
@@ -1709,8 +1779,8 @@ public class PlayerInfo {
             sun.getCenterY() + y);
         if (coordinate.isValidCoordinate(maxCoordinate)
             && (x > 1 || x < -1 || y > 1 || y < -1)
-            && mapData[sun.getCenterX() + x][sun.getCenterY()
-              + y] == UNCHARTED) {
+            && mapData.getVisibility(sun.getCenterX() + x,
+                sun.getCenterY() + y) == UNCHARTED) {
           double dist = coordinate.calculateDistance(fleet.getCoordinate());
           if (dist < distance) {
             distance = dist;
@@ -1757,8 +1827,8 @@ public class PlayerInfo {
             new Coordinate(sun.getCenterX() + x, sun.getCenterY() + y);
         if (sectorCoordinate.isValidCoordinate(maxCoordinate)
             && (x > 1 || x < -1 || y > 1 || y < -1)) {
-          if (mapData[sun.getCenterX() + x][sun.getCenterY()
-              + y] == UNCHARTED) {
+          if (mapData.getVisibility(sun.getCenterX() + x,
+              sun.getCenterY() + y) == UNCHARTED) {
             unCharted[sector]++;
             Coordinate fleetCoordinate =
                 new Coordinate(fleet.getX(), fleet.getY());
@@ -1832,7 +1902,8 @@ public class PlayerInfo {
           Coordinate coordinate = new Coordinate(nx, ny);
           double distance = fleetCoordinate.calculateDistance(coordinate);
           if (coordinate.isValidCoordinate(maxCoordinate) && i >= scan
-              && distance > 1 && mapData[nx][ny] == UNCHARTED) {
+              && distance > 1
+              && mapData.getVisibility(nx, ny) == UNCHARTED) {
             temp = new PathPoint(nx, ny, distance);
             pathValue = calculateUnchartedLine(fleet.getX(), fleet.getY(), nx,
                 ny);
@@ -1842,7 +1913,7 @@ public class PlayerInfo {
           distance = fleetCoordinate.calculateDistance(coordinate);
           if (temp == null && coordinate.isValidCoordinate(maxCoordinate)
               && i >= scan && distance > 1
-              && mapData[sun.getCenterX()][ny] == UNCHARTED) {
+              && mapData.getVisibility(sun.getCenterX(), ny) == UNCHARTED) {
             temp = new PathPoint(sun.getCenterX(), ny, distance);
             pathValue = calculateUnchartedLine(fleet.getX(), fleet.getY(),
                 sun.getCenterX(), ny);
@@ -1852,7 +1923,7 @@ public class PlayerInfo {
           distance = fleetCoordinate.calculateDistance(coordinate);
           if (temp == null && coordinate.isValidCoordinate(maxCoordinate)
               && i >= scan && distance > 1
-              && mapData[nx][sun.getCenterY()] == UNCHARTED) {
+              && mapData.getVisibility(nx, sun.getCenterY()) == UNCHARTED) {
             temp = new PathPoint(nx, sun.getCenterY(), distance);
             pathValue = calculateUnchartedLine(fleet.getX(), fleet.getY(), nx,
                 sun.getCenterY());
@@ -1884,8 +1955,19 @@ public class PlayerInfo {
    */
   public void initMapData(final int maximumX, final int maximumY) {
     maxCoordinate = new Coordinate(maximumX, maximumY);
-    mapData = new byte[maximumX][maximumY];
-    mapCloakDetection = new int[maximumX][maximumY];
+    mapData = new VisibilityGrid(maximumX, maximumY);
+  }
+
+  /**
+   * Get charted version of realm's map. Version changes every time
+   * when sector becomes charted or uncharted.
+   * @return Charted version
+   */
+  public int getChartedVersion() {
+    if (mapData == null) {
+      return 0;
+    }
+    return mapData.getChartedVersion();
   }
 
   /**
@@ -1895,10 +1977,26 @@ public class PlayerInfo {
    */
   public byte getSectorVisibility(final Coordinate coordinate) {
     byte result = UNCHARTED;
-    try {
-      result = mapData[coordinate.getX()][coordinate.getY()];
-    } catch (ArrayIndexOutOfBoundsException e) {
-      ErrorLogger.log(e);
+    if (mapData.isValid(coordinate.getX(), coordinate.getY())) {
+      result = mapData.getVisibility(coordinate.getX(), coordinate.getY());
+    } else {
+      ErrorLogger.log("Invalid sector for visibility: " + coordinate);
+    }
+    return result;
+  }
+
+  /**
+   * Get sector visibility
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return UNCHARTED, FOG_OF_WAR or VISIBLE
+   */
+  public byte getSectorVisibility(final int x, final int y) {
+    byte result = UNCHARTED;
+    if (mapData.isValid(x, y)) {
+      result = mapData.getVisibility(x, y);
+    } else {
+      ErrorLogger.log("Invalid sector for visibility: " + x + ", " + y);
     }
     return result;
   }
@@ -1912,10 +2010,10 @@ public class PlayerInfo {
   public void setSectorVisibility(final int x, final int y,
       final byte visibility) {
     if (visibility >= 0 && visibility <= VISIBLE) {
-      try {
-        mapData[x][y] = visibility;
-      } catch (ArrayIndexOutOfBoundsException e) {
-        ErrorLogger.log(e);
+      if (mapData.isValid(x, y)) {
+        mapData.setVisibility(x, y, visibility);
+      } else {
+        ErrorLogger.log("Invalid sector for visibility: " + x + ", " + y);
       }
     }
   }
@@ -1928,11 +2026,11 @@ public class PlayerInfo {
    */
   public int getSectorCloakDetection(final int x, final int y) {
     int result = 0;
-    try {
-      result = mapCloakDetection[x][y];
-
-    } catch (ArrayIndexOutOfBoundsException e) {
-      ErrorLogger.log(e);
+    if (mapData.isValid(x, y)) {
+      result = mapData.getCloakDetection(x, y);
+    } else {
+      ErrorLogger.log("Invalid sector for cloak detection: " + x + ", "
+          + y);
     }
     return result;
   }
@@ -1945,10 +2043,11 @@ public class PlayerInfo {
    */
   public void setSectorCloakingDetection(final int x, final int y,
       final int value) {
-    try {
-      mapCloakDetection[x][y] = value;
-    } catch (ArrayIndexOutOfBoundsException e) {
-      ErrorLogger.log(e);
+    if (mapData.isValid(x, y)) {
+      mapData.setCloakDetection(x, y, value);
+    } else {
+      ErrorLogger.log("Invalid sector for cloak detection: " + x + ", "
+          + y);
     }
   }
 
@@ -1957,14 +2056,7 @@ public class PlayerInfo {
    * each turn.
    */
   public void resetVisibilityDataAfterTurn() {
-    for (int y = 0; y < maxCoordinate.getY(); y++) {
-      for (int x = 0; x < maxCoordinate.getX(); x++) {
-        mapCloakDetection[x][y] = 0;
-        if (mapData[x][y] == VISIBLE) {
-          mapData[x][y] = FOG_OF_WAR;
-        }
-      }
-    }
+    mapData.resetAfterTurn();
   }
 
   /**
@@ -2330,6 +2422,23 @@ public class PlayerInfo {
     return missions;
   }
 
+  /**
+   * Get AI's colonization candidates.
+   * @return Colonization candidates or null if not created yet
+   */
+  public ColonizationCandidates getColonizationCandidates() {
+    return colonizationCandidates;
+  }
+
+  /**
+   * Set AI's colonization candidates.
+   * @param candidates Colonization candidates
+   */
+  public void setColonizationCandidates(
+      final ColonizationCandidates candidates) {
+    colonizationCandidates = candidates;
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
@@ -0,0 +1,321 @@
+package org.openRealmOfStars.player;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Realm's map visibility and cloaking detection for whole star map.
+ * Visibility is packed with 2 bits per sector, 32 sectors in one long.
+ * Each row starts from new long so bulk operations can handle
+ * whole words at once. Sector is charted if either of its bits is set.
+ * Cloaking detection is kept in flat short array.
+ *
+ */
+public class VisibilityGrid {
+
+  /**
+   * Number of sectors in single word
+   */
+  private static final int SECTORS_PER_WORD = 32;
+
+  /**
+   * Low bit of each sector in word
+   */
+  private static final long LOW_BITS = 0x5555555555555555L;
+
+  /**
+   * High bit of each sector in word
+   */
+  private static final long HIGH_BITS = 0xAAAAAAAAAAAAAAAAL;
+
+  /**
+   * Mask for single sector
+   */
+  private static final long SECTOR_MASK = 0x3L;
+
+  /**
+   * Map width
+   */
+  private final int width;
+
+  /**
+   * Map height
+   */
+  private final int height;
+
+  /**
+   * Number of words in single row
+   */
+  private final int wordsPerRow;
+
+  /**
+   * Packed visibility data
+   */
+  private final long[] words;
+
+  /**
+   * Cloaking detection per sector
+   */
+  private final short[] cloakDetection;
+
+  /**
+   * Counter which changes every time sector becomes charted or uncharted
+   */
+  private int chartedVersion;
+
+  /**
+   * Create new visibility grid where all sectors are uncharted.
+   * @param width Map width
+   * @param height Map height
+   */
+  public VisibilityGrid(final int width, final int height) {
+    this.width = width;
+    this.height = height;
+    wordsPerRow = (width + SECTORS_PER_WORD - 1) / SECTORS_PER_WORD;
+    words = new long[wordsPerRow * height];
+    cloakDetection = new short[width * height];
+  }
+
+  /**
+   * Get map width
+   * @return Map width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Get map height
+   * @return Map height
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Is coordinate inside the grid
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return True if coordinate is valid
+   */
+  public boolean isValid(final int x, final int y) {
+    return x >= 0 && y >= 0 && x < width && y < height;
+  }
+
+  /**
+   * Get sector visibility. Coordinate must be valid.
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return UNCHARTED, FOG_OF_WAR or VISIBLE
+   */
+  public byte getVisibility(final int x, final int y) {
+    long word = words[y * wordsPerRow + x / SECTORS_PER_WORD];
+    int shift = (x % SECTORS_PER_WORD) * 2;
+    return (byte) ((word >>> shift) & SECTOR_MASK);
+  }
+
+  /**
+   * Set sector visibility. Coordinate must be valid.
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @param visibility UNCHARTED, FOG_OF_WAR or VISIBLE
+   */
+  public void setVisibility(final int x, final int y,
+      final byte visibility) {
+    int index = y * wordsPerRow + x / SECTORS_PER_WORD;
+    int shift = (x % SECTORS_PER_WORD) * 2;
+    long old = words[index] >>> shift & SECTOR_MASK;
+    if ((old == PlayerInfo.UNCHARTED)
+        != ((visibility & SECTOR_MASK) == PlayerInfo.UNCHARTED)) {
+      chartedVersion++;
+    }
+    words[index] = words[index] & ~(SECTOR_MASK << shift)
+        | (visibility & SECTOR_MASK) << shift;
+  }
+
+  /**
+   * Get charted version. Version changes every time when sector
+   * becomes charted or uncharted, so it can be used to notice newly
+   * charted sectors without scanning the grid.
+   * @return Charted version
+   */
+  public int getChartedVersion() {
+    return chartedVersion;
+  }
+
+  /**
+   * Get sector cloaking detection. Coordinate must be valid.
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return Cloaking detection value
+   */
+  public int getCloakDetection(final int x, final int y) {
+    return cloakDetection[y * width + x];
+  }
+
+  /**
+   * Set sector cloaking detection. Coordinate must be valid.
+   * Value is limited to range of short.
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @param value Cloaking detection value
+   */
+  public void setCloakDetection(final int x, final int y, final int value) {
+    int limited = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE,
+        value));
+    cloakDetection[y * width + x] = (short) limited;
+  }
+
+  /**
+   * Turn all visible sectors into fog of war and clear cloaking
+   * detection.
+   */
+  public void resetAfterTurn() {
+    for (int i = 0; i < words.length; i++) {
+      long word = words[i];
+      long visible = word & HIGH_BITS;
+      // VISIBLE is 10 and FOG_OF_WAR is 01
+      words[i] = word & ~HIGH_BITS | visible >>> 1;
+    }
+    Arrays.fill(cloakDetection, (short) 0);
+  }
+
+  /**
+   * Get charted bits of word. Low bit of sector is set if sector is
+   * charted.
+   * @param word Packed visibility word
+   * @return Charted bits
+   */
+  private static long charted(final long word) {
+    return (word | word >>> 1) & LOW_BITS;
+  }
+
+  /**
+   * Get mask for sectors from start to end in single word.
+   * @param start First sector in word, inclusive
+   * @param end Last sector in word, inclusive
+   * @return Low bit mask for sectors
+   */
+  private static long rangeMask(final int start, final int end) {
+    long mask = LOW_BITS;
+    if (end < SECTORS_PER_WORD - 1) {
+      mask = mask & (1L << ((end + 1) * 2)) - 1;
+    }
+    return mask & -1L << (start * 2);
+  }
+
+  /**
+   * Count uncharted sectors in rectangle. Rectangle is clipped to grid.
+   * @param x0 Left X coordinate, inclusive
+   * @param y0 Top Y coordinate, inclusive
+   * @param x1 Right X coordinate, inclusive
+   * @param y1 Bottom Y coordinate, inclusive
+   * @return Number of uncharted sectors
+   */
+  public int countUncharted(final int x0, final int y0, final int x1,
+      final int y1) {
+    int sx = Math.max(0, x0);
+    int sy = Math.max(0, y0);
+    int ex = Math.min(width - 1, x1);
+    int ey = Math.min(height - 1, y1);
+    if (sx > ex || sy > ey) {
+      return 0;
+    }
+    int firstWord = sx / SECTORS_PER_WORD;
+    int lastWord = ex / SECTORS_PER_WORD;
+    int charted = 0;
+    for (int y = sy; y <= ey; y++) {
+      int row = y * wordsPerRow;
+      for (int w = firstWord; w <= lastWord; w++) {
+        int start = 0;
+        int end = SECTORS_PER_WORD - 1;
+        if (w == firstWord) {
+          start = sx % SECTORS_PER_WORD;
+        }
+        if (w == lastWord) {
+          end = ex % SECTORS_PER_WORD;
+        }
+        charted = charted + Long.bitCount(charted(words[row + w])
+            & rangeMask(start, end));
+      }
+    }
+    return (ex - sx + 1) * (ey - sy + 1) - charted;
+  }
+
+  /**
+   * Count sectors which are charted in this grid but uncharted in other
+   * grid. Only area common for both grids is counted.
+   * @param other Other visibility grid
+   * @return Number of sectors
+   */
+  public int countChartedUnknownTo(final VisibilityGrid other) {
+    int result = 0;
+    if (other.width == width) {
+      int count = Math.min(words.length, other.words.length);
+      for (int i = 0; i < count; i++) {
+        result = result + Long.bitCount(charted(words[i])
+            & ~charted(other.words[i]));
+      }
+      return result;
+    }
+    int maxX = Math.min(width, other.width);
+    int maxY = Math.min(height, other.height);
+    for (int y = 0; y < maxY; y++) {
+      for (int x = 0; x < maxX; x++) {
+        if (getVisibility(x, y) != PlayerInfo.UNCHARTED
+            && other.getVisibility(x, y) == PlayerInfo.UNCHARTED) {
+          result++;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Mark sectors which are charted in this grid but uncharted in
+   * receiver grid as fog of war in receiver grid. Only area common for
+   * both grids is handled.
+   * @param receiver Visibility grid receiving charted sectors
+   */
+  public void shareChartedTo(final VisibilityGrid receiver) {
+    if (receiver.width == width) {
+      int count = Math.min(words.length, receiver.words.length);
+      for (int i = 0; i < count; i++) {
+        long newCharted = charted(words[i]) & ~charted(receiver.words[i]);
+        if (newCharted != 0) {
+          // FOG_OF_WAR is 01 so setting low bit is enough
+          receiver.words[i] = receiver.words[i] | newCharted;
+          receiver.chartedVersion++;
+        }
+      }
+      return;
+    }
+    int maxX = Math.min(width, receiver.width);
+    int maxY = Math.min(height, receiver.height);
+    for (int y = 0; y < maxY; y++) {
+      for (int x = 0; x < maxX; x++) {
+        if (getVisibility(x, y) != PlayerInfo.UNCHARTED
+            && receiver.getVisibility(x, y) == PlayerInfo.UNCHARTED) {
+          receiver.setVisibility(x, y, PlayerInfo.FOG_OF_WAR);
+        }
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package org.openRealmOfStars.player.combat;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.openRealmOfStars.AI.Mission.Mission;
@@ -8,6 +9,7 @@ import org.openRealmOfStars.AI.Mission.MissionPhase;
 import org.openRealmOfStars.AI.Mission.MissionType;
 import org.openRealmOfStars.AI.PathFinding.AStarSearch;
 import org.openRealmOfStars.AI.PathFinding.PathPoint;
+import org.openRealmOfStars.AI.PathFinding.PathSearchEngine;
 import org.openRealmOfStars.audio.soundeffect.SoundPlayer;
 import org.openRealmOfStars.gui.icons.Icons;
 import org.openRealmOfStars.gui.infopanel.BattleInfoPanel;
@@ -219,6 +221,42 @@ public class Combat {
    * Is orbital in combat?
    */
   private boolean orbitalInCombat;
+
+  /**
+   * Is combat simulated without animations
+   */
+  private boolean simulation;
+
+  /**
+   * Combat map squares occupied by ships as bitset grid. Grid is owned by
+   * combat and filled again from ship positions when needed.
+   */
+  private final long[] shipGrid = PathSearchEngine.createGrid(MAX_X, MAX_Y);
+
+  /**
+   * Blocked squares for AI path search as bitset grid. Grid is owned by
+   * combat and filled again for every search.
+   */
+  private final long[] searchGrid = PathSearchEngine.createGrid(MAX_X,
+      MAX_Y);
+
+  /**
+   * Path search for AI ship moves. Same search is reset for every route.
+   */
+  private AStarSearch pathSearch;
+
+  /**
+   * Target of last action when combat is simulated. This is used
+   * instead of animation.
+   */
+  private CombatShip actionTarget;
+
+  /**
+   * Shooter of last action when combat is simulated. This is used
+   * instead of animation.
+   */
+  private CombatShip actionShooter;
+
   /**
    * Build shipList in initiative order
    * @param attackerFleet Attacking Player1 fleet
@@ -486,10 +524,8 @@ public class Combat {
     boolean result = false;
     ShipComponent weapon = shooter.getShip().getComponent(componentUse);
     if (weapon != null && weapon.isWeapon()) {
-      CombatCoordinate shooterCoordinate =
-              new CombatCoordinate(shooter.getX(), shooter.getY());
-      CombatCoordinate targetCoordinate =
-              new CombatCoordinate(target.getX(), target.getY());
+      int targetX = target.getX();
+      int targetY = target.getY();
       double xAxisDistance = Math.abs(shooter.getX() - target.getX());
       double yAxisDistance = Math.abs(shooter.getY() - target.getY());
       int distance;
@@ -500,8 +536,8 @@ public class Combat {
       }
       if (shooter.getShip().getWeaponRange(weapon) >= distance
           && distance > 0) {
-        result = launchIntercept(distance,
-            shooterCoordinate, targetCoordinate);
+        result = isLineOfFireClear(shooter.getX(), shooter.getY(),
+            targetX, targetY);
       }
 
     }
@@ -561,6 +597,34 @@ public class Combat {
     return false;
   }
 
+  /**
+   * Is line of fire clear from shooter to target. Gives same result
+   * as launchIntercept() but uses precomputed line of fire.
+   * @param shooterX Shooter X coordinate
+   * @param shooterY Shooter Y coordinate
+   * @param targetX Target X coordinate
+   * @param targetY Target Y coordinate
+   * @return True if shot reaches target
+   */
+  private boolean isLineOfFireClear(final int shooterX, final int shooterY,
+      final int targetX, final int targetY) {
+    int[] line = CombatGeometry.getLineOfFire(shooterX, shooterY, targetX,
+        targetY);
+    if (line == null) {
+      return false;
+    }
+    if (line.length == 0) {
+      return true;
+    }
+    long[] blocked = fillBlockMap(shipGrid, false);
+    for (int square : line) {
+      if (PathSearchEngine.isBlocked(blocked, square)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
  * @param distance distance between shooter and target
  * @param shooter shooter coordinate
@@ -897,10 +961,7 @@ public boolean launchIntercept(final int distance,
       defenderEscaped = true;
     }
     if (getCurrentShip() != null) {
-      CombatAnimation anim = getCurrentShip().reInitShipForRound();
-      if (anim != null) {
-        setAnimation(anim);
-      }
+      prepareShipForRound(getCurrentShip());
     }
     if (isCombatOver()) {
       handleEndCombat();
@@ -940,10 +1001,14 @@ public boolean launchIntercept(final int distance,
    */
   private void destroyShipFromFleet(final CombatShip ship, final Fleet fleet) {
     fleet.removeShip(ship.getShip());
-    if (animation.getShooter() != null) {
-      ShipStat stat = animation.getShooter().getPlayer()
-          .getShipStatByName(animation.getShooter().getShip().getName());
-      Ship shooter = animation.getShooter().getShip();
+    CombatShip shooterShip = actionShooter;
+    if (animation != null) {
+      shooterShip = animation.getShooter();
+    }
+    if (shooterShip != null) {
+      ShipStat stat = shooterShip.getPlayer()
+          .getShipStatByName(shooterShip.getShip().getName());
+      Ship shooter = shooterShip.getShip();
       if (shooter != null && shooter.getExperience() < 5) {
         shooter.setExperience(shooter.getExperience() + 1);
       }
@@ -973,11 +1038,8 @@ public boolean launchIntercept(final int distance,
    */
   private static double calculateDistance(final CombatShip from,
       final CombatShip to) {
-    CombatCoordinate centerCoordinate =
-        new CombatCoordinate(from.getX(), from.getY());
-    CombatCoordinate toCoordinate =
-        new CombatCoordinate(to.getX(), to.getY());
-    return centerCoordinate.calculateDistance(toCoordinate);
+    return CombatGeometry.getDistance(from.getX(), from.getY(), to.getX(),
+        to.getY());
   }
   /**
    * Get the closest enemy ship
@@ -1038,20 +1100,21 @@ public boolean launchIntercept(final int distance,
    * @return Coordinate which are as far away as possible
    */
   public Coordinate getFarestFormEnemy(final CombatShip enemyShip) {
-    Coordinate coord = new Coordinate(0, 0);
-    Coordinate enemy = new Coordinate(enemyShip.getX(), enemyShip.getY());
+    int farX = 0;
+    int farY = 0;
     double minDistance = 0;
     for (int y = 0; y < MAX_Y; y++) {
       for (int x = 0; x < MAX_X; x++) {
-        Coordinate coordinate = new Coordinate(x, y);
-        double distance = coordinate.calculateDistance(enemy);
+        double distance = CombatGeometry.getDistance(x, y, enemyShip.getX(),
+            enemyShip.getY());
         if (distance > minDistance) {
           minDistance = distance;
-          coord = coordinate;
+          farX = x;
+          farY = y;
         }
       }
     }
-    return coord;
+    return new Coordinate(farX, farY);
   }
 
   /**
@@ -1113,6 +1176,55 @@ public boolean launchIntercept(final int distance,
     return false;
   }
 
+  /**
+   * Fill grid with combat map squares blocked by ships. Grid is bitset
+   * where index is y * MAX_X + x.
+   * @param blocked Grid to fill, old content is cleared
+   * @param avoidWormHole True set worm hole coordinate blocked
+   * @return Filled grid
+   */
+  private long[] fillBlockMap(final long[] blocked,
+      final boolean avoidWormHole) {
+    Arrays.fill(blocked, 0L);
+    for (CombatShip ship : combatShipList) {
+      if (isValidPos(ship.getX(), ship.getY())) {
+        PathSearchEngine.setBlocked(blocked, ship.getY() * MAX_X
+            + ship.getX());
+      }
+    }
+    if (avoidWormHole && wormHole != null
+        && isValidPos(wormHole.getX(), wormHole.getY())) {
+      PathSearchEngine.setBlocked(blocked, wormHole.getY() * MAX_X
+          + wormHole.getX());
+    }
+    return blocked;
+  }
+
+  /**
+   * Get path search for AI ship reset for new route. Search and its
+   * block map are owned by combat and reused, so only one route can be
+   * used at the time. Worm hole is blocked unless it is the target.
+   * @param start Ship which is moving
+   * @param targetX Target X coordinate
+   * @param targetY Target Y coordinate
+   * @param targetDistance How near is enough
+   * @return AStarSearch
+   */
+  private AStarSearch getPathSearch(final CombatShip start,
+      final int targetX, final int targetY, final int targetDistance) {
+    fillBlockMap(searchGrid, true);
+    if (wormHole != null && wormHole.getX() == targetX
+        && wormHole.getY() == targetY && isValidPos(targetX, targetY)) {
+      PathSearchEngine.clearBlocked(searchGrid, targetY * MAX_X + targetX);
+    }
+    if (pathSearch == null) {
+      pathSearch = new AStarSearch(MAX_X, MAX_Y);
+    }
+    pathSearch.reset(searchGrid, start.getX(), start.getY(), targetX,
+        targetY, targetDistance);
+    return pathSearch;
+  }
+
   /**
    * Get Cursor X coordinate
    * @return X coordinate
@@ -1176,8 +1288,7 @@ public boolean launchIntercept(final int distance,
               textLogger.addLog(log);
             }
           }
-          setAnimation(
-              new CombatAnimation(null, ship, weapon, shipDamage.getValue()));
+          showAction(null, ship, weapon, shipDamage.getValue());
           // Shoot only one ship per turn
           break;
         }
@@ -1204,11 +1315,7 @@ public boolean launchIntercept(final int distance,
     }
     CombatShip ship = getCurrentShip();
     if (ship != null) {
-      CombatAnimation anim = ship.reInitShipForRound();
-      if (anim != null) {
-        setAnimation(anim);
-      }
-
+      prepareShipForRound(ship);
     }
   }
 
@@ -1492,35 +1599,103 @@ public boolean launchIntercept(final int distance,
    * @param debug True to enable debug logging
    */
   public void doFastCombat(final boolean debug) {
-    Logger logger = null;
     if (!isCombatOver()) {
-      while (!isCombatOver()) {
-        if (debug) {
-          logger = new Logger();
-          logger.addLog("Turn starts...");
-          logger.addLog(getCurrentShip().getShip().getName() + " X:"
-              + getCurrentShip().getX() + " Y:" + getCurrentShip().getY());
+      simulateCombat(debug);
+      handleEndCombat();
+    }
+  }
+
+  /**
+   * Fight combat to the end without animations. This does not
+   * handle end of combat, so winner and losses can be examined
+   * before fleets are updated.
+   * @param debug Print combat log to error logger
+   */
+  void simulateCombat(final boolean debug) {
+    Logger logger = null;
+    simulation = true;
+    while (!isCombatOver()) {
+      if (debug) {
+        logger = new Logger();
+        logger.addLog("Turn starts...");
+        logger.addLog(getCurrentShip().getShip().getName() + " X:"
+            + getCurrentShip().getX() + " Y:" + getCurrentShip().getY());
+      }
+      boolean endRound = handleAI(logger, null);
+      if (logger != null) {
+        if (endRound && debug) {
+          logger.addLog("Round ended...");
         }
-        boolean endRound = handleAI(logger, null);
-        if (logger != null) {
-          if (endRound && debug) {
-            logger.addLog("Round ended...");
-          }
-          for (int i = logger.size() - 1; i >= 0; i--) {
-            String msg = logger.getMessage(i);
-            if (!msg.isEmpty()) {
-              ErrorLogger.log(msg);
-            }
+        for (int i = logger.size() - 1; i >= 0; i--) {
+          String msg = logger.getMessage(i);
+          if (!msg.isEmpty()) {
+            ErrorLogger.log(msg);
           }
         }
-        if (animation != null
-            && animation.getTarget().getShip().getHullPoints() <= 0) {
-          // Ship has no more hull points so destroying it
-          destroyShip(animation.getTarget());
-        }
-        setAnimation(null);
       }
-      handleEndCombat();
+      if (actionTarget != null
+          && actionTarget.getShip().getHullPoints() <= 0) {
+        // Ship has no more hull points so destroying it
+        destroyShip(actionTarget);
+      }
+      actionShooter = null;
+      actionTarget = null;
+    }
+    simulation = false;
+  }
+
+  /**
+   * Show action in combat. Animation is created for it unless combat
+   * is simulated, then only action's target is stored.
+   * @param shooter Ship doing the action, null for planet
+   * @param target Ship which is target of action
+   * @param weapon Weapon used for action
+   * @param hit Hit type, see ShipDamage
+   */
+  private void showAction(final CombatShip shooter, final CombatShip target,
+      final ShipComponent weapon, final int hit) {
+    if (simulation) {
+      actionShooter = shooter;
+      actionTarget = target;
+    } else {
+      setAnimation(new CombatAnimation(shooter, target, weapon, hit));
+    }
+  }
+
+  /**
+   * Show action in combat. Animation is created for it unless combat
+   * is simulated, then only action's target is stored.
+   * @param shooter Ship doing the action
+   * @param target Ship which is target of action
+   * @param type Animation type
+   * @param hit Hit type, see ShipDamage
+   */
+  private void showAction(final CombatShip shooter, final CombatShip target,
+      final CombatAnimationType type, final int hit) {
+    if (simulation) {
+      actionShooter = shooter;
+      actionTarget = target;
+    } else {
+      setAnimation(new CombatAnimation(shooter, target, type, hit));
+    }
+  }
+
+  /**
+   * Is there action shown which has not been finished yet.
+   * @return True if animation or simulated action is pending
+   */
+  private boolean isActionShown() {
+    return animation != null || actionTarget != null;
+  }
+
+  /**
+   * Re-initialize ship for new round. If overloading fails ship gets
+   * lightning action.
+   * @param ship Combat ship
+   */
+  private void prepareShipForRound(final CombatShip ship) {
+    if (ship.prepareForRound()) {
+      showAction(ship, ship, CombatAnimationType.LIGHTNING, 1);
     }
   }
 
@@ -1682,8 +1857,7 @@ public boolean launchIntercept(final int distance,
               textLogger.addLog(log);
             }
           }
-          setAnimation(
-              new CombatAnimation(ai, target, weapon, shipDamage.getValue()));
+          showAction(ai, target, weapon, shipDamage.getValue());
           ai.useComponent(i);
           ai.setCloakOverloaded(false);
           if (infoPanel != null) {
@@ -1792,11 +1966,7 @@ public boolean launchIntercept(final int distance,
   private boolean handlePrivateerShip(final Logger textLogger,
       final BattleInfoPanel infoPanel, final CombatShip trader) {
     CombatShip ai = getCurrentShip();
-    Coordinate aiCoordinate = new Coordinate(ai.getX(), ai.getY());
-    Coordinate traderCoordinate = new Coordinate(trader.getX(),
-        trader.getY());
-    int distance = (int) Math.round(aiCoordinate.calculateDistance(
-        traderCoordinate));
+    int distance = (int) Math.round(calculateDistance(ai, trader));
     if (distance == 1) {
       int nComp = ai.getShip().getNumberOfComponents();
       for (int i = 0; i < nComp; i++) {
@@ -1807,8 +1977,7 @@ public boolean launchIntercept(final int distance,
           ShipDamage shipDamage = doPrivateering(ai.getPlayer(), ai,
               trader.getPlayer(), trader);
           shipDamage.ready();
-          setAnimation(new CombatAnimation(ai, trader, weapon,
-              shipDamage.getValue()));
+          showAction(ai, trader, weapon, shipDamage.getValue());
           ai.useComponent(componentUse);
           if (textLogger != null) {
             String[] logs = shipDamage.getMessage().split("\n");
@@ -1847,8 +2016,7 @@ public boolean launchIntercept(final int distance,
             && ai.getShip().componentIsWorking(i)) {
           ShipDamage shipDamage = doTractorBeam(ai, target);
           shipDamage.ready();
-          setAnimation(new CombatAnimation(ai, target, weapon,
-              shipDamage.getValue()));
+          showAction(ai, target, weapon, shipDamage.getValue());
           ai.useComponent(componentUse);
           if (textLogger != null) {
             String[] logs = shipDamage.getMessage().split("\n");
@@ -1938,11 +2106,7 @@ public boolean launchIntercept(final int distance,
       if (tractor && canTractor(ai, deadliest)) {
         handleTractorShip(textLogger, infoPanel, deadliest);
       }
-      Coordinate aiCoordinate = new Coordinate(ai.getX(), ai.getY());
-      Coordinate deadliestCoordinate = new Coordinate(deadliest.getX(),
-          deadliest.getY());
-      int distance = (int) Math.round(aiCoordinate.calculateDistance(
-          deadliestCoordinate));
+      int distance = (int) Math.round(calculateDistance(ai, deadliest));
       if (range <= distance - ai.getMovesLeft() && closest != null
           && !closest.isCloakOverloaded()) {
         int index = getCurrentShip().getComponentForUse(
@@ -1959,10 +2123,12 @@ public boolean launchIntercept(final int distance,
     }
     AStarSearch aStar = null;
     if (deadliest != null) {
-      aStar = new AStarSearch(this, getCurrentShip(), deadliest, range);
+      aStar = getPathSearch(getCurrentShip(), deadliest.getX(),
+          deadliest.getY(), range);
     }
     if (aStar == null && closest != null) {
-      aStar = new AStarSearch(this, getCurrentShip(), closest, range);
+      aStar = getPathSearch(getCurrentShip(), closest.getX(), closest.getY(),
+          range);
     }
     if (aStar != null && aStar.doSearch()) {
       aStar.doRoute();
@@ -2028,7 +2194,7 @@ public boolean launchIntercept(final int distance,
       // Path is blocked
       ai.setMovesLeft(0);
     }
-    if (ai.getMovesLeft() == 0 && getAnimation() == null) {
+    if (ai.getMovesLeft() == 0 && !isActionShown()) {
       if (ai.getAiShotsLeft() > 0) {
         shot = false;
         if (shootDeadliest && deadliest != null
@@ -2080,7 +2246,7 @@ public boolean launchIntercept(final int distance,
         return true;
       }
     }
-    if (getAnimation() == null && ai.getAiShotsLeft() == 0
+    if (!isActionShown() && ai.getAiShotsLeft() == 0
         && ai.getMovesLeft() == 0) {
       if (deadliest != null) {
         overloadDefense(textLogger, deadliest);
@@ -2145,10 +2311,12 @@ public boolean launchIntercept(final int distance,
     CombatShip closest = getClosestEnemyShip(info, getCurrentShip());
     AStarSearch aStar = null;
     if (wormHole != null) {
-      aStar = new AStarSearch(this, getCurrentShip(), wormHole, 0);
+      aStar = getPathSearch(getCurrentShip(), wormHole.getX(),
+          wormHole.getY(), 0);
     } else if (closest != null) {
       Coordinate farAway = getFarestFormEnemy(closest);
-      aStar = new AStarSearch(this, getCurrentShip(), farAway, 0);
+      aStar = getPathSearch(getCurrentShip(), farAway.getX(), farAway.getY(),
+          0);
     }
     if (aStar != null && aStar.doSearch()) {
       aStar.doRoute();
@@ -2194,12 +2362,12 @@ public boolean launchIntercept(final int distance,
       ai.setMovesLeft(0);
     }
     if ((ai.getMovesLeft() == 0 || aStar.isLastMove())
-        && getAnimation() == null) {
+        && !isActionShown()) {
       aStar = null;
       endRound(textLogger);
       return true;
     }
-    if (getAnimation() == null && ai.getMovesLeft() == 0) {
+    if (!isActionShown() && ai.getMovesLeft() == 0) {
       endRound(textLogger);
     }
     return false;
@@ -2233,11 +2401,9 @@ public boolean launchIntercept(final int distance,
           if (textLogger != null) {
             textLogger.addLog(component.getName()
                 + " got damaged during overload!");
-            CombatAnimation shieldAnim = new CombatAnimation(
-                getCurrentShip(), getCurrentShip(),
-                CombatAnimationType.EXPLOSION, -1);
-            setAnimation(shieldAnim);
           }
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.EXPLOSION, -1);
         }
         getCurrentShip().useComponent(index);
         getCurrentShip().setOverloaded(true);
@@ -2260,11 +2426,9 @@ public boolean launchIntercept(final int distance,
           if (textLogger != null) {
             textLogger.addLog(component.getName()
                 + " got damaged during overload!");
-            CombatAnimation shieldAnim = new CombatAnimation(
-                getCurrentShip(), getCurrentShip(),
-                CombatAnimationType.EXPLOSION, -1);
-            setAnimation(shieldAnim);
           }
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.EXPLOSION, -1);
         }
         getCurrentShip().useComponent(index);
         getCurrentShip().setOverloaded(true);
@@ -2278,10 +2442,8 @@ public boolean launchIntercept(final int distance,
             getCurrentShip().getEnergyLevel() - 1);
         if (!getCurrentShip().isOverloadFailure(index)) {
           ship.setShield(ship.getShield() + 1);
-          CombatAnimation shieldAnim = new CombatAnimation(
-              getCurrentShip(), getCurrentShip(), CombatAnimationType.SHIELD,
-              1);
-          setAnimation(shieldAnim);
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.SHIELD, 1);
           if (textLogger != null) {
             textLogger.addLog(component.getName() + " overloaded!");
             SoundPlayer.playShieldSound();
@@ -2290,11 +2452,9 @@ public boolean launchIntercept(final int distance,
           if (textLogger != null) {
             textLogger.addLog(component.getName()
                 + " got damaged during overload!");
-            CombatAnimation shieldAnim = new CombatAnimation(
-                getCurrentShip(), getCurrentShip(),
-                CombatAnimationType.EXPLOSION, -1);
-            setAnimation(shieldAnim);
           }
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.EXPLOSION, -1);
         }
         getCurrentShip().useComponent(index);
         getCurrentShip().setOverloaded(true);
@@ -2313,10 +2473,8 @@ public boolean launchIntercept(final int distance,
           }
           ship.fixShip(false);
           //TODO: Change animation
-          CombatAnimation shieldAnim = new CombatAnimation(
-              getCurrentShip(), getCurrentShip(), CombatAnimationType.SHIELD,
-              1);
-          setAnimation(shieldAnim);
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.SHIELD, 1);
           if (textLogger != null) {
             textLogger.addLog(component.getName() + " overloaded!");
             SoundPlayer.playShieldSound();
@@ -2325,11 +2483,9 @@ public boolean launchIntercept(final int distance,
           if (textLogger != null) {
             textLogger.addLog(component.getName()
                 + " got damaged during overload!");
-            CombatAnimation shieldAnim = new CombatAnimation(
-                getCurrentShip(), getCurrentShip(),
-                CombatAnimationType.EXPLOSION, -1);
-            setAnimation(shieldAnim);
           }
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.EXPLOSION, -1);
         }
         getCurrentShip().useComponent(index);
         getCurrentShip().setOverloaded(true);
@@ -2351,11 +2507,9 @@ public boolean launchIntercept(final int distance,
           if (textLogger != null) {
             textLogger.addLog(component.getName()
                 + " got damaged during overload!");
-            CombatAnimation shieldAnim = new CombatAnimation(
-                getCurrentShip(), getCurrentShip(),
-                CombatAnimationType.EXPLOSION, -1);
-            setAnimation(shieldAnim);
           }
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.EXPLOSION, -1);
         }
         getCurrentShip().useComponent(index);
         getCurrentShip().setOverloaded(true);
@@ -2377,11 +2531,9 @@ public boolean launchIntercept(final int distance,
           if (textLogger != null) {
             textLogger.addLog(component.getName()
                 + " got damaged during overload!");
-            CombatAnimation shieldAnim = new CombatAnimation(
-                getCurrentShip(), getCurrentShip(),
-                CombatAnimationType.EXPLOSION, -1);
-            setAnimation(shieldAnim);
           }
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.EXPLOSION, -1);
         }
         getCurrentShip().useComponent(index);
         getCurrentShip().setOverloaded(true);
@@ -2402,11 +2554,9 @@ public boolean launchIntercept(final int distance,
           if (textLogger != null) {
             textLogger.addLog(component.getName()
                 + " got damaged during overload!");
-            CombatAnimation shieldAnim = new CombatAnimation(
-                getCurrentShip(), getCurrentShip(),
-                CombatAnimationType.EXPLOSION, -1);
-            setAnimation(shieldAnim);
           }
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.EXPLOSION, -1);
         }
         getCurrentShip().useComponent(index);
         getCurrentShip().setOverloaded(true);
@@ -2451,10 +2601,8 @@ public boolean launchIntercept(final int distance,
               && starbaseFleet.getCommander().hasPerk(Perk.SECRET_AGENT)) {
             extraCloak = extraCloak + 5;
           }
-          CombatAnimation scanAnim = new CombatAnimation(
-              getCurrentShip(), getCurrentShip(),
+          showAction(getCurrentShip(), getCurrentShip(),
               CombatAnimationType.SCANNING, 1);
-          setAnimation(scanAnim);
           int scanPower = getCurrentShip().getShip().getScannerDetectionLvl();
           scanPower = scanPower + DiceGenerator.getRandom(1, 100) + extraScan;
           if (textLogger != null) {
@@ -2478,11 +2626,9 @@ public boolean launchIntercept(final int distance,
           if (textLogger != null) {
             textLogger.addLog(component.getName()
                 + " got damaged during overload!");
-            CombatAnimation shieldAnim = new CombatAnimation(
-                getCurrentShip(), getCurrentShip(),
-                CombatAnimationType.EXPLOSION, -1);
-            setAnimation(shieldAnim);
           }
+          showAction(getCurrentShip(), getCurrentShip(),
+              CombatAnimationType.EXPLOSION, -1);
         }
         getCurrentShip().useComponent(index);
         getCurrentShip().setOverloaded(true);
@@ -14,7 +14,7 @@ import org.openRealmOfStars.gui.utilies.GuiStatics;
 import org.openRealmOfStars.player.ship.ShipComponent;
 import org.openRealmOfStars.player.ship.ShipDamage;
 import org.openRealmOfStars.player.ship.ShipImage;
-import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openRealmOfStars.utilities.RandomStream;
 
 /**
  *
@@ -41,6 +41,13 @@ import org.openRealmOfStars.utilities.DiceGenerator;
  */
 public class CombatAnimation {
 
+  /**
+   * Random stream for visual effects. Effects do not use game's
+   * random numbers, so animations cannot change outcome of combat.
+   */
+  private static final RandomStream EFFECT_RANDOM = new RandomStream(
+      System.nanoTime());
+
   /**
    * Current X coordinate in pixel
    */
@@ -193,9 +200,9 @@ public class CombatAnimation {
       sy = 4 * ShipImage.MAX_HEIGHT + ShipImage.MAX_HEIGHT / 2;
     }
     if (hitType == ShipDamage.MISSED_ATTACK) {
-      ex = end.getX() * ShipImage.MAX_WIDTH + DiceGenerator.getRandom(
+      ex = end.getX() * ShipImage.MAX_WIDTH + EFFECT_RANDOM.getRandom(
           ShipImage.MAX_WIDTH - 1);
-      ey = end.getY() * ShipImage.MAX_HEIGHT + DiceGenerator.getRandom(
+      ey = end.getY() * ShipImage.MAX_HEIGHT + EFFECT_RANDOM.getRandom(
           ShipImage.MAX_HEIGHT - 1);
     } else {
       ex = end.getX() * ShipImage.MAX_WIDTH + ShipImage.MAX_WIDTH / 2;
@@ -466,20 +473,20 @@ public class CombatAnimation {
           showAnim = false;
         }
       }
-      int parts = DiceGenerator.getRandom(5, 15);
+      int parts = EFFECT_RANDOM.getRandom(5, 15);
       boolean phasorsParticle = type == CombatAnimationType.PHASOR_BEAM;
       boolean antimatterParticle = type == CombatAnimationType.ANTIMATTER_BEAM;
       boolean ionParticle = type == CombatAnimationType.ION_CANNON;
       for (int i = 0; i < parts; i++) {
-        int dist = DiceGenerator.getRandom(distance);
+        int dist = EFFECT_RANDOM.getRandom(distance);
         int px = (int) Math.round(dist * mx + sx);
         int py = (int) Math.round(dist * my + sy);
-        int nx = DiceGenerator.getRandom(5);
-        int ny = DiceGenerator.getRandom(5);
-        if (DiceGenerator.getRandom(1) == 0) {
+        int nx = EFFECT_RANDOM.getRandom(5);
+        int ny = EFFECT_RANDOM.getRandom(5);
+        if (EFFECT_RANDOM.getRandom(1) == 0) {
           nx = nx * -1;
         }
-        if (DiceGenerator.getRandom(1) == 0) {
+        if (EFFECT_RANDOM.getRandom(1) == 0) {
           ny = ny * -1;
         }
         px = px + nx;
@@ -522,12 +529,12 @@ public class CombatAnimation {
         int dist = distance;
         int px = (int) Math.round(sx);
         int py = (int) Math.round(sy);
-        double nx = DiceGenerator.getRandom(5) / 10;
-        double ny = DiceGenerator.getRandom(5) / 10;
-        if (DiceGenerator.getRandom(1) == 0) {
+        double nx = EFFECT_RANDOM.getRandom(5) / 10;
+        double ny = EFFECT_RANDOM.getRandom(5) / 10;
+        if (EFFECT_RANDOM.getRandom(1) == 0) {
           nx = nx * -1;
         }
-        if (DiceGenerator.getRandom(1) == 0) {
+        if (EFFECT_RANDOM.getRandom(1) == 0) {
           ny = ny * -1;
         }
         double mvx = mx * 5 + nx;
@@ -620,12 +627,12 @@ public class CombatAnimation {
           sy = sy + my;
           int px = (int) Math.round(sx);
           int py = (int) Math.round(sy);
-          int nx = DiceGenerator.getRandom(5);
-          int ny = DiceGenerator.getRandom(5);
-          if (DiceGenerator.getRandom(1) == 0) {
+          int nx = EFFECT_RANDOM.getRandom(5);
+          int ny = EFFECT_RANDOM.getRandom(5);
+          if (EFFECT_RANDOM.getRandom(1) == 0) {
             nx = nx * -1;
           }
-          if (DiceGenerator.getRandom(1) == 0) {
+          if (EFFECT_RANDOM.getRandom(1) == 0) {
             ny = ny * -1;
           }
           px = px + nx;
@@ -797,7 +804,7 @@ public class CombatAnimation {
       showAnim = true;
       if (count > frameWhenAddParticleEffect
           && target.getShip().getHullPoints() <= 0) {
-        int parts = DiceGenerator.getRandom(15, 25);
+        int parts = EFFECT_RANDOM.getRandom(15, 25);
         int px = (int) Math.round(ex);
         int py = (int) Math.round(ey);
         for (int i = 0; i < parts; i++) {
@@ -816,16 +823,16 @@ public class CombatAnimation {
   private void doAnimationIon(final int frameWhenAddParticleEffect) {
     showAnim = true;
     if (count > frameWhenAddParticleEffect) {
-      int parts = DiceGenerator.getRandom(15, 25);
+      int parts = EFFECT_RANDOM.getRandom(15, 25);
       int px = (int) Math.round(ex);
       int py = (int) Math.round(ey);
       for (int i = 0; i < parts; i++) {
-        int nx = DiceGenerator.getRandom(5);
-        int ny = DiceGenerator.getRandom(5);
-        if (DiceGenerator.getRandom(1) == 0) {
+        int nx = EFFECT_RANDOM.getRandom(5);
+        int ny = EFFECT_RANDOM.getRandom(5);
+        if (EFFECT_RANDOM.getRandom(1) == 0) {
           nx = nx * -1;
         }
-        if (DiceGenerator.getRandom(1) == 0) {
+        if (EFFECT_RANDOM.getRandom(1) == 0) {
           ny = ny * -1;
         }
         ParticleEffect particle = new ParticleEffect(
@@ -0,0 +1,128 @@
+package org.openRealmOfStars.player.combat;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Estimated outcome of combat from repeated simulations.
+ *
+ */
+public final class CombatEstimate {
+
+  /**
+   * Number of simulated combats
+   */
+  private final int simulations;
+
+  /**
+   * Number of combats attacker won
+   */
+  private final int attackerWins;
+
+  /**
+   * Number of combats defender won
+   */
+  private final int defenderWins;
+
+  /**
+   * Total number of ships attacker lost in all simulations
+   */
+  private final int attackerLosses;
+
+  /**
+   * Total number of ships defender lost in all simulations
+   */
+  private final int defenderLosses;
+
+  /**
+   * Constructor for combat estimate.
+   * @param simulations Number of simulated combats
+   * @param attackerWins Number of combats attacker won
+   * @param defenderWins Number of combats defender won
+   * @param attackerLosses Total number of ships attacker lost
+   * @param defenderLosses Total number of ships defender lost
+   */
+  public CombatEstimate(final int simulations, final int attackerWins,
+      final int defenderWins, final int attackerLosses,
+      final int defenderLosses) {
+    this.simulations = simulations;
+    this.attackerWins = attackerWins;
+    this.defenderWins = defenderWins;
+    this.attackerLosses = attackerLosses;
+    this.defenderLosses = defenderLosses;
+  }
+
+  /**
+   * Get number of simulated combats.
+   * @return Number of simulations
+   */
+  public int getSimulations() {
+    return simulations;
+  }
+
+  /**
+   * Get probability that attacker wins the combat.
+   * @return Probability between 0.0 and 1.0
+   */
+  public double getWinProbability() {
+    if (simulations == 0) {
+      return 0;
+    }
+    return (double) attackerWins / simulations;
+  }
+
+  /**
+   * Get probability that defender wins the combat.
+   * @return Probability between 0.0 and 1.0
+   */
+  public double getLoseProbability() {
+    if (simulations == 0) {
+      return 0;
+    }
+    return (double) defenderWins / simulations;
+  }
+
+  /**
+   * Get expected number of ships attacker loses.
+   * @return Expected losses
+   */
+  public double getExpectedAttackerLosses() {
+    if (simulations == 0) {
+      return 0;
+    }
+    return (double) attackerLosses / simulations;
+  }
+
+  /**
+   * Get expected number of ships defender loses.
+   * @return Expected losses
+   */
+  public double getExpectedDefenderLosses() {
+    if (simulations == 0) {
+      return 0;
+    }
+    return (double) defenderLosses / simulations;
+  }
+
+  @Override
+  public String toString() {
+    return "Win " + getWinProbability() + " Lose " + getLoseProbability()
+        + " Attacker losses " + getExpectedAttackerLosses()
+        + " Defender losses " + getExpectedDefenderLosses();
+  }
+}
@@ -0,0 +1,631 @@
+package org.openRealmOfStars.player.combat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.player.ship.Ship;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openRealmOfStars.starMap.planet.construction.Building;
+import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openRealmOfStars.utilities.RandomStream;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Estimated outcome of combat from repeated simulations.
+ * Battle outcome estimator for AI. Combat is simulated several times
+ * with copies of fleets, so real fleets, realms and planets are not
+ * touched. Simulations use their own random streams derived from game
+ * seed and fleet composition, so estimate does not depend on
+ * game's random numbers or on number of threads. Estimates are cached
+ * by fleet composition until cache is cleared at the end of the turn.
+ * Fleet commanders are not included in simulations since simulated
+ * combat could kill them.
+ *
+ */
+public final class CombatEstimator {
+
+  /**
+   * Number of simulated combats for single estimate
+   */
+  public static final int SIMULATIONS = 16;
+
+  /**
+   * Minimum win probability for favourable combat
+   */
+  public static final double MIN_WIN_PROBABILITY = 0.5;
+
+  /**
+   * Military value multiplier which is clear advantage.
+   * Combats with clear advantage are not simulated.
+   */
+  private static final int CLEAR_ADVANTAGE = 2;
+
+  /**
+   * Maximum number of cached estimates
+   */
+  public static final int MAX_ESTIMATES = 256;
+
+  /**
+   * Simulations in single task when simulating in parallel
+   */
+  private static final int SIMULATIONS_PER_TASK = 2;
+
+  /**
+   * Building which shoots attackers
+   */
+  private static final String DEFENSE_GRID = "Orbital defense grid";
+
+  /**
+   * Cached estimates by fleet composition
+   */
+  private static final Map<String, CombatEstimate> ESTIMATES =
+      new LinkedHashMap<String, CombatEstimate>(MAX_ESTIMATES, 0.75f, true) {
+
+    /**
+     * Serial version UID
+     */
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(
+        final Map.Entry<String, CombatEstimate> eldest) {
+      return size() > MAX_ESTIMATES;
+    }
+  };
+
+  /**
+   * Fork join pool for parallel simulations. Created when needed
+   * first time.
+   */
+  private static ForkJoinPool pool;
+
+  /**
+   * Hidden constructor.
+   */
+  private CombatEstimator() {
+    // Nothing to do
+  }
+
+  /**
+   * Get fork join pool for parallel simulations.
+   * @return ForkJoinPool
+   */
+  private static synchronized ForkJoinPool getPool() {
+    if (pool == null) {
+      pool = new ForkJoinPool();
+    }
+    return pool;
+  }
+
+  /**
+   * Get cached estimate.
+   * @param key Fleet composition key
+   * @return Estimate or null
+   */
+  private static synchronized CombatEstimate getCached(final String key) {
+    return ESTIMATES.get(key);
+  }
+
+  /**
+   * Add estimate to cache.
+   * @param key Fleet composition key
+   * @param estimate Estimate
+   */
+  private static synchronized void putCached(final String key,
+      final CombatEstimate estimate) {
+    ESTIMATES.put(key, estimate);
+  }
+
+  /**
+   * Remove all cached estimates. This should be called when turn
+   * changes since realms' technology may have changed.
+   */
+  public static synchronized void clearCache() {
+    ESTIMATES.clear();
+  }
+
+  /**
+   * Is combat favourable for attacker. If either side has clear
+   * military advantage combat is not simulated.
+   * @param attackerFleet Attacking fleet
+   * @param attackerInfo Attacking realm
+   * @param defenderFleet Defending fleet, can be null if planet
+   *        has orbital
+   * @param defenderInfo Defending realm
+   * @param planet Planet where combat happens, can be null
+   * @return True if attacker is expected to win
+   */
+  public static boolean isFavourable(final Fleet attackerFleet,
+      final PlayerInfo attackerInfo, final Fleet defenderFleet,
+      final PlayerInfo defenderInfo, final Planet planet) {
+    int attacker = attackerFleet.getMilitaryValue();
+    int defender = getDefenderMilitaryValue(defenderFleet, defenderInfo,
+        planet);
+    if (attacker == 0) {
+      return false;
+    }
+    if (defenderInfo == null
+        && (planet == null || planet.getPlanetPlayerInfo() == null)) {
+      // Unknown defender, so only military values can be compared
+      return attacker > defender;
+    }
+    if (attacker >= defender * CLEAR_ADVANTAGE) {
+      return true;
+    }
+    if (attacker * CLEAR_ADVANTAGE <= defender) {
+      return false;
+    }
+    return estimate(attackerFleet, attackerInfo, defenderFleet,
+        defenderInfo, planet).getWinProbability() >= MIN_WIN_PROBABILITY;
+  }
+
+  /**
+   * Estimate combat outcome. Result is cached by fleet composition.
+   * @param attackerFleet Attacking fleet
+   * @param attackerInfo Attacking realm
+   * @param defenderFleet Defending fleet, can be null if planet
+   *        has orbital
+   * @param defenderInfo Defending realm
+   * @param planet Planet where combat happens, can be null
+   * @return CombatEstimate
+   */
+  public static CombatEstimate estimate(final Fleet attackerFleet,
+      final PlayerInfo attackerInfo, final Fleet defenderFleet,
+      final PlayerInfo defenderInfo, final Planet planet) {
+    String key = getKey(attackerFleet, attackerInfo, defenderFleet,
+        defenderInfo, planet);
+    CombatEstimate estimate = getCached(key);
+    if (estimate == null) {
+      RandomStream stream = new RandomStream(DiceGenerator.getGameSeed())
+          .split(DiceGenerator.STREAM_COMBAT).split(key.hashCode());
+      estimate = simulate(new Setup(attackerFleet, attackerInfo,
+          defenderFleet, defenderInfo, planet), stream, SIMULATIONS, true);
+      putCached(key, estimate);
+    }
+    return estimate;
+  }
+
+  /**
+   * Simulate combat several times without cache.
+   * @param setup Combat setup
+   * @param stream Random stream, each simulation uses its own split
+   * @param simulations Number of simulations
+   * @param parallel True to simulate in parallel
+   * @return CombatEstimate
+   */
+  static CombatEstimate simulate(final Setup setup,
+      final RandomStream stream, final int simulations,
+      final boolean parallel) {
+    int[] results = new int[simulations * Setup.RESULT_SIZE];
+    if (parallel) {
+      getPool().invoke(new SimulationTask(setup, stream, results, 0,
+          simulations));
+    } else {
+      for (int i = 0; i < simulations; i++) {
+        setup.simulate(stream, i, results);
+      }
+    }
+    int attackerWins = 0;
+    int defenderWins = 0;
+    int attackerLosses = 0;
+    int defenderLosses = 0;
+    for (int i = 0; i < simulations; i++) {
+      int index = i * Setup.RESULT_SIZE;
+      if (results[index] == Setup.ATTACKER_WINS) {
+        attackerWins++;
+      } else if (results[index] == Setup.DEFENDER_WINS) {
+        defenderWins++;
+      }
+      attackerLosses = attackerLosses + results[index + 1];
+      defenderLosses = defenderLosses + results[index + 2];
+    }
+    return new CombatEstimate(simulations, attackerWins, defenderWins,
+        attackerLosses, defenderLosses);
+  }
+
+  /**
+   * Get military value of defending side.
+   * @param defenderFleet Defending fleet, can be null
+   * @param defenderInfo Defending realm
+   * @param planet Planet where combat happens, can be null
+   * @return Military value
+   */
+  private static int getDefenderMilitaryValue(final Fleet defenderFleet,
+      final PlayerInfo defenderInfo, final Planet planet) {
+    int result = 0;
+    if (defenderFleet != null) {
+      result = defenderFleet.getMilitaryValue();
+    }
+    if (planet != null && planet.getOrbital() != null) {
+      result = result + planet.getOrbital().getTotalMilitaryPower();
+    }
+    for (Fleet fleet : Setup.getStarbaseFleets(defenderFleet, defenderInfo,
+        planet)) {
+      result = result + fleet.getMilitaryValue();
+    }
+    return result;
+  }
+
+  /**
+   * Append realm and fleet composition to key.
+   * @param sb StringBuilder where to append
+   * @param info Realm
+   * @param fleet Fleet, can be null
+   */
+  private static void appendFleet(final StringBuilder sb,
+      final PlayerInfo info, final Fleet fleet) {
+    if (info != null) {
+      sb.append(info.getEmpireName());
+    }
+    sb.append('[');
+    if (fleet != null) {
+      for (Ship ship : fleet.getShips()) {
+        appendShip(sb, ship);
+      }
+    }
+    sb.append(']');
+  }
+
+  /**
+   * Append ship and its damage to key.
+   * @param sb StringBuilder where to append
+   * @param ship Ship
+   */
+  private static void appendShip(final StringBuilder sb, final Ship ship) {
+    sb.append(ship.getName());
+    for (int i = 0; i < ship.getNumberOfComponents(); i++) {
+      sb.append(',');
+      sb.append(ship.getHullPointForComponent(i));
+    }
+    sb.append(',');
+    sb.append(ship.getArmor());
+    sb.append(',');
+    sb.append(ship.getShield());
+    sb.append(',');
+    sb.append(ship.getExperience());
+    sb.append(';');
+  }
+
+  /**
+   * Get cache key for combat by fleet compositions.
+   * @param attackerFleet Attacking fleet
+   * @param attackerInfo Attacking realm
+   * @param defenderFleet Defending fleet, can be null
+   * @param defenderInfo Defending realm
+   * @param planet Planet where combat happens, can be null
+   * @return Cache key
+   */
+  private static String getKey(final Fleet attackerFleet,
+      final PlayerInfo attackerInfo, final Fleet defenderFleet,
+      final PlayerInfo defenderInfo, final Planet planet) {
+    StringBuilder sb = new StringBuilder();
+    appendFleet(sb, attackerInfo, attackerFleet);
+    sb.append(" vs ");
+    appendFleet(sb, defenderInfo, defenderFleet);
+    for (Fleet fleet : Setup.getStarbaseFleets(defenderFleet, defenderInfo,
+        planet)) {
+      appendFleet(sb, null, fleet);
+    }
+    if (planet != null) {
+      sb.append(planet.getName());
+      if (planet.getOrbital() != null) {
+        appendShip(sb, planet.getOrbital());
+      }
+      sb.append(planet.howManyBuildings(DEFENSE_GRID));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Combat setup which can be simulated several times.
+   */
+  static final class Setup {
+
+    /**
+     * Number of values in single simulation result
+     */
+    static final int RESULT_SIZE = 3;
+
+    /**
+     * Result when attacker wins
+     */
+    static final int ATTACKER_WINS = 1;
+
+    /**
+     * Result when defender wins
+     */
+    static final int DEFENDER_WINS = 2;
+
+    /**
+     * Attacking fleet
+     */
+    private final Fleet attackerFleet;
+
+    /**
+     * Attacking realm
+     */
+    private final PlayerInfo attackerInfo;
+
+    /**
+     * Defending fleet, can be null
+     */
+    private final Fleet defenderFleet;
+
+    /**
+     * Defending realm
+     */
+    private final PlayerInfo defenderInfo;
+
+    /**
+     * Planet where combat happens, can be null
+     */
+    private final Planet planet;
+
+    /**
+     * Defender's deployed starbases in combat
+     */
+    private final ArrayList<Fleet> starbases;
+
+    /**
+     * Constructor for combat setup.
+     * @param attackerFleet Attacking fleet
+     * @param attackerInfo Attacking realm
+     * @param defenderFleet Defending fleet, can be null if planet
+     *        has orbital
+     * @param defenderInfo Defending realm, can be null if planet
+     *        has owner
+     * @param planet Planet where combat happens, can be null
+     */
+    Setup(final Fleet attackerFleet, final PlayerInfo attackerInfo,
+        final Fleet defenderFleet, final PlayerInfo defenderInfo,
+        final Planet planet) {
+      this.attackerFleet = attackerFleet;
+      this.attackerInfo = attackerInfo;
+      this.defenderFleet = defenderFleet;
+      if (defenderInfo == null && planet != null) {
+        this.defenderInfo = planet.getPlanetPlayerInfo();
+      } else {
+        this.defenderInfo = defenderInfo;
+      }
+      this.planet = planet;
+      starbases = getStarbaseFleets(defenderFleet, this.defenderInfo,
+          planet);
+    }
+
+    /**
+     * Get defender's deployed starbases which join the combat.
+     * @param defenderFleet Defending fleet, can be null
+     * @param defenderInfo Defending realm, can be null
+     * @param planet Planet where combat happens, can be null
+     * @return List of starbase fleets
+     */
+    static ArrayList<Fleet> getStarbaseFleets(final Fleet defenderFleet,
+        final PlayerInfo defenderInfo, final Planet planet) {
+      ArrayList<Fleet> result = new ArrayList<>();
+      if (defenderInfo == null) {
+        return result;
+      }
+      int x;
+      int y;
+      if (defenderFleet != null) {
+        x = defenderFleet.getX();
+        y = defenderFleet.getY();
+      } else if (planet != null) {
+        x = planet.getX();
+        y = planet.getY();
+      } else {
+        return result;
+      }
+      for (int i = 0; i < defenderInfo.getFleets().getNumberOfFleets();
+          i++) {
+        Fleet fleet = defenderInfo.getFleets().getByIndex(i);
+        if (fleet != defenderFleet && fleet.isStarBaseDeployed()
+            && fleet.getX() == x && fleet.getY() == y) {
+          result.add(fleet);
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Create realm for simulation. Copy has realm's combat related state
+     * like techs and government but no fleets.
+     * @param info Real realm
+     * @return Realm for simulation
+     */
+    private static PlayerInfo copyRealm(final PlayerInfo info) {
+      return info.createCombatCopy();
+    }
+
+    /**
+     * Copy fleet without commander for simulation and add it to realm.
+     * @param fleet Real fleet
+     * @param info Realm for simulation
+     * @return Fleet for simulation
+     */
+    private static Fleet copyFleet(final Fleet fleet, final PlayerInfo info) {
+      Ship[] ships = fleet.getShips();
+      Fleet copy = new Fleet(new Ship(ships[0]), fleet.getX(), fleet.getY());
+      for (int i = 1; i < ships.length; i++) {
+        copy.addShip(new Ship(ships[i]));
+      }
+      copy.setName(fleet.getName());
+      info.getFleets().add(copy);
+      return copy;
+    }
+
+    /**
+     * Simulate combat once and store the result.
+     * @param stream Random stream, simulation uses its own split
+     * @param simulation Simulation index
+     * @param results Results where to store winner and losses
+     */
+    void simulate(final RandomStream stream, final int simulation,
+        final int[] results) {
+      RandomStream oldStream = DiceGenerator.getBoundStream();
+      DiceGenerator.bindStream(stream.split(simulation));
+      try {
+        PlayerInfo attacker = copyRealm(attackerInfo);
+        PlayerInfo defender = copyRealm(defenderInfo);
+        Fleet attackerCopy = copyFleet(attackerFleet, attacker);
+        int attackerShips = attackerCopy.getNumberOfShip();
+        Fleet defenderCopy = null;
+        int defenderShips = 0;
+        if (defenderFleet != null && defenderFleet.getNumberOfShip() > 0) {
+          defenderCopy = copyFleet(defenderFleet, defender);
+          defenderShips = defenderCopy.getNumberOfShip();
+        }
+        ArrayList<Fleet> starbaseCopies = new ArrayList<>();
+        for (Fleet fleet : starbases) {
+          Fleet copy = copyFleet(fleet, defender);
+          starbaseCopies.add(copy);
+          defenderShips = defenderShips + copy.getNumberOfShip();
+        }
+        Planet planetCopy = null;
+        if (planet != null) {
+          planetCopy = new Planet(planet.getCoordinate(), planet.getName(),
+              0, false);
+          planetCopy.setPlanetOwner(planet.getPlanetOwnerIndex(), defender);
+          for (Building building : planet.getBuildingList()) {
+            if (building.getName().equals(DEFENSE_GRID)) {
+              planetCopy.addBuilding(building);
+            }
+          }
+          if (planet.getOrbital() != null) {
+            planetCopy.setOrbital(new Ship(planet.getOrbital()));
+            defenderShips++;
+          }
+        }
+        Combat combat;
+        if (planetCopy != null && planetCopy.getOrbital() != null) {
+          combat = new Combat(attackerCopy, defenderCopy, attacker, defender,
+              null, planetCopy);
+        } else if (defenderCopy != null) {
+          combat = new Combat(attackerCopy, defenderCopy, attacker,
+              defender);
+        } else {
+          // Nothing to defend
+          int index = simulation * RESULT_SIZE;
+          results[index] = ATTACKER_WINS;
+          return;
+        }
+        combat.setPlanet(planetCopy);
+        combat.simulateCombat(false);
+        int index = simulation * RESULT_SIZE;
+        if (combat.getWinner() == attacker) {
+          results[index] = ATTACKER_WINS;
+        } else if (combat.getWinner() == defender) {
+          results[index] = DEFENDER_WINS;
+        }
+        results[index + 1] = Math.max(0, attackerShips
+            - attackerCopy.getNumberOfShip());
+        int defenderLeft = 0;
+        if (defenderCopy != null) {
+          defenderLeft = defenderCopy.getNumberOfShip();
+        }
+        for (Fleet fleet : starbaseCopies) {
+          defenderLeft = defenderLeft + fleet.getNumberOfShip();
+        }
+        if (planetCopy != null && planetCopy.getOrbital() != null) {
+          defenderLeft++;
+        }
+        results[index + 2] = Math.max(0, defenderShips - defenderLeft);
+      } finally {
+        if (oldStream == null) {
+          DiceGenerator.unbindStream();
+        } else {
+          DiceGenerator.bindStream(oldStream);
+        }
+      }
+    }
+  }
+
+  /**
+   * Task for running range of simulations. Range is split until
+   * it is small enough.
+   */
+  private static class SimulationTask extends RecursiveAction {
+
+    /**
+     * Serial version UID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Combat setup
+     */
+    private final transient Setup setup;
+
+    /**
+     * Random stream for simulations
+     */
+    private final transient RandomStream stream;
+
+    /**
+     * Simulation results
+     */
+    private final transient int[] results;
+
+    /**
+     * First simulation
+     */
+    private final int start;
+
+    /**
+     * Last simulation exclusive
+     */
+    private final int end;
+
+    /**
+     * Constructor for simulation task
+     * @param setup Combat setup
+     * @param stream Random stream for simulations
+     * @param results Simulation results
+     * @param start First simulation
+     * @param end Last simulation exclusive
+     */
+    SimulationTask(final Setup setup, final RandomStream stream,
+        final int[] results, final int start, final int end) {
+      this.setup = setup;
+      this.stream = stream;
+      this.results = results;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start <= SIMULATIONS_PER_TASK) {
+        for (int i = start; i < end; i++) {
+          setup.simulate(stream, i, results);
+        }
+      } else {
+        int middle = (start + end) >>> 1;
+        invokeAll(new SimulationTask(setup, stream, results, start, middle),
+            new SimulationTask(setup, stream, results, middle, end));
+      }
+    }
+  }
+}
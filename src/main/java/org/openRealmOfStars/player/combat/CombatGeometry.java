@@ -0,0 +1,163 @@
+package org.openRealmOfStars.player.combat;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Precomputed distances and lines of fire between all the squares
+ * of combat map. Combat map is so small that every pair of squares
+ * fits in tables.
+ *
+ */
+final class CombatGeometry {
+
+  /**
+   * Number of squares in combat map
+   */
+  static final int SQUARES = Combat.MAX_X * Combat.MAX_Y;
+
+  /**
+   * Distances between squares, indexed by from * SQUARES + to
+   */
+  private static final double[] DISTANCES = new double[SQUARES * SQUARES];
+
+  /**
+   * Squares which shot passes before reaching target, indexed by
+   * from * SQUARES + to. Null if shot never reaches target.
+   */
+  private static final int[][] LINES = new int[SQUARES * SQUARES][];
+
+  static {
+    for (int from = 0; from < SQUARES; from++) {
+      for (int to = 0; to < SQUARES; to++) {
+        int sx = from % Combat.MAX_X;
+        int sy = from / Combat.MAX_X;
+        int tx = to % Combat.MAX_X;
+        int ty = to / Combat.MAX_X;
+        DISTANCES[from * SQUARES + to] = calculateDistance(sx, sy, tx, ty);
+        LINES[from * SQUARES + to] = calculateLineOfFire(sx, sy, tx, ty);
+      }
+    }
+  }
+
+  /**
+   * Hidden constructor.
+   */
+  private CombatGeometry() {
+    // Nothing to do
+  }
+
+  /**
+   * Is coordinate inside combat map.
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return True if inside
+   */
+  private static boolean isValidPos(final int x, final int y) {
+    return x >= 0 && y >= 0 && x < Combat.MAX_X && y < Combat.MAX_Y;
+  }
+
+  /**
+   * Calculate distance between two coordinates.
+   * @param sx Start X coordinate
+   * @param sy Start Y coordinate
+   * @param tx Target X coordinate
+   * @param ty Target Y coordinate
+   * @return Distance
+   */
+  private static double calculateDistance(final int sx, final int sy,
+      final int tx, final int ty) {
+    int xDistance = Math.abs(tx - sx);
+    int yDistance = Math.abs(ty - sy);
+    return Math.sqrt(xDistance * xDistance + yDistance * yDistance);
+  }
+
+  /**
+   * Calculate squares which shot passes before reaching target. Shot
+   * proceeds same way as in Combat.launchIntercept().
+   * @param sx Shooter X coordinate
+   * @param sy Shooter Y coordinate
+   * @param tx Target X coordinate
+   * @param ty Target Y coordinate
+   * @return Square indexes or null if shot does not reach target
+   */
+  private static int[] calculateLineOfFire(final int sx, final int sy,
+      final int tx, final int ty) {
+    int distance = Math.max(Math.abs(tx - sx), Math.abs(ty - sy));
+    if (distance == 0) {
+      return null;
+    }
+    int[] line = new int[distance + 1];
+    int count = 0;
+    double interceptX = sx;
+    double interceptY = sy;
+    double dx = (double) (tx - sx) / distance;
+    double dy = (double) (ty - sy) / distance;
+    for (int i = 0; i < distance + 1; i++) {
+      interceptX = interceptX + dx;
+      interceptY = interceptY + dy;
+      int intX = (int) Math.round(interceptX);
+      int intY = (int) Math.round(interceptY);
+      if (intX == tx && intY == ty) {
+        return Arrays.copyOf(line, count);
+      }
+      if (isValidPos(intX, intY)) {
+        line[count] = intY * Combat.MAX_X + intX;
+        count++;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get distance between two coordinates.
+   * @param sx Start X coordinate
+   * @param sy Start Y coordinate
+   * @param tx Target X coordinate
+   * @param ty Target Y coordinate
+   * @return Distance
+   */
+  static double getDistance(final int sx, final int sy, final int tx,
+      final int ty) {
+    if (isValidPos(sx, sy) && isValidPos(tx, ty)) {
+      return DISTANCES[(sy * Combat.MAX_X + sx) * SQUARES
+          + ty * Combat.MAX_X + tx];
+    }
+    return calculateDistance(sx, sy, tx, ty);
+  }
+
+  /**
+   * Get squares which shot passes before reaching target. Shot
+   * reaches target if none of these squares are blocked.
+   * @param sx Shooter X coordinate
+   * @param sy Shooter Y coordinate
+   * @param tx Target X coordinate
+   * @param ty Target Y coordinate
+   * @return Square indexes or null if shot does not reach target
+   */
+  static int[] getLineOfFire(final int sx, final int sy, final int tx,
+      final int ty) {
+    if (isValidPos(sx, sy) && isValidPos(tx, ty)) {
+      return LINES[(sy * Combat.MAX_X + sx) * SQUARES
+          + ty * Combat.MAX_X + tx];
+    }
+    return calculateLineOfFire(sx, sy, tx, ty);
+  }
+}
@@ -1,5 +1,7 @@
 package org.openRealmOfStars.player.combat;
 
+import java.util.Arrays;
+
 import org.openRealmOfStars.player.PlayerInfo;
 import org.openRealmOfStars.player.leader.Leader;
 import org.openRealmOfStars.player.leader.Perk;
@@ -145,7 +147,7 @@ public class CombatShip implements Comparable<CombatShip> {
     this.setOverloadedJammer(0);
     this.setCloakOverloaded(false);
     this.setOverloadedComputer(0);
-    reInitShipForRound();
+    prepareForRound();
   }
 
   /**
@@ -396,6 +398,31 @@ public class CombatShip implements Comparable<CombatShip> {
    * @return CombatAnimation or null
    */
   public CombatAnimation reInitShipForRound() {
+    if (prepareForRound()) {
+      return new CombatAnimation(this, this, CombatAnimationType.LIGHTNING,
+          1);
+    }
+    return null;
+  }
+
+  /**
+   * Reset component usage for new round. Array is reused when
+   * number of components has not changed.
+   * @param used Value for all the components
+   */
+  private void resetComponentUsed(final boolean used) {
+    if (componentUsed == null
+        || componentUsed.length != ship.getNumberOfComponents()) {
+      componentUsed = new boolean[ship.getNumberOfComponents()];
+    }
+    Arrays.fill(componentUsed, used);
+  }
+
+  /**
+   * Reinitialize ship for next round without creating animation.
+   * @return True if overloading made ship useless for this round
+   */
+  public boolean prepareForRound() {
     int weapons = 0;
     setOverloadedJammer(0);
     setCloakOverloaded(false);
@@ -430,18 +457,13 @@ public class CombatShip implements Comparable<CombatShip> {
       int value = DiceGenerator.getRandom(99);
       if (value < chance) {
         setMovesLeft(0);
-        componentUsed = new boolean[ship.getNumberOfComponents()];
-        for (int i = 0; i < componentUsed.length; i++) {
-          componentUsed[i] = true;
-        }
+        resetComponentUsed(true);
         setAiShotsLeft(0);
         getShip().setShield(0);
         setEnergyLevel(getEnergyLevel() - getEnergyReserve());
         setOverloaded(true);
         // Ship is basically useless for this turn.
-        CombatAnimation animation = new CombatAnimation(this, this,
-            CombatAnimationType.LIGHTNING, 1);
-        return animation;
+        return true;
       }
     }
     if (getEnergyLevel() < ship.getTotalEnergy() && !hasOverloaded()) {
@@ -453,9 +475,8 @@ public class CombatShip implements Comparable<CombatShip> {
     } else {
       setMovesLeft(ship.getTacticSpeed());
     }
-    componentUsed = new boolean[ship.getNumberOfComponents()];
+    resetComponentUsed(false);
     for (int i = 0; i < componentUsed.length; i++) {
-      componentUsed[i] = false;
       ShipComponent comp = ship.getComponent(i);
       if (comp.isWeapon() && ship.componentIsWorking(i)) {
         weapons++;
@@ -468,7 +489,7 @@ public class CombatShip implements Comparable<CombatShip> {
     }
     ship.regenerateShield();
     damaged = false;
-    return null;
+    return false;
   }
 
   /**
@@ -21,6 +21,7 @@ import org.openRealmOfStars.starMap.Coordinate;
 import org.openRealmOfStars.starMap.Route;
 import org.openRealmOfStars.starMap.StarMapUtilities;
 import org.openRealmOfStars.starMap.planet.Planet;
+import org.openRealmOfStars.utilities.ErrorLogger;
 import org.openRealmOfStars.utilities.IOUtilities;
 import org.openRealmOfStars.utilities.repository.RouteRepository;
 
@@ -93,6 +94,71 @@ public class Fleet {
    */
   private Leader commander;
 
+  /**
+   * Cached stat for military value
+   */
+  private static final int STAT_MILITARY_VALUE = 0;
+  /**
+   * Cached stat for best scanner level of ships
+   */
+  private static final int STAT_SCANNER_LVL = 1;
+  /**
+   * Cached stat for best cloak detection of ships
+   */
+  private static final int STAT_CLOAK_DETECTION = 2;
+  /**
+   * Cached stat for cloaking values multiplied by ship masses
+   */
+  private static final int STAT_CLOAKING = 3;
+  /**
+   * Cached stat for total mass of ships
+   */
+  private static final int STAT_MASS = 4;
+  /**
+   * Cached stat for speed without commander
+   */
+  private static final int STAT_SPEED = 5;
+  /**
+   * Cached stat for FTL speed without commander
+   */
+  private static final int STAT_FTL_SPEED = 6;
+  /**
+   * Number of cached stats
+   */
+  private static final int CACHED_STATS = STAT_FTL_SPEED + 1;
+
+  /**
+   * Are cached stats checked against recalculation.
+   */
+  private static boolean statsCacheCheck = false;
+
+  /**
+   * How many times cached stat has differed from recalculation.
+   */
+  private static int statsCacheMismatches = 0;
+
+  /**
+   * Ships' stats modification stamps when stats were cached.
+   * Null when nothing is cached.
+   */
+  private int[] cachedShipStamps;
+
+  /**
+   * Fleet list where fleet belongs. Fleet list is notified when fleet
+   * moves or its ships change.
+   */
+  private FleetList fleetList;
+
+  /**
+   * Cached stat values.
+   */
+  private int[] cachedStats;
+
+  /**
+   * Bit mask of cached stats
+   */
+  private int cachedStatsMask;
+
   /**
    * Constructor for fleet
    * @param firstShip The first ship in the fleet
@@ -102,6 +168,9 @@ public class Fleet {
   public Fleet(final Ship firstShip, final int x, final int y) {
     ships = new ArrayList<>();
     ships.add(firstShip);
+    if (firstShip != null) {
+      firstShip.setFleet(this);
+    }
     setPos(new Coordinate(x, y));
     setName("Fleet #0");
     setRoute(null);
@@ -136,6 +205,7 @@ public class Fleet {
     ships = new ArrayList<>();
     for (int i = 0; i < count; i++) {
       Ship ship = new Ship(dis);
+      ship.setFleet(this);
       ships.add(ship);
     }
   }
@@ -173,6 +243,9 @@ public class Fleet {
   public void addShip(final Ship ship) {
     if (ship != null) {
       ships.add(ship);
+      ship.setFleet(this);
+      cachedShipStamps = null;
+      fleetChanged();
     }
   }
 
@@ -183,9 +256,46 @@ public class Fleet {
   public void removeShip(final Ship ship) {
     if (ship != null) {
       ships.remove(ship);
+      if (ship.getFleet() == this) {
+        ship.setFleet(null);
+      }
+      cachedShipStamps = null;
+      fleetChanged();
     }
   }
 
+  /**
+   * Ship's stats have changed. This is called by ship in the fleet.
+   */
+  public void shipStatsChanged() {
+    fleetChanged();
+  }
+
+  /**
+   * Notify fleet list that fleet has moved or its ships have changed.
+   */
+  private void fleetChanged() {
+    if (fleetList != null) {
+      fleetList.fleetChanged(this);
+    }
+  }
+
+  /**
+   * Set fleet list where fleet belongs.
+   * @param fleetList Fleet list or null
+   */
+  public void setFleetList(final FleetList fleetList) {
+    this.fleetList = fleetList;
+  }
+
+  /**
+   * Get fleet list where fleet belongs.
+   * @return Fleet list or null
+   */
+  public FleetList getFleetList() {
+    return fleetList;
+  }
+
   /**
    * Is certain ship in fleet
    * @param ship is in fleet
@@ -300,6 +410,7 @@ public class Fleet {
    */
   public void setPos(final Coordinate pos) {
     this.coordinate = new Coordinate(pos);
+    fleetChanged();
   }
 
   /**
@@ -390,6 +501,32 @@ public class Fleet {
    * @return Speed of fleet
    */
   private int getFleetSpeed(final boolean ftl) {
+    int speed;
+    if (ftl) {
+      speed = getStat(STAT_FTL_SPEED);
+    } else {
+      speed = getStat(STAT_SPEED);
+    }
+    if (!ftl && commander != null
+        && commander.hasPerk(Perk.EXPLORER)) {
+      speed++;
+    }
+    if (ftl && commander != null
+        && commander.hasPerk(Perk.FTL_ENGINEER)) {
+      speed++;
+    }
+    if (speed == MAX_FTL_SPEED) {
+      speed = 0;
+    }
+    return speed;
+  }
+
+  /**
+   * Calculate fleet speed from ships without commander.
+   * @param ftl True to get FTL speed, otherwise regular speed
+   * @return Speed of fleet or MAX_FTL_SPEED if there are no ships
+   */
+  private int calculateFleetSpeed(final boolean ftl) {
     int speed = MAX_FTL_SPEED;
     int smallShipSpeed = MAX_FTL_SPEED;
     int bigShipSpeed = MAX_FTL_SPEED;
@@ -430,17 +567,6 @@ public class Fleet {
         speed = smallShipSpeed;
       }
     }
-    if (!ftl && commander != null
-        && commander.hasPerk(Perk.EXPLORER)) {
-      speed++;
-    }
-    if (ftl && commander != null
-        && commander.hasPerk(Perk.FTL_ENGINEER)) {
-      speed++;
-    }
-    if (speed == MAX_FTL_SPEED) {
-      speed = 0;
-    }
     return speed;
   }
   /**
@@ -464,13 +590,7 @@ public class Fleet {
    * @return scanner level
    */
   public int getFleetScannerLvl() {
-    int lvl = 1;
-    for (Ship ship : ships) {
-      int shipLvl = ship.getScannerLvl();
-      if (shipLvl > lvl) {
-        lvl = shipLvl;
-      }
-    }
+    int lvl = getStat(STAT_SCANNER_LVL);
     if (commander != null && commander.hasPerk(Perk.SCANNER_EXPERT)) {
       lvl++;
     }
@@ -482,13 +602,7 @@ public class Fleet {
    * @return cloak detection
    */
   public int getFleetCloakDetection() {
-    int lvl = 0;
-    for (Ship ship : ships) {
-      int shipLvl = ship.getScannerDetectionLvl();
-      if (shipLvl > lvl) {
-        lvl = shipLvl;
-      }
-    }
+    int lvl = getStat(STAT_CLOAK_DETECTION);
     if (commander != null && commander.hasPerk(Perk.COUNTER_AGENT)) {
       lvl++;
     }
@@ -501,23 +615,17 @@ public class Fleet {
    * @return cloak Value
    */
   public int getFleetCloackingValue() {
-    int lvl = 0;
-    int totalMass = 0;
-    for (Ship ship : ships) {
-      int shipLvl = ship.getCloakingValue();
-      if (commander != null
-          && commander.hasPerk(Perk.SECRET_AGENT)) {
-        shipLvl = shipLvl + 5;
-      }
-
-      int mass = ship.getHull().getSize().getMass();
-      lvl = lvl + shipLvl * mass;
-      totalMass = totalMass + mass;
-    }
+    int totalMass = getStat(STAT_MASS);
     if (totalMass == 0) {
       return 0;
     }
-   lvl = lvl / totalMass;
+    int lvl = getStat(STAT_CLOAKING);
+    if (commander != null
+        && commander.hasPerk(Perk.SECRET_AGENT)) {
+      // Secret agent adds 5 to every ship's cloaking value
+      lvl = lvl + 5 * totalMass;
+    }
+    lvl = lvl / totalMass;
     return lvl;
   }
 
@@ -968,6 +1076,14 @@ public class Fleet {
    * @return Total military value for fleet
    */
   public int getMilitaryValue() {
+    return getStat(STAT_MILITARY_VALUE);
+  }
+
+  /**
+   * Calculate fleet's total military value without cached value.
+   * @return Total military value for fleet
+   */
+  private int calculateMilitaryValue() {
     int result = 0;
     for (Ship ship : ships) {
       if (!ship.isStarBase() || ship.getFlag(Ship.FLAG_STARBASE_DEPLOYED)) {
@@ -977,6 +1093,137 @@ public class Fleet {
     return result;
   }
 
+  /**
+   * Calculate stat from ships without cached value.
+   * @param stat Stat to calculate, see STAT_*
+   * @return Stat value
+   */
+  private int calculateStat(final int stat) {
+    int result = 0;
+    switch (stat) {
+    case STAT_MILITARY_VALUE:
+      return calculateMilitaryValue();
+    case STAT_SCANNER_LVL:
+      result = 1;
+      for (Ship ship : ships) {
+        result = Math.max(result, ship.getScannerLvl());
+      }
+      return result;
+    case STAT_CLOAK_DETECTION:
+      for (Ship ship : ships) {
+        result = Math.max(result, ship.getScannerDetectionLvl());
+      }
+      return result;
+    case STAT_CLOAKING:
+      for (Ship ship : ships) {
+        result = result + ship.getCloakingValue()
+            * ship.getHull().getSize().getMass();
+      }
+      return result;
+    case STAT_MASS:
+      for (Ship ship : ships) {
+        result = result + ship.getHull().getSize().getMass();
+      }
+      return result;
+    case STAT_SPEED:
+      return calculateFleetSpeed(false);
+    case STAT_FTL_SPEED:
+      return calculateFleetSpeed(true);
+    default:
+      throw new IllegalArgumentException("Unknown fleet stat: " + stat);
+    }
+  }
+
+  /**
+   * Clear cached stats if fleet's ships or their stats have changed
+   * since stats were cached.
+   */
+  private void validateStatsCache() {
+    boolean valid = cachedShipStamps != null
+        && cachedShipStamps.length == ships.size();
+    for (int i = 0; valid && i < ships.size(); i++) {
+      valid = cachedShipStamps[i] == ships.get(i).getStatsStamp();
+    }
+    if (valid) {
+      return;
+    }
+    if (cachedStats == null) {
+      cachedStats = new int[CACHED_STATS];
+    }
+    cachedStatsMask = 0;
+    cachedShipStamps = new int[ships.size()];
+    for (int i = 0; i < ships.size(); i++) {
+      cachedShipStamps[i] = ships.get(i).getStatsStamp();
+    }
+  }
+
+  /**
+   * Get stat from cache or calculate and cache it. Cached stats are
+   * cleared when ships are added or removed or their stats change.
+   * Commander's perks are not part of cached stats.
+   * @param stat Stat to get, see STAT_*
+   * @return Stat value
+   */
+  private int getStat(final int stat) {
+    validateStatsCache();
+    int mask = 1 << stat;
+    if ((cachedStatsMask & mask) != 0) {
+      int result = cachedStats[stat];
+      if (statsCacheCheck) {
+        result = checkCachedStat(stat, result, calculateStat(stat));
+      }
+      return result;
+    }
+    int result = calculateStat(stat);
+    cachedStats[stat] = result;
+    cachedStatsMask = cachedStatsMask | mask;
+    return result;
+  }
+
+  /**
+   * Compare cached stat against recalculated value and log if they
+   * differ.
+   * @param stat Stat which was checked
+   * @param cached Cached value
+   * @param calculated Recalculated value
+   * @return Recalculated value
+   */
+  private int checkCachedStat(final int stat, final int cached,
+      final int calculated) {
+    if (cached != calculated) {
+      statsCacheMismatches++;
+      ErrorLogger.log("Fleet stat cache mismatch on " + getName()
+          + " for stat " + stat + ": cached " + cached + ", calculated "
+          + calculated);
+    }
+    return calculated;
+  }
+
+  /**
+   * Enable or disable checking cached fleet stats against recalculation.
+   * This is meant for debugging.
+   * @param check True to check cached values
+   */
+  public static void setStatsCacheCheck(final boolean check) {
+    statsCacheCheck = check;
+  }
+
+  /**
+   * Get how many times cached fleet stat has differed from
+   * recalculation since stats cache check was enabled.
+   * @return Number of mismatches
+   */
+  public static int getStatsCacheMismatches() {
+    return statsCacheMismatches;
+  }
+
+  /**
+   * Reset fleet stats cache mismatch counter.
+   */
+  public static void resetStatsCacheMismatches() {
+    statsCacheMismatches = 0;
+  }
+
   /**
    * Smuggler fleet is one with no apparent military power on fleet.
    * Only Freighter ships are allowed to have weapons, if they are
@@ -1265,6 +1512,7 @@ public class Fleet {
     if (this.commander != null) {
       this.commander.setJob(Job.COMMANDER);
     }
+    fleetChanged();
   }
 
   /**
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 
 import org.openRealmOfStars.player.PlayerInfo;
 import org.openRealmOfStars.starMap.Coordinate;
+import org.openRealmOfStars.starMap.FleetTileIndex;
 
 /**
  *
@@ -43,6 +44,12 @@ public class FleetList {
    */
   private int index;
 
+  /**
+   * Fleet tile index notified when fleets are added, removed or
+   * changed. Null if fleets are not on star map.
+   */
+  private FleetTileIndex fleetTileIndex;
+
   /**
    * Constructor for FleetList. Empty fleet list is created.
    */
@@ -63,6 +70,7 @@ public class FleetList {
     fleetList = new ArrayList<>();
     for (int i = 0; i < count; i++) {
       Fleet fleet = new Fleet(dis, info);
+      fleet.setFleetList(this);
       fleetList.add(fleet);
     }
     index = 0;
@@ -94,6 +102,54 @@ public class FleetList {
       fleet.setName(generateUniqueName());
     }
     fleetList.add(fleet);
+    fleet.setFleetList(this);
+    if (fleetTileIndex != null) {
+      fleetTileIndex.fleetAdded(this, fleet);
+    }
+  }
+
+  /**
+   * Notify fleet tile index that fleet has been removed.
+   * @param fleet Removed fleet
+   * @param fleetIndex Index where fleet was
+   */
+  private void fleetRemoved(final Fleet fleet, final int fleetIndex) {
+    if (fleet.getFleetList() == this) {
+      fleet.setFleetList(null);
+    }
+    if (fleetTileIndex != null) {
+      fleetTileIndex.fleetRemoved(this, fleet, fleetIndex);
+    }
+  }
+
+  /**
+   * Notify fleet tile index that fleet has moved or its ships have
+   * changed.
+   * @param fleet Changed fleet
+   */
+  public void fleetChanged(final Fleet fleet) {
+    if (fleetTileIndex != null) {
+      fleetTileIndex.fleetChanged(fleet);
+    }
+  }
+
+  /**
+   * Set fleet tile index which is notified about fleet changes.
+   * @param fleetTileIndex Fleet tile index or null
+   */
+  public void setFleetTileIndex(final FleetTileIndex fleetTileIndex) {
+    this.fleetTileIndex = fleetTileIndex;
+    for (Fleet fleet : fleetList) {
+      fleet.setFleetList(this);
+    }
+  }
+
+  /**
+   * Get fleet tile index which is notified about fleet changes.
+   * @return Fleet tile index or null
+   */
+  public FleetTileIndex getFleetTileIndex() {
+    return fleetTileIndex;
   }
 
   /**
@@ -171,7 +227,8 @@ public class FleetList {
         index = 0;
       }
     }
-    fleetList.remove(indexToRemove);
+    Fleet fleet = fleetList.remove(indexToRemove);
+    fleetRemoved(fleet, indexToRemove);
   }
 
   /**
@@ -304,6 +361,7 @@ public class FleetList {
       Fleet fleet = fleetList.get(i);
       if (fleet.getNumberOfShip() == 0) {
         fleetList.remove(i);
+        fleetRemoved(fleet, i);
         break;
       }
     }
@@ -318,6 +376,7 @@ public class FleetList {
       Fleet fleet = fleetList.get(i);
       if (fleet.getName().equals(toRemove.getName())) {
         fleetList.remove(i);
+        fleetRemoved(fleet, i);
         break;
       }
     }
@@ -351,6 +410,20 @@ public class FleetList {
     return false;
   }
 
+  /**
+   * Get fleet's index in the list
+   * @param search Fleet to search
+   * @return Index or -1 if fleet is not in the list
+   */
+  public int getFleetIndex(final Fleet search) {
+    for (int i = 0; i < fleetList.size(); i++) {
+      if (fleetList.get(i) == search) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   /**
    * Get total fleet capacity.
    * @return Get Total fleet capacity.
@@ -12,11 +12,13 @@ import org.openRealmOfStars.gui.utilies.GuiStatics;
 import org.openRealmOfStars.player.PlayerInfo;
 import org.openRealmOfStars.player.SpaceRace.SpaceRace;
 import org.openRealmOfStars.player.SpaceRace.SpaceRaceUtility;
+import org.openRealmOfStars.player.fleet.Fleet;
 import org.openRealmOfStars.player.ship.shipdesign.ShipDesign;
 import org.openRealmOfStars.starMap.Coordinate;
 import org.openRealmOfStars.starMap.planet.Planet;
 import org.openRealmOfStars.starMap.planet.construction.Construction;
 import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openRealmOfStars.utilities.ErrorLogger;
 import org.openRealmOfStars.utilities.IOUtilities;
 
 /**
@@ -165,6 +167,74 @@ public class Ship extends Construction {
    */
   public static final int CARGO_TYPE_TROOPS = 4;
 
+  /**
+   * Cached stat for total military power
+   */
+  private static final int STAT_MILITARY_POWER = 0;
+  /**
+   * Cached stat for scanner level
+   */
+  private static final int STAT_SCANNER_LVL = 1;
+  /**
+   * Cached stat for scanner cloak detection level
+   */
+  private static final int STAT_SCANNER_DETECTION_LVL = 2;
+  /**
+   * Cached stat for cloaking value
+   */
+  private static final int STAT_CLOAKING_VALUE = 3;
+  /**
+   * Cached stat for speed
+   */
+  private static final int STAT_SPEED = 4;
+  /**
+   * Cached stat for tactic speed
+   */
+  private static final int STAT_TACTIC_SPEED = 5;
+  /**
+   * Cached stat for FTL speed
+   */
+  private static final int STAT_FTL_SPEED = 6;
+  /**
+   * Cached stat for total energy
+   */
+  private static final int STAT_TOTAL_ENERGY = 7;
+  /**
+   * Number of cached stats
+   */
+  private static final int CACHED_STATS = STAT_TOTAL_ENERGY + 1;
+
+  /**
+   * Are cached stats checked against recalculation.
+   */
+  private static boolean statsCacheCheck = false;
+
+  /**
+   * How many times cached stat has differed from recalculation.
+   */
+  private static int statsCacheMismatches = 0;
+
+  /**
+   * Stats modification stamp. This is bumped when hull points,
+   * components or flags change.
+   */
+  private int statsStamp;
+
+  /**
+   * Fleet where ship belongs. Copied ships do not belong to any fleet.
+   */
+  private Fleet fleet;
+
+  /**
+   * Cached stat values. Null until first stat is cached.
+   */
+  private int[] cachedStats;
+
+  /**
+   * Bit mask of cached stats
+   */
+  private int cachedStatsMask;
+
   /**
    * Constructor for a ship
    * @param design from where actual ship is created
@@ -193,6 +263,30 @@ public class Ship extends Construction {
     tradeCoordinates = null;
   }
 
+  /**
+   * Copy constructor for a ship. Copy has its own damage state, but
+   * shares hull, components and image with original ship.
+   * @param ship Ship to copy
+   */
+  public Ship(final Ship ship) {
+    super(ship.getName(), Icons.getIconByName(Icons.ICON_HULL_TECH));
+    setProdCost(ship.getProdCost());
+    setMetalCost(ship.getMetalCost());
+    hull = ship.hull;
+    components = new ArrayList<>(ship.components);
+    hullPoints = ship.hullPoints.clone();
+    shield = ship.shield;
+    armor = ship.armor;
+    image = ship.image;
+    setDescription(ship.getDescription());
+    colonist = ship.colonist;
+    metal = ship.metal;
+    experience = ship.experience;
+    culture = ship.culture;
+    specialFlags = ship.specialFlags;
+    tradeCoordinates = ship.tradeCoordinates;
+  }
+
   /**
    * Read Ship from DataInputStream
    * @param dis DataInputStream
@@ -643,6 +737,14 @@ private int getRemainingEnergy(final int index) {
    * @return Total energy
    */
   public int getTotalEnergy() {
+    return getStat(STAT_TOTAL_ENERGY);
+  }
+
+  /**
+   * Calculate total energy form current component status
+   * @return Total energy
+   */
+  private int calculateTotalEnergy() {
     int energy = 0;
     for (int i = 0; i < components.size(); i++) {
       ShipComponent comp = components.get(i);
@@ -675,6 +777,14 @@ private int getRemainingEnergy(final int index) {
    * @return Speed
    */
   public int getSpeed() {
+    return getStat(STAT_SPEED);
+  }
+
+  /**
+   * Calculate Speed depending on hull points and energy level
+   * @return Speed
+   */
+  private int calculateSpeed() {
     int speed = 0;
     for (int i = 0; i < components.size(); i++) {
       ShipComponent comp = components.get(i);
@@ -695,6 +805,14 @@ private int getRemainingEnergy(final int index) {
    * @return Speed
    */
   public int getTacticSpeed() {
+    return getStat(STAT_TACTIC_SPEED);
+  }
+
+  /**
+   * Calculate tactic Speed depending on hull points and energy level
+   * @return Speed
+   */
+  private int calculateTacticSpeed() {
     int speed = 0;
     boolean thrusters = false;
     for (int i = 0; i < components.size(); i++) {
@@ -764,6 +882,14 @@ private int getRemainingEnergy(final int index) {
    * @return Speed
    */
   public int getFtlSpeed() {
+    return getStat(STAT_FTL_SPEED);
+  }
+
+  /**
+   * Calculate FTL Speed depending on hull points and energy level
+   * @return Speed
+   */
+  private int calculateFtlSpeed() {
     int ftlSpeed = 0;
     for (int i = 0; i < components.size(); i++) {
       ShipComponent comp = components.get(i);
@@ -896,6 +1022,14 @@ private int getRemainingEnergy(final int index) {
    * @return scanner Lvl
    */
   public int getScannerLvl() {
+    return getStat(STAT_SCANNER_LVL);
+  }
+
+  /**
+   * Calculate Scanner level
+   * @return scanner Lvl
+   */
+  private int calculateScannerLvl() {
     int scannerLvl = 0;
     for (int i = 0; i < components.size(); i++) {
       ShipComponent comp = components.get(i);
@@ -912,6 +1046,14 @@ private int getRemainingEnergy(final int index) {
    * @return scanner detection level
    */
   public int getScannerDetectionLvl() {
+    return getStat(STAT_SCANNER_DETECTION_LVL);
+  }
+
+  /**
+   * Calculate Scanner cloak detection level
+   * @return scanner detection level
+   */
+  private int calculateScannerDetectionLvl() {
     int scannerDetectionLvl = 0;
     for (int i = 0; i < components.size(); i++) {
       ShipComponent comp = components.get(i);
@@ -930,6 +1072,14 @@ private int getRemainingEnergy(final int index) {
    * @return cloaking value
    */
   public int getCloakingValue() {
+    return getStat(STAT_CLOAKING_VALUE);
+  }
+
+  /**
+   * Calculate cloaking value
+   * @return cloaking value
+   */
+  private int calculateCloakingValue() {
     int cloak = 0;
     for (int i = 0; i < components.size(); i++) {
       ShipComponent comp = components.get(i);
@@ -1006,6 +1156,7 @@ private int increaseHitChanceByComponent() {
     int hp = hullPoints[componentPos[target]];
     hullPoints[componentPos[target]] = hullPoints[componentPos[target]]
         - damage;
+    statsChanged();
     if (hullPoints[componentPos[target]] < 0) {
       // No negative hull points to components
       hullPoints[componentPos[target]] = 0;
@@ -1044,6 +1195,7 @@ private int increaseHitChanceByComponent() {
         }
       }
     }
+    statsChanged();
     initializeShieldAndArmor();
   }
 
@@ -1252,6 +1404,7 @@ private int increaseHitChanceByComponent() {
   public void oneDamage(final int index) {
     if (index >= 0 && index < hullPoints.length && hullPoints[index] > 0) {
       hullPoints[index]--;
+      statsChanged();
     }
   }
   /**
@@ -1548,6 +1701,7 @@ private int increaseHitChanceByComponent() {
       components.add(newComponents[i]);
       hullPoints[i] = getHull().getSlotHull();
     }
+    statsChanged();
   }
   /**
    * Get ship's hull
@@ -1914,11 +2068,20 @@ private int increaseHitChanceByComponent() {
     return false;
   }
   /**
-   * Calculate military power of design. Design needs to have at least single
+   * Get military power of ship. Ship needs to have at least single
    * weapon to be a military ship
    * @return Military power
    */
   public int getTotalMilitaryPower() {
+    return getStat(STAT_MILITARY_POWER);
+  }
+
+  /**
+   * Calculate military power of design. Design needs to have at least single
+   * weapon to be a military ship
+   * @return Military power
+   */
+  private int calculateTotalMilitaryPower() {
     double power = 0;
     boolean militaryShip = false;
     power = getHull().getSlotHull() * getHull().getMaxSlot();
@@ -1997,6 +2160,140 @@ private int increaseHitChanceByComponent() {
     return (int) Math.round(power);
   }
 
+  /**
+   * Calculate stat without cached value.
+   * @param stat Stat to calculate, see STAT_*
+   * @return Stat value
+   */
+  private int calculateStat(final int stat) {
+    switch (stat) {
+    case STAT_MILITARY_POWER:
+      return calculateTotalMilitaryPower();
+    case STAT_SCANNER_LVL:
+      return calculateScannerLvl();
+    case STAT_SCANNER_DETECTION_LVL:
+      return calculateScannerDetectionLvl();
+    case STAT_CLOAKING_VALUE:
+      return calculateCloakingValue();
+    case STAT_SPEED:
+      return calculateSpeed();
+    case STAT_TACTIC_SPEED:
+      return calculateTacticSpeed();
+    case STAT_FTL_SPEED:
+      return calculateFtlSpeed();
+    case STAT_TOTAL_ENERGY:
+      return calculateTotalEnergy();
+    default:
+      throw new IllegalArgumentException("Unknown ship stat: " + stat);
+    }
+  }
+
+  /**
+   * Get stat from cache or calculate and cache it. Cached stats are
+   * cleared when hull points, components or flags change.
+   * @param stat Stat to get, see STAT_*
+   * @return Stat value
+   */
+  private int getStat(final int stat) {
+    if (cachedStats == null) {
+      cachedStats = new int[CACHED_STATS];
+    }
+    int mask = 1 << stat;
+    if ((cachedStatsMask & mask) != 0) {
+      int result = cachedStats[stat];
+      if (statsCacheCheck) {
+        result = checkCachedStat(stat, result, calculateStat(stat));
+      }
+      return result;
+    }
+    int result = calculateStat(stat);
+    cachedStats[stat] = result;
+    cachedStatsMask = cachedStatsMask | mask;
+    return result;
+  }
+
+  /**
+   * Compare cached stat against recalculated value and log if they
+   * differ.
+   * @param stat Stat which was checked
+   * @param cached Cached value
+   * @param calculated Recalculated value
+   * @return Recalculated value
+   */
+  private int checkCachedStat(final int stat, final int cached,
+      final int calculated) {
+    if (cached != calculated) {
+      statsCacheMismatches++;
+      ErrorLogger.log("Ship stat cache mismatch on " + getName()
+          + " for stat " + stat + ": cached " + cached + ", calculated "
+          + calculated);
+    }
+    return calculated;
+  }
+
+  /**
+   * Clear cached stats and bump stats modification stamp.
+   */
+  private void statsChanged() {
+    cachedStatsMask = 0;
+    statsStamp++;
+    if (fleet != null) {
+      fleet.shipStatsChanged();
+    }
+  }
+
+  /**
+   * Set fleet where ship belongs. Fleet is notified when ship's stats
+   * change.
+   * @param fleet Fleet or null
+   */
+  public void setFleet(final Fleet fleet) {
+    this.fleet = fleet;
+  }
+
+  /**
+   * Get fleet where ship belongs.
+   * @return Fleet or null
+   */
+  public Fleet getFleet() {
+    return fleet;
+  }
+
+  /**
+   * Get stats modification stamp. Stamp changes every time when hull
+   * points, components or flags change, so it can be used for validating
+   * values derived from ship's stats.
+   * @return Stats modification stamp
+   */
+  public int getStatsStamp() {
+    return statsStamp;
+  }
+
+  /**
+   * Enable or disable checking cached ship stats against recalculation.
+   * This is meant for debugging.
+   * @param check True to check cached values
+   */
+  public static void setStatsCacheCheck(final boolean check) {
+    statsCacheCheck = check;
+  }
+
+  /**
+   * Get how many times cached ship stat has differed from
+   * recalculation since stats cache check was enabled.
+   * @return Number of mismatches
+   */
+  public static int getStatsCacheMismatches() {
+    return statsCacheMismatches;
+  }
+
+  /**
+   * Reset ship stats cache mismatch counter.
+   */
+  public static void resetStatsCacheMismatches() {
+    statsCacheMismatches = 0;
+  }
+
   /**
    * Get Ship's experience
    * @return Experience value
@@ -2035,6 +2332,7 @@ private int increaseHitChanceByComponent() {
    * @param value True to set and false to disable
    */
   public void setFlag(final int flag, final boolean value) {
+    int oldFlags = specialFlags;
     if (value) {
       int bitmask = flag;
       specialFlags = specialFlags | bitmask;
@@ -2042,6 +2340,9 @@ private int increaseHitChanceByComponent() {
       int bitmask = ~flag;
       specialFlags = specialFlags & bitmask;
     }
+    if (oldFlags != specialFlags) {
+      statsChanged();
+    }
   }
 
   /**
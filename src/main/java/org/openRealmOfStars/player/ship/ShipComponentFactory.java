@@ -1,5 +1,10 @@
 package org.openRealmOfStars.player.ship;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 import org.openRealmOfStars.utilities.ErrorLogger;
 
 /**
@@ -41,6 +46,11 @@ public final class ShipComponentFactory {
    */
   private static final int MAX_SHIPCOMPONENT = 208;
 
+  /**
+   * Component index by normalized component name. Built on first use.
+   */
+  private static Map<String, Integer> indexByName;
+
   /**
    * Component Ion drive Mk1
    */
@@ -1026,24 +1036,68 @@ public final class ShipComponentFactory {
    * Component Ascension portal scanner Mk3
    */
   public static final int COMPONENT_ASCENSION_PORTAL_SCANNER_MK3 = 207;
-/**
+  /**
+   * Normalize component name for name index.
+   * @param name Ship component name
+   * @return Normalized name
+   */
+  private static String normalizeName(final String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Get component index by normalized name. Index is built once by
+   * creating each component.
+   * @return Unmodifiable map from normalized name to component index
+   */
+  private static synchronized Map<String, Integer> getNameIndex() {
+    if (indexByName == null) {
+      HashMap<String, Integer> map = new HashMap<>();
+      for (int i = 0; i < MAX_SHIPCOMPONENT; i++) {
+        ShipComponent tmp = create(i);
+        if (tmp != null) {
+          String key = normalizeName(tmp.getName());
+          if (!map.containsKey(key)) {
+            map.put(key, i);
+          }
+        }
+      }
+      indexByName = Collections.unmodifiableMap(map);
+    }
+    return indexByName;
+  }
+
+  /**
+   * Get ShipComponent index with matching name
+   * @param name Ship component name
+   * @return Component index or -1 if not found
+   */
+  public static int getIndexByName(final String name) {
+    if (name == null) {
+      return -1;
+    }
+    Integer index = getNameIndex().get(normalizeName(name));
+    if (index == null) {
+      return -1;
+    }
+    return index.intValue();
+  }
+
+  /**
    * Create ShipComponent with matching name
    * @param name Ship component name
    * @return ShipComponent or null if not found
    */
   public static ShipComponent createByName(final String name) {
-    ShipComponent tmp = null;
     if (name == null) {
       return null;
     }
-    for (int i = 0; i < MAX_SHIPCOMPONENT; i++) {
-      tmp = create(i);
-      if (tmp != null && tmp.getName().equalsIgnoreCase(name)) {
-        return tmp;
-      }
+    int index = getIndexByName(name);
+    if (index == -1) {
+      ErrorLogger.log("Could not find component called '" + name + "'");
+      return null;
     }
-    ErrorLogger.log("Could not find component called '" + name + "'");
-    return null;
+    return create(index);
   }
 
   /**
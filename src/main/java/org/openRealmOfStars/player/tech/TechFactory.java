@@ -1,6 +1,9 @@
 package org.openRealmOfStars.player.tech;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.openRealmOfStars.gui.icons.Icons;
 import org.openRealmOfStars.player.SpaceRace.SpaceRace;
@@ -517,47 +520,11 @@ public final class TechFactory {
       "Cloaking device Mk6", "Planetary scanner Mk5", "Espionage module Mk5" };
 
   /**
-   * Find technology with certain name.
-   * @param name Technology name look for.
-   * @return Tech if found or null.
-   */
-  public static Tech findTech(final String name) {
-    Tech tech = null;
-    for (int i = 1; i < 11; i++) {
-      tech = createCombatTech(name, i);
-      if (tech != null) {
-        return tech;
-      }
-      tech = createDefenseTech(name, i);
-      if (tech != null) {
-        return tech;
-      }
-      tech = createHullTech(name, i);
-      if (tech != null) {
-        return tech;
-      }
-      tech = createPropulsionTech(name, i);
-      if (tech != null) {
-        return tech;
-      }
-      tech = createImprovementTech(name, i);
-      if (tech != null) {
-        return tech;
-      }
-      tech = createElectronicsTech(name, i);
-      if (tech != null) {
-        return tech;
-      }
-    }
-    return null;
-  }
-  /**
-   * Create combat tech with certain name and level
-   * @param name Tech Name
+   * Get combat tech names for certain level, including rare techs.
    * @param level level between 1-10
-   * @return Tech or null if match not found
+   * @return Tech names or null if level is invalid
    */
-  public static Tech createCombatTech(final String name, final int level) {
+  private static String[] getCombatTechNames(final int level) {
     String[] list;
     switch (level) {
     case 1:
@@ -601,6 +568,335 @@ public final class TechFactory {
     default:
       return null;
     }
+    return list;
+  }
+
+  /**
+   * Get defense tech names for certain level, including rare techs.
+   * @param level level between 1-10
+   * @return Tech names or null if level is invalid
+   */
+  private static String[] getDefenseTechNames(final int level) {
+    String[] list;
+    switch (level) {
+    case 1:
+      list = DEFENSE_TECH_LEVEL1_NAMES;
+      break;
+    case 2:
+      list = DEFENSE_TECH_LEVEL2_NAMES;
+      break;
+    case 3:
+      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL3_NAMES,
+          DEFENSE_RARE_TECH_LEVEL3_NAMES);
+      break;
+    case 4:
+      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL4_NAMES,
+          DEFENSE_RARE_TECH_LEVEL4_NAMES);
+      break;
+    case 5:
+      list = DEFENSE_TECH_LEVEL5_NAMES;
+      break;
+    case 6:
+      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL6_NAMES,
+          DEFENSE_RARE_TECH_LEVEL6_NAMES);
+      break;
+    case 7:
+      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL7_NAMES,
+          DEFENSE_RARE_TECH_LEVEL7_NAMES);
+      break;
+    case 8:
+      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL8_NAMES,
+          DEFENSE_RARE_TECH_LEVEL8_NAMES);
+      break;
+    case 9:
+      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL9_NAMES,
+          DEFENSE_RARE_TECH_LEVEL9_NAMES);
+      break;
+    case 10:
+      list = DEFENSE_TECH_LEVEL10_NAMES;
+      break;
+    default:
+      return null;
+    }
+    return list;
+  }
+
+  /**
+   * Get hull tech names for certain level, including rare techs.
+   * @param level level between 1-10
+   * @return Tech names or null if level is invalid
+   */
+  private static String[] getHullTechNames(final int level) {
+    String[] list;
+    switch (level) {
+    case 1:
+      list = HULL_TECH_LEVEL1_NAMES;
+      break;
+    case 2:
+      list = HULL_TECH_LEVEL2_NAMES;
+      break;
+    case 3:
+      list = TextUtilities.concanateStringArrays(HULL_TECH_LEVEL3_NAMES,
+          HULL_RARE_TECH_LEVEL3_NAMES);
+      break;
+    case 4:
+      list = HULL_TECH_LEVEL4_NAMES;
+      break;
+    case 5:
+      list = TextUtilities.concanateStringArrays(HULL_TECH_LEVEL5_NAMES,
+          HULL_RARE_TECH_LEVEL5_NAMES);
+      break;
+    case 6:
+      list = HULL_TECH_LEVEL6_NAMES;
+      break;
+    case 7:
+      list = TextUtilities.concanateStringArrays(HULL_TECH_LEVEL7_NAMES,
+          HULL_RARE_TECH_LEVEL7_NAMES);
+      break;
+    case 8:
+      list = HULL_TECH_LEVEL8_NAMES;
+      break;
+    case 9:
+      list = HULL_TECH_LEVEL9_NAMES;
+      break;
+    case 10:
+      list = HULL_TECH_LEVEL10_NAMES;
+      break;
+    default:
+      return null;
+    }
+    return list;
+  }
+
+  /**
+   * Get improvement tech names for certain level, including rare techs.
+   * @param level level between 1-10
+   * @return Tech names or null if level is invalid
+   */
+  private static String[] getImprovementTechNames(final int level) {
+    String[] list;
+    switch (level) {
+    case 1:
+      list = IMPROVEMENT_TECH_LEVEL1_NAMES;
+      break;
+    case 2:
+      list = IMPROVEMENT_TECH_LEVEL2_NAMES;
+      break;
+    case 3:
+      list = TextUtilities.concanateStringArrays(IMPROVEMENT_TECH_LEVEL3_NAMES,
+          IMPROVEMENT_RARE_TECH_LEVEL3_NAMES);
+      break;
+    case 4:
+      list = TextUtilities.concanateStringArrays(IMPROVEMENT_TECH_LEVEL4_NAMES,
+          IMPROVEMENT_RARE_TECH_LEVEL4_NAMES);
+      break;
+    case 5:
+      list = IMPROVEMENT_TECH_LEVEL5_NAMES;
+      break;
+    case 6:
+      list = IMPROVEMENT_TECH_LEVEL6_NAMES;
+      break;
+    case 7:
+      list = TextUtilities.concanateStringArrays(IMPROVEMENT_TECH_LEVEL7_NAMES,
+          IMPROVEMENT_RARE_TECH_LEVEL7_NAMES);
+      break;
+    case 8:
+      list = IMPROVEMENT_TECH_LEVEL8_NAMES;
+      break;
+    case 9:
+      list = TextUtilities.concanateStringArrays(IMPROVEMENT_TECH_LEVEL9_NAMES,
+          IMPROVEMENT_RARE_TECH_LEVEL9_NAMES);
+      break;
+    case 10:
+      list = IMPROVEMENT_TECH_LEVEL10_NAMES;
+      break;
+    default:
+      return null;
+    }
+    return list;
+  }
+
+  /**
+   * Get propulsion tech names for certain level, including rare techs.
+   * @param level level between 1-10
+   * @return Tech names or null if level is invalid
+   */
+  private static String[] getPropulsionTechNames(final int level) {
+    String[] list;
+    switch (level) {
+    case 1:
+      list = PROPULSION_TECH_LEVEL1_NAMES;
+      break;
+    case 2:
+      list = PROPULSION_TECH_LEVEL2_NAMES;
+      break;
+    case 3:
+      list = PROPULSION_TECH_LEVEL3_NAMES;
+      break;
+    case 4:
+      list = PROPULSION_TECH_LEVEL4_NAMES;
+      break;
+    case 5:
+      list = TextUtilities.concanateStringArrays(PROPULSION_TECH_LEVEL5_NAMES,
+          PROPULSION_RARE_TECH_LEVEL5_NAMES);
+      break;
+    case 6:
+      list = PROPULSION_TECH_LEVEL6_NAMES;
+      break;
+    case 7:
+      list = PROPULSION_TECH_LEVEL7_NAMES;
+      break;
+    case 8:
+      list = TextUtilities.concanateStringArrays(PROPULSION_TECH_LEVEL8_NAMES,
+          PROPULSION_RARE_TECH_LEVEL8_NAMES);
+      break;
+    case 9:
+      list = PROPULSION_TECH_LEVEL9_NAMES;
+      break;
+    case 10:
+      list = TextUtilities.concanateStringArrays(PROPULSION_TECH_LEVEL10_NAMES,
+          PROPULSION_RARE_TECH_LEVEL10_NAMES);
+      break;
+    default:
+      return null;
+    }
+    return list;
+  }
+
+  /**
+   * Get electronics tech names for certain level, including rare techs.
+   * @param level level between 1-10
+   * @return Tech names or null if level is invalid
+   */
+  private static String[] getElectronicsTechNames(final int level) {
+    String[] list;
+    switch (level) {
+    case 1:
+      list = ELECTRONICS_TECH_LEVEL1_NAMES;
+      break;
+    case 2:
+      list = ELECTRONICS_TECH_LEVEL2_NAMES;
+      break;
+    case 3:
+      list = TextUtilities.concanateStringArrays(ELECTRONICS_TECH_LEVEL3_NAMES,
+          ELECTRONICS_RARE_TECH_LEVEL3_NAMES);
+      break;
+    case 4:
+      list = TextUtilities.concanateStringArrays(ELECTRONICS_TECH_LEVEL4_NAMES,
+          ELECTRONICS_RARE_TECH_LEVEL4_NAMES);
+      break;
+    case 5:
+      list = ELECTRONICS_TECH_LEVEL5_NAMES;
+      break;
+    case 6:
+      list = TextUtilities.concanateStringArrays(ELECTRONICS_TECH_LEVEL6_NAMES,
+          ELECTRONICS_RARE_TECH_LEVEL6_NAMES);
+      break;
+    case 7:
+      list = ELECTRONICS_TECH_LEVEL7_NAMES;
+      break;
+    case 8:
+      list = TextUtilities.concanateStringArrays(ELECTRONICS_TECH_LEVEL8_NAMES,
+          ELECTRONICS_RARE_TECH_LEVEL8_NAMES);
+      break;
+    case 9:
+      list = ELECTRONICS_TECH_LEVEL9_NAMES;
+      break;
+    case 10:
+      list = ELECTRONICS_TECH_LEVEL10_NAMES;
+      break;
+    default:
+      return null;
+    }
+    return list;
+  }
+  /**
+   * Tech types in order they are searched for each level.
+   */
+  private static final TechType[] SEARCH_ORDER = {TechType.Combat,
+      TechType.Defense, TechType.Hulls, TechType.Propulsion,
+      TechType.Improvements, TechType.Electrics};
+
+  /**
+   * Tech type and level by tech name. Built on first use.
+   */
+  private static Map<String, TechKey> techByName;
+
+  /**
+   * Get tech names for certain type and level, including rare techs.
+   * @param type Tech type
+   * @param level level between 1-10
+   * @return Tech names or null if level or type is invalid
+   */
+  private static String[] getTechNames(final TechType type,
+      final int level) {
+    switch (type) {
+    case Combat:
+      return getCombatTechNames(level);
+    case Defense:
+      return getDefenseTechNames(level);
+    case Hulls:
+      return getHullTechNames(level);
+    case Improvements:
+      return getImprovementTechNames(level);
+    case Propulsion:
+      return getPropulsionTechNames(level);
+    case Electrics:
+      return getElectronicsTechNames(level);
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Get tech type and level by tech name. If same name is on several
+   * lists, first one in search order is used.
+   * @return Unmodifiable map from tech name to tech type and level
+   */
+  private static synchronized Map<String, TechKey> getTechIndex() {
+    if (techByName == null) {
+      HashMap<String, TechKey> map = new HashMap<>();
+      for (int level = 1; level < 11; level++) {
+        for (TechType type : SEARCH_ORDER) {
+          String[] list = getTechNames(type, level);
+          if (list == null) {
+            continue;
+          }
+          for (String techName : list) {
+            if (!map.containsKey(techName)) {
+              map.put(techName, new TechKey(type, level));
+            }
+          }
+        }
+      }
+      techByName = Collections.unmodifiableMap(map);
+    }
+    return techByName;
+  }
+
+  /**
+   * Find technology with certain name.
+   * @param name Technology name look for.
+   * @return Tech if found or null.
+   */
+  public static Tech findTech(final String name) {
+    TechKey key = getTechIndex().get(name);
+    if (key == null) {
+      return null;
+    }
+    return createTech(key.type, key.level, name);
+  }
+  /**
+   * Create combat tech with certain name and level
+   * @param name Tech Name
+   * @param level level between 1-10
+   * @return Tech or null if match not found
+   */
+  public static Tech createCombatTech(final String name, final int level) {
+    String[] list = getCombatTechNames(level);
+    if (list == null) {
+      return null;
+    }
     for (int i = 0; i < list.length; i++) {
       String techName = list[i];
       if (name.equals(techName)) {
@@ -701,45 +997,8 @@ public final class TechFactory {
    * @return Tech or null if match not found
    */
   public static Tech createDefenseTech(final String name, final int level) {
-    String[] list;
-    switch (level) {
-    case 1:
-      list = DEFENSE_TECH_LEVEL1_NAMES;
-      break;
-    case 2:
-      list = DEFENSE_TECH_LEVEL2_NAMES;
-      break;
-    case 3:
-      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL3_NAMES,
-          DEFENSE_RARE_TECH_LEVEL3_NAMES);
-      break;
-    case 4:
-      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL4_NAMES,
-          DEFENSE_RARE_TECH_LEVEL4_NAMES);
-      break;
-    case 5:
-      list = DEFENSE_TECH_LEVEL5_NAMES;
-      break;
-    case 6:
-      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL6_NAMES,
-          DEFENSE_RARE_TECH_LEVEL6_NAMES);
-      break;
-    case 7:
-      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL7_NAMES,
-          DEFENSE_RARE_TECH_LEVEL7_NAMES);
-      break;
-    case 8:
-      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL8_NAMES,
-          DEFENSE_RARE_TECH_LEVEL8_NAMES);
-      break;
-    case 9:
-      list = TextUtilities.concanateStringArrays(DEFENSE_TECH_LEVEL9_NAMES,
-          DEFENSE_RARE_TECH_LEVEL9_NAMES);
-      break;
-    case 10:
-      list = DEFENSE_TECH_LEVEL10_NAMES;
-      break;
-    default:
+    String[] list = getDefenseTechNames(level);
+    if (list == null) {
       return null;
     }
     for (int i = 0; i < list.length; i++) {
@@ -840,42 +1099,8 @@ public final class TechFactory {
    * @return Tech or null if match not found
    */
   public static Tech createHullTech(final String name, final int level) {
-    String[] list;
-    switch (level) {
-    case 1:
-      list = HULL_TECH_LEVEL1_NAMES;
-      break;
-    case 2:
-      list = HULL_TECH_LEVEL2_NAMES;
-      break;
-    case 3:
-      list = TextUtilities.concanateStringArrays(HULL_TECH_LEVEL3_NAMES,
-          HULL_RARE_TECH_LEVEL3_NAMES);
-      break;
-    case 4:
-      list = HULL_TECH_LEVEL4_NAMES;
-      break;
-    case 5:
-      list = TextUtilities.concanateStringArrays(HULL_TECH_LEVEL5_NAMES,
-          HULL_RARE_TECH_LEVEL5_NAMES);
-      break;
-    case 6:
-      list = HULL_TECH_LEVEL6_NAMES;
-      break;
-    case 7:
-      list = TextUtilities.concanateStringArrays(HULL_TECH_LEVEL7_NAMES,
-          HULL_RARE_TECH_LEVEL7_NAMES);
-      break;
-    case 8:
-      list = HULL_TECH_LEVEL8_NAMES;
-      break;
-    case 9:
-      list = HULL_TECH_LEVEL9_NAMES;
-      break;
-    case 10:
-      list = HULL_TECH_LEVEL10_NAMES;
-      break;
-    default:
+    String[] list = getHullTechNames(level);
+    if (list == null) {
       return null;
     }
     for (int i = 0; i < list.length; i++) {
@@ -933,43 +1158,8 @@ public final class TechFactory {
    * @return Tech or null if match not found
    */
   public static Tech createImprovementTech(final String name, final int level) {
-    String[] list;
-    switch (level) {
-    case 1:
-      list = IMPROVEMENT_TECH_LEVEL1_NAMES;
-      break;
-    case 2:
-      list = IMPROVEMENT_TECH_LEVEL2_NAMES;
-      break;
-    case 3:
-      list = TextUtilities.concanateStringArrays(IMPROVEMENT_TECH_LEVEL3_NAMES,
-          IMPROVEMENT_RARE_TECH_LEVEL3_NAMES);
-      break;
-    case 4:
-      list = TextUtilities.concanateStringArrays(IMPROVEMENT_TECH_LEVEL4_NAMES,
-          IMPROVEMENT_RARE_TECH_LEVEL4_NAMES);
-      break;
-    case 5:
-      list = IMPROVEMENT_TECH_LEVEL5_NAMES;
-      break;
-    case 6:
-      list = IMPROVEMENT_TECH_LEVEL6_NAMES;
-      break;
-    case 7:
-      list = TextUtilities.concanateStringArrays(IMPROVEMENT_TECH_LEVEL7_NAMES,
-          IMPROVEMENT_RARE_TECH_LEVEL7_NAMES);
-      break;
-    case 8:
-      list = IMPROVEMENT_TECH_LEVEL8_NAMES;
-      break;
-    case 9:
-      list = TextUtilities.concanateStringArrays(IMPROVEMENT_TECH_LEVEL9_NAMES,
-          IMPROVEMENT_RARE_TECH_LEVEL9_NAMES);
-      break;
-    case 10:
-      list = IMPROVEMENT_TECH_LEVEL10_NAMES;
-      break;
-    default:
+    String[] list = getImprovementTechNames(level);
+    if (list == null) {
       return null;
     }
     for (int i = 0; i < list.length; i++) {
@@ -1085,42 +1275,8 @@ public final class TechFactory {
    * @return Tech or null if match not found
    */
   public static Tech createPropulsionTech(final String name, final int level) {
-    String[] list;
-    switch (level) {
-    case 1:
-      list = PROPULSION_TECH_LEVEL1_NAMES;
-      break;
-    case 2:
-      list = PROPULSION_TECH_LEVEL2_NAMES;
-      break;
-    case 3:
-      list = PROPULSION_TECH_LEVEL3_NAMES;
-      break;
-    case 4:
-      list = PROPULSION_TECH_LEVEL4_NAMES;
-      break;
-    case 5:
-      list = TextUtilities.concanateStringArrays(PROPULSION_TECH_LEVEL5_NAMES,
-          PROPULSION_RARE_TECH_LEVEL5_NAMES);
-      break;
-    case 6:
-      list = PROPULSION_TECH_LEVEL6_NAMES;
-      break;
-    case 7:
-      list = PROPULSION_TECH_LEVEL7_NAMES;
-      break;
-    case 8:
-      list = TextUtilities.concanateStringArrays(PROPULSION_TECH_LEVEL8_NAMES,
-          PROPULSION_RARE_TECH_LEVEL8_NAMES);
-      break;
-    case 9:
-      list = PROPULSION_TECH_LEVEL9_NAMES;
-      break;
-    case 10:
-      list = TextUtilities.concanateStringArrays(PROPULSION_TECH_LEVEL10_NAMES,
-          PROPULSION_RARE_TECH_LEVEL10_NAMES);
-      break;
-    default:
+    String[] list = getPropulsionTechNames(level);
+    if (list == null) {
       return null;
     }
     for (int i = 0; i < list.length; i++) {
@@ -1156,43 +1312,8 @@ public final class TechFactory {
    * @return Tech or null if match not found
    */
   public static Tech createElectronicsTech(final String name, final int level) {
-    String[] list;
-    switch (level) {
-    case 1:
-      list = ELECTRONICS_TECH_LEVEL1_NAMES;
-      break;
-    case 2:
-      list = ELECTRONICS_TECH_LEVEL2_NAMES;
-      break;
-    case 3:
-      list = TextUtilities.concanateStringArrays(ELECTRONICS_TECH_LEVEL3_NAMES,
-          ELECTRONICS_RARE_TECH_LEVEL3_NAMES);
-      break;
-    case 4:
-      list = TextUtilities.concanateStringArrays(ELECTRONICS_TECH_LEVEL4_NAMES,
-          ELECTRONICS_RARE_TECH_LEVEL4_NAMES);
-      break;
-    case 5:
-      list = ELECTRONICS_TECH_LEVEL5_NAMES;
-      break;
-    case 6:
-      list = TextUtilities.concanateStringArrays(ELECTRONICS_TECH_LEVEL6_NAMES,
-          ELECTRONICS_RARE_TECH_LEVEL6_NAMES);
-      break;
-    case 7:
-      list = ELECTRONICS_TECH_LEVEL7_NAMES;
-      break;
-    case 8:
-      list = TextUtilities.concanateStringArrays(ELECTRONICS_TECH_LEVEL8_NAMES,
-          ELECTRONICS_RARE_TECH_LEVEL8_NAMES);
-      break;
-    case 9:
-      list = ELECTRONICS_TECH_LEVEL9_NAMES;
-      break;
-    case 10:
-      list = ELECTRONICS_TECH_LEVEL10_NAMES;
-      break;
-    default:
+    String[] list = getElectronicsTechNames(level);
+    if (list == null) {
       return null;
     }
     for (int i = 0; i < list.length; i++) {
@@ -1872,4 +1993,29 @@ public final class TechFactory {
     return possibleTechs;
   }
 
+  /**
+   * Tech type and level of single tech name.
+   */
+  private static final class TechKey {
+
+    /**
+     * Tech type
+     */
+    private final TechType type;
+
+    /**
+     * Tech level
+     */
+    private final int level;
+
+    /**
+     * Constructor for tech key
+     * @param type Tech type
+     * @param level Tech level
+     */
+    TechKey(final TechType type, final int level) {
+      this.type = type;
+      this.level = level;
+    }
+  }
 }
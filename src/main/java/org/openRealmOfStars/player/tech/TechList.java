@@ -148,6 +148,26 @@ public class TechList {
 
   }
 
+  /**
+   * Copy constructor for TechList. Techs are shared with the source,
+   * but lists are copied so adding techs to copy does not change
+   * the source.
+   * @param source TechList to copy
+   */
+  public TechList(final TechList source) {
+    this(source.race);
+    for (int i = 0; i < MAX_TECH_TYPES; i++) {
+      for (int j = 0; j < MAX_TECH_LEVEL; j++) {
+        for (Tech tech : source.techList[i][j].getList()) {
+          techList[i][j].addTech(tech);
+        }
+      }
+    }
+    techLevels = source.techLevels.clone();
+    techFocus = source.techFocus.clone();
+    techResearchPoint = source.techResearchPoint.clone();
+  }
+
   /**
    * Read TechList from DataInputStream
    * @param dis DataInputStream
@@ -819,6 +839,20 @@ public class TechList {
     return list.toArray(new Tech[list.size()]);
   }
 
+  /**
+   * Get number of researched techs without building the full list.
+   * @return Number of techs
+   */
+  public int getTechCount() {
+    int count = 0;
+    for (int j = 0; j < MAX_TECH_TYPES; j++) {
+      for (int i = 0; i < MAX_TECH_LEVEL; i++) {
+        count = count + techList[j][i].getTechCount();
+      }
+    }
+    return count;
+  }
+
   /**
    * Fine tune value for tech focus
    */
@@ -154,4 +154,12 @@ public class TechListForLevel {
   public Tech[] getList() {
     return techList.toArray(new Tech[techList.size()]);
   }
+
+  /**
+   * Get number of researched techs
+   * @return Number of techs
+   */
+  public int getTechCount() {
+    return techList.size();
+  }
 }
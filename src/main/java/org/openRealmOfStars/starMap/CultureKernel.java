@@ -0,0 +1,472 @@
+package org.openRealmOfStars.starMap;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Precompiled culture stamp kernels. Each culture level has mask which
+ * tells how much culture each sector around the source gets. Masks are
+ * compiled once into primitive offset and weight arrays, so stamping
+ * culture does not need to parse anything.
+ *
+ */
+public final class CultureKernel {
+
+  /**
+   * Weight for full culture value
+   */
+  private static final int WEIGHT_FULL = 0;
+  /**
+   * Weight for half of culture value
+   */
+  private static final int WEIGHT_HALF = 1;
+  /**
+   * Weight for two thirds of culture value
+   */
+  private static final int WEIGHT_TWO_THIRDS = 2;
+  /**
+   * Weight for three quarters of culture value
+   */
+  private static final int WEIGHT_THREE_QUARTERS = 3;
+
+  /**
+   * Culture level 0
+   */
+  private static final int CULTURE_LEVEL_0 = 1;
+  /**
+   * Culture level 1
+   */
+  private static final int CULTURE_LEVEL_1 = 5;
+  /**
+   * Culture level 2
+   */
+  private static final int CULTURE_LEVEL_2 = 10;
+  /**
+   * Culture level 3
+   */
+  private static final int CULTURE_LEVEL_3 = 20;
+  /**
+   * Culture level 4
+   */
+  private static final int CULTURE_LEVEL_4 = 40;
+  /**
+   * Culture level 5
+   */
+  private static final int CULTURE_LEVEL_5 = 80;
+  /**
+   * Culture level 6
+   */
+  private static final int CULTURE_LEVEL_6 = 160;
+  /**
+   * Culture level 7
+   */
+  private static final int CULTURE_LEVEL_7 = 320;
+  /**
+   * Culture level 8
+   */
+  private static final int CULTURE_LEVEL_8 = 640;
+  /**
+   * Culture level 9
+   */
+  private static final int CULTURE_LEVEL_9 = 1280;
+
+  /**
+   * Maximum culture radius
+   */
+  private static final int MAX_CULTURE_RADIUS = 7;
+
+  /**
+   * Culture masks for each level. X is full culture value, 3 is three
+   * quarters, 2 is two thirds and 1 is half of culture value.
+   */
+  private static final String[][] MASKS = {
+    // Level 0, value is exactly one
+    {
+      //       765432101234567
+      /* 7 */"...............",
+      /* 6 */"...............",
+      /* 5 */"...............",
+      /* 4 */"...............",
+      /* 3 */"...............",
+      /* 2 */"...............",
+      /* 1 */"...............",
+      /* 0 */".......X.......",
+      /* 1 */"...............",
+      /* 2 */"...............",
+      /* 3 */"...............",
+      /* 4 */"...............",
+      /* 5 */"...............",
+      /* 6 */"...............",
+      /* 7 */"..............."
+    },
+    // Level 1, value below 5
+    {
+      //       765432101234567
+      /* 7 */"...............",
+      /* 6 */"...............",
+      /* 5 */"...............",
+      /* 4 */"...............",
+      /* 3 */"...............",
+      /* 2 */"...............",
+      /* 1 */".......X.......",
+      /* 0 */"......XXX......",
+      /* 1 */".......X.......",
+      /* 2 */"...............",
+      /* 3 */"...............",
+      /* 4 */"...............",
+      /* 5 */"...............",
+      /* 6 */"...............",
+      /* 7 */"..............."
+    },
+    // Level 2, value below 10
+    {
+      //       765432101234567
+      /* 7 */"...............",
+      /* 6 */"...............",
+      /* 5 */"...............",
+      /* 4 */"...............",
+      /* 3 */"...............",
+      /* 2 */"...............",
+      /* 1 */"......1X1......",
+      /* 0 */"......XXX......",
+      /* 1 */"......1X1......",
+      /* 2 */"...............",
+      /* 3 */"...............",
+      /* 4 */"...............",
+      /* 5 */"...............",
+      /* 6 */"...............",
+      /* 7 */"..............."
+    },
+    // Level 3, value below 20
+    {
+      //       765432101234567
+      /* 7 */"...............",
+      /* 6 */"...............",
+      /* 5 */"...............",
+      /* 4 */"...............",
+      /* 3 */"...............",
+      /* 2 */".......1.......",
+      /* 1 */"......1X1......",
+      /* 0 */".....1XXX1.....",
+      /* 1 */"......1X1......",
+      /* 2 */".......1.......",
+      /* 3 */"...............",
+      /* 4 */"...............",
+      /* 5 */"...............",
+      /* 6 */"...............",
+      /* 7 */"..............."
+    },
+    // Level 4, value below 40
+    {
+      //       765432101234567
+      /* 7 */"...............",
+      /* 6 */"...............",
+      /* 5 */"...............",
+      /* 4 */"...............",
+      /* 3 */".......1.......",
+      /* 2 */"......1X1......",
+      /* 1 */".....1XXX1.....",
+      /* 0 */"....1XXXXX1....",
+      /* 1 */".....1XXX1.....",
+      /* 2 */"......1X1......",
+      /* 3 */".......1.......",
+      /* 4 */"...............",
+      /* 5 */"...............",
+      /* 6 */"...............",
+      /* 7 */"..............."
+    },
+    // Level 5, value below 80
+    {
+      //       765432101234567
+      /* 7 */"...............",
+      /* 6 */"...............",
+      /* 5 */"...............",
+      /* 4 */".......1.......",
+      /* 3 */"......121......",
+      /* 2 */".....12X21.....",
+      /* 1 */"....12XXX21....",
+      /* 0 */"...12XXXXX21...",
+      /* 1 */"....12XXX21....",
+      /* 2 */".....12X21.....",
+      /* 3 */"......121......",
+      /* 4 */".......1.......",
+      /* 5 */"...............",
+      /* 6 */"...............",
+      /* 7 */"..............."
+    },
+    // Level 6, value below 160
+    {
+      //       765432101234567
+      /* 7 */"...............",
+      /* 6 */"...............",
+      /* 5 */"...............",
+      /* 4 */"......121......",
+      /* 3 */".....12X21.....",
+      /* 2 */"....12XXX21....",
+      /* 1 */"...12XXXXX21...",
+      /* 0 */"...2XXXXXXX2...",
+      /* 1 */"...12XXXXX21...",
+      /* 2 */"....12XXX21....",
+      /* 3 */".....12X21.....",
+      /* 4 */"......121......",
+      /* 5 */"...............",
+      /* 6 */"...............",
+      /* 7 */"..............."
+    },
+    // Level 7, value below 320
+    {
+      //       765432101234567
+      /* 7 */"...............",
+      /* 6 */"...............",
+      /* 5 */"......121......",
+      /* 4 */".....12X21.....",
+      /* 3 */"....12XXX21....",
+      /* 2 */"...12XXXXX21...",
+      /* 1 */"..12XXXXXXX21..",
+      /* 0 */"..2XXXXXXXXX2..",
+      /* 1 */"..12XXXXXXX21..",
+      /* 2 */"...12XXXXX21...",
+      /* 3 */"....12XXX21....",
+      /* 4 */".....12X21.....",
+      /* 5 */"......121......",
+      /* 6 */"...............",
+      /* 7 */"..............."
+    },
+    // Level 8, value below 640
+    {
+      //       765432101234567
+      /* 7 */"...............",
+      /* 6 */"......121......",
+      /* 5 */".....12321.....",
+      /* 4 */"....123X321....",
+      /* 3 */"...123XXX321...",
+      /* 2 */"..123XXXXX321..",
+      /* 1 */".123XXXXXXX321.",
+      /* 0 */".23XXXXXXXXX32.",
+      /* 1 */".123XXXXXXX321.",
+      /* 2 */"..123XXXXX321..",
+      /* 3 */"...123XXX321...",
+      /* 4 */"....123X321....",
+      /* 5 */".....12321.....",
+      /* 6 */"......121......",
+      /* 7 */"..............."
+    },
+    // Level 9, value below 1280
+    {
+      //       765432101234567
+      /* 7 */".......1.......",
+      /* 6 */"......121......",
+      /* 5 */"....123X321....",
+      /* 4 */"....2XXXXX2....",
+      /* 3 */"..123XXXXX321..",
+      /* 2 */"..23XXXXXXX32..",
+      /* 1 */".12XXXXXXXXX21.",
+      /* 0 */"123XXXXXXXXX321",
+      /* 1 */".12XXXXXXXXX21.",
+      /* 2 */"..23XXXXXXX32..",
+      /* 3 */"..123XXXXX321..",
+      /* 4 */"....2XXXXX2....",
+      /* 5 */"....123X321....",
+      /* 6 */"......121......",
+      /* 7 */".......1......."
+    },
+    // Level 10, value at least 1280
+    {
+      //       765432101234567
+      /* 7 */"......121......",
+      /* 6 */".....12321.....",
+      /* 5 */"...123XXX321...",
+      /* 4 */"...123XXX321...",
+      /* 3 */".123XXXXXXX321.",
+      /* 2 */".123XXXXXXX321.",
+      /* 1 */"123XXXXXXXXX321",
+      /* 0 */"23XXXXXXXXXXX32",
+      /* 1 */"123XXXXXXXXX321",
+      /* 2 */".123XXXXXXX321.",
+      /* 3 */".123XXXXXXX321.",
+      /* 4 */"...123XXX321...",
+      /* 5 */"...123XXX321...",
+      /* 6 */".....12321.....",
+      /* 7 */"......121......"
+    }
+  };
+
+  /**
+   * Compiled kernels for each level
+   */
+  private static final CultureKernel[] KERNELS = compileKernels();
+
+  /**
+   * Culture level of kernel
+   */
+  private final int level;
+
+  /**
+   * X offsets of sectors getting culture
+   */
+  private final int[] offsetX;
+
+  /**
+   * Y offsets of sectors getting culture
+   */
+  private final int[] offsetY;
+
+  /**
+   * Weights of sectors getting culture
+   */
+  private final int[] weight;
+
+  /**
+   * Compile culture mask into kernel.
+   * @param level Culture level
+   * @param mask Mask rows
+   */
+  private CultureKernel(final int level, final String[] mask) {
+    this.level = level;
+    int count = 0;
+    for (String row : mask) {
+      for (int col = 0; col < row.length(); col++) {
+        if (row.charAt(col) != '.') {
+          count++;
+        }
+      }
+    }
+    offsetX = new int[count];
+    offsetY = new int[count];
+    weight = new int[count];
+    int i = 0;
+    for (int line = 0; line < mask.length; line++) {
+      for (int col = 0; col < mask[line].length(); col++) {
+        char ch = mask[line].charAt(col);
+        if (ch != '.') {
+          offsetX[i] = col - MAX_CULTURE_RADIUS;
+          offsetY[i] = line - MAX_CULTURE_RADIUS;
+          if (ch == '1') {
+            weight[i] = WEIGHT_HALF;
+          } else if (ch == '2') {
+            weight[i] = WEIGHT_TWO_THIRDS;
+          } else if (ch == '3') {
+            weight[i] = WEIGHT_THREE_QUARTERS;
+          } else {
+            weight[i] = WEIGHT_FULL;
+          }
+          i++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Compile all culture masks.
+   * @return Array of kernels indexed by level
+   */
+  private static CultureKernel[] compileKernels() {
+    CultureKernel[] kernels = new CultureKernel[MASKS.length];
+    for (int i = 0; i < MASKS.length; i++) {
+      kernels[i] = new CultureKernel(i, MASKS[i]);
+    }
+    return kernels;
+  }
+
+  /**
+   * Get culture level for culture value.
+   * @param value Culture value
+   * @return Culture level between 0 and 10
+   */
+  public static int getLevel(final int value) {
+    if (value == CULTURE_LEVEL_0) {
+      return 0;
+    } else if (value < CULTURE_LEVEL_1) {
+      return 1;
+    } else if (value < CULTURE_LEVEL_2) {
+      return 2;
+    } else if (value < CULTURE_LEVEL_3) {
+      return 3;
+    } else if (value < CULTURE_LEVEL_4) {
+      return 4;
+    } else if (value < CULTURE_LEVEL_5) {
+      return 5;
+    } else if (value < CULTURE_LEVEL_6) {
+      return 6;
+    } else if (value < CULTURE_LEVEL_7) {
+      return 7;
+    } else if (value < CULTURE_LEVEL_8) {
+      return 8;
+    } else if (value < CULTURE_LEVEL_9) {
+      return 9;
+    }
+    return 10;
+  }
+
+  /**
+   * Get kernel for culture value.
+   * @param value Culture value
+   * @return CultureKernel
+   */
+  public static CultureKernel getKernel(final int value) {
+    return KERNELS[getLevel(value)];
+  }
+
+  /**
+   * Get culture level of kernel
+   * @return Culture level
+   */
+  public int getLevel() {
+    return level;
+  }
+
+  /**
+   * Get number of sectors kernel stamps.
+   * @return Number of sectors
+   */
+  public int getSize() {
+    return weight.length;
+  }
+
+  /**
+   * Stamp culture into culture map. Stamping with negated value removes
+   * earlier stamp, since integer division rounds towards zero.
+   * @param culture Culture map
+   * @param cx Center of culture X coordinate
+   * @param cy Center of culture Y coordinate
+   * @param value Culture value
+   * @param index Player index
+   */
+  void stamp(final CulturePower[][] culture, final int cx, final int cy,
+      final int value, final int index) {
+    int half = value / 2;
+    int twoThirds = value * 2 / 3;
+    int threeQuarters = value * 3 / 4;
+    int maxX = culture.length;
+    for (int i = 0; i < weight.length; i++) {
+      int x = cx + offsetX[i];
+      int y = cy + offsetY[i];
+      if (x >= 0 && y >= 0 && x < maxX && y < culture[x].length) {
+        int adjustValue = value;
+        if (weight[i] == WEIGHT_HALF) {
+          adjustValue = half;
+        } else if (weight[i] == WEIGHT_TWO_THIRDS) {
+          adjustValue = twoThirds;
+        } else if (weight[i] == WEIGHT_THREE_QUARTERS) {
+          adjustValue = threeQuarters;
+        }
+        culture[x][y].addCulture(index, adjustValue);
+      }
+    }
+  }
+}
@@ -0,0 +1,584 @@
+package org.openRealmOfStars.starMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+
+import org.openRealmOfStars.mapTiles.FleetTileInfo;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.PlayerList;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.player.fleet.FleetList;
+import org.openRealmOfStars.player.ship.Ship;
+import org.openRealmOfStars.starMap.planet.Planet;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Fleet tile occupancy index. Index knows which fleets are in each
+ * sector. Fleet lists, fleets, ships and planets notify index when
+ * fleet is added, removed, moved or changed, or when orbital changes.
+ * Only those sectors are calculated again on update. Fleet tile for
+ * single sector depends only on fleets and orbital in that sector,
+ * so result is same as when calculating the whole map.
+ *
+ * Fleet tiles are never modified after they have been returned.
+ * Update creates new array which shares unchanged columns with
+ * previous array, so readers in other threads always see complete
+ * fleet tiles.
+ *
+ */
+public class FleetTileIndex {
+
+  /**
+   * Fleets in sector in same order as when calculating the whole map:
+   * realm index first and then fleet index.
+   */
+  private static final Comparator<FleetEntry> MAP_ORDER =
+      new Comparator<FleetEntry>() {
+    @Override
+    public int compare(final FleetEntry first, final FleetEntry second) {
+      if (first.realm != second.realm) {
+        return Integer.compare(first.realm, second.realm);
+      }
+      return Integer.compare(first.fleetIndex, second.fleetIndex);
+    }
+  };
+
+  /**
+   * Map X size
+   */
+  private final int maxX;
+
+  /**
+   * Map Y size
+   */
+  private final int maxY;
+
+  /**
+   * Planets on map
+   */
+  private final ArrayList<Planet> planetList;
+
+  /**
+   * Number of planets when index was built
+   */
+  private final int planetCount;
+
+  /**
+   * Fleet tiles. Array is replaced on update, never modified.
+   */
+  private volatile FleetTileInfo[][] tiles;
+
+  /**
+   * Realm index for each fleet list
+   */
+  private final IdentityHashMap<FleetList, Integer> realms;
+
+  /**
+   * Entry for each fleet on map
+   */
+  private final IdentityHashMap<Fleet, FleetEntry> entries;
+
+  /**
+   * Fleets by sector
+   */
+  private final HashMap<Integer, ArrayList<FleetEntry>> occupants;
+
+  /**
+   * Planet indexes by sector
+   */
+  private final HashMap<Integer, ArrayList<Integer>> planetsBySector;
+
+  /**
+   * Sectors where same realm has several fleets. Fleet tile in these
+   * sectors depends on cloaking and military values, so they are always
+   * calculated again.
+   */
+  private final HashSet<Integer> stacked;
+
+  /**
+   * Sectors which need to be calculated again
+   */
+  private final LinkedHashSet<Integer> dirty;
+
+  /**
+   * Build fleet tile index and attach it to realms' fleet lists and to
+   * planets.
+   * @param maxX Map X size
+   * @param maxY Map Y size
+   * @param players Player list
+   * @param planets Planet list
+   */
+  public FleetTileIndex(final int maxX, final int maxY,
+      final PlayerList players, final ArrayList<Planet> planets) {
+    this.maxX = maxX;
+    this.maxY = maxY;
+    planetList = planets;
+    planetCount = planets.size();
+    tiles = new FleetTileInfo[maxX][maxY];
+    realms = new IdentityHashMap<>();
+    entries = new IdentityHashMap<>();
+    occupants = new HashMap<>();
+    planetsBySector = new HashMap<>();
+    stacked = new HashSet<>();
+    dirty = new LinkedHashSet<>();
+    synchronized (this) {
+      for (int i = 0; i < players.getCurrentMaxPlayers(); i++) {
+        FleetList fleets = players.getPlayerInfoByIndex(i).getFleets();
+        realms.put(fleets, i);
+        for (int j = 0; j < fleets.getNumberOfFleets(); j++) {
+          addEntry(fleets, fleets.getByIndex(j));
+        }
+        fleets.setFleetTileIndex(this);
+      }
+      for (int i = 0; i < planets.size(); i++) {
+        Planet planet = planets.get(i);
+        if (isValid(planet.getX(), planet.getY())) {
+          Integer key = getKey(planet.getX(), planet.getY());
+          ArrayList<Integer> list = planetsBySector.get(key);
+          if (list == null) {
+            list = new ArrayList<>(1);
+            planetsBySector.put(key, list);
+          }
+          list.add(i);
+          dirty.add(key);
+        }
+        planet.setFleetTileIndex(this);
+      }
+      update();
+    }
+  }
+
+  /**
+   * Is index still attached to all realms and planets of the map.
+   * Index needs to be built again if realm is added or realm's fleet
+   * list is replaced.
+   * @param players Player list
+   * @param planets Planet list
+   * @return True if index is up to date with realms and planets
+   */
+  public synchronized boolean isAttached(final PlayerList players,
+      final ArrayList<Planet> planets) {
+    if (planets != planetList || planets.size() != planetCount
+        || players.getCurrentMaxPlayers() != realms.size()) {
+      return false;
+    }
+    for (int i = 0; i < players.getCurrentMaxPlayers(); i++) {
+      PlayerInfo player = players.getPlayerInfoByIndex(i);
+      FleetList fleets = player.getFleets();
+      Integer realm = realms.get(fleets);
+      if (realm == null || realm.intValue() != i
+          || fleets.getFleetTileIndex() != this) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get fleet tiles. Returned array is not modified by index.
+   * @return Fleet tiles
+   */
+  public FleetTileInfo[][] getTiles() {
+    return tiles;
+  }
+
+  /**
+   * Is coordinate inside the map
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return True if valid
+   */
+  private boolean isValid(final int x, final int y) {
+    return x >= 0 && y >= 0 && x < maxX && y < maxY;
+  }
+
+  /**
+   * Get sector key for coordinate
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return Sector key
+   */
+  private Integer getKey(final int x, final int y) {
+    return Integer.valueOf(y * maxX + x);
+  }
+
+  /**
+   * Mark sector to be calculated again.
+   * @param x X coordinate
+   * @param y Y coordinate
+   */
+  private void markDirty(final int x, final int y) {
+    if (isValid(x, y)) {
+      dirty.add(getKey(x, y));
+    }
+  }
+
+  /**
+   * Check if same realm has several fleets in sector.
+   * @param key Sector key
+   */
+  private void checkStacked(final Integer key) {
+    ArrayList<FleetEntry> list = occupants.get(key);
+    boolean found = false;
+    if (list != null) {
+      for (int i = 0; i < list.size() && !found; i++) {
+        for (int j = i + 1; j < list.size(); j++) {
+          if (list.get(i).realm == list.get(j).realm) {
+            found = true;
+            break;
+          }
+        }
+      }
+    }
+    if (found) {
+      stacked.add(key);
+    } else {
+      stacked.remove(key);
+    }
+  }
+
+  /**
+   * Add fleet to sector where it currently is.
+   * @param entry Fleet entry
+   */
+  private void addToSector(final FleetEntry entry) {
+    entry.x = entry.fleet.getX();
+    entry.y = entry.fleet.getY();
+    if (!isValid(entry.x, entry.y)) {
+      return;
+    }
+    Integer key = getKey(entry.x, entry.y);
+    ArrayList<FleetEntry> list = occupants.get(key);
+    if (list == null) {
+      list = new ArrayList<>(2);
+      occupants.put(key, list);
+    }
+    list.add(entry);
+    checkStacked(key);
+    dirty.add(key);
+  }
+
+  /**
+   * Remove fleet from sector where it was.
+   * @param entry Fleet entry
+   */
+  private void removeFromSector(final FleetEntry entry) {
+    if (!isValid(entry.x, entry.y)) {
+      return;
+    }
+    Integer key = getKey(entry.x, entry.y);
+    ArrayList<FleetEntry> list = occupants.get(key);
+    if (list != null) {
+      list.remove(entry);
+      if (list.isEmpty()) {
+        occupants.remove(key);
+      }
+    }
+    checkStacked(key);
+    dirty.add(key);
+  }
+
+  /**
+   * Add entry for fleet.
+   * @param fleets Fleet list where fleet belongs
+   * @param fleet Fleet
+   */
+  private void addEntry(final FleetList fleets, final Fleet fleet) {
+    Integer realm = realms.get(fleets);
+    if (fleet == null || realm == null || entries.containsKey(fleet)) {
+      return;
+    }
+    FleetEntry entry = new FleetEntry(fleet, fleets, realm.intValue());
+    entries.put(fleet, entry);
+    addToSector(entry);
+  }
+
+  /**
+   * Fleet has been added to realm's fleet list.
+   * @param fleets Fleet list
+   * @param fleet Added fleet
+   */
+  public synchronized void fleetAdded(final FleetList fleets,
+      final Fleet fleet) {
+    addEntry(fleets, fleet);
+  }
+
+  /**
+   * Fleet has been removed from realm's fleet list. Fleets after removed
+   * fleet get new fleet index, so their sectors are calculated again.
+   * @param fleets Fleet list
+   * @param fleet Removed fleet
+   * @param fleetIndex Index where fleet was in fleet list
+   */
+  public synchronized void fleetRemoved(final FleetList fleets,
+      final Fleet fleet, final int fleetIndex) {
+    FleetEntry entry = entries.remove(fleet);
+    if (entry != null) {
+      removeFromSector(entry);
+    }
+    for (int i = fleetIndex; i < fleets.getNumberOfFleets(); i++) {
+      FleetEntry other = entries.get(fleets.getByIndex(i));
+      if (other != null) {
+        markDirty(other.x, other.y);
+      }
+    }
+  }
+
+  /**
+   * Fleet has been moved or its ships have changed.
+   * @param fleet Fleet
+   */
+  public synchronized void fleetChanged(final Fleet fleet) {
+    FleetEntry entry = entries.get(fleet);
+    if (entry == null) {
+      return;
+    }
+    if (entry.x != fleet.getX() || entry.y != fleet.getY()) {
+      removeFromSector(entry);
+      addToSector(entry);
+    } else {
+      markDirty(entry.x, entry.y);
+    }
+  }
+
+  /**
+   * Planet's orbital has changed.
+   * @param planet Planet
+   */
+  public synchronized void orbitalChanged(final Planet planet) {
+    markDirty(planet.getX(), planet.getY());
+  }
+
+  /**
+   * Calculate changed sectors again.
+   * @return True if any fleet tile changed
+   */
+  public synchronized boolean update() {
+    dirty.addAll(stacked);
+    if (dirty.isEmpty()) {
+      return false;
+    }
+    FleetTileInfo[][] current = tiles;
+    FleetTileInfo[][] next = null;
+    boolean[] copied = null;
+    for (Integer key : dirty) {
+      int x = key.intValue() % maxX;
+      int y = key.intValue() / maxX;
+      FleetTileInfo info = calculateSector(key);
+      if (isSameTile(current[x][y], info)) {
+        continue;
+      }
+      if (next == null) {
+        next = current.clone();
+        copied = new boolean[maxX];
+      }
+      if (!copied[x]) {
+        next[x] = current[x].clone();
+        copied[x] = true;
+      }
+      next[x][y] = info;
+    }
+    dirty.clear();
+    if (next == null) {
+      return false;
+    }
+    tiles = next;
+    return true;
+  }
+
+  /**
+   * Are two fleet tiles same.
+   * @param first First fleet tile or null
+   * @param second Second fleet tile or null
+   * @return True if same
+   */
+  private static boolean isSameTile(final FleetTileInfo first,
+      final FleetTileInfo second) {
+    if (first == null || second == null) {
+      return first == second;
+    }
+    return first.getRace() == second.getRace()
+        && first.getImageIndex() == second.getImageIndex()
+        && first.getPlayerIndex() == second.getPlayerIndex()
+        && first.getFleetIndex() == second.getFleetIndex()
+        && first.getPlanetIndex() == second.getPlanetIndex()
+        && first.getConflictIndex() == second.getConflictIndex();
+  }
+
+  /**
+   * Create fleet tile info for fleet.
+   * @param ship Biggest ship of the fleet
+   * @param entry Fleet entry
+   * @return FleetTileInfo
+   */
+  private static FleetTileInfo createInfo(final Ship ship,
+      final FleetEntry entry) {
+    return new FleetTileInfo(ship.getHull().getRace(),
+        ship.getHull().getImageIndex(), entry.realm, entry.fleetIndex);
+  }
+
+  /**
+   * Put fleet tile info over old one. If old tile is from different
+   * realm then new tile is being marked as conflict.
+   * @param old Old fleet tile or null
+   * @param info New fleet tile
+   * @return New fleet tile
+   */
+  private static FleetTileInfo setFleetTile(final FleetTileInfo old,
+      final FleetTileInfo info) {
+    if (old != null) {
+      int oldIndex = old.getConflictIndex();
+      if (oldIndex == -1) {
+        oldIndex = old.getPlayerIndex();
+      }
+      if (info.getPlayerIndex() != oldIndex) {
+        info.setConflict(oldIndex);
+      }
+    }
+    return info;
+  }
+
+  /**
+   * Calculate fleet tile for single sector. Fleets are handled in
+   * same order as when calculating the whole map. Realm's own fleets
+   * in same sector are compared with cloaking, military value and
+   * starbase. Orbital is shown if there is no fleet.
+   * @param key Sector key
+   * @return Fleet tile or null
+   */
+  private FleetTileInfo calculateSector(final Integer key) {
+    FleetTileInfo tile = null;
+    ArrayList<FleetEntry> list = occupants.get(key);
+    if (list != null) {
+      ArrayList<FleetEntry> sorted = new ArrayList<>(list);
+      for (FleetEntry entry : sorted) {
+        entry.fleetIndex = entry.fleets.getFleetIndex(entry.fleet);
+      }
+      Collections.sort(sorted, MAP_ORDER);
+      for (FleetEntry entry : sorted) {
+        Fleet fleet = entry.fleet;
+        if (tile == null && fleet.getFirstShip() != null) {
+          tile = setFleetTile(tile, createInfo(fleet.getBiggestShip(),
+              entry));
+          continue;
+        }
+        for (FleetEntry other : sorted) {
+          Fleet fleet2 = other.fleet;
+          if (other == entry || other.realm != entry.realm
+              || fleet2.getNumberOfShip() <= 0) {
+            continue;
+          }
+          if (fleet2.getFleetCloackingValue()
+              < fleet.getFleetCloackingValue()) {
+            tile = setFleetTile(tile, createInfo(fleet2.getBiggestShip(),
+                other));
+          } else if (fleet2.getFleetCloackingValue()
+              > fleet.getFleetCloackingValue()) {
+            Ship ship = fleet.getBiggestShip();
+            if (ship != null) {
+              tile = setFleetTile(tile, createInfo(ship, entry));
+            }
+          } else if (fleet2.getMilitaryValue() > fleet.getMilitaryValue()) {
+            tile = setFleetTile(tile, createInfo(fleet2.getBiggestShip(),
+                other));
+          } else {
+            Ship ship = fleet.getBiggestShip();
+            if (ship != null) {
+              tile = setFleetTile(tile, createInfo(ship, entry));
+            }
+          }
+          if (fleet2.isStarBaseDeployed()) {
+            tile = setFleetTile(tile, createInfo(fleet2.getBiggestShip(),
+                other));
+          } else if (fleet.isStarBaseDeployed()) {
+            tile = setFleetTile(tile, createInfo(fleet.getBiggestShip(),
+                entry));
+          }
+        }
+      }
+    }
+    ArrayList<Integer> planetIndexes = planetsBySector.get(key);
+    if (planetIndexes != null) {
+      for (Integer index : planetIndexes) {
+        Planet planet = planetList.get(index.intValue());
+        if (tile == null && planet.getOrbital() != null) {
+          tile = new FleetTileInfo(planet.getOrbital().getHull().getRace(),
+              planet.getOrbital().getHull().getImageIndex(),
+              index.intValue());
+        }
+      }
+    }
+    return tile;
+  }
+
+  /**
+   * Fleet on map and sector where index has it.
+   */
+  private static final class FleetEntry {
+
+    /**
+     * Fleet
+     */
+    private final Fleet fleet;
+
+    /**
+     * Fleet list where fleet belongs
+     */
+    private final FleetList fleets;
+
+    /**
+     * Realm index
+     */
+    private final int realm;
+
+    /**
+     * Sector X coordinate
+     */
+    private int x;
+
+    /**
+     * Sector Y coordinate
+     */
+    private int y;
+
+    /**
+     * Fleet index in fleet list, updated when sector is calculated
+     */
+    private int fleetIndex;
+
+    /**
+     * Constructor for fleet entry.
+     * @param fleet Fleet
+     * @param fleets Fleet list where fleet belongs
+     * @param realm Realm index
+     */
+    FleetEntry(final Fleet fleet, final FleetList fleets,
+        final int realm) {
+      this.fleet = fleet;
+      this.fleets = fleets;
+      this.realm = realm;
+    }
+  }
+}
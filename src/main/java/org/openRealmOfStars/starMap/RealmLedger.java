@@ -0,0 +1,266 @@
+package org.openRealmOfStars.starMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openRealmOfStars.starMap.planet.Planet;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Planet totals for every realm. Planets, population and culture are
+ * counted again on every update since they are plain planet fields.
+ * Production is optional and only research, artifact research and
+ * credits are tracked. Production is kept per planet and it is
+ * calculated again only for planets which have been replaced or whose
+ * owner or production stamp has changed since previous update.
+ *
+ */
+public class RealmLedger {
+
+  /**
+   * Number of different planet productions
+   */
+  public static final int NUMBER_OF_PRODUCTIONS =
+      Planet.PRODUCTION_ARTIFACT_RESEARCH + 1;
+
+  /**
+   * Productions tracked by ledger
+   */
+  private static final int[] TRACKED_PRODUCTIONS = {
+      Planet.PRODUCTION_RESEARCH, Planet.PRODUCTION_ARTIFACT_RESEARCH,
+      Planet.PRODUCTION_CREDITS};
+
+  /**
+   * Is production tracked
+   */
+  private final boolean withProduction;
+
+  /**
+   * Planet production by realm and production type
+   */
+  private int[][] production;
+
+  /**
+   * Number of planets by realm
+   */
+  private int[] planets;
+
+  /**
+   * Population by realm
+   */
+  private int[] population;
+
+  /**
+   * Culture by realm
+   */
+  private int[] culture;
+
+  /**
+   * Planets whose production has been read
+   */
+  private Planet[] planetRead;
+
+  /**
+   * Owner index used for each planet's production. -1 if planet's
+   * production is not added to any realm.
+   */
+  private int[] planetOwner;
+
+  /**
+   * Production stamp for each planet when production was read
+   */
+  private int[] planetStamp;
+
+  /**
+   * Tracked production for each planet
+   */
+  private int[][] planetProduction;
+
+  /**
+   * Create ledger from planets.
+   * @param planetList Planets to calculate
+   * @param numberOfRealms Number of realms
+   * @param withProduction True if production is tracked
+   */
+  public RealmLedger(final List<Planet> planetList,
+      final int numberOfRealms, final boolean withProduction) {
+    this.withProduction = withProduction;
+    int realms = Math.max(0, numberOfRealms);
+    production = new int[realms][NUMBER_OF_PRODUCTIONS];
+    planets = new int[realms];
+    population = new int[realms];
+    culture = new int[realms];
+    planetRead = new Planet[0];
+    update(planetList);
+  }
+
+  /**
+   * Make sure that realm index fits into ledger.
+   * @param realm Realm index
+   */
+  private void ensureRealm(final int realm) {
+    if (realm < planets.length) {
+      return;
+    }
+    int size = realm + 1;
+    int oldSize = planets.length;
+    production = Arrays.copyOf(production, size);
+    for (int i = oldSize; i < size; i++) {
+      production[i] = new int[NUMBER_OF_PRODUCTIONS];
+    }
+    planets = Arrays.copyOf(planets, size);
+    population = Arrays.copyOf(population, size);
+    culture = Arrays.copyOf(culture, size);
+  }
+
+  /**
+   * Update ledger to match planets. If planet list has changed size
+   * production of every planet is read again.
+   * @param planetList Planets to calculate
+   */
+  public void update(final List<Planet> planetList) {
+    Arrays.fill(planets, 0);
+    Arrays.fill(population, 0);
+    Arrays.fill(culture, 0);
+    if (withProduction && planetRead.length != planetList.size()) {
+      for (int[] realmProduction : production) {
+        Arrays.fill(realmProduction, 0);
+      }
+      planetRead = new Planet[planetList.size()];
+      planetOwner = new int[planetList.size()];
+      Arrays.fill(planetOwner, -1);
+      planetStamp = new int[planetList.size()];
+      planetProduction = new int[planetList.size()][
+          TRACKED_PRODUCTIONS.length];
+    }
+    for (int i = 0; i < planetList.size(); i++) {
+      Planet planet = planetList.get(i);
+      int realm = planet.getPlanetOwnerIndex();
+      if (realm >= 0) {
+        ensureRealm(realm);
+        planets[realm]++;
+        population[realm] = population[realm] + planet.getTotalPopulation();
+        culture[realm] = culture[realm] + planet.getCulture();
+      }
+      if (withProduction) {
+        updateProduction(i, planet);
+      }
+    }
+  }
+
+  /**
+   * Update single planet's production if planet is not the one read
+   * earlier or its owner or production stamp has changed.
+   * @param index Planet index in planet list
+   * @param planet Planet
+   */
+  private void updateProduction(final int index, final Planet planet) {
+    int realm = -1;
+    int stamp = 0;
+    if (planet.getPlanetPlayerInfo() != null
+        && planet.getPlanetOwnerIndex() >= 0) {
+      realm = planet.getPlanetOwnerIndex();
+      stamp = planet.getProductionStamp();
+    }
+    if (planet == planetRead[index] && realm == planetOwner[index]
+        && stamp == planetStamp[index]) {
+      return;
+    }
+    int oldRealm = planetOwner[index];
+    for (int i = 0; i < TRACKED_PRODUCTIONS.length; i++) {
+      int type = TRACKED_PRODUCTIONS[i];
+      if (oldRealm >= 0) {
+        production[oldRealm][type] = production[oldRealm][type]
+            - planetProduction[index][i];
+      }
+      int value = 0;
+      if (realm >= 0) {
+        ensureRealm(realm);
+        value = planet.getTotalProduction(type);
+        production[realm][type] = production[realm][type] + value;
+      }
+      planetProduction[index][i] = value;
+    }
+    planetRead[index] = planet;
+    planetOwner[index] = realm;
+    planetStamp[index] = stamp;
+  }
+
+  /**
+   * Is realm index inside the ledger
+   * @param realm Realm index
+   * @return True if realm has totals
+   */
+  private boolean isValidRealm(final int realm) {
+    return realm >= 0 && realm < planets.length;
+  }
+
+  /**
+   * Get total planet production for realm. Only research, artifact
+   * research and credits are tracked. Other productions and ledger
+   * without production return zero.
+   * @param realm Realm index
+   * @param productionType See Planet.PRODUCTION_*
+   * @return Total production from planets
+   */
+  public int getProduction(final int realm, final int productionType) {
+    if (isValidRealm(realm) && productionType >= 0
+        && productionType < NUMBER_OF_PRODUCTIONS) {
+      return production[realm][productionType];
+    }
+    return 0;
+  }
+
+  /**
+   * Get number of planets realm has.
+   * @param realm Realm index
+   * @return Number of planets
+   */
+  public int getPlanets(final int realm) {
+    if (isValidRealm(realm)) {
+      return planets[realm];
+    }
+    return 0;
+  }
+
+  /**
+   * Get total population of realm.
+   * @param realm Realm index
+   * @return Population
+   */
+  public int getPopulation(final int realm) {
+    if (isValidRealm(realm)) {
+      return population[realm];
+    }
+    return 0;
+  }
+
+  /**
+   * Get total culture of realm's planets.
+   * @param realm Realm index
+   * @return Culture
+   */
+  public int getCulture(final int realm) {
+    if (isValidRealm(realm)) {
+      return culture[realm];
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,186 @@
+package org.openRealmOfStars.starMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.player.SpaceRace.SpaceRaceUtility;
+import org.openRealmOfStars.utilities.IOUtilities;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Save game header. Header is written right after magic string
+ * and contains information shown in load game view so that whole
+ * star map does not need to be read. Header block starts with its
+ * length so newer header versions can add fields to end of block.
+ *
+ */
+public class SaveGameHeader {
+
+  /**
+   * Header block version
+   */
+  public static final int HEADER_VERSION = 1;
+
+  /**
+   * Turn number
+   */
+  private int turn;
+
+  /**
+   * Galaxy width
+   */
+  private int maxX;
+
+  /**
+   * Galaxy height
+   */
+  private int maxY;
+
+  /**
+   * First player's space race
+   */
+  private SpaceRace race;
+
+  /**
+   * First player's empire name
+   */
+  private String empireName;
+
+  /**
+   * Constructor for save game header.
+   * @param turn Turn number
+   * @param maxX Galaxy width
+   * @param maxY Galaxy height
+   * @param race First player's space race
+   * @param empireName First player's empire name
+   */
+  public SaveGameHeader(final int turn, final int maxX, final int maxY,
+      final SpaceRace race, final String empireName) {
+    this.turn = turn;
+    this.maxX = maxX;
+    this.maxY = maxY;
+    this.race = race;
+    this.empireName = empireName;
+  }
+
+  /**
+   * Create save game header from star map.
+   * @param starMap StarMap
+   */
+  public SaveGameHeader(final StarMap starMap) {
+    PlayerInfo info = starMap.getPlayerList().getPlayerInfoByIndex(0);
+    this.turn = starMap.getTurn();
+    this.maxX = starMap.getMaxX();
+    this.maxY = starMap.getMaxY();
+    this.race = info.getRace();
+    this.empireName = info.getEmpireName();
+  }
+
+  /**
+   * Read save game header block from DataInputStream. After reading
+   * stream is positioned to end of header block even if block contains
+   * fields from newer header version.
+   * @param dis DataInputStream
+   * @throws IOException if there is any problem with DataInputStream
+   */
+  public SaveGameHeader(final DataInputStream dis) throws IOException {
+    int length = dis.readUnsignedShort();
+    byte[] block = new byte[length];
+    dis.readFully(block);
+    try (DataInputStream header = new DataInputStream(
+        new ByteArrayInputStream(block))) {
+      int version = header.read();
+      if (version < 1) {
+        throw new IOException("Invalid save game header version: "
+            + version);
+      }
+      turn = header.readInt();
+      maxX = header.readInt();
+      maxY = header.readInt();
+      race = SpaceRaceUtility.getRaceByIndex(header.read());
+      empireName = IOUtilities.readString(header);
+    }
+  }
+
+  /**
+   * Write save game header block into DataOutputStream.
+   * @param dos DataOutputStream
+   * @throws IOException if there is any problem with DataOutputStream
+   */
+  public void write(final DataOutputStream dos) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (DataOutputStream header = new DataOutputStream(buffer)) {
+      header.writeByte(HEADER_VERSION);
+      header.writeInt(turn);
+      header.writeInt(maxX);
+      header.writeInt(maxY);
+      header.writeByte(race.getIndex());
+      IOUtilities.writeString(header, empireName);
+    }
+    dos.writeShort(buffer.size());
+    buffer.writeTo(dos);
+  }
+
+  /**
+   * Get turn number
+   * @return Turn number
+   */
+  public int getTurn() {
+    return turn;
+  }
+
+  /**
+   * Get galaxy width
+   * @return Galaxy width
+   */
+  public int getMaxX() {
+    return maxX;
+  }
+
+  /**
+   * Get galaxy height
+   * @return Galaxy height
+   */
+  public int getMaxY() {
+    return maxY;
+  }
+
+  /**
+   * Get first player's space race
+   * @return Space race
+   */
+  public SpaceRace getRace() {
+    return race;
+  }
+
+  /**
+   * Get first player's empire name
+   * @return Empire name
+   */
+  public String getEmpireName() {
+    return empireName;
+  }
+
+}
@@ -0,0 +1,271 @@
+package org.openRealmOfStars.starMap;
+
+import java.util.ArrayList;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Precomputed scan rays for single scanner radius. Rays are cast from
+ * scanner to every sector of (2r+1)x(2r+1) square and they end when
+ * distance to scanner is more than scanner radius. Rays sharing same
+ * beginning are merged into a tree, so each step is stored only once.
+ * Tree is stored in depth first order: after visiting a node scanning
+ * continues to its first child and if ray is blocked scanning continues
+ * from node's skip index.
+ *
+ */
+public final class ScanRayTable {
+
+  /**
+   * Largest radius which is cached
+   */
+  private static final int MAX_CACHED_RADIUS = 32;
+
+  /**
+   * Cached tables by radius
+   */
+  private static final ScanRayTable[] CACHE =
+      new ScanRayTable[MAX_CACHED_RADIUS + 1];
+
+  /**
+   * X offset of each node from scanner
+   */
+  private final int[] offsetX;
+
+  /**
+   * Y offset of each node from scanner
+   */
+  private final int[] offsetY;
+
+  /**
+   * Depth of each node, first step of ray is depth 0
+   */
+  private final int[] depth;
+
+  /**
+   * Index of next node after subtree of each node
+   */
+  private final int[] skip;
+
+  /**
+   * Maximum depth of nodes plus one
+   */
+  private final int maxDepth;
+
+  /**
+   * Get scan ray table for certain radius.
+   * @param radius Scanner radius
+   * @return ScanRayTable
+   */
+  public static ScanRayTable getTable(final int radius) {
+    if (radius < 0 || radius > MAX_CACHED_RADIUS) {
+      return new ScanRayTable(radius);
+    }
+    synchronized (CACHE) {
+      if (CACHE[radius] == null) {
+        CACHE[radius] = new ScanRayTable(radius);
+      }
+      return CACHE[radius];
+    }
+  }
+
+  /**
+   * Rounding as Math.round() does but with exact fraction.
+   * @param numerator Numerator
+   * @param denominator Denominator, must be positive
+   * @return Rounded value of numerator / denominator
+   */
+  private static int roundFraction(final int numerator,
+      final int denominator) {
+    int value = 2 * numerator + denominator;
+    int divisor = 2 * denominator;
+    int result = value / divisor;
+    if (value % divisor != 0 && value < 0) {
+      result--;
+    }
+    return result;
+  }
+
+  /**
+   * Build scan ray table.
+   * @param radius Scanner radius
+   */
+  private ScanRayTable(final int radius) {
+    TreeNode root = new TreeNode(0, 0);
+    for (int ey = -radius; ey < radius + 1; ey++) {
+      for (int ex = -radius; ex < radius + 1; ex++) {
+        int distance = Math.max(Math.abs(ex), Math.abs(ey));
+        TreeNode node = root;
+        for (int i = 1; i <= distance; i++) {
+          int nx = roundFraction(i * ex, distance);
+          int ny = roundFraction(i * ey, distance);
+          if (nx * nx + ny * ny > radius * radius) {
+            break;
+          }
+          node = node.getChild(nx, ny);
+        }
+      }
+    }
+    ArrayList<TreeNode> nodes = new ArrayList<>();
+    int deepest = 0;
+    for (TreeNode child : root.children) {
+      deepest = Math.max(deepest, child.flatten(nodes, 0));
+    }
+    maxDepth = deepest + 1;
+    offsetX = new int[nodes.size()];
+    offsetY = new int[nodes.size()];
+    depth = new int[nodes.size()];
+    skip = new int[nodes.size()];
+    for (int i = 0; i < nodes.size(); i++) {
+      TreeNode node = nodes.get(i);
+      offsetX[i] = node.x;
+      offsetY[i] = node.y;
+      depth[i] = node.depth;
+      skip[i] = node.skip;
+    }
+  }
+
+  /**
+   * Get number of nodes
+   * @return Number of nodes
+   */
+  public int getSize() {
+    return offsetX.length;
+  }
+
+  /**
+   * Get maximum depth of nodes plus one
+   * @return Maximum depth
+   */
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /**
+   * Get X offset of node from scanner
+   * @param index Node index
+   * @return X offset
+   */
+  public int getOffsetX(final int index) {
+    return offsetX[index];
+  }
+
+  /**
+   * Get Y offset of node from scanner
+   * @param index Node index
+   * @return Y offset
+   */
+  public int getOffsetY(final int index) {
+    return offsetY[index];
+  }
+
+  /**
+   * Get depth of node. First step of the ray has depth 0.
+   * @param index Node index
+   * @return Depth
+   */
+  public int getDepth(final int index) {
+    return depth[index];
+  }
+
+  /**
+   * Get index where to continue if ray ends at this node.
+   * @param index Node index
+   * @return Index of next node after subtree
+   */
+  public int getSkip(final int index) {
+    return skip[index];
+  }
+
+  /**
+   * Ray tree node used while building the table.
+   */
+  private static class TreeNode {
+
+    /**
+     * X offset
+     */
+    private int x;
+
+    /**
+     * Y offset
+     */
+    private int y;
+
+    /**
+     * Depth in flattened table
+     */
+    private int depth;
+
+    /**
+     * Skip index in flattened table
+     */
+    private int skip;
+
+    /**
+     * Child nodes in order they were added
+     */
+    private ArrayList<TreeNode> children;
+
+    /**
+     * Constructor for tree node
+     * @param x X offset
+     * @param y Y offset
+     */
+    TreeNode(final int x, final int y) {
+      this.x = x;
+      this.y = y;
+      children = new ArrayList<>();
+    }
+
+    /**
+     * Get child with certain offset, child is added if it does not exist.
+     * @param childX Child X offset
+     * @param childY Child Y offset
+     * @return Child node
+     */
+    TreeNode getChild(final int childX, final int childY) {
+      for (TreeNode child : children) {
+        if (child.x == childX && child.y == childY) {
+          return child;
+        }
+      }
+      TreeNode child = new TreeNode(childX, childY);
+      children.add(child);
+      return child;
+    }
+
+    /**
+     * Add node and its subtree in depth first order to list.
+     * @param nodes List of nodes
+     * @param nodeDepth Depth of this node
+     * @return Deepest depth in subtree
+     */
+    int flatten(final ArrayList<TreeNode> nodes, final int nodeDepth) {
+      depth = nodeDepth;
+      nodes.add(this);
+      int deepest = nodeDepth;
+      for (TreeNode child : children) {
+        deepest = Math.max(deepest, child.flatten(nodes, nodeDepth + 1));
+      }
+      skip = nodes.size();
+      return deepest;
+    }
+  }
+}
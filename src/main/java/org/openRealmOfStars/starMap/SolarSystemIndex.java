@@ -0,0 +1,420 @@
+package org.openRealmOfStars.starMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.openRealmOfStars.starMap.planet.Planet;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Spatial index over suns and planets. Suns and planets are bucketed
+ * into uniform grid of cells and nearest searches walk cells in rings
+ * around the search point. Distance ties are resolved by list index, so
+ * results are same as with linear search over sun or planet list.
+ * Index also has name maps for suns and planets.
+ *
+ */
+public class SolarSystemIndex {
+
+  /**
+   * Filter for planet searches.
+   */
+  public interface PlanetFilter {
+    /**
+     * Is planet accepted in search
+     * @param planet Planet to check
+     * @return True if planet is accepted
+     */
+    boolean accept(Planet planet);
+  }
+
+  /**
+   * Cell width and height in sectors
+   */
+  private static final int CELL_SIZE = 16;
+
+  /**
+   * Number of cells in X direction
+   */
+  private final int cellsX;
+
+  /**
+   * Number of cells in Y direction
+   */
+  private final int cellsY;
+
+  /**
+   * Indexed suns in list order
+   */
+  private final ArrayList<Sun> suns;
+
+  /**
+   * Indexed planets in list order
+   */
+  private final ArrayList<Planet> planets;
+
+  /**
+   * Sun center coordinates in list order
+   */
+  private final ArrayList<Coordinate> sunCoordinates;
+
+  /**
+   * Planet coordinates in list order
+   */
+  private final ArrayList<Coordinate> planetCoordinates;
+
+  /**
+   * Sun list indexes per cell
+   */
+  private final ArrayList<ArrayList<Integer>> sunCells;
+
+  /**
+   * Planet list indexes per cell
+   */
+  private final ArrayList<ArrayList<Integer>> planetCells;
+
+  /**
+   * Sun by name, first sun with name is stored
+   */
+  private final HashMap<String, Sun> sunByName;
+
+  /**
+   * Planet by name, first planet with name is stored
+   */
+  private final HashMap<String, Planet> planetByName;
+
+  /**
+   * Build index for suns and planets.
+   * @param maxX Map width
+   * @param maxY Map height
+   * @param sunList Suns in list order
+   * @param planetList Planets in list order
+   */
+  public SolarSystemIndex(final int maxX, final int maxY,
+      final List<Sun> sunList, final List<Planet> planetList) {
+    cellsX = Math.max(1, (maxX + CELL_SIZE - 1) / CELL_SIZE);
+    cellsY = Math.max(1, (maxY + CELL_SIZE - 1) / CELL_SIZE);
+    suns = new ArrayList<>(sunList.size());
+    planets = new ArrayList<>(planetList.size());
+    sunCoordinates = new ArrayList<>(sunList.size());
+    planetCoordinates = new ArrayList<>(planetList.size());
+    sunCells = new ArrayList<>(cellsX * cellsY);
+    planetCells = new ArrayList<>(cellsX * cellsY);
+    for (int i = 0; i < cellsX * cellsY; i++) {
+      sunCells.add(new ArrayList<Integer>());
+      planetCells.add(new ArrayList<Integer>());
+    }
+    sunByName = new HashMap<>();
+    planetByName = new HashMap<>();
+    for (Sun sun : sunList) {
+      addSun(sun);
+    }
+    for (Planet planet : planetList) {
+      addPlanet(planet);
+    }
+  }
+
+  /**
+   * Get cell index for coordinate. Coordinate is clamped into grid.
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return Cell index
+   */
+  private int getCell(final int x, final int y) {
+    return clampCellY(y / CELL_SIZE) * cellsX + clampCellX(x / CELL_SIZE);
+  }
+
+  /**
+   * Clamp cell X into grid.
+   * @param cellX Cell X
+   * @return Clamped cell X
+   */
+  private int clampCellX(final int cellX) {
+    return Math.max(0, Math.min(cellsX - 1, cellX));
+  }
+
+  /**
+   * Clamp cell Y into grid.
+   * @param cellY Cell Y
+   * @return Clamped cell Y
+   */
+  private int clampCellY(final int cellY) {
+    return Math.max(0, Math.min(cellsY - 1, cellY));
+  }
+
+  /**
+   * Add sun as last sun of the index.
+   * @param sun Sun to add
+   */
+  private void addSun(final Sun sun) {
+    Coordinate coordinate = sun.getCenterCoordinate();
+    suns.add(sun);
+    sunCoordinates.add(coordinate);
+    sunCells.get(getCell(coordinate.getX(), coordinate.getY())).add(
+        suns.size() - 1);
+    if (!sunByName.containsKey(sun.getName())) {
+      sunByName.put(sun.getName(), sun);
+    }
+  }
+
+  /**
+   * Add planet as last planet of the index. This must be called when
+   * planet is added to end of planet list. Planet without coordinate
+   * is only added to name map.
+   * @param planet Planet to add
+   */
+  public void addPlanet(final Planet planet) {
+    Coordinate coordinate = planet.getCoordinate();
+    planets.add(planet);
+    planetCoordinates.add(coordinate);
+    if (coordinate != null) {
+      planetCells.get(getCell(coordinate.getX(), coordinate.getY())).add(
+          planets.size() - 1);
+    }
+    if (!planetByName.containsKey(planet.getName())) {
+      planetByName.put(planet.getName(), planet);
+    }
+  }
+
+  /**
+   * Is index still matching the lists. Lists are expected to change
+   * only by adding to the end.
+   * @param sunList Current sun list
+   * @param planetList Current planet list
+   * @return True if index matches the lists
+   */
+  public boolean matches(final List<Sun> sunList,
+      final List<Planet> planetList) {
+    if (sunList.size() != suns.size()
+        || planetList.size() != planets.size()) {
+      return false;
+    }
+    if (!suns.isEmpty()
+        && sunList.get(suns.size() - 1) != suns.get(suns.size() - 1)) {
+      return false;
+    }
+    if (!planets.isEmpty() && planetList.get(planets.size() - 1)
+        != planets.get(planets.size() - 1)) {
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Get sun by name.
+   * @param name Sun name
+   * @return Sun or null if not found
+   */
+  public Sun getSunByName(final String name) {
+    return sunByName.get(name);
+  }
+
+  /**
+   * Get planet by name.
+   * @param name Planet name
+   * @return Planet or null if not found
+   */
+  public Planet getPlanetByName(final String name) {
+    return planetByName.get(name);
+  }
+
+  /**
+   * Squared distance between two points
+   * @param x1 First X
+   * @param y1 First Y
+   * @param x2 Second X
+   * @param y2 Second Y
+   * @return Squared distance
+   */
+  private static long squaredDistance(final int x1, final int y1,
+      final int x2, final int y2) {
+    long dx = x1 - x2;
+    long dy = y1 - y2;
+    return dx * dx + dy * dy;
+  }
+
+  /**
+   * Get smallest possible squared distance to cells outside the ring.
+   * @param ring Ring number, 0 is the cell of the search point
+   * @return Squared distance
+   */
+  private static long outsideRingDistance(final int ring) {
+    long dist = (long) ring * CELL_SIZE;
+    return dist * dist;
+  }
+
+  /**
+   * Get cell indexes of single ring around cell. Ring 0 is the cell
+   * itself.
+   * @param centerX Cell X of search point
+   * @param centerY Cell Y of search point
+   * @param ring Ring number
+   * @param cells List where cell indexes are added
+   * @return False if ring is completely outside of the grid
+   */
+  private boolean getRingCells(final int centerX, final int centerY,
+      final int ring, final ArrayList<Integer> cells) {
+    cells.clear();
+    int sx = centerX - ring;
+    int ex = centerX + ring;
+    int sy = centerY - ring;
+    int ey = centerY + ring;
+    if (sx < 0 && sy < 0 && ex >= cellsX && ey >= cellsY) {
+      return false;
+    }
+    for (int cy = Math.max(0, sy); cy <= Math.min(cellsY - 1, ey); cy++) {
+      for (int cx = Math.max(0, sx); cx <= Math.min(cellsX - 1, ex); cx++) {
+        if (cx == sx || cx == ex || cy == sy || cy == ey) {
+          cells.add(cy * cellsX + cx);
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get nearest planet accepted by filter. If several planets are at
+   * same distance then the first one in planet list is returned.
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @param filter Planet filter
+   * @return Planet or null if no planet is accepted
+   */
+  public Planet getNearestPlanet(final int x, final int y,
+      final PlanetFilter filter) {
+    int centerX = clampCellX(x / CELL_SIZE);
+    int centerY = clampCellY(y / CELL_SIZE);
+    if (x < 0 || y < 0) {
+      // Outside of grid, ring distances do not hold
+      centerX = 0;
+      centerY = 0;
+    }
+    int bestIndex = -1;
+    long bestDist = Long.MAX_VALUE;
+    ArrayList<Integer> cells = new ArrayList<>();
+    for (int ring = 0; getRingCells(centerX, centerY, ring, cells);
+        ring++) {
+      for (int cell : cells) {
+        for (int index : planetCells.get(cell)) {
+          Coordinate coordinate = planetCoordinates.get(index);
+          long dist = squaredDistance(x, y, coordinate.getX(),
+              coordinate.getY());
+          if ((dist < bestDist || dist == bestDist && index < bestIndex)
+              && filter.accept(planets.get(index))) {
+            bestDist = dist;
+            bestIndex = index;
+          }
+        }
+      }
+      if (bestIndex != -1 && isInsideGrid(x, y)
+          && bestDist < outsideRingDistance(ring)) {
+        break;
+      }
+    }
+    if (bestIndex == -1) {
+      return null;
+    }
+    return planets.get(bestIndex);
+  }
+
+  /**
+   * Is coordinate inside the grid area.
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return True if inside
+   */
+  private boolean isInsideGrid(final int x, final int y) {
+    return x >= 0 && y >= 0 && x < cellsX * CELL_SIZE
+        && y < cellsY * CELL_SIZE;
+  }
+
+  /**
+   * Get k nearest suns ordered by distance. If several suns are at same
+   * distance they are ordered by sun list index.
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @param k Maximum number of suns to return
+   * @return List of suns, nearest first
+   */
+  public ArrayList<Sun> getNearestSuns(final int x, final int y,
+      final int k) {
+    if (k <= 0) {
+      return new ArrayList<>();
+    }
+    int centerX = clampCellX(x / CELL_SIZE);
+    int centerY = clampCellY(y / CELL_SIZE);
+    if (x < 0 || y < 0) {
+      centerX = 0;
+      centerY = 0;
+    }
+    ArrayList<long[]> candidates = new ArrayList<>();
+    ArrayList<Integer> cells = new ArrayList<>();
+    for (int ring = 0; getRingCells(centerX, centerY, ring, cells);
+        ring++) {
+      for (int cell : cells) {
+        for (int index : sunCells.get(cell)) {
+          Coordinate coordinate = sunCoordinates.get(index);
+          candidates.add(new long[] {squaredDistance(x, y, coordinate.getX(),
+              coordinate.getY()), index});
+        }
+      }
+      if (candidates.size() >= k && isInsideGrid(x, y)) {
+        sortCandidates(candidates);
+        if (candidates.get(k - 1)[0] < outsideRingDistance(ring)) {
+          break;
+        }
+      }
+    }
+    sortCandidates(candidates);
+    ArrayList<Sun> result = new ArrayList<>();
+    for (int i = 0; i < candidates.size() && i < k; i++) {
+      result.add(suns.get((int) candidates.get(i)[1]));
+    }
+    return result;
+  }
+
+  /**
+   * Sort candidates by distance and then by index.
+   * @param candidates Candidates with squared distance and index
+   */
+  private static void sortCandidates(final ArrayList<long[]> candidates) {
+    // Insertion sort, candidate lists are short and mostly sorted
+    for (int i = 1; i < candidates.size(); i++) {
+      long[] value = candidates.get(i);
+      int j = i - 1;
+      while (j >= 0 && (candidates.get(j)[0] > value[0]
+          || candidates.get(j)[0] == value[0]
+          && candidates.get(j)[1] > value[1])) {
+        candidates.set(j + 1, candidates.get(j));
+        j--;
+      }
+      candidates.set(j + 1, value);
+    }
+  }
+
+  /**
+   * Get number of indexed suns
+   * @return Number of suns
+   */
+  public int getNumberOfSuns() {
+    return suns.size();
+  }
+}
@@ -4,15 +4,22 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 
+import org.openRealmOfStars.AI.RealmPlan;
 import org.openRealmOfStars.AI.Mission.Mission;
 import org.openRealmOfStars.AI.Mission.MissionHandling;
 import org.openRealmOfStars.AI.Mission.MissionPhase;
 import org.openRealmOfStars.AI.Mission.MissionType;
+import org.openRealmOfStars.AI.PathFinding.PathSearchEngine;
 import org.openRealmOfStars.AI.PlanetHandling.PlanetHandling;
 import org.openRealmOfStars.AI.Research.Research;
 import org.openRealmOfStars.game.Game;
+import org.openRealmOfStars.game.simulation.TurnPhase;
+import org.openRealmOfStars.game.simulation.TurnProfiler;
 import org.openRealmOfStars.gui.icons.Icons;
 import org.openRealmOfStars.mapTiles.FleetTileInfo;
 import org.openRealmOfStars.mapTiles.Tile;
@@ -61,11 +68,14 @@ import org.openRealmOfStars.starMap.vote.Votes;
 import org.openRealmOfStars.utilities.DiceGenerator;
 import org.openRealmOfStars.utilities.ErrorLogger;
 import org.openRealmOfStars.utilities.IOUtilities;
+import org.openRealmOfStars.utilities.RandomStream;
 import org.openRealmOfStars.utilities.namegenerators.UnrealPlanetNameGenerator;
 import org.openRealmOfStars.utilities.namegenerators.RandomSystemNameGenerator;
 import org.openRealmOfStars.utilities.namegenerators.RoguePlanetNameGenerator;
 import org.openRealmOfStars.utilities.repository.NewsCorpRepository;
 import org.openRealmOfStars.utilities.repository.PlanetRepository;
+import org.openRealmOfStars.utilities.repository.SaveSectionReader;
+import org.openRealmOfStars.utilities.repository.SaveSectionWriter;
 import org.openRealmOfStars.utilities.repository.SunRepository;
 
 /**
@@ -153,6 +163,31 @@ public class StarMap {
    */
   private CulturePower[][] culture;
 
+  /**
+   * Culture stamps made in incremental culture update. Key is the
+   * culture source, planet or fleet, and value is array containing
+   * X coordinate, Y coordinate, culture value, player index and update
+   * generation.
+   */
+  private IdentityHashMap<Object, int[]> cultureStamps =
+      new IdentityHashMap<>();
+
+  /**
+   * Current culture update generation
+   */
+  private int cultureGeneration;
+
+  /**
+   * Is culture map exactly sum of culture stamps. False when culture
+   * has been added without stamp bookkeeping.
+   */
+  private boolean cultureStampsValid;
+
+  /**
+   * Is culture updated incrementally or recalculated on every turn.
+   */
+  private boolean incrementalCulture = true;
+
   /**
    * Cursor X coordinate
    */
@@ -192,9 +227,56 @@ public class StarMap {
   private int turn;
 
   /**
-   * Fleet tiles on map
+   * Fleet tiles on map. Fleet tile arrays are never modified after
+   * they have been created, so they can be read from other threads.
+   */
+  private volatile FleetTileInfo[][] fleetTiles;
+
+  /**
+   * Fleet tile index which is notified when fleets move, are created or
+   * are destroyed. Fleet tiles are updated from this index.
+   */
+  private FleetTileIndex fleetTileIndex;
+
+  /**
+   * Spatial and name index over suns and planets. Built on first use and
+   * rebuilt if sun or planet list changes.
+   */
+  private SolarSystemIndex systemIndex;
+
+  /**
+   * Fleet tile version. This is increased every time when fleet tiles
+   * are regenerated or cleared.
+   */
+  private int fleetVersion;
+
+  /**
+   * Passability layer for blocked sectors. Layers are bitsets in
+   * row major order. Published layer is never modified, changes
+   * are always done to a copy so path searches can share it.
+   */
+  private long[] blockedLayer;
+
+  /**
+   * Passability layer for blocked and dangerous sectors.
    */
-  private FleetTileInfo[][] fleetTiles;
+  private long[] dangerousLayer;
+
+  /**
+   * Passability version. This is increased every time when
+   * blocked or dangerous sectors change.
+   */
+  private int tileVersion;
+
+  /**
+   * Foreign fleet occupancy layers for each realm.
+   */
+  private long[][] foreignFleetLayers;
+
+  /**
+   * Fleet version which was used for building foreign fleet layers.
+   */
+  private int foreignFleetLayerVersion;
 
   /**
    * AI turn number
@@ -206,6 +288,17 @@ public class StarMap {
    */
   private Fleet aiFleet;
 
+  /**
+   * Realm ledger for planet production. Null until needed.
+   */
+  private RealmLedger realmLedger;
+
+  /**
+   * Random streams for realms in current AI turn. Used only in
+   * deterministic mode.
+   */
+  private RandomStream[] aiRandomStreams;
+
   /**
    * News corporation data
    */
@@ -329,7 +422,53 @@ public class StarMap {
   /**
    * Magic string to save game files
    */
-  public static final String MAGIC_STRING = "OROS-SAVE-GAME-0.23";
+  public static final String MAGIC_STRING = "OROS-SAVE-GAME-0.25";
+
+  /**
+   * Magic string for save game files with save game header but
+   * without sections. These can still be loaded.
+   */
+  public static final String MAGIC_STRING_NO_SECTIONS =
+      "OROS-SAVE-GAME-0.24";
+
+  /**
+   * Magic string for save game files without save game header.
+   * These can still be loaded.
+   */
+  public static final String MAGIC_STRING_NO_HEADER = "OROS-SAVE-GAME-0.23";
+
+  /**
+   * Save game section for game settings and map data
+   */
+  private static final int SECTION_MAP = 1;
+  /**
+   * Save game section for suns
+   */
+  private static final int SECTION_SUNS = 2;
+  /**
+   * Save game section for players
+   */
+  private static final int SECTION_PLAYERS = 3;
+  /**
+   * Save game section for planets
+   */
+  private static final int SECTION_PLANETS = 4;
+  /**
+   * Save game section for news
+   */
+  private static final int SECTION_NEWS = 5;
+  /**
+   * Save game section for votes
+   */
+  private static final int SECTION_VOTES = 6;
+  /**
+   * Save game section for tutorial
+   */
+  private static final int SECTION_TUTORIAL = 7;
+  /**
+   * Save game section for history
+   */
+  private static final int SECTION_HISTORY = 8;
 
   /**
    * Maximum amount of looping when finding free solar system spot.
@@ -1221,78 +1360,31 @@ public class StarMap {
     setBadKarmaCount(0);
     String str = IOUtilities.readString(dis);
     if (str.equals(MAGIC_STRING)) {
-      turn = dis.readInt();
-      // Just add single turn not to break not having turn
-      history.addTurn(turn);
-      // Victory conditions
-      setScoreVictoryTurn(dis.readInt());
-      setScoreCulture(dis.readInt());
-      setScoreConquer(dis.readInt());
-      setScoreResearch(dis.readInt());
-      setScoreDiplomacy(dis.readInt());
-      setScorePopulation(dis.readInt());
-      setPirateDifficulty(PirateDifficultLevel.getLevelByInt(dis.read()));
-      setKarmaType(KarmaType.getTypeByInt(dis.read()));
-      setKarmaSpeed(dis.read());
-      setGoodKarmaCount(dis.readInt());
-      setBadKarmaCount(dis.readInt());
-      maxX = dis.readInt();
-      maxY = dis.readInt();
-      culture = new CulturePower[maxX][maxY];
-      sunList = new ArrayList<>();
-      planetList = new ArrayList<>();
-      tiles = new int[maxX][maxY];
-      tileInfo = new SquareInfo[maxX][maxY];
-
-      // Map data itself
-      for (int x = 0; x < maxX; x++) {
-        for (int y = 0; y < maxY; y++) {
-          tiles[x][y] = dis.readInt();
-          tileInfo[x][y] = new SquareInfo(dis);
-        }
-      }
-      // Read suns
-      int count = dis.readInt();
-      for (int i = 0; i < count; i++) {
-        sunList.add(new SunRepository().restoreSun(dis));
-      }
-      // Players first
-      players = new PlayerList(dis);
-      // Map data itself
-      for (int x = 0; x < maxX; x++) {
-        for (int y = 0; y < maxY; y++) {
-          culture[x][y] = new CulturePower(players.getCurrentMaxPlayers());
-        }
-      }
-      count = dis.readInt();
-      for (int i = 0; i < count; i++) {
-        Planet planet = new PlanetRepository().restorePlanet(dis, players);
-        planetList.add(planet);
-      }
-      setAllNewsEnabled(dis.readBoolean());
-      NewsCorpRepository newsCorpRepo = new NewsCorpRepository();
-      newsCorpData = newsCorpRepo.restoreNewsCorp(dis,
+      // Header is only for load game view, everything is read again
+      new SaveGameHeader(dis);
+      SaveSectionReader reader = new SaveSectionReader(dis);
+      readMapData(reader.readSection(SECTION_MAP));
+      readSuns(reader.readSection(SECTION_SUNS));
+      readPlayers(reader.readSection(SECTION_PLAYERS));
+      readPlanets(reader.readSection(SECTION_PLANETS));
+      readNews(reader.readSection(SECTION_NEWS));
+      votes = new Votes(reader.readSection(SECTION_VOTES),
           players.getCurrentMaxRealms());
+      readTutorial(reader.readSection(SECTION_TUTORIAL));
+      readHistory(reader.readSection(SECTION_HISTORY));
+    } else if (str.equals(MAGIC_STRING_NO_SECTIONS)
+        || str.equals(MAGIC_STRING_NO_HEADER)) {
+      if (str.equals(MAGIC_STRING_NO_SECTIONS)) {
+        new SaveGameHeader(dis);
+      }
+      readMapData(dis);
+      readSuns(dis);
+      readPlayers(dis);
+      readPlanets(dis);
+      readNews(dis);
       votes = new Votes(dis, players.getCurrentMaxRealms());
-      int value = dis.read();
-      if (value == 1) {
-        tutorialEnabled = true;
-      } else {
-        tutorialEnabled = false;
-      }
-      value = dis.readInt();
-      for (int i = 0; i < value; i++) {
-        int index = IOUtilities.read16BitsToInt(dis);
-        Integer intValue = Integer.valueOf(index);
-        shownTutorialIndexes.add(intValue);
-      }
-      try {
-        history = History.readFromStream(dis);
-      } catch (IOException e) {
-        ErrorLogger.log("Failed reading history data,"
-            + " maybe save is missing it.");
-        throw e;
-      }
+      readTutorial(dis);
+      readHistory(dis);
     } else {
       if (str.startsWith("OROS-SAVE-GAME-")) {
         throw new IOException(
@@ -1304,14 +1396,204 @@ public class StarMap {
   }
 
   /**
-   * Save Game to DataOutputStream
+   * Does save game with certain magic string have save game header.
+   * @param magicString Magic string read from save game
+   * @return True if save game header follows magic string
+   */
+  public static boolean hasSaveGameHeader(final String magicString) {
+    return MAGIC_STRING.equals(magicString)
+        || MAGIC_STRING_NO_SECTIONS.equals(magicString);
+  }
+
+  /**
+   * Read game settings and map data from DataInputStream.
+   * @param dis DataInputStream
+   * @throws IOException if there is any problem with DataInputStream
+   */
+  private void readMapData(final DataInputStream dis) throws IOException {
+    turn = dis.readInt();
+    // Just add single turn not to break not having turn
+    history.addTurn(turn);
+    // Victory conditions
+    setScoreVictoryTurn(dis.readInt());
+    setScoreCulture(dis.readInt());
+    setScoreConquer(dis.readInt());
+    setScoreResearch(dis.readInt());
+    setScoreDiplomacy(dis.readInt());
+    setScorePopulation(dis.readInt());
+    setPirateDifficulty(PirateDifficultLevel.getLevelByInt(dis.read()));
+    setKarmaType(KarmaType.getTypeByInt(dis.read()));
+    setKarmaSpeed(dis.read());
+    setGoodKarmaCount(dis.readInt());
+    setBadKarmaCount(dis.readInt());
+    maxX = dis.readInt();
+    maxY = dis.readInt();
+    culture = new CulturePower[maxX][maxY];
+    sunList = new ArrayList<>();
+    planetList = new ArrayList<>();
+    tiles = new int[maxX][maxY];
+    tileInfo = new SquareInfo[maxX][maxY];
+
+    // Map data itself
+    for (int x = 0; x < maxX; x++) {
+      for (int y = 0; y < maxY; y++) {
+        tiles[x][y] = dis.readInt();
+        tileInfo[x][y] = new SquareInfo(dis);
+      }
+    }
+  }
+
+  /**
+   * Read suns from DataInputStream.
+   * @param dis DataInputStream
+   * @throws IOException if there is any problem with DataInputStream
+   */
+  private void readSuns(final DataInputStream dis) throws IOException {
+    int count = dis.readInt();
+    for (int i = 0; i < count; i++) {
+      sunList.add(new SunRepository().restoreSun(dis));
+    }
+  }
+
+  /**
+   * Read players from DataInputStream and initialize culture
+   * for them.
+   * @param dis DataInputStream
+   * @throws IOException if there is any problem with DataInputStream
+   */
+  private void readPlayers(final DataInputStream dis) throws IOException {
+    players = new PlayerList(dis);
+    for (int x = 0; x < maxX; x++) {
+      for (int y = 0; y < maxY; y++) {
+        culture[x][y] = new CulturePower(players.getCurrentMaxPlayers());
+      }
+    }
+  }
+
+  /**
+   * Read planets from DataInputStream.
+   * @param dis DataInputStream
+   * @throws IOException if there is any problem with DataInputStream
+   */
+  private void readPlanets(final DataInputStream dis) throws IOException {
+    int count = dis.readInt();
+    for (int i = 0; i < count; i++) {
+      Planet planet = new PlanetRepository().restorePlanet(dis, players);
+      planetList.add(planet);
+    }
+  }
+
+  /**
+   * Read news settings and news corp data from DataInputStream.
+   * @param dis DataInputStream
+   * @throws IOException if there is any problem with DataInputStream
+   */
+  private void readNews(final DataInputStream dis) throws IOException {
+    setAllNewsEnabled(dis.readBoolean());
+    NewsCorpRepository newsCorpRepo = new NewsCorpRepository();
+    newsCorpData = newsCorpRepo.restoreNewsCorp(dis,
+        players.getCurrentMaxRealms());
+  }
+
+  /**
+   * Read tutorial settings from DataInputStream.
+   * @param dis DataInputStream
+   * @throws IOException if there is any problem with DataInputStream
+   */
+  private void readTutorial(final DataInputStream dis) throws IOException {
+    int value = dis.read();
+    if (value == 1) {
+      tutorialEnabled = true;
+    } else {
+      tutorialEnabled = false;
+    }
+    value = dis.readInt();
+    for (int i = 0; i < value; i++) {
+      int index = IOUtilities.read16BitsToInt(dis);
+      Integer intValue = Integer.valueOf(index);
+      shownTutorialIndexes.add(intValue);
+    }
+  }
+
+  /**
+   * Read history from DataInputStream.
+   * @param dis DataInputStream
+   * @throws IOException if there is any problem with DataInputStream
+   */
+  private void readHistory(final DataInputStream dis) throws IOException {
+    try {
+      history = History.readFromStream(dis);
+    } catch (IOException e) {
+      ErrorLogger.log("Failed reading history data,"
+          + " maybe save is missing it.");
+      throw e;
+    }
+  }
+
+  /**
+   * Save Game to DataOutputStream. Game is written in sections and
+   * sections containing grids are deflate compressed.
    * Before calling this remove to update shown tutorial indexes
    * from tutorial.
    * @param dos DataOutputStream
    * @throws IOException if there is any problem with DataOutputStream
    */
   public void saveGame(final DataOutputStream dos) throws IOException {
-    IOUtilities.writeString(dos, "OROS-SAVE-GAME-0.23");
+    IOUtilities.writeString(dos, MAGIC_STRING);
+    new SaveGameHeader(this).write(dos);
+    SaveSectionWriter writer = new SaveSectionWriter(dos);
+    try {
+      writeMapData(writer.beginSection(SECTION_MAP, true));
+      writer.endSection();
+      DataOutputStream section = writer.beginSection(SECTION_SUNS, false);
+      section.writeInt(sunList.size());
+      for (int i = 0; i < sunList.size(); i++) {
+        Sun sun = sunList.get(i);
+        new SunRepository().saveSun(section, sun);
+      }
+      writer.endSection();
+      // Players contain map visibility data
+      players.savePlayerList(writer.beginSection(SECTION_PLAYERS, true));
+      writer.endSection();
+      section = writer.beginSection(SECTION_PLANETS, false);
+      section.writeInt(planetList.size());
+      for (int i = 0; i < planetList.size(); i++) {
+        new PlanetRepository().savePlanet(section, planetList.get(i));
+      }
+      writer.endSection();
+      section = writer.beginSection(SECTION_NEWS, false);
+      section.writeBoolean(allNewsEnabled);
+      NewsCorpRepository newsCorpRepo = new NewsCorpRepository();
+      newsCorpRepo.saveNewsCorp(section, newsCorpData);
+      writer.endSection();
+      votes.saveVotes(writer.beginSection(SECTION_VOTES, false));
+      writer.endSection();
+      section = writer.beginSection(SECTION_TUTORIAL, false);
+      if (tutorialEnabled) {
+        section.writeByte(1);
+      } else {
+        section.writeByte(0);
+      }
+      section.writeInt(shownTutorialIndexes.size());
+      for (int i = 0; i < shownTutorialIndexes.size(); i++) {
+        Integer value = shownTutorialIndexes.get(i);
+        section.write(IOUtilities.convertIntTo16BitMsb(value.intValue()));
+      }
+      writer.endSection();
+      history.writeToStream(writer.beginSection(SECTION_HISTORY, false));
+      writer.endSection();
+      writer.finish();
+    } finally {
+      writer.close();
+    }
+  }
+
+  /**
+   * Write game settings and map data to DataOutputStream.
+   * @param dos DataOutputStream
+   * @throws IOException if there is any problem with DataOutputStream
+   */
+  private void writeMapData(final DataOutputStream dos) throws IOException {
     // Turn number
     dos.writeInt(turn);
     // Victory conditions
@@ -1336,33 +1618,6 @@ public class StarMap {
         tileInfo[x][y].writeSquareInfo(dos);
       }
     }
-    // Write suns
-    dos.writeInt(sunList.size());
-    for (int i = 0; i < sunList.size(); i++) {
-      Sun sun = sunList.get(i);
-      new SunRepository().saveSun(dos, sun);
-    }
-    // Players first
-    players.savePlayerList(dos);
-    dos.writeInt(planetList.size());
-    for (int i = 0; i < planetList.size(); i++) {
-      new PlanetRepository().savePlanet(dos, planetList.get(i));
-    }
-    dos.writeBoolean(allNewsEnabled);
-    NewsCorpRepository newsCorpRepo = new NewsCorpRepository();
-    newsCorpRepo.saveNewsCorp(dos, newsCorpData);
-    votes.saveVotes(dos);
-    if (tutorialEnabled) {
-      dos.writeByte(1);
-    } else {
-      dos.writeByte(0);
-    }
-    dos.writeInt(shownTutorialIndexes.size());
-    for (int i = 0; i < shownTutorialIndexes.size(); i++) {
-      Integer value = shownTutorialIndexes.get(i);
-      dos.write(IOUtilities.convertIntTo16BitMsb(value.intValue()));
-    }
-    history.writeToStream(dos);
   }
 
   /**
@@ -2297,6 +2552,17 @@ public class StarMap {
     return mapOfSolar;
   }
 
+  /**
+   * Get spatial index over suns and planets.
+   * @return SolarSystemIndex
+   */
+  private SolarSystemIndex getSystemIndex() {
+    if (systemIndex == null || !systemIndex.matches(sunList, planetList)) {
+      systemIndex = new SolarSystemIndex(maxX, maxY, sunList, planetList);
+    }
+    return systemIndex;
+  }
+
   /**
    * Locate in which solar system coordinate is
    * @param x coordinate
@@ -2319,6 +2585,12 @@ public class StarMap {
    * Longest distance that should never be possible to get in map.
    */
   private static final double LONGEST_DISTANCE = 999999;
+
+  /**
+   * How many nearest suns are fetched at once when searching uncharted
+   * solar system.
+   */
+  private static final int NEAREST_SUNS_AT_ONCE = 4;
   /**
    * Get nearest uncharted Solar system for coordinate. This should never
    * return null. Unless there are no suns in galaxy.
@@ -2390,52 +2662,57 @@ public class StarMap {
   public Sun getNearestSolarSystem(final int x, final int y,
       final PlayerInfo info, final Fleet fleet, final String[] ignoreSuns,
       final boolean second) {
-    double distance = LONGEST_DISTANCE;
     Sun result = null;
     Sun secondChoice = null;
-    double secondDistance = LONGEST_DISTANCE;
+    SolarSystemIndex index = getSystemIndex();
+    int numberOfSuns = index.getNumberOfSuns();
+    // Walk suns from nearest, until two uncharted enough are found
+    int count = Math.min(numberOfSuns, NEAREST_SUNS_AT_ONCE);
+    int checked = 0;
+    while (secondChoice == null && checked < numberOfSuns) {
+      ArrayList<Sun> nearest = index.getNearestSuns(x, y, count);
+      for (int i = checked; i < nearest.size() && secondChoice == null;
+          i++) {
+        Sun sun = nearest.get(i);
+        if (StarMapUtilities.listContains(ignoreSuns, sun.getName())) {
+          continue;
+        }
+        if (info.getUnchartedValueSystem(sun) > 50) {
+          if (result == null) {
+            result = sun;
+          } else {
+            secondChoice = sun;
+          }
+        }
+      }
+      checked = nearest.size();
+      count = Math.min(numberOfSuns, count * 2);
+    }
+    if (result != null && secondChoice != null && second) {
+      if (DiceGenerator.getRandom(1) == 0) {
+        return result;
+      }
+      return secondChoice;
+    }
+    if (result != null) {
+      return result;
+    }
     int leastChartedValue = 100;
     Sun leastCharted = null;
     double leastChartedDist = LONGEST_DISTANCE;
+    Coordinate coordinate = new Coordinate(x, y);
     for (Sun sun : sunList) {
-      boolean ignore = false;
-      for (String ignoresun : ignoreSuns) {
-        if (sun.getName().equals(ignoresun)) {
-          ignore = true;
-          break;
-        }
-      }
-      if (ignore) {
+      if (StarMapUtilities.listContains(ignoreSuns, sun.getName())) {
         continue;
       }
-      Coordinate coordinate = new Coordinate(x, y);
       double dist = coordinate.calculateDistance(sun.getCenterCoordinate());
       int uncharted = info.getUnchartedValueSystem(sun);
-      if (dist < distance && uncharted > 50) {
-        secondDistance = distance;
-        distance = dist;
-        secondChoice = result;
-        result = sun;
-      } else if (dist < secondDistance
-          && uncharted > 50) {
-        secondDistance = dist;
-        secondChoice = sun;
-      }
       if (uncharted < leastChartedValue && dist < leastChartedDist) {
         leastChartedDist = dist;
         leastCharted = sun;
         leastChartedValue = uncharted;
       }
     }
-    if (result != null && secondChoice != null && second) {
-      if (DiceGenerator.getRandom(1) == 0) {
-        return result;
-      }
-      return secondChoice;
-    }
-    if (result != null) {
-      return result;
-    }
     return leastCharted;
   }
 
@@ -2474,19 +2751,19 @@ public class StarMap {
       if (ignoreSun != null && ignoreSun.equals(sun.getName())) {
         dist = LONGEST_DISTANCE;
       }
-      if (dist < distance && info.getUnchartedValueSystem(sun) > 50) {
+      int uncharted = info.getUnchartedValueSystem(sun);
+      if (dist < distance && uncharted > 50) {
         secondDistance = distance;
         distance = dist;
         secondChoice = result;
         result = sun;
-      } else if (dist < secondDistance
-          && info.getUnchartedValueSystem(sun) > 50) {
+      } else if (dist < secondDistance && uncharted > 50) {
         secondDistance = dist;
         secondChoice = sun;
       }
-      if (info.getUnchartedValueSystem(sun) < leastChartedValue) {
+      if (uncharted < leastChartedValue) {
         leastCharted = sun;
-        leastChartedValue = info.getUnchartedValueSystem(sun);
+        leastChartedValue = uncharted;
       }
     }
     if (result != null && secondChoice != null && second) {
@@ -2515,19 +2792,14 @@ public class StarMap {
    */
   public Sun getNearestSolarSystemForLeastLiked(final int x, final int y,
       final PlayerInfo info, final int leastLiked) {
-    double distance = LONGEST_DISTANCE;
-    Planet targetPlanet = null;
-    for (Planet planet : planetList) {
-      Coordinate coordinate = new Coordinate(x, y);
-      if (info.getSectorVisibility(planet.getCoordinate()) > 0
-          && planet.getPlanetOwnerIndex() == leastLiked) {
-        double dist = coordinate.calculateDistance(planet.getCoordinate());
-        if (dist < distance) {
-          distance = dist;
-          targetPlanet = planet;
-        }
-      }
-    }
+    Planet targetPlanet = getSystemIndex().getNearestPlanet(x, y,
+        new SolarSystemIndex.PlanetFilter() {
+          @Override
+          public boolean accept(final Planet planet) {
+            return planet.getPlanetOwnerIndex() == leastLiked
+                && info.getSectorVisibility(planet.getCoordinate()) > 0;
+          }
+        });
     Sun result = null;
     if (targetPlanet != null) {
       result = locateSolarSystem(targetPlanet.getX(), targetPlanet.getY());
@@ -2588,6 +2860,7 @@ public class StarMap {
   public void setTile(final int x, final int y, final Tile tile) {
     if (isValidCoordinate(x, y)) {
       tiles[x][y] = tile.getIndex();
+      updatePassability(x, y);
     }
   }
 
@@ -2607,29 +2880,7 @@ public class StarMap {
    */
   public void clearFleetTiles() {
     fleetTiles = null;
-  }
-
-  /**
-   * Set Fleet tile for certain position. If position already contains fleet
-   * tile and realm is different then tile is being marked as conflict.
-   * @param x X coordinate
-   * @param y Y Coordinate
-   * @param info FleetTileInfo
-   */
-  private void setFleetTile(final int x, final int y,
-      final FleetTileInfo info) {
-    if (fleetTiles[x][y] != null) {
-      int oldIndex = fleetTiles[x][y].getConflictIndex();
-      if (oldIndex == -1) {
-        oldIndex = fleetTiles[x][y].getPlayerIndex();
-      }
-      fleetTiles[x][y] = info;
-      if (fleetTiles[x][y].getPlayerIndex() != oldIndex) {
-        fleetTiles[x][y].setConflict(oldIndex);
-      }
-    } else {
-      fleetTiles[x][y] = info;
-    }
+    fleetVersion++;
   }
 
   /**
@@ -2660,98 +2911,26 @@ public class StarMap {
   }
   /**
    * Get the fleet tiles from the map.
-   * These fleet positions are always calculated
-   * @param refresh If true new fleet tiles are always generated
+   * Fleet tiles are updated from fleet tile index, which calculates
+   * again only sectors where fleets or orbitals have changed since
+   * previous update. Index is built again if realms or their fleet
+   * lists change. Returned array is never modified, updated fleet tiles
+   * are always new array.
+   * @param refresh If true fleet tiles are always updated
    * @return FleetTiles
    */
-  public FleetTileInfo[][] getFleetTiles(final boolean refresh) {
+  public synchronized FleetTileInfo[][] getFleetTiles(
+      final boolean refresh) {
     if (refresh || fleetTiles == null) {
-      fleetTiles = new FleetTileInfo[maxX][maxY];
-      for (int x = 0; x < maxX; x++) {
-        for (int y = 0; y < maxY; y++) {
-          fleetTiles[x][y] = null;
-        }
-      }
-      for (int i = 0; i < players.getCurrentMaxPlayers(); i++) {
-        PlayerInfo player = players.getPlayerInfoByIndex(i);
-        for (int j = 0; j < player.getFleets().getNumberOfFleets(); j++) {
-          Fleet fleet = player.getFleets().getByIndex(j);
-          if (fleet != null && fleetTiles[fleet.getX()][fleet.getY()] == null
-              && fleet.getFirstShip() != null) {
-            Ship ship = fleet.getBiggestShip();
-            FleetTileInfo info = new FleetTileInfo(
-                ship.getHull().getRace(),
-                ship.getHull().getImageIndex(), i, j);
-            setFleetTile(fleet.getX(), fleet.getY(), info);
-          } else {
-            for (int k = 0; k < player.getFleets().getNumberOfFleets(); k++) {
-              if (j != k) {
-                Fleet fleet2 = player.getFleets().getByIndex(k);
-                if (fleet2 != null &&  fleet != null
-                    && fleet2.getX() == fleet.getX()
-                    && fleet2.getY() == fleet.getY()
-                    && fleet2.getNumberOfShip() > 0) {
-                  if (fleet2.getFleetCloackingValue()
-                      < fleet.getFleetCloackingValue()) {
-                    Ship ship = fleet2.getBiggestShip();
-                    FleetTileInfo info = new FleetTileInfo(
-                        ship.getHull().getRace(),
-                        ship.getHull().getImageIndex(), i, k);
-                    setFleetTile(fleet2.getX(), fleet2.getY(), info);
-                  } else if (fleet2.getFleetCloackingValue()
-                      > fleet.getFleetCloackingValue()) {
-                    Ship ship = fleet.getBiggestShip();
-                    if (ship != null) {
-                      FleetTileInfo info = new FleetTileInfo(
-                          ship.getHull().getRace(),
-                          ship.getHull().getImageIndex(), i, j);
-                      setFleetTile(fleet.getX(), fleet.getY(), info);
-                    }
-                  } else if (fleet2.getMilitaryValue()
-                      > fleet.getMilitaryValue()) {
-                    Ship ship = fleet2.getBiggestShip();
-                    FleetTileInfo info = new FleetTileInfo(
-                        ship.getHull().getRace(),
-                        ship.getHull().getImageIndex(), i, k);
-                    setFleetTile(fleet2.getX(), fleet2.getY(), info);
-                  } else {
-                    Ship ship = fleet.getBiggestShip();
-                    if (ship != null) {
-                      FleetTileInfo info = new FleetTileInfo(
-                          ship.getHull().getRace(),
-                          ship.getHull().getImageIndex(), i, j);
-                      setFleetTile(fleet.getX(), fleet.getY(), info);
-                    }
-                  }
-                  if (fleet2.isStarBaseDeployed()) {
-                    Ship ship = fleet2.getBiggestShip();
-                    FleetTileInfo info = new FleetTileInfo(
-                        ship.getHull().getRace(),
-                        ship.getHull().getImageIndex(), i, k);
-                    setFleetTile(fleet2.getX(), fleet2.getY(), info);
-                  } else if (fleet.isStarBaseDeployed()) {
-                    Ship ship = fleet.getBiggestShip();
-                    FleetTileInfo info = new FleetTileInfo(
-                        ship.getHull().getRace(),
-                        ship.getHull().getImageIndex(), i, j);
-                    setFleetTile(fleet.getX(), fleet.getY(), info);
-                  }
-                }
-              }
-            }
-          }
-        }
-      }
-      for (int i = 0; i < planetList.size(); i++) {
-        Planet planet = planetList.get(i);
-        if (fleetTiles[planet.getX()][planet.getY()] == null
-            && planet.getOrbital() != null) {
-          FleetTileInfo info = new FleetTileInfo(
-              planet.getOrbital().getHull().getRace(),
-              planet.getOrbital().getHull().getImageIndex(), i);
-          setFleetTile(planet.getX(), planet.getY(), info);
-        }
+      if (fleetTileIndex == null
+          || !fleetTileIndex.isAttached(players, planetList)) {
+        fleetTileIndex = new FleetTileIndex(maxX, maxY, players,
+            planetList);
+        fleetVersion++;
+      } else if (fleetTileIndex.update()) {
+        fleetVersion++;
       }
+      fleetTiles = fleetTileIndex.getTiles();
     }
     return fleetTiles;
   }
@@ -2848,12 +3027,7 @@ public class StarMap {
    * @return Sun or null
    */
   public Sun getSunByName(final String sunName) {
-    for (Sun sun : sunList) {
-      if (sun.getName().equals(sunName)) {
-        return sun;
-      }
-    }
-    return null;
+    return getSystemIndex().getSunByName(sunName);
   }
 
   /**
@@ -2879,12 +3053,7 @@ public class StarMap {
    * @return Planet or null if not found
    */
   public Planet getPlanetByName(final String name) {
-    for (Planet planet : planetList) {
-      if (planet.getName().equals(name)) {
-        return planet;
-      }
-    }
-    return null;
+    return getSystemIndex().getPlanetByName(name);
   }
 
   /**
@@ -2939,6 +3108,7 @@ public class StarMap {
    */
   public void setPlanetList(final ArrayList<Planet> list) {
     planetList = list;
+    systemIndex = null;
   }
 
   /**
@@ -2949,18 +3119,13 @@ public class StarMap {
    */
   public Planet getClosestHomePort(final PlayerInfo info,
       final Coordinate currentPos) {
-    double distance = 9999.0;
-    Planet result = null;
-    for (Planet planet : planetList) {
-      if (planet.getPlanetPlayerInfo() == info) {
-        double dist = currentPos.calculateDistance(planet.getCoordinate());
-        if (dist < distance) {
-          distance = dist;
-          result = planet;
-        }
-      }
-    }
-    return result;
+    return getSystemIndex().getNearestPlanet(currentPos.getX(),
+        currentPos.getY(), new SolarSystemIndex.PlanetFilter() {
+          @Override
+          public boolean accept(final Planet planet) {
+            return planet.getPlanetPlayerInfo() == info;
+          }
+        });
   }
   /**
    * Get Fleet by fleetTile
@@ -3154,6 +3319,7 @@ public class StarMap {
   public void clearAITurn() {
     aiTurnNumber = 0;
     aiFleet = null;
+    aiRandomStreams = null;
     aiOrAutomateTakingMoves = false;
   }
 
@@ -3334,8 +3500,10 @@ public class StarMap {
       return;
     }
     if (info != null && !info.isHuman()) {
-      Coordinate coord = calculateCenterOfRealm(aiTurnNumber);
-      info.setCenterRealm(coord);
+      // Plan is made when realm's own turn starts so it sees changes
+      // made by realms handled earlier in this turn.
+      RealmPlan plan = new RealmPlan(this, aiTurnNumber);
+      info.setCenterRealm(plan.getCenter());
       int exploreMissions = 0;
       int extraExploring = 0;
       if (info.getStrategy() == WinningStrategy.POPULATION) {
@@ -3392,6 +3560,7 @@ public class StarMap {
         MissionHandling.findScoutShipForMission(info, mission);
       }
       // Handle research
+      TurnPhase previous = TurnProfiler.switchTo(TurnPhase.RESEARCH);
       Research.handle(info);
       Research.removeUnusedAndObsoleteDesigns(info, this);
       ArrayList<Message> messages = info.getMsgList().getFullList();
@@ -3402,11 +3571,12 @@ public class StarMap {
           break;
         }
       }
+      TurnProfiler.switchTo(previous);
       for (int j = 0; j < planetList.size(); j++) {
         // Handle planets
         Planet planet = planetList.get(j);
         if (planet.getPlanetPlayerInfo() == info) {
-          PlanetHandling.handlePlanet(this, planet, aiTurnNumber);
+          PlanetHandling.handlePlanet(this, planet, aiTurnNumber, plan);
         }
       }
       // Handle Leaders
@@ -3502,6 +3672,29 @@ public class StarMap {
     aiFleet = fleet;
   }
 
+  /**
+   * Get random stream for realm for current AI turn. Streams are
+   * available only in deterministic mode and they are derived from game
+   * seed, realm index and turn number. Same stream is returned until
+   * AI turn is cleared.
+   * @param realmIndex Realm index
+   * @return Random stream or null if not in deterministic mode
+   */
+  public RandomStream getAiRandomStream(final int realmIndex) {
+    if (!DiceGenerator.isDeterministic() || realmIndex < 0
+        || realmIndex >= players.getCurrentMaxPlayers()) {
+      return null;
+    }
+    if (aiRandomStreams == null) {
+      aiRandomStreams = new RandomStream[players.getCurrentMaxPlayers()];
+    }
+    if (aiRandomStreams[realmIndex] == null) {
+      aiRandomStreams[realmIndex] = DiceGenerator.getStream(
+          DiceGenerator.STREAM_AI, realmIndex).split(turn);
+    }
+    return aiRandomStreams[realmIndex];
+  }
+
   /**
    * Get current AI turn. This should be only used when handling AI
    * @return AI player's index
@@ -3574,12 +3767,7 @@ public class StarMap {
       }
     }
     if (scanRad != -1) {
-      for (int y = -scanRad; y < scanRad + 1; y++) {
-        for (int x = -scanRad; x < scanRad + 1; x++) {
-          drawVisibilityLine(info, cx, cy, cx + x, cy + y, cloakDetection,
-              scanRad, fleet);
-        }
-      }
+      scanSectors(info, cx, cy, cloakDetection, scanRad, fleet);
     }
   }
 
@@ -3813,274 +4001,123 @@ public class StarMap {
     return result;
   }
   /**
-   * Culture level 1
-   */
-  private static final int CULTURE_LEVEL_0 = 1;
-  /**
-   * Culture level 1
-   */
-  private static final int CULTURE_LEVEL_1 = 5;
-  /**
-   * Culture level 2
-   */
-  private static final int CULTURE_LEVEL_2 = 10;
-  /**
-   * Culture level 3
-   */
-  private static final int CULTURE_LEVEL_3 = 20;
-  /**
-   * Culture level 4
-   */
-  private static final int CULTURE_LEVEL_4 = 40;
-  /**
-   * Culture level 5
-   */
-  private static final int CULTURE_LEVEL_5 = 80;
-  /**
-   * Culture level 6
-   */
-  private static final int CULTURE_LEVEL_6 = 160;
-  /**
-   * Culture level 7
+   * Calculate culture on map
+   * @param cx Center of culture X coordinate
+   * @param cy Center of culture Y coordinate
+   * @param value Culture value
+   * @param index Player index
    */
-  private static final int CULTURE_LEVEL_7 = 320;
+  public void calculateCulture(final int cx, final int cy, final int value,
+      final int index) {
+    CultureKernel.getKernel(value).stamp(culture, cx, cy, value, index);
+    cultureStampsValid = false;
+  }
+
   /**
-   * Culture level 8
+   * Is culture updated incrementally.
+   * @return True if only changed culture sources are stamped again
    */
-  private static final int CULTURE_LEVEL_8 = 640;
+  public boolean isIncrementalCulture() {
+    return incrementalCulture;
+  }
+
   /**
-   * Culture level 9
+   * Set incremental culture update on or off. When off culture map is
+   * reset and all sources are stamped again on every update.
+   * @param incremental True for incremental culture update
    */
-  private static final int CULTURE_LEVEL_9 = 1280;
+  public void setIncrementalCulture(final boolean incremental) {
+    incrementalCulture = incremental;
+    cultureStampsValid = false;
+  }
 
   /**
-   * Maximum culture radius
+   * Begin culture update. After this all culture sources are stamped
+   * with stampCulture() and update is finished with endCultureUpdate().
+   * In incremental mode culture map keeps earlier values until the update
+   * is finished.
    */
-  private static final int MAX_CULTURE_RADIUS = 7;
+  public void beginCultureUpdate() {
+    if (!incrementalCulture || !cultureStampsValid) {
+      resetCulture();
+    }
+    cultureGeneration++;
+  }
+
   /**
-   * Calculate culture on map
+   * Stamp culture from culture source. In incremental mode source
+   * whose position, value and owner have not changed since last update
+   * is not stamped again.
+   * @param source Culture source, planet or fleet
    * @param cx Center of culture X coordinate
    * @param cy Center of culture Y coordinate
    * @param value Culture value
    * @param index Player index
    */
-  public void calculateCulture(final int cx, final int cy, final int value,
-      final int index) {
-    String mask = null;
-    if (value == CULTURE_LEVEL_0) {
-      //        765432101234567
-      mask = /* 7 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 4 */"...............\n"
-      + /* 3 */"...............\n"
-      + /* 2 */"...............\n"
-      + /* 1 */"...............\n"
-      + /* 0 */".......X.......\n"
-      + /* 1 */"...............\n"
-      + /* 2 */"...............\n"
-      + /* 3 */"...............\n"
-      + /* 4 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 7 */"...............\n";
-    } else if (value < CULTURE_LEVEL_1) {
-      //        765432101234567
-      mask = /* 7 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 4 */"...............\n"
-      + /* 3 */"...............\n"
-      + /* 2 */"...............\n"
-      + /* 1 */".......X.......\n"
-      + /* 0 */"......XXX......\n"
-      + /* 1 */".......X.......\n"
-      + /* 2 */"...............\n"
-      + /* 3 */"...............\n"
-      + /* 4 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 7 */"...............\n";
-    } else if (value < CULTURE_LEVEL_2) {
-      //        765432101234567
-      mask = /* 7 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 4 */"...............\n"
-      + /* 3 */"...............\n"
-      + /* 2 */"...............\n"
-      + /* 1 */"......1X1......\n"
-      + /* 0 */"......XXX......\n"
-      + /* 1 */"......1X1......\n"
-      + /* 2 */"...............\n"
-      + /* 3 */"...............\n"
-      + /* 4 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 7 */"...............\n";
-    } else if (value < CULTURE_LEVEL_3) {
-      //        765432101234567
-      mask = /* 7 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 4 */"...............\n"
-      + /* 3 */"...............\n"
-      + /* 2 */".......1.......\n"
-      + /* 1 */"......1X1......\n"
-      + /* 0 */".....1XXX1.....\n"
-      + /* 1 */"......1X1......\n"
-      + /* 2 */".......1.......\n"
-      + /* 3 */"...............\n"
-      + /* 4 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 7 */"...............\n";
-    } else if (value < CULTURE_LEVEL_4) {
-      //        765432101234567
-      mask = /* 7 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 4 */"...............\n"
-      + /* 3 */".......1.......\n"
-      + /* 2 */"......1X1......\n"
-      + /* 1 */".....1XXX1.....\n"
-      + /* 0 */"....1XXXXX1....\n"
-      + /* 1 */".....1XXX1.....\n"
-      + /* 2 */"......1X1......\n"
-      + /* 3 */".......1.......\n"
-      + /* 4 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 7 */"...............\n";
-    } else if (value < CULTURE_LEVEL_5) {
-      //        765432101234567
-      mask = /* 7 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 4 */".......1.......\n"
-      + /* 3 */"......121......\n"
-      + /* 2 */".....12X21.....\n"
-      + /* 1 */"....12XXX21....\n"
-      + /* 0 */"...12XXXXX21...\n"
-      + /* 1 */"....12XXX21....\n"
-      + /* 2 */".....12X21.....\n"
-      + /* 3 */"......121......\n"
-      + /* 4 */".......1.......\n"
-      + /* 5 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 7 */"...............\n";
-    } else if (value < CULTURE_LEVEL_6) {
-      //        765432101234567
-      mask = /* 7 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 5 */"...............\n"
-      + /* 4 */"......121......\n"
-      + /* 3 */".....12X21.....\n"
-      + /* 2 */"....12XXX21....\n"
-      + /* 1 */"...12XXXXX21...\n"
-      + /* 0 */"...2XXXXXXX2...\n"
-      + /* 1 */"...12XXXXX21...\n"
-      + /* 2 */"....12XXX21....\n"
-      + /* 3 */".....12X21.....\n"
-      + /* 4 */"......121......\n"
-      + /* 5 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 7 */"...............\n";
-    } else if (value < CULTURE_LEVEL_7) {
-      //        765432101234567
-      mask = /* 7 */"...............\n"
-      + /* 6 */"...............\n"
-      + /* 5 */"......121......\n"
-      + /* 4 */".....12X21.....\n"
-      + /* 3 */"....12XXX21....\n"
-      + /* 2 */"...12XXXXX21...\n"
-      + /* 1 */"..12XXXXXXX21..\n"
-      + /* 0 */"..2XXXXXXXXX2..\n"
-      + /* 1 */"..12XXXXXXX21..\n"
-      + /* 2 */"...12XXXXX21...\n"
-      + /* 3 */"....12XXX21....\n"
-      + /* 4 */".....12X21.....\n"
-      + /* 5 */"......121......\n"
-      + /* 6 */"...............\n"
-      + /* 7 */"...............\n";
-    } else if (value < CULTURE_LEVEL_8) {
-      //        765432101234567
-      mask = /* 7 */"...............\n"
-      + /* 6 */"......121......\n"
-      + /* 5 */".....12321.....\n"
-      + /* 4 */"....123X321....\n"
-      + /* 3 */"...123XXX321...\n"
-      + /* 2 */"..123XXXXX321..\n"
-      + /* 1 */".123XXXXXXX321.\n"
-      + /* 0 */".23XXXXXXXXX32.\n"
-      + /* 1 */".123XXXXXXX321.\n"
-      + /* 2 */"..123XXXXX321..\n"
-      + /* 3 */"...123XXX321...\n"
-      + /* 4 */"....123X321....\n"
-      + /* 5 */".....12321.....\n"
-      + /* 6 */"......121......\n"
-      + /* 7 */"...............\n";
-    } else if (value < CULTURE_LEVEL_9) {
-      //        765432101234567
-      mask = /* 7 */".......1.......\n"
-      + /* 6 */"......121......\n"
-      + /* 5 */"....123X321....\n"
-      + /* 4 */"....2XXXXX2....\n"
-      + /* 3 */"..123XXXXX321..\n"
-      + /* 2 */"..23XXXXXXX32..\n"
-      + /* 1 */".12XXXXXXXXX21.\n"
-      + /* 0 */"123XXXXXXXXX321\n"
-      + /* 1 */".12XXXXXXXXX21.\n"
-      + /* 2 */"..23XXXXXXX32..\n"
-      + /* 3 */"..123XXXXX321..\n"
-      + /* 4 */"....2XXXXX2....\n"
-      + /* 5 */"....123X321....\n"
-      + /* 6 */"......121......\n"
-      + /* 7 */".......1.......\n";
+  public void stampCulture(final Object source, final int cx, final int cy,
+      final int value, final int index) {
+    if (!incrementalCulture) {
+      CultureKernel.getKernel(value).stamp(culture, cx, cy, value, index);
+      return;
+    }
+    int[] stamp = cultureStamps.get(source);
+    if (stamp != null) {
+      if (stamp[0] == cx && stamp[1] == cy && stamp[2] == value
+          && stamp[3] == index) {
+        stamp[4] = cultureGeneration;
+        return;
+      }
+      CultureKernel.getKernel(stamp[2]).stamp(culture, stamp[0], stamp[1],
+          -stamp[2], stamp[3]);
     } else {
-      //        765432101234567
-      mask = /* 7 */"......121......\n"
-      + /* 6 */".....12321.....\n"
-      + /* 5 */"...123XXX321...\n"
-      + /* 4 */"...123XXX321...\n"
-      + /* 3 */".123XXXXXXX321.\n"
-      + /* 2 */".123XXXXXXX321.\n"
-      + /* 1 */"123XXXXXXXXX321\n"
-      + /* 0 */"23XXXXXXXXXXX32\n"
-      + /* 1 */"123XXXXXXXXX321\n"
-      + /* 2 */".123XXXXXXX321.\n"
-      + /* 3 */".123XXXXXXX321.\n"
-      + /* 4 */"...123XXX321...\n"
-      + /* 5 */"...123XXX321...\n"
-      + /* 6 */".....12321.....\n"
-      + /* 7 */"......121......\n";
-    }
-
-    String[] lines = mask.split("\n");
-    int x = -MAX_CULTURE_RADIUS;
-    int y = -MAX_CULTURE_RADIUS;
-    for (int line = 0; line < lines.length; line++) {
-      for (int col = 0; col < lines[line].length(); col++) {
-        if (lines[line].charAt(col) != '.') {
-          int adjustValue = value;
-          if (lines[line].charAt(col) == '1') {
-            adjustValue = adjustValue / 2;
-          }
-          if (lines[line].charAt(col) == '2') {
-            adjustValue = adjustValue * 2 / 3;
-          }
-          if (lines[line].charAt(col) == '3') {
-            adjustValue = adjustValue * 3 / 4;
-          }
-          addSectorCulture(cx + x, cy + y, index, adjustValue);
+      stamp = new int[5];
+      cultureStamps.put(source, stamp);
+    }
+    CultureKernel.getKernel(value).stamp(culture, cx, cy, value, index);
+    stamp[0] = cx;
+    stamp[1] = cy;
+    stamp[2] = value;
+    stamp[3] = index;
+    stamp[4] = cultureGeneration;
+  }
+
+  /**
+   * Stamp culture for all planets owned by realm in one pass.
+   */
+  public void stampPlanetCulture() {
+    for (int i = 0; i < planetList.size(); i++) {
+      Planet planet = planetList.get(i);
+      if (planet.getPlanetPlayerInfo() != null) {
+        int index = players.getIndex(planet.getPlanetPlayerInfo());
+        if (index > -1) {
+          stampCulture(planet, planet.getX(), planet.getY(),
+              planet.getCulture(), index);
         }
-        x++;
       }
-      x = -MAX_CULTURE_RADIUS;
-      y++;
     }
   }
 
+  /**
+   * End culture update. In incremental mode culture from sources
+   * which were not stamped during update is removed.
+   */
+  public void endCultureUpdate() {
+    if (!incrementalCulture) {
+      return;
+    }
+    Iterator<Map.Entry<Object, int[]>> iterator = cultureStamps.entrySet()
+        .iterator();
+    while (iterator.hasNext()) {
+      int[] stamp = iterator.next().getValue();
+      if (stamp[4] != cultureGeneration) {
+        CultureKernel.getKernel(stamp[2]).stamp(culture, stamp[0],
+            stamp[1], -stamp[2], stamp[3]);
+        iterator.remove();
+      }
+    }
+    cultureStampsValid = true;
+  }
+
   /**
    * Reset culture information for whole map
    */
@@ -4090,6 +4127,8 @@ public class StarMap {
         culture[i][j].reset();
       }
     }
+    cultureStamps.clear();
+    cultureStampsValid = true;
   }
 
   /**
@@ -4291,77 +4330,66 @@ public class StarMap {
 
   }
   /**
-   * Draw visibility line and set visibility info for one player
+   * Scan sectors around scanner and set visibility info for one player.
+   * Rays are cast to every sector of scan square and each ray ends at
+   * sector which blocks the vision. Cloaking detection decreases by 10
+   * for each step. Messages, tutorial and rare tech are only handled
+   * for sectors which were not visible before.
    * @param info PlayerInfo
-   * @param sx Start X
-   * @param sy Start Y
-   * @param ex End X
-   * @param ey End Y
+   * @param cx Scanner X coordinate
+   * @param cy Scanner Y coordinate
    * @param cloakDetection Cloaking Detection level
-   * @param maxRad maximum radius
+   * @param scanRad Scanner radius
    * @param fleet Fleet or null
    */
-  private void drawVisibilityLine(final PlayerInfo info, final int sx,
-      final int sy, final int ex, final int ey, final int cloakDetection,
-      final int maxRad, final Fleet fleet) {
-    double startX = sx;
-    double startY = sy;
-    double dx = Math.abs(startX - ex);
-    double dy = Math.abs(startY - ey);
-    // Calculate distance to end
-    int distance = (int) dy;
-    if (dx > dy) {
-      distance = (int) dx;
-    }
-    double mx;
-    double my;
-    // Calculate how much move each round
-    if (distance > 0) {
-      mx = (ex - startX) / distance;
-      my = (ey - startY) / distance;
-    } else {
-      mx = 0;
-      my = 0;
-    }
-    int detectValue = cloakDetection;
-    info.setSectorVisibility(sx, sy, PlayerInfo.VISIBLE);
-    tutorialBasedOnTiles(info, sx, sy);
-    rareTechBasedOnTiles(info, sx, sy);
-    if (detectValue > 0) {
-      info.setSectorCloakingDetection(sx, sy, detectValue);
-    }
-    // Moving loop
-    for (int i = 0; i < distance; i++) {
-      startX = startX + mx;
-      startY = startY + my;
-      int nx = (int) Math.round(startX);
-      int ny = (int) Math.round(startY);
-      Coordinate startCoordinate = new Coordinate(sx, sy);
-      Coordinate coordinate = new Coordinate(nx, ny);
-      if (startCoordinate.calculateDistance(coordinate) > maxRad) {
-        // We have moved to maximum radius
-        break;
+  private void scanSectors(final PlayerInfo info, final int cx,
+      final int cy, final int cloakDetection, final int scanRad,
+      final Fleet fleet) {
+    if (info.getSectorVisibility(cx, cy) != PlayerInfo.VISIBLE) {
+      info.setSectorVisibility(cx, cy, PlayerInfo.VISIBLE);
+      tutorialBasedOnTiles(info, cx, cy);
+      rareTechBasedOnTiles(info, cx, cy);
+    }
+    if (cloakDetection > 0) {
+      info.setSectorCloakingDetection(cx, cy, cloakDetection);
+    }
+    ScanRayTable table = ScanRayTable.getTable(scanRad);
+    int[] detectValues = new int[table.getMaxDepth() + 1];
+    detectValues[0] = cloakDetection;
+    int i = 0;
+    while (i < table.getSize()) {
+      int nx = cx + table.getOffsetX(i);
+      int ny = cy + table.getOffsetY(i);
+      if (!isValidCoordinate(nx, ny)) {
+        // Ray never returns to map
+        i = table.getSkip(i);
+        continue;
       }
-      if (isValidCoordinate(nx, ny)) {
-        if (info.getSectorVisibility(coordinate) == PlayerInfo.UNCHARTED
-            && fleet != null) {
+      int depth = table.getDepth(i);
+      int detectValue = detectValues[depth];
+      byte visibility = info.getSectorVisibility(nx, ny);
+      if (visibility != PlayerInfo.VISIBLE) {
+        if (visibility == PlayerInfo.UNCHARTED && fleet != null) {
           messageBasedOnTiles(info, nx, ny, fleet);
         }
         info.setSectorVisibility(nx, ny, PlayerInfo.VISIBLE);
         tutorialBasedOnTiles(info, nx, ny);
         rareTechBasedOnTiles(info, nx, ny);
-        if (detectValue > 0
-            && info.getSectorCloakDetection(nx, ny) < detectValue) {
-          info.setSectorCloakingDetection(nx, ny, detectValue);
-        }
-        if (tileInfo[nx][ny].isVisibilityBlocked()) {
-          // There is something that blocks the vision
-          break;
-        }
-        if (detectValue > 0) {
-          detectValue = detectValue - 10;
-        }
       }
+      if (detectValue > 0
+          && info.getSectorCloakDetection(nx, ny) < detectValue) {
+        info.setSectorCloakingDetection(nx, ny, detectValue);
+      }
+      if (tileInfo[nx][ny].isVisibilityBlocked()) {
+        // There is something that blocks the vision
+        i = table.getSkip(i);
+        continue;
+      }
+      if (detectValue > 0) {
+        detectValue = detectValue - 10;
+      }
+      detectValues[depth + 1] = detectValue;
+      i++;
     }
   }
 
@@ -4388,6 +4416,22 @@ public class StarMap {
     }
     return result;
   }
+  /**
+   * Get realm ledger updated to current planets. Ledger is kept between
+   * calls and production is read again only for planets which have
+   * changed.
+   * @return RealmLedger
+   */
+  public RealmLedger getRealmLedger() {
+    if (realmLedger == null) {
+      realmLedger = new RealmLedger(planetList,
+          players.getCurrentMaxPlayers(), true);
+    } else {
+      realmLedger.update(planetList);
+    }
+    return realmLedger;
+  }
+
   /**
    * Get total production for one player per turn for certain production
    * @param production See Planet.PRODUCTION_*
@@ -4404,6 +4448,35 @@ public class StarMap {
         result = result + planet.getTotalProduction(production);
       }
     }
+    return addRealmProduction(production, playerIndex, result, null);
+  }
+
+  /**
+   * Get total production for one player per turn for certain production.
+   * Planet production is taken from realm ledger.
+   * @param production See Planet.PRODUCTION_*
+   * @param playerIndex Player index to match
+   * @param ledger Realm ledger for current planets
+   * @return total production per turn
+   */
+  public int getTotalProductionByPlayerPerTurn(final int production,
+      final int playerIndex, final RealmLedger ledger) {
+    return addRealmProduction(production, playerIndex,
+        ledger.getProduction(playerIndex, production), ledger);
+  }
+
+  /**
+   * Add production which does not come from planets.
+   * @param production See Planet.PRODUCTION_*
+   * @param playerIndex Player index
+   * @param planetProduction Production from realm's planets
+   * @param ledger Realm ledger or null if planets are scanned
+   * @return total production per turn
+   */
+  private int addRealmProduction(final int production,
+      final int playerIndex, final int planetProduction,
+      final RealmLedger ledger) {
+    int result = planetProduction;
     PlayerInfo info = getPlayerByIndex(playerIndex);
     if (production == Planet.PRODUCTION_CREDITS && info.getRuler() != null
         && info.getRuler().hasPerk(Perk.MERCHANT)) {
@@ -4493,8 +4566,14 @@ public class StarMap {
     }
     if (production == Planet.PRODUCTION_ARTIFACT_RESEARCH
         && info.getArtifactLists().hasDiscoveredArtifacts()) {
-      int research = getTotalProductionByPlayerPerTurn(
-          Planet.PRODUCTION_RESEARCH, playerIndex);
+      int research;
+      if (ledger == null) {
+        research = getTotalProductionByPlayerPerTurn(
+            Planet.PRODUCTION_RESEARCH, playerIndex);
+      } else {
+        research = getTotalProductionByPlayerPerTurn(
+            Planet.PRODUCTION_RESEARCH, playerIndex, ledger);
+      }
       research = research / 10;
       if (research < 1) {
         research = 1;
@@ -4570,6 +4649,7 @@ public class StarMap {
   public void clearTileInfo(final int x, final int y) {
     if (isValidCoordinate(x, y)) {
       tileInfo[x][y] = SquareInfo.EMPTY_TILE;
+      updatePassability(x, y);
     }
   }
   /**
@@ -4599,6 +4679,129 @@ public class StarMap {
     }
   }
 
+  /**
+   * Get fleet tile version. Version changes every time when fleet tiles
+   * are regenerated or cleared.
+   * @return Fleet tile version
+   */
+  public int getFleetVersion() {
+    return fleetVersion;
+  }
+
+  /**
+   * Get passability version. Version changes every time when blocked or
+   * dangerous sectors change.
+   * @return Passability version
+   */
+  public int getTileVersion() {
+    return tileVersion;
+  }
+
+  /**
+   * Build passability layers from tiles.
+   */
+  private void buildPassabilityLayers() {
+    long[] blocked = PathSearchEngine.createGrid(maxX, maxY);
+    long[] dangerous = PathSearchEngine.createGrid(maxX, maxY);
+    for (int y = 0; y < maxY; y++) {
+      for (int x = 0; x < maxX; x++) {
+        int index = y * maxX + x;
+        if (isBlocked(x, y)) {
+          PathSearchEngine.setBlocked(blocked, index);
+          PathSearchEngine.setBlocked(dangerous, index);
+        } else if (isDangerous(x, y)) {
+          PathSearchEngine.setBlocked(dangerous, index);
+        }
+      }
+    }
+    blockedLayer = blocked;
+    dangerousLayer = dangerous;
+  }
+
+  /**
+   * Update passability layers after sector has changed.
+   * Layers are copied before modifying so that earlier
+   * published layers stay intact.
+   * @param x X coordinate
+   * @param y Y coordinate
+   */
+  private void updatePassability(final int x, final int y) {
+    if (blockedLayer == null) {
+      tileVersion++;
+      return;
+    }
+    int index = y * maxX + x;
+    boolean blocked = isBlocked(x, y);
+    boolean dangerous = blocked || isDangerous(x, y);
+    if (blocked != PathSearchEngine.isBlocked(blockedLayer, index)) {
+      blockedLayer = blockedLayer.clone();
+      if (blocked) {
+        PathSearchEngine.setBlocked(blockedLayer, index);
+      } else {
+        PathSearchEngine.clearBlocked(blockedLayer, index);
+      }
+      tileVersion++;
+    }
+    if (dangerous != PathSearchEngine.isBlocked(dangerousLayer, index)) {
+      dangerousLayer = dangerousLayer.clone();
+      if (dangerous) {
+        PathSearchEngine.setBlocked(dangerousLayer, index);
+      } else {
+        PathSearchEngine.clearBlocked(dangerousLayer, index);
+      }
+      tileVersion++;
+    }
+  }
+
+  /**
+   * Get passability layer for path searching. Layer is bitset in row
+   * major order where bit is set if sector is blocked. Returned layer is
+   * shared and must not be modified.
+   * @param dangerousBlocked are dangerous sectors considered as blocked
+   * @return Passability layer
+   */
+  public long[] getPassabilityLayer(final boolean dangerousBlocked) {
+    if (blockedLayer == null) {
+      buildPassabilityLayers();
+    }
+    if (dangerousBlocked) {
+      return dangerousLayer;
+    }
+    return blockedLayer;
+  }
+
+  /**
+   * Get foreign fleet occupancy layer for realm. Layer is bitset in row
+   * major order where bit is set if there is fleet or orbital
+   * not owned by the realm. Layer is built from current fleet tiles and
+   * kept until fleet tiles change. Returned layer is shared and must
+   * not be modified.
+   * @param realmIndex Realm index
+   * @return Foreign fleet layer
+   */
+  public long[] getForeignFleetLayer(final int realmIndex) {
+    FleetTileInfo[][] fleetMap = getFleetTiles(false);
+    if (foreignFleetLayers == null
+        || foreignFleetLayerVersion != fleetVersion) {
+      foreignFleetLayers = new long[MAX_PLAYERS][];
+      foreignFleetLayerVersion = fleetVersion;
+    }
+    long[] layer = foreignFleetLayers[realmIndex];
+    if (layer == null) {
+      layer = PathSearchEngine.createGrid(maxX, maxY);
+      for (int y = 0; y < maxY; y++) {
+        for (int x = 0; x < maxX; x++) {
+          FleetTileInfo fleetTile = fleetMap[x][y];
+          if (fleetTile != null && fleetTile.getPlayerIndex() != realmIndex) {
+            PathSearchEngine.setBlocked(layer, y * maxX + x);
+          }
+        }
+      }
+      foreignFleetLayers[realmIndex] = layer;
+    }
+    return layer;
+  }
+
   /**
    * Is tile dangerous or not
    * @param x X coordinate
@@ -5148,13 +5351,19 @@ public class StarMap {
           planet.getName(), ownerIndex);
       event.setText(newsData.getNewsText());
       history.addEvent(event);
+      boolean indexed = systemIndex != null
+          && systemIndex.matches(sunList, planetList);
       planetList.add(planet);
+      if (indexed) {
+        systemIndex.addPlanet(planet);
+      }
       int planetNumber = planetList.size() - 1;
       SquareInfo info = new SquareInfo(SquareInfo.TYPE_PLANET, planetNumber);
       int px = planet.getCoordinate().getX();
       int py = planet.getCoordinate().getY();
       tileInfo[px][py] = info;
       tiles[px][py] = planet.getPlanetType().getTileIndex();
+      updatePassability(px, py);
     }
   }
 
@@ -0,0 +1,139 @@
+package org.openRealmOfStars.starMap.newsCorp;
+
+import java.util.ArrayList;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Image instruction string split into commands and parameters once,
+ * so same instructions can be painted again without parsing.
+ *
+ */
+public final class CompiledImageInstruction {
+
+  /**
+   * Character for starting parameters
+   */
+  private static final char PARAM_START = '(';
+
+  /**
+   * Instruction delimiter
+   */
+  private static final char INSTRUCTION_DELIM = '+';
+
+  /**
+   * Parameter delimiter
+   */
+  private static final char PARAMETER_DELIM = ',';
+
+  /**
+   * Commands in drawing order
+   */
+  private final String[] commands;
+
+  /**
+   * Parameters for each command
+   */
+  private final String[][] parameters;
+
+  /**
+   * Constructor for compiled instruction.
+   * @param commands Commands in drawing order
+   * @param parameters Parameters for each command
+   */
+  private CompiledImageInstruction(final String[] commands,
+      final String[][] parameters) {
+    this.commands = commands;
+    this.parameters = parameters;
+  }
+
+  /**
+   * Split text with single character delimiter. Works like
+   * String.split(), so trailing empty parts are removed.
+   * @param text Text to split
+   * @param delim Delimiter
+   * @return Split parts
+   */
+  private static String[] split(final String text, final char delim) {
+    ArrayList<String> parts = new ArrayList<>();
+    int start = 0;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == delim) {
+        parts.add(text.substring(start, i));
+        start = i + 1;
+      }
+    }
+    parts.add(text.substring(start));
+    if (parts.size() > 1) {
+      while (!parts.isEmpty() && parts.get(parts.size() - 1).isEmpty()) {
+        parts.remove(parts.size() - 1);
+      }
+    }
+    return parts.toArray(new String[parts.size()]);
+  }
+
+  /**
+   * Compile image instruction string.
+   * @param instructions Instruction as a String
+   * @return CompiledImageInstruction
+   * @throws IllegalArgumentException if command has no parameters
+   */
+  public static CompiledImageInstruction compile(final String instructions) {
+    String[] lines = split(instructions, INSTRUCTION_DELIM);
+    String[] commands = new String[lines.length];
+    String[][] parameters = new String[lines.length][];
+    for (int i = 0; i < lines.length; i++) {
+      String[] parts = split(lines[i], PARAM_START);
+      if (parts.length != 2) {
+        throw new IllegalArgumentException(
+            "Command does not contain command and parameters: " + lines[i]);
+      }
+      commands[i] = parts[0];
+      String allParameters = parts[1].substring(0, parts[1].length() - 1);
+      parameters[i] = split(allParameters, PARAMETER_DELIM);
+    }
+    return new CompiledImageInstruction(commands, parameters);
+  }
+
+  /**
+   * Get number of commands.
+   * @return Number of commands
+   */
+  public int getNumberOfCommands() {
+    return commands.length;
+  }
+
+  /**
+   * Get command by index.
+   * @param index Command index
+   * @return Command
+   */
+  public String getCommand(final int index) {
+    return commands[index];
+  }
+
+  /**
+   * Get parameters of command by index.
+   * @param index Command index
+   * @return Parameters
+   */
+  public String[] getParameters(final int index) {
+    return parameters[index];
+  }
+}
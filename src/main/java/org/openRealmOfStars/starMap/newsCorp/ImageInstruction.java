@@ -3,6 +3,7 @@ package org.openRealmOfStars.starMap.newsCorp;
 import java.awt.Color;
 import java.awt.GradientPaint;
 import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 
 import org.openRealmOfStars.gui.utilies.GraphRoutines;
@@ -1319,19 +1320,23 @@ public class ImageInstruction {
    */
   public static BufferedImage parseImageInstructions(final BufferedImage image,
       final String instructions) {
+    return paintInstructions(image,
+        CompiledImageInstruction.compile(instructions));
+  }
+
+  /**
+   * Draw compiled image instructions to given image.
+   * @param image Image where to draw
+   * @param instructions Compiled instructions
+   * @return BufferedImage with generated content
+   */
+  public static BufferedImage paintInstructions(final BufferedImage image,
+      final CompiledImageInstruction instructions) {
     int textY = 30;
     BufferedImage workImage = image;
-    String[] lines = instructions.split("\\+");
-    for (String line : lines) {
-      String[] parts = line.split("\\(");
-      if (parts.length != 2) {
-        throw new IllegalArgumentException(
-            "Command does not contain command and parameters: " + line);
-      }
-      String command = parts[0];
-      String allParameters = parts[1];
-      allParameters = allParameters.substring(0, allParameters.length() - 1);
-      String[] parameters = allParameters.split(",");
+    for (int i = 0; i < instructions.getNumberOfCommands(); i++) {
+      String command = instructions.getCommand(i);
+      String[] parameters = instructions.getParameters(i);
       if (BACKGROUND.equals(command)) {
         // Background has only one parameter
         paintBackground(workImage, parameters[0]);
@@ -1340,10 +1345,13 @@ public class ImageInstruction {
         Graphics2D g = (Graphics2D) workImage.getGraphics();
         g.setColor(GuiStatics.COLOR_COOL_SPACE_BLUE);
         g.setFont(GuiStatics.getFontCubellanBoldBig());
-        int textWidth = GuiStatics.getTextWidth(g.getFont(), parameters[0]);
-        int height = GuiStatics.getTextHeight(g.getFont(), parameters[0]);
+        Rectangle2D bounds = g.getFont().getStringBounds(parameters[0],
+            g.getFontRenderContext());
+        int textWidth = (int) bounds.getWidth();
+        int height = (int) bounds.getHeight();
         g.drawString(parameters[0], workImage.getWidth() / 2 - textWidth / 2,
             textY);
+        g.dispose();
         textY = textY + height * 2;
       }
       if (PLANET.equals(command) || DRAW_LOGO.equals(command)) {
@@ -6,6 +6,7 @@ import org.openRealmOfStars.player.PlayerInfo;
 import org.openRealmOfStars.player.PlayerList;
 import org.openRealmOfStars.player.fleet.Fleet;
 import org.openRealmOfStars.player.tech.TechType;
+import org.openRealmOfStars.starMap.RealmLedger;
 import org.openRealmOfStars.starMap.planet.Planet;
 
 /**
@@ -195,15 +196,17 @@ public class NewsCorpData {
    * @param planetList from StarMap
    */
   public void calculatePlanets(final ArrayList<Planet> planetList) {
-    int[] data = new int[planets.getMaxPlayers()];
-    for (Planet planet : planetList) {
-      int i = planet.getPlanetOwnerIndex();
-      if (i != -1 && i < planets.getMaxPlayers()) {
-        data[i] = data[i] + 1;
-      }
-    }
+    calculatePlanets(new RealmLedger(planetList, planets.getMaxPlayers(),
+        false));
+  }
+
+  /**
+   * Calculate how many planets players have
+   * @param ledger Realm ledger for current planets
+   */
+  public void calculatePlanets(final RealmLedger ledger) {
     for (int i = 0; i < planets.getMaxPlayers(); i++) {
-      planets.addStat(i, data[i]);
+      planets.addStat(i, ledger.getPlanets(i));
     }
   }
 
@@ -231,12 +234,20 @@ public class NewsCorpData {
    */
   public void calculateCulture(final ArrayList<Planet> planetList,
       final PlayerList playerList) {
+    calculateCulture(new RealmLedger(planetList, cultural.getMaxPlayers(),
+        false), playerList);
+  }
+
+  /**
+   * Calculate how much culture players have
+   * @param ledger Realm ledger for current planets
+   * @param playerList from StarMap
+   */
+  public void calculateCulture(final RealmLedger ledger,
+      final PlayerList playerList) {
     int[] data = new int[cultural.getMaxPlayers()];
-    for (Planet planet : planetList) {
-      int i = planet.getPlanetOwnerIndex();
-      if (i != -1 && i < cultural.getMaxPlayers()) {
-        data[i] = data[i] + planet.getCulture();
-      }
+    for (int i = 0; i < cultural.getMaxPlayers(); i++) {
+      data[i] = ledger.getCulture(i);
     }
     int maxPlayer = playerList.getCurrentMaxRealms();
     for (int i = 0; i < maxPlayer; i++) {
@@ -256,15 +267,17 @@ public class NewsCorpData {
    * @param planetList from StarMap
    */
   public void calculatePopulation(final ArrayList<Planet> planetList) {
-    int[] data = new int[population.getMaxPlayers()];
-    for (Planet planet : planetList) {
-      int i = planet.getPlanetOwnerIndex();
-      if (i != -1 && i < population.getMaxPlayers()) {
-        data[i] = data[i] + planet.getTotalPopulation();
-      }
-    }
+    calculatePopulation(new RealmLedger(planetList,
+        population.getMaxPlayers(), false));
+  }
+
+  /**
+   * Calculate how much population players have
+   * @param ledger Realm ledger for current planets
+   */
+  public void calculatePopulation(final RealmLedger ledger) {
     for (int i = 0; i < population.getMaxPlayers(); i++) {
-      population.addStat(i, data[i]);
+      population.addStat(i, ledger.getPopulation(i));
     }
   }
 
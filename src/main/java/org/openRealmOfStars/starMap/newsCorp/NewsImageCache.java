@@ -0,0 +1,230 @@
+package org.openRealmOfStars.starMap.newsCorp;
+
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import org.openRealmOfStars.utilities.ErrorLogger;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Least recently used cache of rendered news images. Images are keyed
+ * by image instructions and image size. Images can be prefetched
+ * in background thread, so they are ready when news is shown.
+ * Cached images are shared, so they must not be drawn over.
+ *
+ */
+public final class NewsImageCache {
+
+  /**
+   * Maximum number of cached images
+   */
+  public static final int MAX_IMAGES = 24;
+
+  /**
+   * Rendered images or images being rendered by key
+   */
+  private static final Map<String, FutureTask<BufferedImage>> IMAGES =
+      new LinkedHashMap<String, FutureTask<BufferedImage>>(MAX_IMAGES, 0.75f,
+          true) {
+
+    /**
+     * Serial version UID
+     */
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(
+        final Map.Entry<String, FutureTask<BufferedImage>> eldest) {
+      return size() > MAX_IMAGES;
+    }
+  };
+
+  /**
+   * Background renderer. Created when needed first time.
+   */
+  private static ExecutorService renderer;
+
+  /**
+   * Hidden constructor.
+   */
+  private NewsImageCache() {
+    // Nothing to do
+  }
+
+  /**
+   * Get cache key for image.
+   * @param instructions Image instructions
+   * @param width Image width
+   * @param height Image height
+   * @return Cache key
+   */
+  private static String getKey(final String instructions, final int width,
+      final int height) {
+    return width + "x" + height + ":" + instructions;
+  }
+
+  /**
+   * Get background renderer.
+   * @return ExecutorService
+   */
+  private static synchronized ExecutorService getRenderer() {
+    if (renderer == null) {
+      renderer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+          Thread thread = new Thread(runnable, "News image renderer");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return renderer;
+  }
+
+  /**
+   * Get cached image task or create new one.
+   * @param instructions Image instructions
+   * @param width Image width
+   * @param height Image height
+   * @param created One element array, set true if task was created
+   * @return Task rendering the image
+   */
+  private static synchronized FutureTask<BufferedImage> getTask(
+      final String instructions, final int width, final int height,
+      final boolean[] created) {
+    String key = getKey(instructions, width, height);
+    FutureTask<BufferedImage> task = IMAGES.get(key);
+    created[0] = task == null;
+    if (task == null) {
+      task = new FutureTask<>(new Callable<BufferedImage>() {
+        @Override
+        public BufferedImage call() {
+          return render(instructions, width, height);
+        }
+      });
+      IMAGES.put(key, task);
+    }
+    return task;
+  }
+
+  /**
+   * Remove failed task from cache.
+   * @param instructions Image instructions
+   * @param width Image width
+   * @param height Image height
+   */
+  private static synchronized void removeTask(final String instructions,
+      final int width, final int height) {
+    IMAGES.remove(getKey(instructions, width, height));
+  }
+
+  /**
+   * Render news image.
+   * @param instructions Image instructions
+   * @param width Image width
+   * @param height Image height
+   * @return Rendered image
+   */
+  public static BufferedImage render(final String instructions,
+      final int width, final int height) {
+    BufferedImage image = new BufferedImage(width, height,
+        BufferedImage.TYPE_4BYTE_ABGR);
+    return ImageInstruction.paintInstructions(image,
+        CompiledImageInstruction.compile(instructions));
+  }
+
+  /**
+   * Get news image. Image is rendered in calling thread if it has not
+   * been rendered or prefetched earlier. If image is being prefetched
+   * this waits until it is ready.
+   * @param instructions Image instructions
+   * @param width Image width
+   * @param height Image height
+   * @return Rendered image
+   * @throws IllegalArgumentException if instructions are invalid
+   */
+  public static BufferedImage getImage(final String instructions,
+      final int width, final int height) {
+    boolean[] created = new boolean[1];
+    FutureTask<BufferedImage> task = getTask(instructions, width, height,
+        created);
+    if (created[0]) {
+      task.run();
+    }
+    try {
+      return task.get();
+    } catch (ExecutionException e) {
+      removeTask(instructions, width, height);
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      ErrorLogger.log("Interrupted while waiting for news image.");
+      Thread.currentThread().interrupt();
+      return render(instructions, width, height);
+    }
+  }
+
+  /**
+   * Start rendering news image in background thread, unless it is
+   * already cached.
+   * @param instructions Image instructions
+   * @param width Image width
+   * @param height Image height
+   */
+  public static void prefetch(final String instructions, final int width,
+      final int height) {
+    boolean[] created = new boolean[1];
+    FutureTask<BufferedImage> task = getTask(instructions, width, height,
+        created);
+    if (created[0]) {
+      getRenderer().execute(task);
+    }
+  }
+
+  /**
+   * Is news image rendered and cached.
+   * @param instructions Image instructions
+   * @param width Image width
+   * @param height Image height
+   * @return True if image is ready
+   */
+  public static synchronized boolean isCached(final String instructions,
+      final int width, final int height) {
+    FutureTask<BufferedImage> task = IMAGES.get(getKey(instructions, width,
+        height));
+    return task != null && task.isDone();
+  }
+
+  /**
+   * Remove all cached images.
+   */
+  public static synchronized void clear() {
+    IMAGES.clear();
+  }
+}
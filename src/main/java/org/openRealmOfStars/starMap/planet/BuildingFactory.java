@@ -1,5 +1,10 @@
 package org.openRealmOfStars.starMap.planet;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 import org.openRealmOfStars.gui.icons.Icons;
 import org.openRealmOfStars.starMap.planet.construction.Building;
 import org.openRealmOfStars.starMap.planet.construction.BuildingType;
@@ -41,6 +46,11 @@ public final class BuildingFactory {
    */
   private static final int MAX_BUILDING = 73;
 
+  /**
+   * Building index by normalized building name. Built on first use.
+   */
+  private static Map<String, Integer> indexByName;
+
   /**
    * Component Basic mine
    */
@@ -615,20 +625,64 @@ public final class BuildingFactory {
     return tmp;
   }
 
+  /**
+   * Normalize building name for name index.
+   * @param name Building name
+   * @return Normalized name
+   */
+  private static String normalizeName(final String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Get building index by normalized name. Index is built once by
+   * creating each building.
+   * @return Unmodifiable map from normalized name to building index
+   */
+  private static synchronized Map<String, Integer> getNameIndex() {
+    if (indexByName == null) {
+      HashMap<String, Integer> map = new HashMap<>();
+      for (int i = 0; i < MAX_BUILDING; i++) {
+        Building tmp = create(i);
+        if (tmp != null) {
+          String key = normalizeName(tmp.getName());
+          if (!map.containsKey(key)) {
+            map.put(key, i);
+          }
+        }
+      }
+      indexByName = Collections.unmodifiableMap(map);
+    }
+    return indexByName;
+  }
+
+  /**
+   * Get planetary building index with matching name
+   * @param name Building name
+   * @return Building index or -1 if not found
+   */
+  public static int getIndexByName(final String name) {
+    if (name == null) {
+      return -1;
+    }
+    Integer index = getNameIndex().get(normalizeName(name));
+    if (index == null) {
+      return -1;
+    }
+    return index.intValue();
+  }
+
   /**
    * Create planetary building with matching name
    * @param name Building name
    * @return Building or null if not found
    */
   public static Building createByName(final String name) {
-    Building tmp = null;
-    for (int i = 0; i < MAX_BUILDING; i++) {
-      tmp = create(i);
-      if (tmp != null && tmp.getName().equalsIgnoreCase(name)) {
-        return tmp;
-      }
+    int index = getIndexByName(name);
+    if (index == -1) {
+      return null;
     }
-    return null;
+    return create(index);
   }
 
   /**
@@ -29,6 +29,7 @@ import org.openRealmOfStars.player.ship.ShipHullType;
 import org.openRealmOfStars.player.ship.ShipSize;
 import org.openRealmOfStars.player.ship.ShipStat;
 import org.openRealmOfStars.starMap.Coordinate;
+import org.openRealmOfStars.starMap.FleetTileIndex;
 import org.openRealmOfStars.starMap.StarMap;
 import org.openRealmOfStars.starMap.Sun;
 import org.openRealmOfStars.starMap.history.event.EventOnPlanet;
@@ -224,6 +225,12 @@ public class Planet {
    */
   private Ship orbital;
 
+  /**
+   * Fleet tile index notified when orbital changes. Null if planet is
+   * not on star map.
+   */
+  private FleetTileIndex fleetTileIndex;
+
   /**
    * Maximum number of different works
    */
@@ -277,6 +284,7 @@ public class Planet {
     }
     if (index != -1 && value > 0 && total > 1) {
       workers[index]--;
+      markChanged();
       result = true;
     }
     return result;
@@ -293,6 +301,7 @@ public class Planet {
         && from != to && workers[from] > 0) {
       workers[from] = workers[from] - 1;
       workers[to] = workers[to] + 1;
+      markChanged();
     }
   }
 
@@ -384,6 +393,100 @@ public class Planet {
    */
   public static final int PRODUCTION_ARTIFACT_RESEARCH = 8;
 
+  /**
+   * Number of production types cached.
+   */
+  private static final int CACHED_PRODUCTIONS =
+      PRODUCTION_ARTIFACT_RESEARCH + 1;
+
+  /**
+   * Governor perks which change planet's production.
+   */
+  private static final Perk[] PRODUCTION_PERKS = {Perk.MERCHANT,
+      Perk.SKILLFUL, Perk.CORRUPTED, Perk.INCOMPETENT, Perk.ACADEMIC,
+      Perk.SCIENTIST, Perk.STUPID, Perk.EXPLORER, Perk.ARCHAEOLOGIST,
+      Perk.ARTISTIC, Perk.INDUSTRIAL, Perk.MICRO_MANAGER, Perk.MINER,
+      Perk.AGRICULTURAL};
+
+  /**
+   * Are cached production values checked against recalculation.
+   */
+  private static boolean productionCacheCheck = false;
+
+  /**
+   * How many times cached production has differed from recalculation.
+   */
+  private static int productionCacheMismatches = 0;
+
+  /**
+   * Modification stamp which is bumped when planet's own production
+   * inputs change.
+   */
+  private int modificationStamp;
+
+  /**
+   * Modification stamp of cached production values.
+   */
+  private int cacheStamp;
+
+  /**
+   * Production version which is bumped every time cached production
+   * values are cleared.
+   */
+  private int productionVersion;
+
+  /**
+   * Owner when production values were cached.
+   */
+  private PlayerInfo cacheOwner;
+
+  /**
+   * Owner's government when production values were cached.
+   */
+  private GovernmentType cacheGovernment;
+
+  /**
+   * Owner's race when production values were cached.
+   */
+  private SpaceRace cacheRace;
+
+  /**
+   * Governor's production perks as bit mask when production values
+   * were cached.
+   */
+  private int cachePerks;
+
+  /**
+   * Did owner have discovered artifacts when production values were cached.
+   */
+  private boolean cacheArtifacts;
+
+  /**
+   * Orbital's credit, culture and research bonuses when production
+   * values were cached.
+   */
+  private int[] cacheOrbitalBonus = new int[3];
+
+  /**
+   * Cached total production values. Null when nothing is cached.
+   */
+  private int[] cachedProduction;
+
+  /**
+   * Cached production values from buildings.
+   */
+  private int[] cachedBuildingProduction;
+
+  /**
+   * Which production values are cached.
+   */
+  private boolean[] productionCached;
+
+  /**
+   * Which building production values are cached.
+   */
+  private boolean[] buildingProductionCached;
+
   /**
    * Minimum amount of ore on planets
    */
@@ -459,6 +562,7 @@ public class Planet {
   public void addBuilding(final Building building) {
     if (building != null) {
       this.buildings.add(building);
+      markChanged();
     }
   }
 
@@ -473,8 +577,10 @@ public class Planet {
         Building temp = buildings.get(i);
         if (temp.getName().equals(building.getName())) {
           buildings.remove(i);
+          markChanged();
           if (recycleBonus > 0) {
             metal = metal + building.getMetalCost() * recycleBonus / 100;
+            markChanged();
           }
           break;
         }
@@ -593,6 +699,7 @@ public class Planet {
       info.setTotalCredits(info.getTotalCredits() - rushCost);
       prodResource = prodResource + prodReq;
       metal = metal + metalReq;
+      markChanged();
     }
     if (rushCost > 0 && !creditRush && hasPopulationRush
           && populationCost < getTotalPopulation()) {
@@ -601,6 +708,7 @@ public class Planet {
       }
       prodResource = prodResource + prodReq;
       metal = metal + metalReq;
+      markChanged();
     }
   }
   /**
@@ -645,6 +753,7 @@ public class Planet {
   public void setWorkers(final int workerType, final int value) {
     if (workerType >= 0 && workerType < MAX_WORKER_TYPE) {
       workers[workerType] = value;
+      markChanged();
     }
   }
 
@@ -728,10 +837,12 @@ public class Planet {
       if (attackTroops >= total) {
         for (int i = 0; i < workers.length; i++) {
           workers[i] = 0;
+          markChanged();
         }
         killGovernor(attackType, " " + reasonGovernor, starMap);
         planetOwnerInfo = null;
         planetOwner = -1;
+        markChanged();
         // Fighting on planet drops the culture
         setCulture(getCulture() - getCulture() / 10);
       } else {
@@ -779,10 +890,34 @@ public class Planet {
    * @return amount of production in one turn
    */
   public int getTotalProductionFromBuildings(final int prod) {
-    int result = 0;
     if (gasGiant || planetOwnerInfo == null) {
       return 0;
     }
+    if (prod < 0 || prod >= CACHED_PRODUCTIONS) {
+      return calculateProductionFromBuildings(prod);
+    }
+    validateProductionCache();
+    if (buildingProductionCached[prod]) {
+      int result = cachedBuildingProduction[prod];
+      if (productionCacheCheck) {
+        result = checkCachedValue("buildings " + prod, result,
+            calculateProductionFromBuildings(prod));
+      }
+      return result;
+    }
+    int result = calculateProductionFromBuildings(prod);
+    cachedBuildingProduction[prod] = result;
+    buildingProductionCached[prod] = true;
+    return result;
+  }
+
+  /**
+   * Calculate production from planetary improvements.
+   * @param prod Production to get: See all PRODUCTION_*
+   * @return amount of production in one turn
+   */
+  private int calculateProductionFromBuildings(final int prod) {
+    int result = 0;
     switch (prod) {
     case PRODUCTION_FOOD: {
       for (Building build : getBuildingList()) {
@@ -878,10 +1013,162 @@ public class Planet {
     if (happinessEffect == null) {
       happinessEffect = new HappinessEffect(HappinessBonus.NONE, 0);
     }
-    int result = 0;
     if (gasGiant || planetOwnerInfo == null) {
       return 0;
     }
+    if (prod < 0 || prod >= CACHED_PRODUCTIONS) {
+      return calculateTotalProduction(prod);
+    }
+    validateProductionCache();
+    if (productionCached[prod]) {
+      int result = cachedProduction[prod];
+      if (productionCacheCheck) {
+        result = checkCachedValue("total " + prod, result,
+            calculateTotalProduction(prod));
+      }
+      return result;
+    }
+    int result = calculateTotalProduction(prod);
+    cachedProduction[prod] = result;
+    productionCached[prod] = true;
+    return result;
+  }
+
+  /**
+   * Get production stamp. Stamp changes whenever planet's total
+   * production may have changed, so production read with same stamp
+   * is still valid.
+   * @return Production stamp
+   */
+  public int getProductionStamp() {
+    if (gasGiant || planetOwnerInfo == null) {
+      return 0;
+    }
+    validateProductionCache();
+    return productionVersion;
+  }
+
+  /**
+   * Mark that planet's own production inputs have changed.
+   */
+  private void markChanged() {
+    modificationStamp++;
+  }
+
+  /**
+   * Get governor's production perks as bit mask.
+   * @return Bit mask of PRODUCTION_PERKS
+   */
+  private int getGovernorPerkMask() {
+    int mask = 0;
+    if (governor != null) {
+      for (int i = 0; i < PRODUCTION_PERKS.length; i++) {
+        if (governor.hasPerk(PRODUCTION_PERKS[i])) {
+          mask = mask | 1 << i;
+        }
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Clear cached production values if planet or things outside planet
+   * affecting production have changed since values were cached.
+   */
+  private void validateProductionCache() {
+    boolean artifacts = planetOwnerInfo.getArtifactLists() != null
+        && planetOwnerInfo.getArtifactLists().hasDiscoveredArtifacts();
+    int perks = getGovernorPerkMask();
+    int credit = 0;
+    int cult = 0;
+    int research = 0;
+    if (orbital != null) {
+      credit = orbital.getTotalCreditBonus();
+      cult = orbital.getTotalCultureBonus();
+      research = orbital.getTotalResearchBonus();
+    }
+    if (cachedProduction != null && cacheStamp == modificationStamp
+        && cacheOwner == planetOwnerInfo
+        && cacheGovernment == planetOwnerInfo.getGovernment()
+        && cacheRace == planetOwnerInfo.getRace() && cachePerks == perks
+        && cacheArtifacts == artifacts && cacheOrbitalBonus[0] == credit
+        && cacheOrbitalBonus[1] == cult && cacheOrbitalBonus[2] == research) {
+      return;
+    }
+    if (cachedProduction == null) {
+      cachedProduction = new int[CACHED_PRODUCTIONS];
+      cachedBuildingProduction = new int[CACHED_PRODUCTIONS];
+      productionCached = new boolean[CACHED_PRODUCTIONS];
+      buildingProductionCached = new boolean[CACHED_PRODUCTIONS];
+    } else {
+      for (int i = 0; i < CACHED_PRODUCTIONS; i++) {
+        productionCached[i] = false;
+        buildingProductionCached[i] = false;
+      }
+    }
+    productionVersion++;
+    cacheStamp = modificationStamp;
+    cacheOwner = planetOwnerInfo;
+    cacheGovernment = planetOwnerInfo.getGovernment();
+    cacheRace = planetOwnerInfo.getRace();
+    cachePerks = perks;
+    cacheArtifacts = artifacts;
+    cacheOrbitalBonus[0] = credit;
+    cacheOrbitalBonus[1] = cult;
+    cacheOrbitalBonus[2] = research;
+  }
+
+  /**
+   * Compare cached value against recalculated value and log if they
+   * differ.
+   * @param production Production name for logging
+   * @param cached Cached value
+   * @param calculated Recalculated value
+   * @return Recalculated value
+   */
+  private int checkCachedValue(final String production, final int cached,
+      final int calculated) {
+    if (cached != calculated) {
+      productionCacheMismatches++;
+      ErrorLogger.log("Production cache mismatch on " + getName() + " for "
+          + production + ": cached " + cached + ", calculated "
+          + calculated);
+    }
+    return calculated;
+  }
+
+  /**
+   * Enable or disable checking cached production values against
+   * recalculation. This is meant for debugging.
+   * @param check True to check cached values
+   */
+  public static void setProductionCacheCheck(final boolean check) {
+    productionCacheCheck = check;
+  }
+
+  /**
+   * Get how many times cached production has differed from
+   * recalculation since production cache check was enabled.
+   * @return Number of mismatches
+   */
+  public static int getProductionCacheMismatches() {
+    return productionCacheMismatches;
+  }
+
+  /**
+   * Reset production cache mismatch counter.
+   */
+  public static void resetProductionCacheMismatches() {
+    productionCacheMismatches = 0;
+  }
+
+  /**
+   * Calculate total production from planet.
+   * @param prod Production to get: See all PRODUCTION_*
+   * @return amount of production in one turn
+   */
+  private int calculateTotalProduction(final int prod) {
+    int result = 0;
     switch (prod) {
     case PRODUCTION_FOOD: {
       result = getTotalFoodProduction();
@@ -1594,6 +1881,7 @@ public class Planet {
   public void setRadiationLevel(final int radiationLevel) {
     if (radiationLevel > 0 && radiationLevel < 11) {
       this.radiationLevel = radiationLevel;
+      markChanged();
     }
   }
 
@@ -1635,6 +1923,7 @@ public class Planet {
     if (amountMetalInGround >= MINIMUM_ORE
         && amountMetalInGround <= MAXIMUM_ORE) {
       this.amountMetalInGround = amountMetalInGround;
+      markChanged();
     }
   }
 
@@ -1652,6 +1941,7 @@ public class Planet {
    */
   public void setMetal(final int metal) {
     this.metal = metal;
+    markChanged();
   }
 
   /**
@@ -1684,6 +1974,7 @@ public class Planet {
    */
   public void setGasGiant(final boolean gasGiant) {
     this.gasGiant = gasGiant;
+    markChanged();
   }
 
   /**
@@ -2052,6 +2343,7 @@ public class Planet {
   public void setPlanetOwner(final int ownerIndex, final PlayerInfo info) {
     this.planetOwner = ownerIndex;
     this.planetOwnerInfo = info;
+    markChanged();
     if (planetOwnerInfo == null) {
       setOrbital(null);
     }
@@ -2179,12 +2471,15 @@ public class Planet {
         require = 10 * 100 / planetOwnerInfo.getRace().getGrowthSpeed();
       }
       extraFood = extraFood + food;
+      markChanged();
       if (exceedRadiation() && extraFood > 0) {
         // Clear extra food if radiation is exceeded
         extraFood = 0;
+        markChanged();
       }
       if (extraFood > 0 && extraFood >= require && !isFullOfPopulation()) {
         extraFood = extraFood - require;
+        markChanged();
         if (planetOwnerInfo.getRace().isLithovorian()) {
           int metalRequire = getTotalPopulation() / 2;
           int available = getTotalProduction(PRODUCTION_METAL);
@@ -2196,6 +2491,7 @@ public class Planet {
         } else {
           workers[FOOD_FARMERS] = workers[FOOD_FARMERS] + 1;
         }
+        markChanged();
         if (governor != null) {
           governor.getStats().addOne(StatType.POPULATION_GROWTH);
         }
@@ -2227,6 +2523,7 @@ public class Planet {
         if (extraFood > require) {
           // Over populated no extra food more than maximum required.
           extraFood = require;
+          markChanged();
         }
         if (getTotalPopulation() > getPopulationLimit()) {
           msg = new Message(MessageType.POPULATION,
@@ -2234,10 +2531,12 @@ public class Planet {
               Icons.getIconByName(Icons.ICON_DEATH));
           // Over populated requires more food
           extraFood--;
+          markChanged();
         }
       }
       if (extraFood < 0 && extraFood <= require) {
         extraFood = 0;
+        markChanged();
         String workerName = "Culture artist";
         if (workers[CULTURE_ARTIST] > 0) {
           workers[CULTURE_ARTIST]--;
@@ -2255,6 +2554,7 @@ public class Planet {
           workers[FOOD_FARMERS]--;
           workerName = "Farmer";
         }
+        markChanged();
         msg = new Message(MessageType.POPULATION,
             getName() + " has " + workerName + " died! "
                 + "Population is now " + getTotalPopulation(),
@@ -2301,6 +2601,7 @@ public class Planet {
           workers[FOOD_FARMERS]--;
           workerName = "Farmer";
         }
+        markChanged();
         setMetal(getMetal() + 10);
         msg = new Message(MessageType.POPULATION,
             getName() + " has " + workerName + " died due over population."
@@ -2326,6 +2627,7 @@ public class Planet {
     stat.setNumberOfBuilt(stat.getNumberOfBuilt() + 1);
     stat.setNumberOfInUse(stat.getNumberOfInUse() + 1);
     orbital = ship;
+    markChanged();
     if (!hasCertainBuilding("Space port")
         && buildings.size() < getGroundSize()) {
       addBuilding(BuildingFactory.createByName("Space port"));
@@ -2452,6 +2754,7 @@ public class Planet {
             governor.getStats().addOne(StatType.NUMBER_OF_BUILDINGS_BUILT);
           }
           buildings.add((Building) underConstruction);
+          markChanged();
           String nextBuilding = "";
           String finishedBuilding = underConstruction.getName();
           if (building.isSingleAllowed()) {
@@ -2477,6 +2780,7 @@ public class Planet {
         }
       } else if (underConstruction instanceof Ship && !enemyOrbiting) {
         metal = metal - requiredMetalCost;
+        markChanged();
         prodResource = prodResource - requiredProdCost;
         if (governor != null) {
           governor.setExperience(governor.getExperience()
@@ -2525,6 +2829,7 @@ public class Planet {
                   + getProductionTimeAsString(underConstruction) + ".");
             }
             orbital = ship;
+            markChanged();
             msg = new Message(MessageType.CONSTRUCTION, sb.toString(),
                 Icons.getIconByName(Icons.ICON_STARBASE));
             msg.setCoordinate(getCoordinate());
@@ -2733,6 +3038,7 @@ public class Planet {
           metal = metal - requiredMetalCost;
           prodResource = prodResource - requiredProdCost;
           workers[PRODUCTION_WORKERS] = workers[PRODUCTION_WORKERS] + 1;
+          markChanged();
           String nextBuilding = "";
           String finishedBuilding = underConstruction.getName();
           if (governor != null) {
@@ -2766,6 +3072,7 @@ public class Planet {
           } else {
             workers[FOOD_FARMERS] = workers[FOOD_FARMERS] + 1;
           }
+          markChanged();
           String nextBuilding = "";
           String finishedBuilding = underConstruction.getName();
           if (governor != null) {
@@ -2790,6 +3097,7 @@ public class Planet {
         if (underConstruction.getName()
             .equals(ConstructionFactory.EXTRA_CULTURE)) {
           metal = metal - requiredMetalCost;
+          markChanged();
           prodResource = prodResource - requiredProdCost;
           culture = culture + 5;
           String nextBuilding = "";
@@ -2816,6 +3124,7 @@ public class Planet {
         if (underConstruction.getName()
             .equals(ConstructionFactory.EXTRA_CREDIT)) {
           metal = metal - requiredMetalCost;
+          markChanged();
           prodResource = prodResource - requiredProdCost;
           planetOwnerInfo
               .setTotalCredits(planetOwnerInfo.getTotalCredits() + 12);
@@ -2854,6 +3163,7 @@ public class Planet {
       if (governor != null) {
         if (governor.getJob() == Job.DEAD) {
           governor = null;
+          markChanged();
         } else {
           governor.setExperience(governor.getExperience()
               + getTotalPopulation());
@@ -2872,6 +3182,7 @@ public class Planet {
       }
       happinessEffect = HappinessEffect.createHappinessEffect(
           calculateHappiness());
+      markChanged();
       if (happinessEffect.getType() != HappinessBonus.KILL_POPULATION
           && happinessEffect.getType() != HappinessBonus.DESTROY_BUILDING
           && happinessEffect.getType() != HappinessBonus.NONE) {
@@ -2903,11 +3214,14 @@ public class Planet {
       if (minedMetal <= amountMetalInGround && minedMetal >= 0) {
         amountMetalInGround = amountMetalInGround - minedMetal;
         metal = metal + minedMetal;
+        markChanged();
       } else if (minedMetal > 0) {
         metal = metal + amountMetalInGround;
         amountMetalInGround = 0;
+        markChanged();
       }
       metal = metal + getTotalProductionFromBuildings(PRODUCTION_MATERIAL);
+      markChanged();
       prodResource = prodResource + getTotalProduction(PRODUCTION_PRODUCTION);
       planetOwnerInfo.setTotalCredits(planetOwnerInfo.getTotalCredits()
           + getTotalProduction(PRODUCTION_CREDITS));
@@ -2970,6 +3284,7 @@ public class Planet {
         setCulture(1);
       }
       happinessEffect = new HappinessEffect(HappinessBonus.NONE, 0);
+      markChanged();
       if (orbital != null) {
         // Orbital is always fixed in one turn.
         orbital.fixShip(true);
@@ -3075,6 +3390,7 @@ public class Planet {
         this.tax = 0;
       }
     }
+    markChanged();
   }
 
   /**
@@ -3250,6 +3566,7 @@ public class Planet {
       }
       int index = DiceGenerator.getRandom(list.size() - 1);
       workers[list.get(index)]--;
+      markChanged();
     }
     if (getTotalPopulation() == 0) {
       killGovernor(attackType, reason, starMap);
@@ -3367,6 +3684,7 @@ public class Planet {
       }
       if (radiationLevel < 10 && DiceGenerator.getRandom(100) < strength) {
         radiationLevel++;
+        markChanged();
         sb.append(" Radiation level rised on planet surface to "
         + radiationLevel + ".");
       }
@@ -3401,6 +3719,7 @@ public class Planet {
       }
       if (radiationLevel < 10) {
         radiationLevel++;
+        markChanged();
         sb.append(" Radiation level rised on planet surface to "
         + radiationLevel + ".");
       }
@@ -3435,6 +3754,7 @@ public class Planet {
       }
       if (radiationLevel < 10) {
         radiationLevel++;
+        markChanged();
         sb.append(" Radiation level rised on planet surface to "
         + radiationLevel + ".");
       }
@@ -3490,6 +3810,7 @@ public class Planet {
    */
   public void setHomeWorldIndex(final int realmIndex) {
     this.homeWorldIndex = realmIndex;
+    markChanged();
   }
 
   /**
@@ -3523,6 +3844,7 @@ public class Planet {
    */
   public void setExtraFood(final int extraFood) {
     this.extraFood = extraFood;
+    markChanged();
   }
 
   /**
@@ -3549,6 +3871,7 @@ public class Planet {
     this.planetType = newType;
     if (this.planetType == PlanetTypes.ARTIFICIALWORLD1) {
       amountMetalInGround = 0;
+      markChanged();
     }
   }
 
@@ -3574,6 +3897,7 @@ public class Planet {
    */
   public void setPlanetaryEvent(final PlanetaryEvent planetaryEvent) {
     event = planetaryEvent;
+    markChanged();
   }
   /**
    * Get planetary event
@@ -3595,6 +3919,7 @@ public class Planet {
    */
   public void setEventActivation(final boolean activation) {
     eventFound = activation;
+    markChanged();
   }
 
   /**
@@ -3608,9 +3933,11 @@ public class Planet {
       msgText.append(getName());
       msgText.append(" colonist found ");
       eventFound = true;
+      markChanged();
       if (event.oneTimeOnly()) {
         if (event == PlanetaryEvent.ANCIENT_ARTIFACT) {
           event = PlanetaryEvent.NONE;
+          markChanged();
           msgText.append(getName() + " has strange ancient artifact.");
           msgText.append(" Colonists send it immediately for research.");
           Message msg = new Message(MessageType.PLANETARY, msgText.toString(),
@@ -3678,6 +4005,7 @@ public class Planet {
             imageInst.addImage(ImageInstruction.PARADISE);
           }
           event = PlanetaryEvent.NONE;
+          markChanged();
           msgText.append(building.getName());
           msgText.append(". Colonists has taken it in use now.");
           Message msg = new Message(MessageType.PLANETARY, msgText.toString(),
@@ -3761,6 +4089,7 @@ public class Planet {
         event = PlanetaryEvent.DESERT;
       }
     }
+    markChanged();
   }
   /**
    * Calculate happiness of the planet. Also updates explanation how
@@ -3901,6 +4230,7 @@ public class Planet {
    */
   public void setHappinessEffect(final HappinessEffect effect) {
     happinessEffect = effect;
+    markChanged();
   }
 
   /**
@@ -4013,6 +4343,7 @@ public class Planet {
    */
   public void setGovernor(final Leader governor) {
     this.governor = governor;
+    markChanged();
     if (this.governor != null) {
       this.governor.assignJob(Job.GOVERNOR, this.getPlanetPlayerInfo());
     }
@@ -4117,6 +4448,18 @@ public class Planet {
    */
   public void setOrbital(final Ship orbital) {
     this.orbital = orbital;
+    markChanged();
+    if (fleetTileIndex != null) {
+      fleetTileIndex.orbitalChanged(this);
+    }
+  }
+
+  /**
+   * Set fleet tile index which is notified when orbital changes.
+   * @param fleetTileIndex Fleet tile index or null
+   */
+  public void setFleetTileIndex(final FleetTileIndex fleetTileIndex) {
+    this.fleetTileIndex = fleetTileIndex;
   }
 
   /**
@@ -29,6 +29,9 @@ import java.util.Random;
  *
  * Class for getting random values. Contains actually three different
  * Pseudo random functions.
+ * Thread can have its own random stream bound, which is then used instead
+ * of shared functions. Streams are derived from game seed so that each
+ * realm and subsystem can have its own reproducible stream.
  *
  */
 public final class DiceGenerator {
@@ -74,6 +77,43 @@ public final class DiceGenerator {
    */
   private static int numberIndex;
 
+  /**
+   * Random stream for galaxy creation
+   */
+  public static final int STREAM_GALAXY = 0;
+  /**
+   * Random stream for AI
+   */
+  public static final int STREAM_AI = 1;
+  /**
+   * Random stream for combat
+   */
+  public static final int STREAM_COMBAT = 2;
+  /**
+   * Random stream for random events
+   */
+  public static final int STREAM_EVENTS = 3;
+
+  /**
+   * Game seed where random streams are derived.
+   */
+  private static long gameSeed;
+  /**
+   * Has game seed been set
+   */
+  private static boolean gameSeedSet = false;
+  /**
+   * Is deterministic mode on. In deterministic mode game seed is fixed
+   * and streams are derived only from game seed.
+   */
+  private static boolean deterministic = false;
+
+  /**
+   * Random stream bound to current thread.
+   */
+  private static final ThreadLocal<RandomStream> THREAD_STREAM =
+      new ThreadLocal<>();
+
   /**
    * Get random number between 0 and maxValue.
    * This generates random by combining Java RNG, MultiplyWithCarry
@@ -82,10 +122,106 @@ public final class DiceGenerator {
    * @return A random number
    */
   public static int getRandom(final int maxValue) {
+    RandomStream stream = THREAD_STREAM.get();
+    if (stream != null && !isFixedNumbers()) {
+      return stream.getRandom(maxValue);
+    }
     initializeGenerators();
     return getRandomResult(maxValue);
   }
 
+  /**
+   * Are fixed numbers in use.
+   * @return True if fixed numbers are used
+   */
+  private static boolean isFixedNumbers() {
+    return initialized && numbers != null;
+  }
+
+  /**
+   * Initialize deterministic mode with game seed. All the random streams
+   * are derived from game seed and shared generators are seeded with it.
+   * Outcome does not depend on how many threads are used as long as
+   * each thread uses its own stream.
+   * @param seed Game seed
+   */
+  public static synchronized void initializeDeterministic(final long seed) {
+    initializeGenerators(seed, (int) seed);
+    gameSeed = seed;
+    gameSeedSet = true;
+    deterministic = true;
+  }
+
+  /**
+   * Turn deterministic mode off. Game seed is kept
+   * but shared generators are seeded again from envinronment.
+   */
+  public static synchronized void disableDeterministic() {
+    deterministic = false;
+    initialized = false;
+    numbers = null;
+  }
+
+  /**
+   * Is deterministic mode on.
+   * @return True if deterministic
+   */
+  public static synchronized boolean isDeterministic() {
+    return deterministic;
+  }
+
+  /**
+   * Get game seed. If seed has not been set it is taken from
+   * shared generator.
+   * @return Game seed
+   */
+  public static synchronized long getGameSeed() {
+    if (!gameSeedSet) {
+      initializeGenerators();
+      gameSeed = generator1.nextLong();
+      gameSeedSet = true;
+    }
+    return gameSeed;
+  }
+
+  /**
+   * Get random stream for subsystem and index. Same game seed,
+   * subsystem and index always give same stream. Stream is not
+   * synchronized so it should be confined in single thread.
+   * @param subsystem Subsystem, for example STREAM_AI
+   * @param index Index inside subsystem, for example realm index
+   * @return Random stream
+   */
+  public static RandomStream getStream(final int subsystem,
+      final int index) {
+    return new RandomStream(getGameSeed()).split(subsystem).split(index);
+  }
+
+  /**
+   * Bind random stream to current thread. After this getRandom calls
+   * from this thread use the stream instead of shared generators.
+   * Fixed numbers are still used if they have been set.
+   * @param stream Random stream
+   */
+  public static void bindStream(final RandomStream stream) {
+    THREAD_STREAM.set(stream);
+  }
+
+  /**
+   * Remove random stream from current thread.
+   */
+  public static void unbindStream() {
+    THREAD_STREAM.remove();
+  }
+
+  /**
+   * Get random stream bound to current thread.
+   * @return Random stream or null
+   */
+  public static RandomStream getBoundStream() {
+    return THREAD_STREAM.get();
+  }
+
   /**
    * Get Java envinronment safely
    * @param param Envinronment parameter
@@ -287,13 +423,17 @@ public final class DiceGenerator {
    * @return A random number
    */
   public static int getRandom(final int minValue, final int maxValue) {
-    initializeGenerators();
     int sub = 0;
     if (maxValue >= minValue) {
       sub = maxValue - minValue;
     } else {
       throw new IllegalArgumentException("Max value is bigger than min value!");
     }
+    RandomStream stream = THREAD_STREAM.get();
+    if (stream != null && !isFixedNumbers()) {
+      return stream.getRandom(sub) + minValue;
+    }
+    initializeGenerators();
     int result = getRandomResult(sub);
     result = result + minValue;
     return result;
@@ -0,0 +1,134 @@
+package org.openRealmOfStars.utilities;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Splittable pseudo random stream based on SplitMix64 function.
+ * Stream is not synchronized so it should be used only from
+ * single thread at time. Child streams are derived from seed of
+ * the stream, so splitting does not depend on how many values
+ * have been taken from the stream.
+ *
+ */
+public final class RandomStream {
+
+  /**
+   * Golden gamma for SplitMix64
+   */
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  /**
+   * First mixing multiplier
+   */
+  private static final long MIX_MULTIPLIER1 = 0xBF58476D1CE4E5B9L;
+
+  /**
+   * Second mixing multiplier
+   */
+  private static final long MIX_MULTIPLIER2 = 0x94D049BB133111EBL;
+
+  /**
+   * Seed which was used to create the stream.
+   */
+  private final long seed;
+
+  /**
+   * Current state
+   */
+  private long state;
+
+  /**
+   * Create random stream with seed.
+   * @param seed Seed for stream
+   */
+  public RandomStream(final long seed) {
+    this.seed = seed;
+    this.state = seed;
+  }
+
+  /**
+   * Mix 64 bit value.
+   * @param value Value to mix
+   * @return Mixed value
+   */
+  static long mix(final long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * MIX_MULTIPLIER1;
+    z = (z ^ (z >>> 27)) * MIX_MULTIPLIER2;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Get seed which was used to create the stream.
+   * @return Seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Create child stream for key. Same key always gives
+   * same child stream.
+   * @param key Key for child stream, for example realm index or turn
+   * @return New random stream
+   */
+  public RandomStream split(final long key) {
+    return new RandomStream(mix(seed ^ mix(key * GOLDEN_GAMMA
+        + GOLDEN_GAMMA)));
+  }
+
+  /**
+   * Get next 64 bit random value.
+   * @return Random long
+   */
+  public long nextLong() {
+    state = state + GOLDEN_GAMMA;
+    return mix(state);
+  }
+
+  /**
+   * Get random number between 0 and maxValue.
+   * @param maxValue inclusive
+   * @return A random number
+   */
+  public int getRandom(final int maxValue) {
+    if (maxValue < 0) {
+      throw new IllegalArgumentException("Negative value for random!");
+    }
+    if (maxValue == 0) {
+      return 0;
+    }
+    long bound = maxValue + 1L;
+    long value = nextLong() >>> 32;
+    return (int) ((value * bound) >>> 32);
+  }
+
+  /**
+   * Get random value between minValue and maxValue
+   * @param minValue inclusive
+   * @param maxValue inclusive
+   * @return A random number
+   */
+  public int getRandom(final int minValue, final int maxValue) {
+    if (maxValue < minValue) {
+      throw new IllegalArgumentException("Max value is bigger than min value!");
+    }
+    return getRandom(maxValue - minValue) + minValue;
+  }
+}
@@ -11,8 +11,10 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 
 import org.openRealmOfStars.game.Game;
+import org.openRealmOfStars.starMap.SaveGameHeader;
 import org.openRealmOfStars.starMap.StarMap;
 import org.openRealmOfStars.utilities.ErrorLogger;
+import org.openRealmOfStars.utilities.IOUtilities;
 
 /**
 *
@@ -94,4 +96,29 @@ public class GameRepository {
     return starMap;
   }
 
+  /**
+   * Load only save game header from certain file name. Rest of the file
+   * is not read.
+   * @param folderName Folder name where to load saved games
+   * @param filename File name
+   * @return SaveGameHeader or null if file does not have header or
+   *         reading failed.
+   */
+  public SaveGameHeader loadGameHeader(final String folderName,
+      final String filename) {
+    File file = new File(folderName + "/" + filename);
+    try (FileInputStream is = new FileInputStream(file)) {
+      BufferedInputStream bis = new BufferedInputStream(is, 512);
+      DataInputStream dis = new DataInputStream(bis);
+      String str = IOUtilities.readString(dis);
+      if (StarMap.hasSaveGameHeader(str)) {
+        return new SaveGameHeader(dis);
+      }
+    } catch (IOException e) {
+      ErrorLogger.log("Error while reading save file header '"
+          + filename + "': " + e.getMessage());
+    }
+    return null;
+  }
+
 }
@@ -0,0 +1,92 @@
+package org.openRealmOfStars.utilities.repository;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Reader for sectioned save game data written with SaveSectionWriter.
+ * Sections are read in order. Unknown sections are skipped so that
+ * newer writers can add sections.
+ *
+ */
+public class SaveSectionReader {
+
+  /**
+   * Source stream
+   */
+  private DataInputStream source;
+
+  /**
+   * Has end of section list been reached
+   */
+  private boolean end;
+
+  /**
+   * Constructor for section reader.
+   * @param source Stream where sections are read
+   */
+  public SaveSectionReader(final DataInputStream source) {
+    this.source = source;
+    end = false;
+  }
+
+  /**
+   * Read next section with certain id. Sections before it with other
+   * ids are skipped. Payload of the section is fully read so reading
+   * payload cannot go past section end.
+   * @param id Section id to read
+   * @return DataInputStream for section payload
+   * @throws IOException if section is not found or reading fails
+   */
+  public DataInputStream readSection(final int id) throws IOException {
+    while (!end) {
+      int sectionId = source.readUnsignedByte();
+      if (sectionId == SaveSectionWriter.SECTION_END) {
+        end = true;
+        break;
+      }
+      int flags = source.readUnsignedByte();
+      int length = source.readInt();
+      if (length < 0) {
+        throw new IOException("Invalid section length: " + length);
+      }
+      if (sectionId != id) {
+        if (source.skipBytes(length) != length) {
+          throw new EOFException("Section " + sectionId + " is truncated!");
+        }
+        continue;
+      }
+      byte[] payload = new byte[length];
+      source.readFully(payload);
+      InputStream is = new ByteArrayInputStream(payload);
+      if ((flags & SaveSectionWriter.FLAG_DEFLATE) != 0) {
+        is = new BufferedInputStream(new InflaterInputStream(is), 8192);
+      }
+      return new DataInputStream(is);
+    }
+    throw new IOException("Section " + id + " is missing!");
+  }
+}
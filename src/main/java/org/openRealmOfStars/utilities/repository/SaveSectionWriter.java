@@ -0,0 +1,171 @@
+package org.openRealmOfStars.utilities.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Writer for sectioned save game data. Each section starts with
+ * section id, flags and payload length. Payload can be deflate
+ * compressed. Sections are written one after another to the target
+ * stream, so only single section is kept in memory at a time.
+ * Section list ends with section id SECTION_END.
+ *
+ */
+public class SaveSectionWriter {
+
+  /**
+   * Section id which ends the section list
+   */
+  public static final int SECTION_END = 0;
+
+  /**
+   * Section flag for deflate compressed payload
+   */
+  public static final int FLAG_DEFLATE = 0x01;
+
+  /**
+   * Target stream
+   */
+  private DataOutputStream target;
+
+  /**
+   * Buffer for current section payload
+   */
+  private ByteArrayOutputStream buffer;
+
+  /**
+   * Deflater reused between sections
+   */
+  private Deflater deflater;
+
+  /**
+   * Deflate stream for current section, null if section is not compressed
+   */
+  private DeflaterOutputStream deflateStream;
+
+  /**
+   * Stream for current section, null if no section is open
+   */
+  private DataOutputStream section;
+
+  /**
+   * Current section id
+   */
+  private int sectionId;
+
+  /**
+   * Current section flags
+   */
+  private int sectionFlags;
+
+  /**
+   * Constructor for section writer.
+   * @param target Stream where sections are written
+   */
+  public SaveSectionWriter(final DataOutputStream target) {
+    this.target = target;
+    buffer = new ByteArrayOutputStream(64 * 1024);
+    deflater = new Deflater(Deflater.BEST_SPEED);
+  }
+
+  /**
+   * Begin new section. Section must be ended with endSection().
+   * @param id Section id, must be between 1 and 255
+   * @param compress True if section payload is deflate compressed
+   * @return DataOutputStream where section payload is written
+   * @throws IOException if previous section is still open or id is invalid
+   */
+  public DataOutputStream beginSection(final int id, final boolean compress)
+      throws IOException {
+    if (section != null) {
+      throw new IOException("Section " + sectionId + " is still open!");
+    }
+    if (id <= SECTION_END || id > 255) {
+      throw new IOException("Invalid section id: " + id);
+    }
+    sectionId = id;
+    buffer.reset();
+    if (compress) {
+      sectionFlags = FLAG_DEFLATE;
+      deflater.reset();
+      deflateStream = new DeflaterOutputStream(buffer, deflater, 8192);
+      section = new DataOutputStream(new BufferedOutputStream(deflateStream,
+          8192));
+    } else {
+      sectionFlags = 0;
+      deflateStream = null;
+      section = new DataOutputStream(buffer);
+    }
+    return section;
+  }
+
+  /**
+   * End current section and write it to target stream.
+   * @throws IOException if writing fails or no section is open
+   */
+  public void endSection() throws IOException {
+    if (section == null) {
+      throw new IOException("No section is open!");
+    }
+    section.flush();
+    if (deflateStream != null) {
+      deflateStream.finish();
+    }
+    target.writeByte(sectionId);
+    target.writeByte(sectionFlags);
+    target.writeInt(buffer.size());
+    buffer.writeTo(target);
+    section = null;
+    deflateStream = null;
+  }
+
+  /**
+   * End section list. Writer cannot be used after this.
+   * @throws IOException if writing fails or section is still open
+   */
+  public void finish() throws IOException {
+    try {
+      if (section != null) {
+        throw new IOException("Section " + sectionId + " is still open!");
+      }
+      target.writeByte(SECTION_END);
+      target.flush();
+    } finally {
+      close();
+    }
+  }
+
+  /**
+   * Release deflater's native memory without writing end of section
+   * list. This should be called in finally block if writing fails.
+   * Target stream is not closed. Writer cannot be used after this.
+   */
+  public void close() {
+    if (deflater != null) {
+      deflater.end();
+      deflater = null;
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package org.openRealmOfStars.AI.Mission;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.player.tech.Tech;
+import org.openRealmOfStars.player.tech.TechFactory;
+import org.openRealmOfStars.starMap.Coordinate;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openRealmOfStars.starMap.planet.PlanetTypes;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for ColonizationCandidates
+ *
+ */
+public class ColonizationCandidatesTest {
+
+  /**
+   * Map size used in test
+   */
+  private static final int MAP_SIZE = 50;
+
+  /**
+   * Find best colony planet by scanning all planets.
+   * @param info Realm
+   * @param planets All planets
+   * @param maxRad Maximum radiation for visible planets
+   * @return Planet or null
+   */
+  private static Planet findBestByScan(final PlayerInfo info,
+      final ArrayList<Planet> planets, final int maxRad) {
+    int bestScore = 0;
+    Planet best = null;
+    for (Planet planet : planets) {
+      byte visibility = info.getSectorVisibility(planet.getCoordinate());
+      if (planet.getPlanetPlayerInfo() != null || planet.isGasGiant()
+          || info.getMissions().getColonizeMission(
+              planet.getCoordinate().getX(), planet.getCoordinate().getY())
+          != null) {
+        continue;
+      }
+      if (visibility == PlayerInfo.VISIBLE
+          && planet.getTotalRadiationLevel() <= maxRad
+          || visibility == PlayerInfo.FOG_OF_WAR
+          && planet.getTotalRadiationLevel() <= info.getRace().getMaxRad()) {
+        int score = (int) (MAP_SIZE / 4 - info.getCenterRealm()
+            .calculateDistance(planet.getCoordinate()));
+        if (score < -10) {
+          score = -10;
+        }
+        score = score + planet.getGroundSize() * 2;
+        score = score + (info.getWorldTypeValue(
+            planet.getPlanetType().getWorldType()) - 50) / 3;
+        if (score > bestScore) {
+          bestScore = score;
+          best = planet;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Create mocked planet.
+   * @param random Random used for planet values
+   * @return Planet
+   */
+  private static Planet createPlanet(final Random random) {
+    Planet planet = Mockito.mock(Planet.class);
+    Mockito.when(planet.getCoordinate()).thenReturn(new Coordinate(
+        random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE)));
+    Mockito.when(planet.isGasGiant()).thenReturn(random.nextInt(6) == 0);
+    Mockito.when(planet.getTotalRadiationLevel()).thenReturn(
+        1 + random.nextInt(8));
+    Mockito.when(planet.getGroundSize()).thenReturn(7 + random.nextInt(10));
+    PlanetTypes[] types = PlanetTypes.values();
+    Mockito.when(planet.getPlanetType()).thenReturn(
+        types[random.nextInt(types.length)]);
+    return planet;
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testQueriesMatchScan() {
+    Random random = new Random(25);
+    PlayerInfo info = new PlayerInfo(SpaceRace.HUMAN);
+    info.initMapData(MAP_SIZE, MAP_SIZE);
+    info.setCenterRealm(new Coordinate(20, 25));
+    PlayerInfo owner = new PlayerInfo(SpaceRace.CENTAURS);
+    ArrayList<Planet> planets = new ArrayList<>();
+    for (int i = 0; i < 120; i++) {
+      planets.add(createPlanet(random));
+    }
+    // Two planets in same spot to check that first one is selected
+    Planet twin = createPlanet(random);
+    Coordinate twinCoordinate = planets.get(0).getCoordinate();
+    Mockito.when(twin.getCoordinate()).thenReturn(twinCoordinate);
+    planets.add(twin);
+    StarMap map = Mockito.mock(StarMap.class);
+    Mockito.when(map.getPlanetList()).thenReturn(planets);
+    Mockito.when(map.getMaxX()).thenReturn(MAP_SIZE);
+    Mockito.when(map.getTurn()).thenReturn(1);
+    Tech[] colonizationTechs = {
+        TechFactory.createDefenseTech("Desert colonization", 4),
+        TechFactory.createDefenseTech("Iron colonization", 6),
+        TechFactory.createHullTech("Advanced colonization", 3),
+        TechFactory.createImprovementTech("Carbon colonization", 4),
+        TechFactory.createImprovementTech("Aquatic colonization", 7),
+        TechFactory.createPropulsionTech("Ice colonization", 5)};
+    for (Tech tech : colonizationTechs) {
+      assertNotNull(tech);
+    }
+    Fleet fleet = Mockito.mock(Fleet.class);
+    for (int round = 0; round < 300; round++) {
+      int action = random.nextInt(12);
+      if (action < 4) {
+        byte visibility = PlayerInfo.FOG_OF_WAR;
+        if (random.nextBoolean()) {
+          visibility = PlayerInfo.VISIBLE;
+        }
+        info.setSectorVisibility(random.nextInt(MAP_SIZE),
+            random.nextInt(MAP_SIZE), visibility);
+        Coordinate coordinate = planets.get(random.nextInt(planets.size()))
+            .getCoordinate();
+        info.setSectorVisibility(coordinate.getX(), coordinate.getY(),
+            visibility);
+      } else if (action == 4) {
+        Planet planet = planets.get(random.nextInt(planets.size()));
+        Mockito.when(planet.getPlanetPlayerInfo()).thenReturn(owner);
+      } else if (action == 5) {
+        Coordinate coordinate = planets.get(random.nextInt(planets.size()))
+            .getCoordinate();
+        if (info.getMissions().getColonizeMission(coordinate.getX(),
+            coordinate.getY()) == null) {
+          info.getMissions().add(new Mission(MissionType.COLONIZE,
+              MissionPhase.PLANNING, coordinate));
+        }
+      } else if (action == 6) {
+        info.setCenterRealm(new Coordinate(random.nextInt(MAP_SIZE),
+            random.nextInt(MAP_SIZE)));
+      } else if (action == 7) {
+        Mockito.when(map.getTurn()).thenReturn(round);
+      } else if (action == 8) {
+        // Planet becomes unowned again during the turn
+        Planet planet = planets.get(random.nextInt(planets.size()));
+        Mockito.when(planet.getPlanetPlayerInfo()).thenReturn(null);
+      } else if (action == 9) {
+        // Realm gets colonization tech during the turn
+        info.getTechList().addTech(colonizationTechs[random.nextInt(
+            colonizationTechs.length)]);
+      }
+      Coordinate fleetCoordinate = new Coordinate(random.nextInt(MAP_SIZE),
+          random.nextInt(MAP_SIZE));
+      Mockito.when(fleet.getCoordinate()).thenReturn(fleetCoordinate);
+      ColonizationCandidates candidates = ColonizationCandidates
+          .getCandidates(info, map);
+      assertSame(MissionHandling.findFreeColonizablePlanet(info, planets,
+          fleet), candidates.findClosestPlanet(fleetCoordinate));
+      int maxRad = info.getRace().getMaxRad() + random.nextInt(3);
+      assertSame(findBestByScan(info, planets, maxRad),
+          candidates.findBestPlanet(maxRad));
+    }
+    assertSame(info.getColonizationCandidates(),
+        ColonizationCandidates.getCandidates(info, map));
+  }
+
+}
@@ -8,6 +8,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.Mockito;
 import org.openRealmOfStars.AI.PathFinding.AStarSearch;
+import org.openRealmOfStars.AI.PathFinding.PathSearchEngine;
 import org.openRealmOfStars.game.Game;
 import org.openRealmOfStars.mapTiles.Tile;
 import org.openRealmOfStars.mapTiles.TileNames;
@@ -343,6 +344,8 @@ public class MissionHandlingTest {
     StarMap map = Mockito.mock(StarMap.class);
     Mockito.when(map.getMaxX()).thenReturn(50);
     Mockito.when(map.getMaxY()).thenReturn(50);
+    Mockito.when(map.getPassabilityLayer(false)).thenReturn(
+        PathSearchEngine.createGrid(50, 50));
     Fleet fleet2 = Mockito.mock(Fleet.class);
     Mockito.when(fleet2.getMilitaryValue()).thenReturn(6);
     Mockito.when(fleet2.getCoordinate()).thenReturn(new Coordinate(6, 7));
@@ -2,6 +2,8 @@ package org.openRealmOfStars.AI.Mission;
 
 import static org.junit.Assert.*;
 
+import java.util.Random;
+
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.Mockito;
@@ -249,4 +251,101 @@ public class MissionListTest {
     assertEquals(1, list.getNumberOfMissionTypes(MissionType.TRADE_FLEET));
   }
 
+  /**
+   * Find first mission by linear scan.
+   * @param list Mission list
+   * @param fleetName Fleet name or null for any
+   * @param type Mission type or null for any
+   * @param phase Mission phase or null for any
+   * @return Mission or null
+   */
+  private static Mission findFirst(final MissionList list,
+      final String fleetName, final MissionType type,
+      final MissionPhase phase) {
+    for (int i = 0; i < list.getSize(); i++) {
+      Mission mission = list.getMissionByIndex(i);
+      if ((fleetName == null || fleetName.equals(mission.getFleetName()))
+          && (type == null || mission.getType() == type)
+          && (phase == null || mission.getPhase() == phase)) {
+        return mission;
+      }
+    }
+    return null;
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testIndexedLookups() {
+    MissionType[] types = {MissionType.EXPLORE, MissionType.ATTACK,
+        MissionType.GATHER, MissionType.COLONIZE };
+    MissionPhase[] phases = {MissionPhase.PLANNING, MissionPhase.TREKKING,
+        MissionPhase.EXECUTING };
+    Random random = new Random(7);
+    MissionList list = new MissionList();
+    Coordinate coord = new Coordinate(5, 5);
+    for (int i = 0; i < 2000; i++) {
+      int action = random.nextInt(6);
+      if (action < 2 || list.getSize() == 0) {
+        Mission mission = new Mission(types[random.nextInt(types.length)],
+            phases[random.nextInt(phases.length)], coord);
+        mission.setFleetName("Fleet #" + random.nextInt(5));
+        mission.setTargetPlanet("Planet " + random.nextInt(5));
+        mission.setSunName("Sun " + random.nextInt(3));
+        if (random.nextBoolean()) {
+          list.add(mission);
+        } else if (random.nextBoolean()) {
+          list.addHighestPriority(mission);
+        } else {
+          list.addPriorityAfter(mission, list.getMissionByIndex(
+              random.nextInt(list.getSize())));
+        }
+      } else {
+        Mission mission = list.getMissionByIndex(
+            random.nextInt(list.getSize()));
+        if (action == 2) {
+          mission.setPhase(phases[random.nextInt(phases.length)]);
+        } else if (action == 3) {
+          mission.setType(types[random.nextInt(types.length)]);
+        } else if (action == 4) {
+          list.changeFleetName(mission.getFleetName(),
+              "Fleet #" + random.nextInt(5));
+        } else {
+          list.remove(mission);
+        }
+      }
+      for (MissionType type : types) {
+        int count = 0;
+        for (MissionPhase phase : phases) {
+          assertEquals(findFirst(list, null, type, phase),
+              list.getMission(type, phase));
+          count = count + list.getNumberOfMissionTypes(type, phase);
+        }
+        assertEquals(count, list.getNumberOfMissionTypes(type));
+      }
+      for (int j = 0; j < 5; j++) {
+        String fleetName = "Fleet #" + j;
+        assertEquals(findFirst(list, fleetName, MissionType.ATTACK, null),
+            list.getMissionForFleet(fleetName, MissionType.ATTACK));
+        assertEquals(findFirst(list, fleetName, null, null),
+            list.getMissionForFleet(fleetName));
+      }
+    }
+    assertEquals(findFirst(list, null, MissionType.ATTACK, null),
+        list.getAttackMission(findFirst(list, null, MissionType.ATTACK,
+            null).getTargetPlanet()));
+    Mission explore = null;
+    for (int i = 0; i < list.getSize() && explore == null; i++) {
+      Mission mission = list.getMissionByIndex(i);
+      if (mission.getType() == MissionType.EXPLORE
+          && "Sun 1".equals(mission.getSunName())
+          && mission.getPhase() != MissionPhase.PLANNING) {
+        explore = mission;
+      }
+    }
+    assertEquals(explore, list.getExploringForSun("Sun 1"));
+    list.clearMissions();
+    assertNull(list.getMission(MissionType.ATTACK, MissionPhase.PLANNING));
+    assertEquals(0, list.getNumberOfMissionTypes(MissionType.ATTACK));
+  }
+
 }
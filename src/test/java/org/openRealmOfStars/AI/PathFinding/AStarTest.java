@@ -64,7 +64,39 @@ public class AStarTest {
       test.nextMove();
     }
     assertEquals(1,test.getTargetDistance());
-    assertEquals(5,steps);
+    // Straight route from (4,7) to (4,2)
+    assertEquals(4,steps);
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testReusedSearch() {
+    long[] blocked = PathSearchEngine.createGrid(9, 9);
+    for (int x = 0; x < 9; x++) {
+      PathSearchEngine.setBlocked(blocked, 4 * 9 + x);
+    }
+    AStarSearch search = new AStarSearch(9, 9);
+    search.reset(blocked, 4, 7, 4, 1, 1);
+    assertEquals(false, search.doSearch());
+    PathSearchEngine.clearBlocked(blocked, 4 * 9 + 4);
+    search.reset(blocked, 4, 7, 4, 1, 1);
+    assertEquals(true, search.doSearch());
+    search.doRoute();
+    int steps = 0;
+    while (!search.isLastMove()) {
+      steps++;
+      search.nextMove();
+    }
+    // Straight route from (4,7) to (4,2)
+    assertEquals(4, steps);
+    search.reset(blocked, 0, 0, 2, 0, 0);
+    assertEquals(null, search.getMove());
+    assertEquals(true, search.doSearch());
+    search.doRoute();
+    assertEquals(1, search.getMove().getX());
+    search.nextMove();
+    assertEquals(2, search.getMove().getX());
+    assertEquals(true, search.isLastMove());
   }
 
   @Test
@@ -101,6 +133,8 @@ public class AStarTest {
     Mockito.when(map.getMaxX()).thenReturn(50);
     Mockito.when(map.getMaxY()).thenReturn(50);
     Mockito.when(map.isBlocked(Mockito.anyInt(), Mockito.anyInt())).thenReturn(false);
+    Mockito.when(map.getPassabilityLayer(false)).thenReturn(
+        PathSearchEngine.createGrid(50, 50));
     AStarSearch search = new AStarSearch(map, 10, 10, 12, 10, 5, false);
     assertEquals(true, search.doSearch());
     search.doRoute();
@@ -109,7 +143,7 @@ public class AStarTest {
       assertNotEquals(null, search.getMove());
       if (steps == 1) {
         assertEquals(11, search.getMove().getX());
-        assertEquals(9, search.getMove().getY());
+        assertEquals(10, search.getMove().getY());
       }
       search.nextMove();
       steps++;
@@ -134,9 +168,13 @@ public class AStarTest {
     fleetTiles[10][10] = fleetTile;
     fleetTiles[11][10] = fleetTile;
     Mockito.when(map.getFleetTiles()).thenReturn(fleetTiles);
+    Mockito.when(map.getForeignFleetLayer(0)).thenReturn(
+        PathSearchEngine.createGrid(50, 50));
     Mockito.when(map.getMaxX()).thenReturn(50);
     Mockito.when(map.getMaxY()).thenReturn(50);
     Mockito.when(map.isBlocked(Mockito.anyInt(), Mockito.anyInt())).thenReturn(false);
+    Mockito.when(map.getPassabilityLayer(false)).thenReturn(
+        PathSearchEngine.createGrid(50, 50));
     AStarSearch search = new AStarSearch(map, 10, 10, 12, 10, 5, false);
     assertEquals(true, search.doSearch());
     search.doRoute();
@@ -145,7 +183,7 @@ public class AStarTest {
       assertNotEquals(null, search.getMove());
       if (steps == 1) {
         assertEquals(11, search.getMove().getX());
-        assertEquals(9, search.getMove().getY());
+        assertEquals(10, search.getMove().getY());
       }
       search.nextMove();
       steps++;
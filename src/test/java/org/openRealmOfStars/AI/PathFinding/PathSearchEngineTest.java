@@ -0,0 +1,124 @@
+package org.openRealmOfStars.AI.PathFinding;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for PathSearchEngine class
+ */
+
+public class PathSearchEngineTest {
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testGrid() {
+    long[] grid = PathSearchEngine.createGrid(10, 10);
+    assertEquals(2, grid.length);
+    assertFalse(PathSearchEngine.isBlocked(grid, 70));
+    PathSearchEngine.setBlocked(grid, 70);
+    assertTrue(PathSearchEngine.isBlocked(grid, 70));
+    assertFalse(PathSearchEngine.isBlocked(grid, 6));
+    PathSearchEngine.clearBlocked(grid, 70);
+    assertFalse(PathSearchEngine.isBlocked(grid, 70));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testStraightPath() {
+    long[] grid = PathSearchEngine.createGrid(20, 20);
+    int[] path = PathSearchEngine.getEngine().search(grid, 20, 20, 2, 5,
+        12, 5, 0, false);
+    assertNotNull(path);
+    assertEquals(10, path.length);
+    for (int i = 0; i < path.length; i++) {
+      assertEquals(3 + i, path[i] % 20);
+      assertEquals(5, path[i] / 20);
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testDetourAroundWall() {
+    long[] grid = PathSearchEngine.createGrid(20, 20);
+    // Wall from y=0 to y=15 at x=10
+    for (int y = 0; y < 16; y++) {
+      PathSearchEngine.setBlocked(grid, y * 20 + 10);
+    }
+    PathSearchEngine engine = PathSearchEngine.getEngine();
+    int[] path = engine.search(grid, 20, 20, 5, 5, 15, 5, 0, false);
+    assertNotNull(path);
+    // Needs to pass (10, 16), so 11 moves there and 11 back up
+    assertEquals(22, path.length);
+    for (int i = 0; i < path.length; i++) {
+      assertFalse(PathSearchEngine.isBlocked(grid, path[i]));
+    }
+    assertEquals(5 * 20 + 15, path[path.length - 1]);
+    // Same engine can be reused
+    path = engine.search(grid, 20, 20, 5, 5, 5, 8, 0, true);
+    assertNotNull(path);
+    assertEquals(3, path.length);
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testNoPath() {
+    long[] grid = PathSearchEngine.createGrid(20, 20);
+    for (int y = 0; y < 20; y++) {
+      PathSearchEngine.setBlocked(grid, y * 20 + 10);
+    }
+    int[] path = PathSearchEngine.getEngine().search(grid, 20, 20, 5, 5,
+        15, 5, 0, false);
+    assertNull(path);
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testTargetDistance() {
+    long[] grid = PathSearchEngine.createGrid(20, 20);
+    int[] path = PathSearchEngine.getEngine().search(grid, 20, 20, 0, 0,
+        10, 0, 3, false);
+    assertNotNull(path);
+    assertEquals(7, path.length);
+    assertEquals(7, path[path.length - 1] % 20);
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testPreferStraightLines() {
+    long[] grid = PathSearchEngine.createGrid(20, 20);
+    int[] path = PathSearchEngine.getEngine().search(grid, 20, 20, 0, 0,
+        6, 2, 0, true);
+    assertNotNull(path);
+    assertEquals(6, path.length);
+    int diagonal = 0;
+    int prev = 0;
+    for (int i = 0; i < path.length; i++) {
+      if (path[i] % 20 != prev % 20 && path[i] / 20 != prev / 20) {
+        diagonal++;
+      }
+      prev = path[i];
+    }
+    assertEquals(2, diagonal);
+  }
+
+}
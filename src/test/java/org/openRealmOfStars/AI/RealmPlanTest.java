@@ -0,0 +1,91 @@
+package org.openRealmOfStars.AI;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+import org.openRealmOfStars.AI.PlanetHandling.PlanetHandling;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.starMap.Coordinate;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openRealmOfStars.utilities.repository.GameRepository;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for RealmPlan
+ */
+
+public class RealmPlanTest {
+
+  /**
+   * Check that plan's totals are same as full planet scan.
+   * @param map StarMap
+   * @param plan Realm plan
+   */
+  private static void assertSameAsScan(final StarMap map,
+      final RealmPlan plan) {
+    assertEquals(map.getTotalProductionByPlayerPerTurn(
+        Planet.PRODUCTION_CREDITS, plan.getRealmIndex()), plan.getCredits());
+    assertEquals(map.getTotalProductionByPlayerPerTurn(
+        Planet.PRODUCTION_RESEARCH, plan.getRealmIndex()),
+        plan.getResearch());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testCenter() {
+    StarMap map = Mockito.mock(StarMap.class);
+    Mockito.when(map.calculateCenterOfRealm(1)).thenReturn(
+        new Coordinate(5, 6));
+    RealmPlan plan = new RealmPlan(map, 1);
+    assertEquals(1, plan.getRealmIndex());
+    assertEquals(5, plan.getCenter().getX());
+    assertEquals(6, plan.getCenter().getY());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testTotalsMatchScanDuringAiTurn() {
+    StarMap map = new GameRepository().loadGame("src/test/resources/saves",
+        "testGame.save");
+    int handled = 0;
+    for (int i = 0; i < map.getPlayerList().getCurrentMaxRealms(); i++) {
+      PlayerInfo info = map.getPlayerByIndex(i);
+      RealmPlan plan = new RealmPlan(map, i);
+      assertSameAsScan(map, plan);
+      for (Planet planet : map.getPlanetList()) {
+        if (planet.getPlanetPlayerInfo() == info) {
+          PlanetHandling.handlePlanet(map, planet, i, plan);
+          assertSameAsScan(map, plan);
+          handled++;
+        }
+      }
+      // Change which does not come from planets
+      if (info.getFleets().getNumberOfFleets() > 0) {
+        info.getFleets().remove(0);
+        assertSameAsScan(map, plan);
+      }
+    }
+    assertTrue(handled > 0);
+  }
+
+}
@@ -0,0 +1,123 @@
+package org.openRealmOfStars.game;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.starMap.SaveGameHeader;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.utilities.repository.GameRepository;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for SavedGameIndex
+ *
+ */
+public class SavedGameIndexTest {
+
+  /**
+   * Write star map into file.
+   * @param file File to write
+   * @param starMap StarMap
+   * @throws IOException if writing fails
+   */
+  private static void writeStarMap(final File file, final StarMap starMap)
+      throws IOException {
+    try (DataOutputStream dos = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(file)))) {
+      starMap.saveGame(dos);
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testHeaderIsWrittenAndIndexed() throws IOException {
+    StarMap starMap = new GameRepository().loadGame(
+        "src/test/resources/saves", "testGame.save");
+    File folder = Files.createTempDirectory("oros-saves").toFile();
+    File saveFile = new File(folder, "test.save");
+    File indexFile = new File(folder, SavedGameIndex.INDEX_FILENAME);
+    try {
+      writeStarMap(saveFile, starMap);
+      String folderName = folder.getPath();
+      SaveGameHeader header = new GameRepository().loadGameHeader(
+          folderName, "test.save");
+      assertNotNull(header);
+      assertEquals(128, header.getTurn());
+      StarMap loaded = new GameRepository().loadGame(folderName,
+          "test.save");
+      assertEquals(128, loaded.getTurn());
+      assertEquals("Terran Alliance",
+          loaded.getPlayerByIndex(0).getEmpireName());
+
+      SavedGameIndex index = new SavedGameIndex(folderName);
+      assertFalse(index.isChanged());
+      SavedGame game = index.getSavedGame("test.save");
+      assertEquals(128, game.getTurnNumber());
+      assertEquals("Terran Alliance", game.getEmpireName());
+      assertEquals("50 X 50", game.getGalaxySize());
+      assertEquals(SpaceRace.HUMAN, game.getPlayerRace());
+      assertTrue(index.isChanged());
+      index.save();
+      assertFalse(index.isChanged());
+      assertTrue(indexFile.exists());
+
+      // Save file is no longer read when index is up to date
+      index = new SavedGameIndex(folderName);
+      game = index.getSavedGame("test.save");
+      assertEquals(128, game.getTurnNumber());
+      assertEquals("Terran Alliance", game.getEmpireName());
+      assertFalse(index.isChanged());
+
+      // Entries for removed saves are dropped
+      index = new SavedGameIndex(folderName);
+      index.save();
+      assertFalse(index.isChanged());
+      index = new SavedGameIndex(folderName);
+      game = index.getSavedGame("test.save");
+      assertTrue(index.isChanged());
+    } finally {
+      saveFile.delete();
+      indexFile.delete();
+      folder.delete();
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testOldSaveWithoutHeader() throws IOException {
+    assertNull(new GameRepository().loadGameHeader(
+        "src/test/resources/saves", "testStats.save"));
+    SaveGameHeader header = SavedGame.readHeader("src/test/resources/saves",
+        "testStats.save");
+    assertEquals(199, header.getTurn());
+    assertEquals(75, header.getMaxX());
+    assertEquals("Hiearchy of Centaurs", header.getEmpireName());
+  }
+
+}
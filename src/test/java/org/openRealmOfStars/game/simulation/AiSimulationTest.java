@@ -0,0 +1,58 @@
+package org.openRealmOfStars.game.simulation;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openRealmOfStars.starMap.GalaxyConfig;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for AiSimulation
+ */
+
+public class AiSimulationTest {
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testShortSimulation() {
+    GalaxyConfig config = AiSimulation.createConfig(4, 50);
+    assertTrue(config.isAiOnly());
+    AiSimulation simulation = new AiSimulation(config, 5);
+    simulation.run();
+    assertEquals(5, simulation.getTurnsSimulated());
+    assertEquals(5, simulation.getGame().getStarMap().getTurn());
+    assertTrue(simulation.getTotalTime() > 0);
+    assertTrue(simulation.getTurnsPerSecond() > 0);
+    assertTrue(simulation.getPeakHeap() > 0);
+    long phases = 0;
+    for (TurnPhase phase : TurnPhase.values()) {
+      phases = phases + simulation.getPhaseTime(phase);
+    }
+    assertTrue(phases > 0);
+    assertTrue(phases <= simulation.getTotalTime());
+    assertTrue(simulation.getPhaseTime(TurnPhase.PLANETS) > 0);
+    assertFalse(TurnProfiler.isEnabled());
+    String report = simulation.getReport();
+    assertTrue(report.contains("Simulated 5 turns with 4 realms"));
+    assertTrue(report.contains("MISSIONS"));
+  }
+
+}
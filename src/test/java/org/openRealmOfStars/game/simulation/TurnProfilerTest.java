@@ -0,0 +1,62 @@
+package org.openRealmOfStars.game.simulation;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for TurnProfiler
+ */
+
+public class TurnProfilerTest {
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testDisabled() {
+    TurnProfiler.reset();
+    assertFalse(TurnProfiler.isEnabled());
+    assertNull(TurnProfiler.switchTo(TurnPhase.CULTURE));
+    TurnProfiler.switchTo(null);
+    assertEquals(0, TurnProfiler.getTime(TurnPhase.CULTURE));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testPhases() throws InterruptedException {
+    TurnProfiler.reset();
+    TurnProfiler.setEnabled(true);
+    try {
+      assertNull(TurnProfiler.switchTo(TurnPhase.OTHER));
+      TurnPhase previous = TurnProfiler.switchTo(TurnPhase.NEWS);
+      assertEquals(TurnPhase.OTHER, previous);
+      Thread.sleep(5);
+      assertEquals(TurnPhase.NEWS, TurnProfiler.switchTo(previous));
+      TurnProfiler.switchTo(null);
+      assertTrue(TurnProfiler.getTime(TurnPhase.NEWS) >= 5000000);
+      assertEquals(0, TurnProfiler.getTime(TurnPhase.CULTURE));
+    } finally {
+      TurnProfiler.setEnabled(false);
+      TurnProfiler.reset();
+    }
+  }
+
+}
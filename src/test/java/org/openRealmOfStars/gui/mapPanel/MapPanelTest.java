@@ -4,12 +4,18 @@ import static org.junit.Assert.*;
 
 import java.awt.image.BufferedImage;
 
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.Mockito;
 import org.openRealmOfStars.game.Game;
+import org.openRealmOfStars.gui.utilies.GuiStatics;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.fleet.Fleet;
 import org.openRealmOfStars.starMap.Coordinate;
 import org.openRealmOfStars.starMap.Route;
+import org.openRealmOfStars.starMap.StarMap;
+import org.openRealmOfStars.utilities.repository.GameRepository;
 /**
 *
 * Open Realm of Stars game project
@@ -124,4 +130,74 @@ public class MapPanelTest {
     assertEquals(image, panel.getRightSpaceImage());
   }
 
+  /**
+   * Change star map same way for both panels.
+   * @param map Star map
+   * @param frame Frame number
+   */
+  private static void changeMap(final StarMap map, final int frame) {
+    PlayerInfo info = map.getCurrentPlayerInfo();
+    Fleet fleet = info.getFleets().getByIndex(0);
+    if (frame == 0) {
+      map.setDrawPos(fleet.getX(), fleet.getY());
+      map.setCursorPos(fleet.getX(), fleet.getY());
+    }
+    if (frame == 3) {
+      map.setCursorPos(fleet.getX() + 1, fleet.getY() - 1);
+    }
+    if (frame == 5) {
+      fleet.setPos(new Coordinate(fleet.getX() + 1, fleet.getY() + 1));
+      map.clearFleetTiles();
+    }
+    if (frame == 7) {
+      for (int i = -3; i < 4; i++) {
+        info.setSectorVisibility(fleet.getX() + i, fleet.getY() - 2,
+            PlayerInfo.VISIBLE);
+        info.setSectorVisibility(fleet.getX() - 4, fleet.getY() + i,
+            PlayerInfo.UNCHARTED);
+      }
+    }
+    if (frame == 9) {
+      map.setDrawPos(map.getDrawX() - 1, map.getDrawY() - 1);
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testCachedLayersMatchFullRedraw() {
+    // Parallax background cannot be drawn without nebulae image
+    Assume.assumeNotNull(GuiStatics.NEBULAE_IMAGE);
+    GameRepository repository = new GameRepository();
+    StarMap cachedMap = repository.loadGame("src/test/resources/saves",
+        "testGame.save");
+    StarMap fullMap = repository.loadGame("src/test/resources/saves",
+        "testGame.save");
+    MapPanel cached = new MapPanel(false);
+    cached.setSize(1024, 768);
+    MapPanel full = new MapPanel(false);
+    full.setSize(1024, 768);
+    full.setFullRedraw(true);
+    assertTrue(full.isFullRedraw());
+    int frames = 14;
+    for (int frame = 0; frame < frames; frame++) {
+      changeMap(cachedMap, frame);
+      changeMap(fullMap, frame);
+      cached.drawMap(cachedMap);
+      full.drawMap(fullMap);
+      BufferedImage cachedScreen = cached.getScreen();
+      BufferedImage fullScreen = full.getScreen();
+      for (int y = 0; y < cachedScreen.getHeight(); y++) {
+        for (int x = 0; x < cachedScreen.getWidth(); x++) {
+          assertEquals("Frame " + frame + " pixel " + x + "," + y,
+              fullScreen.getRGB(x, y), cachedScreen.getRGB(x, y));
+        }
+      }
+    }
+    assertEquals(frames, full.getLayerRebuilds());
+    assertEquals(2, cached.getLayerRebuilds());
+    assertTrue(cached.getRedrawnSectors() < full.getRedrawnSectors());
+    assertTrue(cached.getAverageFrameTime() > 0);
+    assertTrue(cached.getLastFrameTime() > 0);
+  }
+
 }
@@ -0,0 +1,137 @@
+package org.openRealmOfStars.gui.panels;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for SphereProjection
+ *
+ */
+public class SphereProjectionTest {
+
+  /**
+   * Draw sphere sample by sample with fillOval.
+   * @param texture Texture image
+   * @param rotation Texture rotation
+   * @param target Target image
+   * @param offsetX Drawing X offset
+   * @param offsetY Drawing Y offset
+   */
+  private static void drawWithOvals(final BufferedImage texture,
+      final int rotation, final BufferedImage target, final int offsetX,
+      final int offsetY) {
+    Graphics2D g2d = target.createGraphics();
+    double northAngle = 0;
+    for (int i = 0; i < 360; i++) {
+      double westAngle = 0;
+      for (int j = 0; j < 180; j++) {
+        double y = Math.sin(Math.toRadians(northAngle / 2.0));
+        double x = -Math.cos(Math.toRadians(westAngle)) * y
+            * texture.getWidth() / 4.0 + texture.getWidth() / 8.0;
+        double z = Math.sin(Math.toRadians(westAngle)) * y * 8;
+        y = -Math.cos(Math.toRadians(northAngle / 2.0))
+            * texture.getHeight() / 2.0 + texture.getHeight() / 2.0;
+        int size = (int) z;
+        if (size < 0) {
+          size = 1;
+        }
+        if (size > 8) {
+          size = 8;
+        }
+        g2d.setColor(new Color(texture.getRGB(rotation + j, i)));
+        if (size > 0) {
+          g2d.fillOval(offsetX + (int) x, offsetY + (int) y, size, size);
+        }
+        westAngle++;
+      }
+      northAngle++;
+    }
+    g2d.dispose();
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testRenderMatchesOvals() {
+    BufferedImage texture = new BufferedImage(720, 360,
+        BufferedImage.TYPE_INT_ARGB);
+    Random random = new Random(5);
+    for (int y = 0; y < texture.getHeight(); y++) {
+      for (int x = 0; x < texture.getWidth(); x++) {
+        texture.setRGB(x, y, random.nextInt());
+      }
+    }
+    SphereProjection projection = SphereProjection.getProjection(720, 360);
+    assertEquals(projection, SphereProjection.getProjection(720, 360));
+    assertEquals(720, projection.getTextureWidth());
+    int[] rotations = {0, 1, 123, 359 };
+    for (int rotation : rotations) {
+      BufferedImage expected = projection.createImage();
+      drawWithOvals(texture, rotation, expected, -projection.getMinX(),
+          -projection.getMinY());
+      BufferedImage serial = projection.createImage();
+      projection.render(SphereProjection.getPixels(texture), rotation,
+          SphereProjection.getPixels(serial), false);
+      BufferedImage parallel = projection.createImage();
+      projection.render(SphereProjection.getPixels(texture), rotation,
+          SphereProjection.getPixels(parallel), true);
+      for (int y = 0; y < expected.getHeight(); y++) {
+        for (int x = 0; x < expected.getWidth(); x++) {
+          assertEquals(expected.getRGB(x, y), serial.getRGB(x, y));
+          assertEquals(expected.getRGB(x, y), parallel.getRGB(x, y));
+        }
+      }
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testRowRange() {
+    BufferedImage texture = new BufferedImage(720, 360,
+        BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2d = texture.createGraphics();
+    g2d.setColor(Color.GREEN);
+    g2d.fillRect(0, 0, 720, 360);
+    g2d.dispose();
+    SphereProjection projection = SphereProjection.getProjection(720, 360);
+    BufferedImage image = projection.createImage();
+    int[] pixels = SphereProjection.getPixels(image);
+    projection.renderRows(SphereProjection.getPixels(texture), 0, pixels,
+        100, 110);
+    for (int y = 0; y < image.getHeight(); y++) {
+      boolean drawn = false;
+      for (int x = 0; x < image.getWidth(); x++) {
+        if (image.getRGB(x, y) != 0) {
+          assertEquals(Color.GREEN.getRGB(), image.getRGB(x, y));
+          drawn = true;
+        }
+      }
+      assertEquals(y >= 100 && y < 110, drawn);
+    }
+  }
+
+}
@@ -0,0 +1,104 @@
+package org.openRealmOfStars.gui.utilies;
+
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for ProceduralRenderer
+ *
+ */
+public class ProceduralRendererTest {
+
+  /**
+   * Check that two images have same pixels.
+   * @param expected Expected image
+   * @param actual Actual image
+   * @return True if images are same
+   */
+  private static boolean isSameImage(final BufferedImage expected,
+      final BufferedImage actual) {
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testSameSeedSameStars() {
+    BufferedImage serial = ProceduralRenderer.generateStars(1234, false);
+    BufferedImage parallel = ProceduralRenderer.generateStars(1234, true);
+    assertEquals(ProceduralRenderer.WIDTH, serial.getWidth());
+    assertEquals(ProceduralRenderer.HEIGHT, serial.getHeight());
+    assertTrue(isSameImage(serial, parallel));
+    BufferedImage other = ProceduralRenderer.generateStars(4321, true);
+    assertFalse(isSameImage(serial, other));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testCache() throws Exception {
+    File folder = new File("target/starfield-cache-test");
+    File[] oldFiles = folder.listFiles();
+    if (oldFiles != null) {
+      for (File file : oldFiles) {
+        file.delete();
+      }
+    }
+    assertNull(ProceduralRenderer.findCachedSeed(folder.getPath()));
+    BufferedImage stars = ProceduralRenderer.generateStars(77, true);
+    ProceduralRenderer.saveStars(folder.getPath(), 77, stars);
+    assertEquals(Long.valueOf(77),
+        ProceduralRenderer.findCachedSeed(folder.getPath()));
+    BufferedImage loaded = ProceduralRenderer.loadStars(folder.getPath(),
+        77);
+    assertNotNull(loaded);
+    assertTrue(isSameImage(stars, loaded));
+    assertNull(ProceduralRenderer.loadStars(folder.getPath(), 78));
+
+    ProceduralRenderer renderer = new ProceduralRenderer(folder.getPath());
+    assertNull(renderer.getStars());
+    renderer.start();
+    renderer.join();
+    assertTrue(isSameImage(stars, renderer.getStars()));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testWithoutCache() throws Exception {
+    ProceduralRenderer renderer = new ProceduralRenderer(null);
+    renderer.start();
+    renderer.join();
+    BufferedImage stars = renderer.getStars();
+    assertNotNull(stars);
+    assertEquals(ProceduralRenderer.WIDTH, stars.getWidth());
+  }
+
+}
@@ -0,0 +1,202 @@
+package org.openRealmOfStars.player.combat;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.player.ship.Ship;
+import org.openRealmOfStars.player.ship.ShipSize;
+import org.openRealmOfStars.player.ship.generator.ShipGenerator;
+import org.openRealmOfStars.player.ship.shipdesign.ShipDesign;
+import org.openRealmOfStars.player.tech.TechFactory;
+import org.openRealmOfStars.starMap.Coordinate;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openRealmOfStars.utilities.RandomStream;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test that simulated fast combat ends same way as combat fought
+ * Test for CombatEstimator
+ *
+ */
+public class CombatEstimatorTest {
+
+  /**
+   * Create realm with few military techs.
+   * @param race Space race
+   * @param name Empire name
+   * @return PlayerInfo
+   */
+  private static PlayerInfo createRealm(final SpaceRace race,
+      final String name) {
+    PlayerInfo info = new PlayerInfo(race);
+    info.setEmpireName(name);
+    info.getTechList().addTech(TechFactory.createCombatTech(
+        "Photon torpedo Mk2", 2));
+    info.getTechList().addTech(TechFactory.createDefenseTech("Shield Mk2",
+        2));
+    info.getTechList().addTech(TechFactory.createHullTech("Destroyer Mk1",
+        1));
+    info.getTechList().addTech(TechFactory.createHullTech("Small orbital",
+        2));
+    return info;
+  }
+
+  /**
+   * Create fleet of battle ships.
+   * @param info Realm owning the fleet
+   * @param x Fleet X coordinate
+   * @param y Fleet Y coordinate
+   * @param size Number of ships
+   * @return Fleet
+   */
+  private static Fleet createFleet(final PlayerInfo info, final int x,
+      final int y, final int size) {
+    ShipDesign design = ShipGenerator.createBattleShip(info,
+        ShipSize.MEDIUM, false, false);
+    if (design == null) {
+      design = ShipGenerator.createBattleShip(info, ShipSize.SMALL, false,
+          false);
+    }
+    Fleet fleet = new Fleet(new Ship(design), x, y);
+    for (int i = 1; i < size; i++) {
+      fleet.addShip(new Ship(design));
+    }
+    info.getFleets().add(fleet);
+    return fleet;
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testEstimateDoesNotChangeFleets() {
+    CombatEstimator.clearCache();
+    PlayerInfo attacker = createRealm(SpaceRace.HUMAN, "Terran alliance");
+    PlayerInfo defender = createRealm(SpaceRace.SPORKS, "Spork empire");
+    Fleet attackerFleet = createFleet(attacker, 5, 5, 6);
+    Fleet defenderFleet = createFleet(defender, 6, 5, 1);
+    int hull = defenderFleet.getShips()[0].getHullPoints();
+    CombatEstimate estimate = CombatEstimator.estimate(attackerFleet,
+        attacker, defenderFleet, defender, null);
+    assertEquals(CombatEstimator.SIMULATIONS, estimate.getSimulations());
+    assertTrue(estimate.getWinProbability() > 0.9);
+    assertTrue(estimate.getExpectedAttackerLosses() < 1);
+    assertTrue(estimate.getExpectedDefenderLosses() > 0.9);
+    assertEquals(6, attackerFleet.getNumberOfShip());
+    assertEquals(1, defenderFleet.getNumberOfShip());
+    assertEquals(hull, defenderFleet.getShips()[0].getHullPoints());
+    assertEquals(1, attacker.getFleets().getNumberOfFleets());
+    assertEquals(1, defender.getFleets().getNumberOfFleets());
+    assertTrue(CombatEstimator.isFavourable(attackerFleet, attacker,
+        defenderFleet, defender, null));
+    assertFalse(CombatEstimator.isFavourable(defenderFleet, defender,
+        attackerFleet, attacker, null));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testCacheAndDeterminism() {
+    CombatEstimator.clearCache();
+    PlayerInfo attacker = createRealm(SpaceRace.HUMAN, "Terran alliance");
+    PlayerInfo defender = createRealm(SpaceRace.SPORKS, "Spork empire");
+    Fleet attackerFleet = createFleet(attacker, 5, 5, 3);
+    Fleet defenderFleet = createFleet(defender, 6, 5, 3);
+    CombatEstimate first = CombatEstimator.estimate(attackerFleet, attacker,
+        defenderFleet, defender, null);
+    assertSame(first, CombatEstimator.estimate(attackerFleet, attacker,
+        defenderFleet, defender, null));
+    CombatEstimator.clearCache();
+    CombatEstimate second = CombatEstimator.estimate(attackerFleet,
+        attacker, defenderFleet, defender, null);
+    assertNotSame(first, second);
+    assertEquals(first.toString(), second.toString());
+
+    CombatEstimator.Setup setup = new CombatEstimator.Setup(attackerFleet,
+        attacker, defenderFleet, defender, null);
+    CombatEstimate serial = CombatEstimator.simulate(setup,
+        new RandomStream(42), 8, false);
+    CombatEstimate parallel = CombatEstimator.simulate(setup,
+        new RandomStream(42), 8, true);
+    assertEquals(serial.toString(), parallel.toString());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testSameOutcomeWithAndWithoutThreads() {
+    PlayerInfo attacker = createRealm(SpaceRace.HUMAN, "Terran alliance");
+    PlayerInfo defender = createRealm(SpaceRace.SPORKS, "Spork empire");
+    Fleet attackerFleet = createFleet(attacker, 5, 5, 4);
+    Fleet defenderFleet = createFleet(defender, 6, 5, 4);
+    CombatEstimator.Setup setup = new CombatEstimator.Setup(attackerFleet,
+        attacker, defenderFleet, defender, null);
+    long[] seeds = {1L, 2022L, 987654321L};
+    try {
+      for (long seed : seeds) {
+        DiceGenerator.initializeDeterministic(seed);
+        CombatEstimate serial = CombatEstimator.simulate(setup,
+            DiceGenerator.getStream(DiceGenerator.STREAM_COMBAT, 0),
+            CombatEstimator.SIMULATIONS, false);
+        int serialNext = DiceGenerator.getRandom(1000);
+        DiceGenerator.initializeDeterministic(seed);
+        CombatEstimate parallel = CombatEstimator.simulate(setup,
+            DiceGenerator.getStream(DiceGenerator.STREAM_COMBAT, 0),
+            CombatEstimator.SIMULATIONS, true);
+        int parallelNext = DiceGenerator.getRandom(1000);
+        assertEquals(serial.toString(), parallel.toString());
+        assertEquals(serial.getWinProbability(),
+            parallel.getWinProbability(), 0);
+        assertEquals(serial.getExpectedAttackerLosses(),
+            parallel.getExpectedAttackerLosses(), 0);
+        assertEquals(serial.getExpectedDefenderLosses(),
+            parallel.getExpectedDefenderLosses(), 0);
+        // Simulations do not draw from shared generators
+        assertEquals(serialNext, parallelNext);
+      }
+    } finally {
+      DiceGenerator.disableDeterministic();
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testPlanetWithOrbital() {
+    CombatEstimator.clearCache();
+    PlayerInfo attacker = createRealm(SpaceRace.HUMAN, "Terran alliance");
+    PlayerInfo defender = createRealm(SpaceRace.SPORKS, "Spork empire");
+    Fleet attackerFleet = createFleet(attacker, 5, 5, 1);
+    Planet planet = new Planet(new Coordinate(6, 5), "Planet", 1, false);
+    planet.setPlanetOwner(1, defender);
+    ShipDesign orbital = ShipGenerator.createOrbital(defender,
+        ShipSize.SMALL);
+    assertNotNull(orbital);
+    planet.setOrbital(new Ship(orbital));
+    CombatEstimate estimate = CombatEstimator.estimate(attackerFleet,
+        attacker, null, defender, planet);
+    assertEquals(CombatEstimator.SIMULATIONS, estimate.getSimulations());
+    assertNotNull(planet.getOrbital());
+    assertEquals(1, attackerFleet.getNumberOfShip());
+    assertTrue(estimate.getWinProbability() + estimate.getLoseProbability()
+        <= 1.0);
+  }
+
+}
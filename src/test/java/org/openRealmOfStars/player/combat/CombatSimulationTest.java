@@ -0,0 +1,190 @@
+package org.openRealmOfStars.player.combat;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.player.ship.Ship;
+import org.openRealmOfStars.player.ship.ShipSize;
+import org.openRealmOfStars.player.ship.generator.ShipGenerator;
+import org.openRealmOfStars.player.ship.shipdesign.ShipDesign;
+import org.openRealmOfStars.player.tech.TechFactory;
+import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openRealmOfStars.utilities.Logger;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test that simulated fast combat ends same way as combat fought
+ * with animations.
+ *
+ */
+public class CombatSimulationTest {
+
+  /**
+   * Maximum animation steps for single action
+   */
+  private static final int MAX_ANIMATION_STEPS = 10000;
+
+  /**
+   * Create realm with few military techs.
+   * @param race Space race
+   * @param name Empire name
+   * @return PlayerInfo
+   */
+  private static PlayerInfo createRealm(final SpaceRace race,
+      final String name) {
+    PlayerInfo info = new PlayerInfo(race);
+    info.setEmpireName(name);
+    info.getTechList().addTech(TechFactory.createCombatTech(
+        "Photon torpedo Mk2", 2));
+    info.getTechList().addTech(TechFactory.createDefenseTech("Shield Mk2",
+        2));
+    info.getTechList().addTech(TechFactory.createHullTech("Destroyer Mk1",
+        1));
+    return info;
+  }
+
+  /**
+   * Create fleet of battle ships.
+   * @param info Realm owning the fleet
+   * @param x Fleet X coordinate
+   * @param y Fleet Y coordinate
+   * @param size Number of ships
+   * @return Fleet
+   */
+  private static Fleet createFleet(final PlayerInfo info, final int x,
+      final int y, final int size) {
+    ShipDesign design = ShipGenerator.createBattleShip(info,
+        ShipSize.MEDIUM, false, false);
+    if (design == null) {
+      design = ShipGenerator.createBattleShip(info, ShipSize.SMALL, false,
+          false);
+    }
+    Fleet fleet = new Fleet(new Ship(design), x, y);
+    for (int i = 1; i < size; i++) {
+      fleet.addShip(new Ship(design));
+    }
+    info.getFleets().add(fleet);
+    return fleet;
+  }
+
+  /**
+   * Describe state of realm's fleets.
+   * @param info Realm
+   * @return State as a String
+   */
+  private static String describeFleets(final PlayerInfo info) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < info.getFleets().getNumberOfFleets(); i++) {
+      Fleet fleet = info.getFleets().getByIndex(i);
+      sb.append(fleet.getNumberOfShip());
+      sb.append(':');
+      for (Ship ship : fleet.getShips()) {
+        sb.append(ship.getHullPoints());
+        sb.append('/');
+        sb.append(ship.getArmor());
+        sb.append('/');
+        sb.append(ship.getShield());
+        sb.append(' ');
+      }
+      sb.append(';');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Fight combat between two realms and describe end result.
+   * @param seed Seed for combat random
+   * @param fleetSize Number of ships in both fleets
+   * @param animated True to fight combat with animations like
+   *        in battle view, false to use fast combat
+   * @return End result as a String
+   */
+  private static String fight(final long seed, final int fleetSize,
+      final boolean animated) {
+    DiceGenerator.initializeDeterministic(seed);
+    try {
+      PlayerInfo attacker = createRealm(SpaceRace.HUMAN, "Terran alliance");
+      PlayerInfo defender = createRealm(SpaceRace.SPORKS, "Spork empire");
+      Combat combat = new Combat(createFleet(attacker, 5, 5, fleetSize),
+          createFleet(defender, 6, 5, fleetSize), attacker, defender);
+      if (animated) {
+        while (!combat.isCombatOver()) {
+          combat.handleAI(new Logger(), null);
+          CombatAnimation animation = combat.getAnimation();
+          if (animation != null) {
+            for (int i = 0; i < MAX_ANIMATION_STEPS
+                && !animation.isAnimationFinished(); i++) {
+              animation.doAnimation();
+            }
+            if (animation.getTarget() != null
+                && animation.getTarget().getShip().getHullPoints() <= 0) {
+              combat.destroyShip(animation.getTarget());
+            }
+            combat.setAnimation(null);
+          }
+        }
+        combat.handleEndCombat();
+      } else {
+        combat.doFastCombat();
+      }
+      StringBuilder sb = new StringBuilder();
+      if (combat.getWinner() != null) {
+        sb.append(combat.getWinner().getEmpireName());
+      }
+      sb.append(" rounds ");
+      sb.append(combat.getTotalRounds());
+      sb.append(' ');
+      for (int y = 0; y < Combat.MAX_Y; y++) {
+        for (int x = 0; x < Combat.MAX_X; x++) {
+          if (combat.getShipFromCoordinate(x, y) != null) {
+            sb.append(x);
+            sb.append(',');
+            sb.append(y);
+            sb.append(' ');
+          }
+        }
+      }
+      sb.append(describeFleets(attacker));
+      sb.append(describeFleets(defender));
+      return sb.toString();
+    } finally {
+      DiceGenerator.disableDeterministic();
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testFastCombatSameAsAnimated() {
+    int[] fleetSizes = {1, 3, 6 };
+    for (int fleetSize : fleetSizes) {
+      for (long seed = 1; seed <= 5; seed++) {
+        String animated = fight(seed, fleetSize, true);
+        String fast = fight(seed, fleetSize, false);
+        assertEquals("Seed " + seed + " fleet " + fleetSize, animated,
+            fast);
+      }
+    }
+  }
+
+}
@@ -634,4 +634,35 @@ public class FleetTest {
     assertEquals(3, fleet.getTotalCultureBonus());
   }
 
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testCachedStats() {
+    Ship ship = createShipOne();
+    Fleet fleet = new Fleet(ship, 2, 3);
+    Fleet.setStatsCacheCheck(true);
+    Fleet.resetStatsCacheMismatches();
+    try {
+      assertEquals(15, fleet.getMilitaryValue());
+      assertEquals(2, fleet.getFleetScannerLvl());
+      assertEquals(1, fleet.getFleetSpeed());
+      // Ship changes without bumping stamp, so cached value is stale
+      Mockito.when(ship.getScannerLvl()).thenReturn(3);
+      Mockito.when(ship.getSpeed()).thenReturn(2);
+      assertEquals(3, fleet.getFleetScannerLvl());
+      assertEquals(1, Fleet.getStatsCacheMismatches());
+      Fleet.setStatsCacheCheck(false);
+      assertEquals(1, fleet.getFleetSpeed());
+      Mockito.when(ship.getStatsStamp()).thenReturn(1);
+      assertEquals(2, fleet.getFleetSpeed());
+      Ship ship2 = createShipOne();
+      Mockito.when(ship2.getTotalMilitaryPower()).thenReturn(10);
+      fleet.addShip(ship2);
+      assertEquals(25, fleet.getMilitaryValue());
+      fleet.removeShip(ship);
+      assertEquals(10, fleet.getMilitaryValue());
+    } finally {
+      Fleet.setStatsCacheCheck(false);
+    }
+  }
+
 }
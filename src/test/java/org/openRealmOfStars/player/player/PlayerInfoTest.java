@@ -11,10 +11,12 @@ import org.openRealmOfStars.player.SpaceRace.SpaceRace;
 import org.openRealmOfStars.player.diplomacy.Attitude;
 import org.openRealmOfStars.player.fleet.Fleet;
 import org.openRealmOfStars.player.government.GovernmentType;
+import org.openRealmOfStars.player.ship.Ship;
 import org.openRealmOfStars.player.ship.ShipStat;
 import org.openRealmOfStars.player.ship.generator.ShipGenerator;
 import org.openRealmOfStars.player.ship.shipdesign.ShipDesign;
 import org.openRealmOfStars.player.tech.Tech;
+import org.openRealmOfStars.player.tech.TechFactory;
 import org.openRealmOfStars.player.tech.TechList;
 import org.openRealmOfStars.player.tech.TechType;
 import org.openRealmOfStars.starMap.Coordinate;
@@ -786,4 +788,28 @@ public class PlayerInfoTest {
       assertEquals(80, player.getFakeMilitarySize());
     }
 
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testCombatCopy() {
+    PlayerInfo info = new PlayerInfo(SpaceRace.HUMAN, 2, 0);
+    info.setEmpireName("Terran alliance");
+    info.setGovernment(GovernmentType.DEMOCRACY);
+    info.getTechList().addTech(TechFactory.createElectronicsTech(
+        "Improved engineer", 3));
+    ShipDesign design = ShipGenerator.createScout(info);
+    info.getFleets().add(new Fleet(new Ship(design), 2, 2));
+    PlayerInfo copy = info.createCombatCopy();
+    assertEquals(SpaceRace.HUMAN, copy.getRace());
+    assertEquals("Terran alliance", copy.getEmpireName());
+    assertEquals(GovernmentType.DEMOCRACY, copy.getGovernment());
+    assertEquals(info.getAiDifficulty(), copy.getAiDifficulty());
+    assertEquals(true, copy.getTechList().hasTech(TechType.Electrics,
+        "Improved engineer"));
+    assertEquals(0, copy.getFleets().getNumberOfFleets());
+    copy.getTechList().addTech(TechFactory.createDefenseTech(
+        "Organic armor Mk1", 3));
+    assertEquals(true, copy.getTechList().isTech("Organic armor Mk1"));
+    assertEquals(false, info.getTechList().isTech("Organic armor Mk1"));
+  }
+
 }
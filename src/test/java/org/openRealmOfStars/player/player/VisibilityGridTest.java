@@ -0,0 +1,178 @@
+package org.openRealmOfStars.player.player;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.VisibilityGrid;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for VisibilityGrid
+ *
+ */
+public class VisibilityGridTest {
+
+  /**
+   * Fill grid with pattern which crosses word boundaries.
+   * @param grid Visibility grid
+   * @param seed Pattern seed
+   */
+  private static void fillPattern(final VisibilityGrid grid,
+      final int seed) {
+    for (int y = 0; y < grid.getHeight(); y++) {
+      for (int x = 0; x < grid.getWidth(); x++) {
+        grid.setVisibility(x, y, (byte) ((x * 7 + y * 3 + seed) % 3));
+      }
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testGetAndSet() {
+    VisibilityGrid grid = new VisibilityGrid(70, 5);
+    assertEquals(PlayerInfo.UNCHARTED, grid.getVisibility(69, 4));
+    grid.setVisibility(31, 1, PlayerInfo.VISIBLE);
+    grid.setVisibility(32, 1, PlayerInfo.FOG_OF_WAR);
+    grid.setVisibility(69, 4, PlayerInfo.VISIBLE);
+    assertEquals(PlayerInfo.VISIBLE, grid.getVisibility(31, 1));
+    assertEquals(PlayerInfo.FOG_OF_WAR, grid.getVisibility(32, 1));
+    assertEquals(PlayerInfo.UNCHARTED, grid.getVisibility(30, 1));
+    assertEquals(PlayerInfo.VISIBLE, grid.getVisibility(69, 4));
+    grid.setVisibility(31, 1, PlayerInfo.UNCHARTED);
+    assertEquals(PlayerInfo.UNCHARTED, grid.getVisibility(31, 1));
+    assertEquals(PlayerInfo.FOG_OF_WAR, grid.getVisibility(32, 1));
+    assertTrue(grid.isValid(69, 4));
+    assertFalse(grid.isValid(70, 4));
+    assertFalse(grid.isValid(0, -1));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testResetAfterTurn() {
+    VisibilityGrid grid = new VisibilityGrid(40, 40);
+    fillPattern(grid, 0);
+    grid.setCloakDetection(5, 5, 40);
+    grid.setCloakDetection(39, 39, 100000);
+    assertEquals(40, grid.getCloakDetection(5, 5));
+    assertEquals(Short.MAX_VALUE, grid.getCloakDetection(39, 39));
+    grid.resetAfterTurn();
+    for (int y = 0; y < 40; y++) {
+      for (int x = 0; x < 40; x++) {
+        int value = (x * 7 + y * 3) % 3;
+        if (value == PlayerInfo.VISIBLE) {
+          value = PlayerInfo.FOG_OF_WAR;
+        }
+        assertEquals(value, grid.getVisibility(x, y));
+        assertEquals(0, grid.getCloakDetection(x, y));
+      }
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testCountUncharted() {
+    VisibilityGrid grid = new VisibilityGrid(75, 60);
+    fillPattern(grid, 1);
+    int[][] rectangles = {{0, 0, 74, 59}, {-5, -5, 3, 3}, {30, 2, 65, 9},
+        {31, 0, 32, 59}, {64, 10, 80, 70}, {10, 10, 10, 10},
+        {20, 20, 19, 25}};
+    for (int[] rect : rectangles) {
+      int expected = 0;
+      for (int y = Math.max(0, rect[1]); y <= Math.min(59, rect[3]); y++) {
+        for (int x = Math.max(0, rect[0]); x <= Math.min(74, rect[2]);
+            x++) {
+          if (grid.getVisibility(x, y) == PlayerInfo.UNCHARTED) {
+            expected++;
+          }
+        }
+      }
+      assertEquals(expected, grid.countUncharted(rect[0], rect[1], rect[2],
+          rect[3]));
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testShareCharted() {
+    VisibilityGrid giver = new VisibilityGrid(50, 20);
+    VisibilityGrid receiver = new VisibilityGrid(50, 20);
+    fillPattern(giver, 0);
+    fillPattern(receiver, 2);
+    int expected = 0;
+    for (int y = 0; y < 20; y++) {
+      for (int x = 0; x < 50; x++) {
+        if (giver.getVisibility(x, y) != PlayerInfo.UNCHARTED
+            && receiver.getVisibility(x, y) == PlayerInfo.UNCHARTED) {
+          expected++;
+        }
+      }
+    }
+    assertEquals(expected, giver.countChartedUnknownTo(receiver));
+    VisibilityGrid original = new VisibilityGrid(50, 20);
+    fillPattern(original, 2);
+    giver.shareChartedTo(receiver);
+    assertEquals(0, giver.countChartedUnknownTo(receiver));
+    for (int y = 0; y < 20; y++) {
+      for (int x = 0; x < 50; x++) {
+        byte value = original.getVisibility(x, y);
+        if (value == PlayerInfo.UNCHARTED
+            && giver.getVisibility(x, y) != PlayerInfo.UNCHARTED) {
+          value = PlayerInfo.FOG_OF_WAR;
+        }
+        assertEquals(value, receiver.getVisibility(x, y));
+      }
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testDifferentSizes() {
+    VisibilityGrid giver = new VisibilityGrid(10, 10);
+    VisibilityGrid receiver = new VisibilityGrid(5, 5);
+    giver.setVisibility(2, 2, PlayerInfo.VISIBLE);
+    giver.setVisibility(8, 8, PlayerInfo.VISIBLE);
+    assertEquals(1, giver.countChartedUnknownTo(receiver));
+    giver.shareChartedTo(receiver);
+    assertEquals(PlayerInfo.FOG_OF_WAR, receiver.getVisibility(2, 2));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testChartedVersion() {
+    VisibilityGrid grid = new VisibilityGrid(40, 10);
+    int version = grid.getChartedVersion();
+    grid.setVisibility(3, 3, PlayerInfo.FOG_OF_WAR);
+    assertNotEquals(version, grid.getChartedVersion());
+    version = grid.getChartedVersion();
+    grid.setVisibility(3, 3, PlayerInfo.VISIBLE);
+    grid.resetAfterTurn();
+    assertEquals(version, grid.getChartedVersion());
+    VisibilityGrid receiver = new VisibilityGrid(40, 10);
+    version = receiver.getChartedVersion();
+    grid.shareChartedTo(receiver);
+    assertNotEquals(version, receiver.getChartedVersion());
+    version = receiver.getChartedVersion();
+    grid.shareChartedTo(receiver);
+    assertEquals(version, receiver.getChartedVersion());
+  }
+
+}
@@ -205,4 +205,29 @@ public class ShipComponentFactoryTest {
     assertEquals(7, component.getMetalCost());
   }
 
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testCreateByNameMatchesIndex() {
+    int max = ShipComponentFactory.COMPONENT_ASCENSION_PORTAL_SCANNER_MK3 + 1;
+    for (int i = 0; i < max; i++) {
+      ShipComponent component = ShipComponentFactory.create(i);
+      int expected = i;
+      for (int j = 0; j < i; j++) {
+        if (ShipComponentFactory.create(j).getName().equalsIgnoreCase(
+            component.getName())) {
+          expected = j;
+          break;
+        }
+      }
+      String name = component.getName().toUpperCase();
+      assertEquals(expected, ShipComponentFactory.getIndexByName(name));
+      ShipComponent byName = ShipComponentFactory.createByName(name);
+      assertEquals(expected, byName.getIndex());
+      assertNotSame(byName, ShipComponentFactory.createByName(name));
+    }
+    assertEquals(-1, ShipComponentFactory.getIndexByName("Not a component"));
+    assertNull(ShipComponentFactory.createByName("Not a component"));
+    assertNull(ShipComponentFactory.createByName(null));
+  }
+
 }
@@ -747,5 +747,68 @@ public class ShipTest {
     assertEquals(1, ship.getTotalResearchBonus());
   }
 
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testCopyShip() {
+    ShipHull hull = ShipHullFactory.createByName("Scout Mk1", SpaceRace.HUMAN);
+    ShipDesign design = new ShipDesign(hull);
+    ShipComponent weapon = ShipComponentFactory.createByName("Laser Mk1");
+    ShipComponent energy = ShipComponentFactory.createByName("Fission source Mk1");
+    design.addComponent(energy);
+    design.addComponent(weapon);
+    Ship ship = new Ship(design);
+    ship.setExperience(3);
+    Ship copy = new Ship(ship);
+    assertEquals(ship.getName(), copy.getName());
+    assertEquals(ship.getHullPoints(), copy.getHullPoints());
+    assertEquals(ship.getNumberOfComponents(), copy.getNumberOfComponents());
+    assertEquals(weapon, copy.getComponent(1));
+    assertEquals(3, copy.getExperience());
+    ShipComponent bigWeapon = ShipComponentFactory.createByName("Laser Mk1");
+    bigWeapon.setDamage(10);
+    copy.damageBy(bigWeapon, 0);
+    assertEquals(design.getHull().getSlotHull() * 2, ship.getHullPoints());
+    assertNotEquals(ship.getHullPoints(), copy.getHullPoints());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testCachedStats() {
+    ShipHull hull = ShipHullFactory.createByName("Scout Mk1", SpaceRace.HUMAN);
+    ShipDesign design = new ShipDesign(hull);
+    ShipComponent energy = ShipComponentFactory.createByName("Fission source Mk1");
+    ShipComponent engine = ShipComponentFactory.createByName("Nuclear drive Mk1");
+    ShipComponent weapon = ShipComponentFactory.createByName("Laser Mk1");
+    design.addComponent(energy);
+    design.addComponent(engine);
+    design.addComponent(weapon);
+    Ship ship = new Ship(design);
+    Ship.setStatsCacheCheck(true);
+    Ship.resetStatsCacheMismatches();
+    try {
+      int power = ship.getTotalMilitaryPower();
+      int speed = ship.getSpeed();
+      assertTrue(power > 0);
+      assertTrue(speed > 0);
+      assertEquals(power, ship.getTotalMilitaryPower());
+      assertEquals(speed, ship.getSpeed());
+      int stamp = ship.getStatsStamp();
+      for (int i = 0; i < ship.getNumberOfComponents(); i++) {
+        for (int j = 0; j < hull.getSlotHull(); j++) {
+          ship.oneDamage(i);
+        }
+      }
+      assertNotEquals(stamp, ship.getStatsStamp());
+      assertEquals(0, ship.getTotalEnergy());
+      assertEquals(0, ship.getSpeed());
+      assertEquals(0, ship.getTotalMilitaryPower());
+      ship.fixShip(true);
+      assertEquals(power, ship.getTotalMilitaryPower());
+      assertEquals(speed, ship.getSpeed());
+      assertEquals(0, Ship.getStatsCacheMismatches());
+    } finally {
+      Ship.setStatsCacheCheck(false);
+    }
+  }
 
 }
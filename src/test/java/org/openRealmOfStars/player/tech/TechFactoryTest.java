@@ -2,6 +2,9 @@ package org.openRealmOfStars.player.tech;
 
 import static org.junit.Assert.*;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
@@ -148,4 +151,61 @@ public class TechFactoryTest {
     assertEquals(198, TechFactory.getTechCost(11, 1000));
   }
 
+  /**
+   * Find tech by trying each tech type on each level.
+   * @param name Tech name
+   * @return Tech or null
+   */
+  private static Tech findTechBySearch(final String name) {
+    for (int i = 1; i < 11; i++) {
+      Tech tech = TechFactory.createCombatTech(name, i);
+      if (tech == null) {
+        tech = TechFactory.createDefenseTech(name, i);
+      }
+      if (tech == null) {
+        tech = TechFactory.createHullTech(name, i);
+      }
+      if (tech == null) {
+        tech = TechFactory.createPropulsionTech(name, i);
+      }
+      if (tech == null) {
+        tech = TechFactory.createImprovementTech(name, i);
+      }
+      if (tech == null) {
+        tech = TechFactory.createElectronicsTech(name, i);
+      }
+      if (tech != null) {
+        return tech;
+      }
+    }
+    return null;
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testFindTechMatchesSearch() throws IllegalAccessException {
+    int count = 0;
+    for (Field field : TechFactory.class.getFields()) {
+      if (Modifier.isStatic(field.getModifiers())
+          && field.getType() == String[].class) {
+        for (String name : (String[]) field.get(null)) {
+          Tech expected = findTechBySearch(name);
+          Tech tech = TechFactory.findTech(name);
+          assertNotNull(name, tech);
+          assertEquals(expected.getName(), tech.getName());
+          assertEquals(expected.getType(), tech.getType());
+          assertEquals(expected.getLevel(), tech.getLevel());
+          assertEquals(expected.getComponent(), tech.getComponent());
+          assertEquals(expected.getImprovement(), tech.getImprovement());
+          assertEquals(expected.getHull(), tech.getHull());
+          count++;
+        }
+      }
+    }
+    assertTrue(count > 200);
+    assertNull(TechFactory.findTech("Not a tech"));
+    assertNull(TechFactory.findTech("laser mk1"));
+    assertNull(TechFactory.findTech(null));
+  }
+
 }
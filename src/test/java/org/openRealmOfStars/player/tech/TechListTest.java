@@ -330,4 +330,17 @@ public class TechListTest {
     assertEquals(2, info.getTechList().getTechLevel(TechType.Combat));
   }
 
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testTechCount() {
+    TechList list = new TechList(SpaceRace.HUMAN);
+    assertEquals(list.getList().length, list.getTechCount());
+    int count = list.getTechCount();
+    list.addTech(TechFactory.createDefenseTech("Desert colonization", 4));
+    assertEquals(count + 1, list.getTechCount());
+    list.addTech(TechFactory.createDefenseTech("Desert colonization", 4));
+    assertEquals(count + 1, list.getTechCount());
+    assertEquals(list.getList().length, list.getTechCount());
+  }
+
 }
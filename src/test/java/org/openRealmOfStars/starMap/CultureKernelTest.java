@@ -0,0 +1,91 @@
+package org.openRealmOfStars.starMap;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for CultureKernel
+ *
+ */
+public class CultureKernelTest {
+
+  /**
+   * Create empty culture map.
+   * @param size Map side length
+   * @return Culture map
+   */
+  private static CulturePower[][] createCultureMap(final int size) {
+    CulturePower[][] culture = new CulturePower[size][size];
+    for (int x = 0; x < size; x++) {
+      for (int y = 0; y < size; y++) {
+        culture[x][y] = new CulturePower(2);
+      }
+    }
+    return culture;
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testLevels() {
+    assertEquals(1, CultureKernel.getLevel(0));
+    assertEquals(0, CultureKernel.getLevel(1));
+    assertEquals(1, CultureKernel.getLevel(4));
+    assertEquals(2, CultureKernel.getLevel(5));
+    assertEquals(3, CultureKernel.getLevel(10));
+    assertEquals(9, CultureKernel.getLevel(1279));
+    assertEquals(10, CultureKernel.getLevel(1280));
+    assertEquals(10, CultureKernel.getKernel(5000).getLevel());
+    assertEquals(1, CultureKernel.getKernel(1).getSize());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testStamp() {
+    CulturePower[][] culture = createCultureMap(20);
+    CultureKernel.getKernel(1280).stamp(culture, 10, 10, 1280, 1);
+    assertEquals(1280, culture[10][10].getCulture(1));
+    // Edge of the mask gets half, next ones two thirds and three quarters
+    assertEquals(853, culture[10][3].getCulture(1));
+    assertEquals(640, culture[11][3].getCulture(1));
+    assertEquals(960, culture[12][5].getCulture(1));
+    assertEquals(1280, culture[11][5].getCulture(1));
+    assertEquals(0, culture[3][3].getCulture(1));
+    assertEquals(0, culture[10][10].getCulture(0));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testStampOverEdgeAndRemove() {
+    CulturePower[][] culture = createCultureMap(10);
+    for (int value = 0; value < 1500; value = value + 37) {
+      CultureKernel kernel = CultureKernel.getKernel(value);
+      kernel.stamp(culture, 1, 8, value, 0);
+      kernel.stamp(culture, 1, 8, -value, 0);
+    }
+    for (int x = 0; x < 10; x++) {
+      for (int y = 0; y < 10; y++) {
+        assertEquals(0, culture[x][y].getCulture(0));
+      }
+    }
+  }
+}
@@ -109,4 +109,16 @@ public class CulturePowerTest {
 
         assertEquals(DEFAULT_PLAYER_INDEX, culturePower.getHighestCulture());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Category(org.openRealmOfStars.UnitTest.class)
+    public void testGetCultureShouldReturnCultureByIndex() {
+        culturePower.addCulture(1, 10);
+        culturePower.addCulture(1, -4);
+
+        assertEquals(6, culturePower.getCulture(1));
+        assertEquals(0, culturePower.getCulture(2));
+        assertEquals(0, culturePower.getCulture(MAX_PLAYERS));
+        assertEquals(0, culturePower.getCulture(-1));
+    }
+}
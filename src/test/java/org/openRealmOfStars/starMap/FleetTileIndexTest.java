@@ -0,0 +1,374 @@
+package org.openRealmOfStars.starMap;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openRealmOfStars.mapTiles.FleetTileInfo;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.PlayerList;
+import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.player.ship.Ship;
+import org.openRealmOfStars.player.ship.ShipSize;
+import org.openRealmOfStars.player.ship.generator.ShipGenerator;
+import org.openRealmOfStars.starMap.planet.Planet;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for FleetTileIndex
+ *
+ */
+public class FleetTileIndexTest {
+
+  /**
+   * Map size used in tests
+   */
+  private static final int SIZE = 20;
+
+  /**
+   * Set fleet tile the way StarMap did before fleet tile index.
+   * @param tiles Fleet tiles
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @param info FleetTileInfo
+   */
+  private static void setFleetTile(final FleetTileInfo[][] tiles,
+      final int x, final int y, final FleetTileInfo info) {
+    if (tiles[x][y] != null) {
+      int oldIndex = tiles[x][y].getConflictIndex();
+      if (oldIndex == -1) {
+        oldIndex = tiles[x][y].getPlayerIndex();
+      }
+      tiles[x][y] = info;
+      if (tiles[x][y].getPlayerIndex() != oldIndex) {
+        tiles[x][y].setConflict(oldIndex);
+      }
+    } else {
+      tiles[x][y] = info;
+    }
+  }
+
+  /**
+   * Create fleet tile info for ship.
+   * @param ship Ship
+   * @param i Player index
+   * @param j Fleet index
+   * @return FleetTileInfo
+   */
+  private static FleetTileInfo createInfo(final Ship ship, final int i,
+      final int j) {
+    return new FleetTileInfo(ship.getHull().getRace(),
+        ship.getHull().getImageIndex(), i, j);
+  }
+
+  /**
+   * Calculate fleet tiles for whole map with algorithm StarMap used
+   * before fleet tile index.
+   * @param players Player list
+   * @param planets Planet list
+   * @return Fleet tiles
+   */
+  private static FleetTileInfo[][] calculateBaseline(
+      final PlayerList players, final ArrayList<Planet> planets) {
+    FleetTileInfo[][] tiles = new FleetTileInfo[SIZE][SIZE];
+    for (int i = 0; i < players.getCurrentMaxPlayers(); i++) {
+      PlayerInfo player = players.getPlayerInfoByIndex(i);
+      for (int j = 0; j < player.getFleets().getNumberOfFleets(); j++) {
+        Fleet fleet = player.getFleets().getByIndex(j);
+        if (fleet != null && tiles[fleet.getX()][fleet.getY()] == null
+            && fleet.getFirstShip() != null) {
+          setFleetTile(tiles, fleet.getX(), fleet.getY(),
+              createInfo(fleet.getBiggestShip(), i, j));
+          continue;
+        }
+        for (int k = 0; k < player.getFleets().getNumberOfFleets(); k++) {
+          Fleet fleet2 = player.getFleets().getByIndex(k);
+          if (j == k || fleet2 == null || fleet == null
+              || fleet2.getX() != fleet.getX()
+              || fleet2.getY() != fleet.getY()
+              || fleet2.getNumberOfShip() <= 0) {
+            continue;
+          }
+          if (fleet2.getFleetCloackingValue()
+              < fleet.getFleetCloackingValue()) {
+            setFleetTile(tiles, fleet2.getX(), fleet2.getY(),
+                createInfo(fleet2.getBiggestShip(), i, k));
+          } else if (fleet2.getFleetCloackingValue()
+              > fleet.getFleetCloackingValue()) {
+            Ship ship = fleet.getBiggestShip();
+            if (ship != null) {
+              setFleetTile(tiles, fleet.getX(), fleet.getY(),
+                  createInfo(ship, i, j));
+            }
+          } else if (fleet2.getMilitaryValue() > fleet.getMilitaryValue()) {
+            setFleetTile(tiles, fleet2.getX(), fleet2.getY(),
+                createInfo(fleet2.getBiggestShip(), i, k));
+          } else {
+            Ship ship = fleet.getBiggestShip();
+            if (ship != null) {
+              setFleetTile(tiles, fleet.getX(), fleet.getY(),
+                  createInfo(ship, i, j));
+            }
+          }
+          if (fleet2.isStarBaseDeployed()) {
+            setFleetTile(tiles, fleet2.getX(), fleet2.getY(),
+                createInfo(fleet2.getBiggestShip(), i, k));
+          } else if (fleet.isStarBaseDeployed()) {
+            setFleetTile(tiles, fleet.getX(), fleet.getY(),
+                createInfo(fleet.getBiggestShip(), i, j));
+          }
+        }
+      }
+    }
+    for (int i = 0; i < planets.size(); i++) {
+      Planet planet = planets.get(i);
+      if (tiles[planet.getX()][planet.getY()] == null
+          && planet.getOrbital() != null) {
+        FleetTileInfo info = new FleetTileInfo(
+            planet.getOrbital().getHull().getRace(),
+            planet.getOrbital().getHull().getImageIndex(), i);
+        setFleetTile(tiles, planet.getX(), planet.getY(), info);
+      }
+    }
+    return tiles;
+  }
+
+  /**
+   * Assert that two fleet tiles are same.
+   * @param expected Expected fleet tile
+   * @param actual Actual fleet tile
+   */
+  private static void assertSameTile(final FleetTileInfo expected,
+      final FleetTileInfo actual) {
+    if (expected == null) {
+      assertNull(actual);
+    } else {
+      assertNotNull(actual);
+      assertEquals(expected.getRace(), actual.getRace());
+      assertEquals(expected.getImageIndex(), actual.getImageIndex());
+      assertEquals(expected.getPlayerIndex(), actual.getPlayerIndex());
+      assertEquals(expected.getFleetIndex(), actual.getFleetIndex());
+      assertEquals(expected.getPlanetIndex(), actual.getPlanetIndex());
+      assertEquals(expected.getConflictIndex(), actual.getConflictIndex());
+    }
+  }
+
+  /**
+   * Assert that index matches to fleet tiles calculated with baseline
+   * algorithm.
+   * @param index Fleet tile index
+   * @param players Player list
+   * @param planets Planet list
+   */
+  private static void assertSameAsBaseline(final FleetTileIndex index,
+      final PlayerList players, final ArrayList<Planet> planets) {
+    FleetTileInfo[][] expected = calculateBaseline(players, planets);
+    for (int x = 0; x < SIZE; x++) {
+      for (int y = 0; y < SIZE; y++) {
+        assertSameTile(expected[x][y], index.getTiles()[x][y]);
+      }
+    }
+  }
+
+  /**
+   * Create fleet with single ship.
+   * @param info Realm
+   * @param ship Ship for the fleet
+   * @param x X coordinate
+   * @param y Y coordinate
+   * @return Fleet
+   */
+  private static Fleet addFleet(final PlayerInfo info, final Ship ship,
+      final int x, final int y) {
+    Fleet fleet = new Fleet(ship, x, y);
+    fleet.setName(info.getFleets().generateUniqueName());
+    info.getFleets().add(fleet);
+    return fleet;
+  }
+
+  /**
+   * Create random ship for realm.
+   * @param info Realm
+   * @param random Random
+   * @return Ship
+   */
+  private static Ship createShip(final PlayerInfo info,
+      final Random random) {
+    if (random.nextBoolean()) {
+      return new Ship(ShipGenerator.createScout(info));
+    }
+    return new Ship(ShipGenerator.createBattleShip(info, ShipSize.SMALL,
+        false, false));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testIncrementalUpdate() {
+    PlayerList players = new PlayerList();
+    PlayerInfo human = new PlayerInfo(SpaceRace.HUMAN, 2, 0);
+    PlayerInfo spork = new PlayerInfo(SpaceRace.SPORKS, 2, 1);
+    players.addPlayer(human);
+    players.addPlayer(spork);
+    Ship humanScout = new Ship(ShipGenerator.createScout(human));
+    Ship humanWarship = new Ship(ShipGenerator.createBattleShip(human,
+        ShipSize.SMALL, false, false));
+    Ship sporkScout = new Ship(ShipGenerator.createScout(spork));
+    ArrayList<Planet> planets = new ArrayList<>();
+    Planet planet = new Planet(new Coordinate(15, 15), "Test", 1, false);
+    planet.setOrbital(new Ship(ShipGenerator.createScout(spork)));
+    planets.add(planet);
+
+    Fleet first = addFleet(human, humanScout, 2, 2);
+    Fleet second = addFleet(human, humanWarship, 5, 5);
+    Fleet enemy = addFleet(spork, sporkScout, 8, 8);
+    FleetTileIndex index = new FleetTileIndex(SIZE, SIZE, players,
+        planets);
+    assertTrue(index.isAttached(players, planets));
+    assertEquals(0, index.getTiles()[2][2].getPlayerIndex());
+    assertEquals(1, index.getTiles()[5][5].getFleetIndex());
+    assertEquals(1, index.getTiles()[8][8].getPlayerIndex());
+    assertEquals(0, index.getTiles()[15][15].getPlanetIndex());
+    assertSameAsBaseline(index, players, planets);
+    assertFalse(index.update());
+
+    // Move fleets to same sector with enemy fleet
+    FleetTileInfo[][] oldTiles = index.getTiles();
+    first.setPos(new Coordinate(5, 5));
+    enemy.setPos(new Coordinate(5, 5));
+    assertTrue(index.update());
+    assertNotNull(oldTiles[2][2]);
+    assertNull(index.getTiles()[2][2]);
+    assertNull(index.getTiles()[8][8]);
+    assertEquals(0, index.getTiles()[5][5].getPlayerIndex());
+    assertSameAsBaseline(index, players, planets);
+
+    // Enemy leaves, human fleets compared by military value
+    enemy.setPos(new Coordinate(15, 15));
+    assertTrue(index.update());
+    assertEquals(0, index.getTiles()[5][5].getPlayerIndex());
+    assertEquals(1, index.getTiles()[5][5].getFleetIndex());
+    assertEquals(1, index.getTiles()[15][15].getPlayerIndex());
+    assertSameAsBaseline(index, players, planets);
+
+    // Removing fleet changes fleet indexes of later fleets
+    human.getFleets().remove(0);
+    assertTrue(index.update());
+    assertEquals(0, index.getTiles()[5][5].getFleetIndex());
+    assertSameAsBaseline(index, players, planets);
+
+    // Orbital is seen again when enemy fleet is destroyed
+    spork.getFleets().remove(0);
+    assertTrue(index.update());
+    assertEquals(0, index.getTiles()[15][15].getPlanetIndex());
+    assertEquals(-1, index.getTiles()[15][15].getPlayerIndex());
+    assertSameAsBaseline(index, players, planets);
+    planet.setOrbital(null);
+    assertTrue(index.update());
+    assertNull(index.getTiles()[15][15]);
+    second.setPos(new Coordinate(19, 0));
+    index.update();
+    assertSameAsBaseline(index, players, planets);
+
+    // Replacing fleet list detaches index
+    human.reInit();
+    assertFalse(index.isAttached(players, planets));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testRandomChangesMatchBaseline() {
+    Random random = new Random(8);
+    PlayerList players = new PlayerList();
+    PlayerInfo[] realms = new PlayerInfo[3];
+    realms[0] = new PlayerInfo(SpaceRace.HUMAN, 3, 0);
+    realms[1] = new PlayerInfo(SpaceRace.SPORKS, 3, 1);
+    realms[2] = new PlayerInfo(SpaceRace.MECHIONS, 3, 2);
+    for (PlayerInfo realm : realms) {
+      players.addPlayer(realm);
+    }
+    ArrayList<Planet> planets = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      Planet planet = new Planet(new Coordinate(random.nextInt(8),
+          random.nextInt(8)), "Planet " + i, 1, false);
+      planets.add(planet);
+    }
+    for (int i = 0; i < 10; i++) {
+      PlayerInfo realm = realms[random.nextInt(realms.length)];
+      addFleet(realm, createShip(realm, random), random.nextInt(8),
+          random.nextInt(8));
+    }
+    FleetTileIndex index = new FleetTileIndex(SIZE, SIZE, players,
+        planets);
+    assertSameAsBaseline(index, players, planets);
+    for (int round = 0; round < 400; round++) {
+      PlayerInfo realm = realms[random.nextInt(realms.length)];
+      int fleets = realm.getFleets().getNumberOfFleets();
+      Fleet fleet = null;
+      if (fleets > 0) {
+        fleet = realm.getFleets().getByIndex(random.nextInt(fleets));
+      }
+      int action = random.nextInt(9);
+      if (action == 0 || fleet == null) {
+        addFleet(realm, createShip(realm, random), random.nextInt(8),
+            random.nextInt(8));
+      } else if (action < 3) {
+        fleet.setPos(new Coordinate(random.nextInt(8), random.nextInt(8)));
+      } else if (action == 3) {
+        realm.getFleets().remove(random.nextInt(fleets));
+      } else if (action == 4) {
+        realm.getFleets().removeFleet(fleet);
+      } else if (action == 5) {
+        fleet.addShip(createShip(realm, random));
+      } else if (action == 6) {
+        Ship ship = fleet.getFirstShip();
+        fleet.removeShip(ship);
+        realm.getFleets().recalculateList();
+      } else if (action == 7) {
+        Ship ship = fleet.getShipByIndex(random.nextInt(
+            fleet.getNumberOfShip()));
+        for (int i = 0; i < ship.getNumberOfComponents(); i++) {
+          ship.oneDamage(i);
+        }
+      } else {
+        Planet planet = planets.get(random.nextInt(planets.size()));
+        if (planet.getOrbital() == null) {
+          planet.setOrbital(createShip(realm, random));
+        } else {
+          planet.setOrbital(null);
+        }
+      }
+      FleetTileInfo[][] held = index.getTiles();
+      FleetTileInfo[][] snapshot = new FleetTileInfo[SIZE][];
+      for (int x = 0; x < SIZE; x++) {
+        snapshot[x] = held[x].clone();
+      }
+      index.update();
+      for (int x = 0; x < SIZE; x++) {
+        assertArrayEquals(snapshot[x], held[x]);
+      }
+      assertSameAsBaseline(index, players, planets);
+    }
+  }
+
+}
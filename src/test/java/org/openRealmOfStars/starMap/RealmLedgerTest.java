@@ -0,0 +1,147 @@
+package org.openRealmOfStars.starMap;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openRealmOfStars.utilities.repository.GameRepository;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for RealmLedger
+ *
+ */
+public class RealmLedgerTest {
+
+  /**
+   * Create mocked planet.
+   * @param owner Owner index
+   * @param population Total population
+   * @param culture Culture
+   * @return Planet
+   */
+  private static Planet createPlanet(final int owner, final int population,
+      final int culture) {
+    Planet planet = Mockito.mock(Planet.class);
+    Mockito.when(planet.getPlanetOwnerIndex()).thenReturn(owner);
+    Mockito.when(planet.getTotalPopulation()).thenReturn(population);
+    Mockito.when(planet.getCulture()).thenReturn(culture);
+    return planet;
+  }
+
+  /**
+   * Assert that ledger matches planet scan for tracked productions.
+   * @param map StarMap
+   * @param ledger Realm ledger
+   */
+  private static void assertSameAsScan(final StarMap map,
+      final RealmLedger ledger) {
+    int[] productions = {Planet.PRODUCTION_RESEARCH,
+        Planet.PRODUCTION_ARTIFACT_RESEARCH, Planet.PRODUCTION_CREDITS};
+    int maxPlayers = map.getPlayerList().getCurrentMaxPlayers();
+    for (int i = 0; i < maxPlayers; i++) {
+      for (int production : productions) {
+        assertEquals(map.getTotalProductionByPlayerPerTurn(production, i),
+            map.getTotalProductionByPlayerPerTurn(production, i, ledger));
+      }
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testCounts() {
+    List<Planet> list = new ArrayList<>();
+    list.add(createPlanet(0, 4, 10));
+    list.add(createPlanet(-1, 7, 7));
+    list.add(createPlanet(1, 2, 3));
+    list.add(createPlanet(0, 1, 5));
+    list.add(createPlanet(3, 6, 2));
+    RealmLedger ledger = new RealmLedger(list, 2, false);
+    assertEquals(2, ledger.getPlanets(0));
+    assertEquals(5, ledger.getPopulation(0));
+    assertEquals(15, ledger.getCulture(0));
+    assertEquals(1, ledger.getPlanets(1));
+    assertEquals(0, ledger.getPlanets(2));
+    assertEquals(1, ledger.getPlanets(3));
+    assertEquals(6, ledger.getPopulation(3));
+    assertEquals(0, ledger.getPlanets(-1));
+    assertEquals(0, ledger.getProduction(0, Planet.PRODUCTION_CREDITS));
+    Mockito.when(list.get(1).getPlanetOwnerIndex()).thenReturn(1);
+    ledger.update(list);
+    assertEquals(2, ledger.getPlanets(1));
+    assertEquals(9, ledger.getPopulation(1));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testProductionIsReadOnlyForChangedPlanets() {
+    PlayerInfo owner = Mockito.mock(PlayerInfo.class);
+    Planet planet = createPlanet(1, 4, 10);
+    Mockito.when(planet.getPlanetPlayerInfo()).thenReturn(owner);
+    Mockito.when(planet.getProductionStamp()).thenReturn(1);
+    Mockito.when(planet.getTotalProduction(Planet.PRODUCTION_CREDITS))
+        .thenReturn(3);
+    List<Planet> list = new ArrayList<>();
+    list.add(planet);
+    RealmLedger ledger = new RealmLedger(list, 2, true);
+    assertEquals(3, ledger.getProduction(1, Planet.PRODUCTION_CREDITS));
+    assertEquals(0, ledger.getProduction(1, Planet.PRODUCTION_FOOD));
+    ledger.update(list);
+    Mockito.verify(planet, Mockito.times(1)).getTotalProduction(
+        Planet.PRODUCTION_CREDITS);
+    Mockito.when(planet.getTotalProduction(Planet.PRODUCTION_CREDITS))
+        .thenReturn(5);
+    Mockito.when(planet.getProductionStamp()).thenReturn(2);
+    ledger.update(list);
+    assertEquals(5, ledger.getProduction(1, Planet.PRODUCTION_CREDITS));
+    // Planet conquered by other realm
+    Mockito.when(planet.getPlanetOwnerIndex()).thenReturn(0);
+    ledger.update(list);
+    assertEquals(0, ledger.getProduction(1, Planet.PRODUCTION_CREDITS));
+    assertEquals(5, ledger.getProduction(0, Planet.PRODUCTION_CREDITS));
+    Mockito.verify(planet, Mockito.never()).getTotalProduction(
+        Planet.PRODUCTION_FOOD);
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testLedgerMatchesPlanetScan() {
+    StarMap map = new GameRepository().loadGame("src/test/resources/saves",
+        "testGame.save");
+    RealmLedger ledger = map.getRealmLedger();
+    assertSameAsScan(map, ledger);
+    for (Planet planet : map.getPlanetList()) {
+      if (planet.getPlanetPlayerInfo() != null) {
+        planet.setWorkers(Planet.RESEARCH_SCIENTIST,
+            planet.getWorkers(Planet.RESEARCH_SCIENTIST) + 1);
+        planet.setWorkers(Planet.METAL_MINERS, 0);
+      }
+    }
+    assertSame(ledger, map.getRealmLedger());
+    assertSameAsScan(map, ledger);
+  }
+
+}
@@ -0,0 +1,91 @@
+package org.openRealmOfStars.starMap;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openRealmOfStars.player.SpaceRace.SpaceRace;
+import org.openRealmOfStars.utilities.IOUtilities;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for SaveGameHeader
+ *
+ */
+public class SaveGameHeaderTest {
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testWriteAndRead() throws IOException {
+    SaveGameHeader header = new SaveGameHeader(42, 75, 50,
+        SpaceRace.CENTAURS, "Hiearchy of Centaurs");
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (DataOutputStream dos = new DataOutputStream(buffer)) {
+      header.write(dos);
+      dos.writeInt(1234);
+    }
+    DataInputStream dis = new DataInputStream(
+        new ByteArrayInputStream(buffer.toByteArray()));
+    SaveGameHeader read = new SaveGameHeader(dis);
+    assertEquals(42, read.getTurn());
+    assertEquals(75, read.getMaxX());
+    assertEquals(50, read.getMaxY());
+    assertEquals(SpaceRace.CENTAURS, read.getRace());
+    assertEquals("Hiearchy of Centaurs", read.getEmpireName());
+    assertEquals(1234, dis.readInt());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testNewerHeaderVersionIsSkipped() throws IOException {
+    ByteArrayOutputStream block = new ByteArrayOutputStream();
+    try (DataOutputStream dos = new DataOutputStream(block)) {
+      dos.writeByte(SaveGameHeader.HEADER_VERSION + 1);
+      dos.writeInt(5);
+      dos.writeInt(50);
+      dos.writeInt(64);
+      dos.writeByte(SpaceRace.HUMAN.getIndex());
+      IOUtilities.writeString(dos, "Terran Alliance");
+      dos.writeLong(-1);
+    }
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (DataOutputStream dos = new DataOutputStream(buffer)) {
+      dos.writeShort(block.size());
+      block.writeTo(dos);
+      dos.writeInt(1234);
+    }
+    DataInputStream dis = new DataInputStream(
+        new ByteArrayInputStream(buffer.toByteArray()));
+    SaveGameHeader read = new SaveGameHeader(dis);
+    assertEquals(5, read.getTurn());
+    assertEquals(50, read.getMaxX());
+    assertEquals(64, read.getMaxY());
+    assertEquals(SpaceRace.HUMAN, read.getRace());
+    assertEquals("Terran Alliance", read.getEmpireName());
+    assertEquals(1234, dis.readInt());
+  }
+
+}
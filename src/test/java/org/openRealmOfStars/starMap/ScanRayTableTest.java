@@ -0,0 +1,156 @@
+package org.openRealmOfStars.starMap;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+import org.openRealmOfStars.player.PlayerInfo;
+import org.openRealmOfStars.player.fleet.Fleet;
+import org.openRealmOfStars.starMap.planet.Planet;
+import org.openRealmOfStars.utilities.repository.GameRepository;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for ScanRayTable and scanning done with it
+ *
+ */
+public class ScanRayTableTest {
+
+  /**
+   * Scan done by casting each ray separately.
+   * @param map StarMap
+   * @param visible Visible sectors
+   * @param detection Cloak detection per sector
+   * @param cx Scanner X coordinate
+   * @param cy Scanner Y coordinate
+   * @param radius Scanner radius
+   * @param cloakDetection Cloak detection
+   */
+  private static void castRays(final StarMap map, final boolean[][] visible,
+      final int[][] detection, final int cx, final int cy, final int radius,
+      final int cloakDetection) {
+    visible[cx][cy] = true;
+    detection[cx][cy] = cloakDetection;
+    for (int ey = cy - radius; ey < cy + radius + 1; ey++) {
+      for (int ex = cx - radius; ex < cx + radius + 1; ex++) {
+        double startX = cx;
+        double startY = cy;
+        int distance = Math.max(Math.abs(cx - ex), Math.abs(cy - ey));
+        double mx = 0;
+        double my = 0;
+        if (distance > 0) {
+          mx = (ex - startX) / distance;
+          my = (ey - startY) / distance;
+        }
+        int detectValue = cloakDetection;
+        for (int i = 0; i < distance; i++) {
+          startX = startX + mx;
+          startY = startY + my;
+          int nx = (int) Math.round(startX);
+          int ny = (int) Math.round(startY);
+          if (new Coordinate(cx, cy).calculateDistance(
+              new Coordinate(nx, ny)) > radius) {
+            break;
+          }
+          if (map.isValidCoordinate(nx, ny)) {
+            visible[nx][ny] = true;
+            if (detectValue > 0 && detection[nx][ny] < detectValue) {
+              detection[nx][ny] = detectValue;
+            }
+            if (map.getTileInfo(nx, ny).isVisibilityBlocked()) {
+              break;
+            }
+            if (detectValue > 0) {
+              detectValue = detectValue - 10;
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testTable() {
+    ScanRayTable table = ScanRayTable.getTable(3);
+    assertSame(table, ScanRayTable.getTable(3));
+    assertTrue(table.getSize() > 0);
+    for (int i = 0; i < table.getSize(); i++) {
+      int x = table.getOffsetX(i);
+      int y = table.getOffsetY(i);
+      assertTrue(x * x + y * y <= 9);
+      assertTrue(table.getSkip(i) > i);
+      assertTrue(table.getDepth(i) < table.getMaxDepth());
+      assertTrue(table.getDepth(i) < 3);
+      if (table.getSkip(i) < table.getSize()) {
+        assertTrue(table.getDepth(table.getSkip(i)) <= table.getDepth(i));
+      }
+    }
+    assertEquals(0, ScanRayTable.getTable(0).getSize());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testScanMatchesSeparateRays() {
+    StarMap map = new GameRepository().loadGame("src/test/resources/saves",
+        "testGame.save");
+    PlayerInfo info = map.getPlayerByIndex(1);
+    int[][] centers = {{0, 0}, {49, 25}, {25, 49}, {10, 10}, {30, 18}};
+    int numberOfCenters = centers.length + map.getPlanetList().size();
+    for (int c = 0; c < numberOfCenters; c++) {
+      int cx;
+      int cy;
+      if (c < centers.length) {
+        cx = centers[c][0];
+        cy = centers[c][1];
+      } else {
+        // Planets are next to suns which block scanning
+        Planet planet = map.getPlanetList().get(c - centers.length);
+        cx = planet.getX();
+        cy = planet.getY();
+      }
+      for (int radius = 1; radius < 6; radius++) {
+        boolean[][] visible = new boolean[map.getMaxX()][map.getMaxY()];
+        int[][] detection = new int[map.getMaxX()][map.getMaxY()];
+        castRays(map, visible, detection, cx, cy, radius, 40);
+        info.initMapData(map.getMaxX(), map.getMaxY());
+        Fleet fleet = Mockito.mock(Fleet.class);
+        Mockito.when(fleet.getX()).thenReturn(cx);
+        Mockito.when(fleet.getY()).thenReturn(cy);
+        Mockito.when(fleet.getFleetScannerLvl()).thenReturn(radius);
+        Mockito.when(fleet.getFleetCloakDetection()).thenReturn(40);
+        map.doFleetScanUpdate(info, fleet, null);
+        for (int x = 0; x < map.getMaxX(); x++) {
+          for (int y = 0; y < map.getMaxY(); y++) {
+            byte expected = PlayerInfo.UNCHARTED;
+            if (visible[x][y]) {
+              expected = PlayerInfo.VISIBLE;
+            }
+            assertEquals("Sector " + x + "," + y + " radius " + radius,
+                expected, info.getSectorVisibility(new Coordinate(x, y)));
+            assertEquals(detection[x][y], info.getSectorCloakDetection(x, y));
+          }
+        }
+      }
+    }
+  }
+
+}
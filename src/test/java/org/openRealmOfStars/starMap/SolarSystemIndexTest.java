@@ -0,0 +1,168 @@
+package org.openRealmOfStars.starMap;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openRealmOfStars.starMap.planet.Planet;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for SolarSystemIndex
+ *
+ */
+public class SolarSystemIndexTest {
+
+  /**
+   * Map size used in tests
+   */
+  private static final int MAP_SIZE = 75;
+
+  /**
+   * Filter accepting planets with even order number.
+   */
+  private static final SolarSystemIndex.PlanetFilter EVEN_PLANETS =
+      new SolarSystemIndex.PlanetFilter() {
+        @Override
+        public boolean accept(final Planet planet) {
+          return planet.getOrderNumber() % 2 == 0;
+        }
+      };
+
+  /**
+   * Create planets to random locations. Some planets share location.
+   * @param random Random generator
+   * @param count Number of planets
+   * @return List of planets
+   */
+  private static ArrayList<Planet> createPlanets(final Random random,
+      final int count) {
+    ArrayList<Planet> planets = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Coordinate coordinate = new Coordinate(random.nextInt(MAP_SIZE),
+          random.nextInt(MAP_SIZE));
+      planets.add(new Planet(coordinate, "Planet " + i, i, false));
+    }
+    return planets;
+  }
+
+  /**
+   * Find nearest accepted planet with linear search.
+   * @param planets Planet list
+   * @param coordinate Search coordinate
+   * @return Planet or null
+   */
+  private static Planet findNearest(final ArrayList<Planet> planets,
+      final Coordinate coordinate) {
+    double distance = Double.MAX_VALUE;
+    Planet result = null;
+    for (Planet planet : planets) {
+      double dist = coordinate.calculateDistance(planet.getCoordinate());
+      if (EVEN_PLANETS.accept(planet) && dist < distance) {
+        distance = dist;
+        result = planet;
+      }
+    }
+    return result;
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testNearestPlanet() {
+    Random random = new Random(12);
+    ArrayList<Planet> planets = createPlanets(random, 40);
+    SolarSystemIndex index = new SolarSystemIndex(MAP_SIZE, MAP_SIZE,
+        new ArrayList<Sun>(), planets);
+    for (int y = -3; y < MAP_SIZE + 3; y++) {
+      for (int x = -3; x < MAP_SIZE + 3; x++) {
+        assertEquals(findNearest(planets, new Coordinate(x, y)),
+            index.getNearestPlanet(x, y, EVEN_PLANETS));
+      }
+    }
+    SolarSystemIndex empty = new SolarSystemIndex(MAP_SIZE, MAP_SIZE,
+        new ArrayList<Sun>(), new ArrayList<Planet>());
+    assertNull(empty.getNearestPlanet(5, 5, EVEN_PLANETS));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testNearestSuns() {
+    Random random = new Random(7);
+    ArrayList<Sun> suns = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      suns.add(new Sun(new Coordinate(random.nextInt(MAP_SIZE),
+          random.nextInt(MAP_SIZE)), "Sun " + i));
+    }
+    SolarSystemIndex index = new SolarSystemIndex(MAP_SIZE, MAP_SIZE, suns,
+        new ArrayList<Planet>());
+    for (int i = 0; i < 200; i++) {
+      Coordinate coordinate = new Coordinate(random.nextInt(MAP_SIZE),
+          random.nextInt(MAP_SIZE));
+      ArrayList<Sun> sorted = new ArrayList<>(suns);
+      // Stable sort keeps list order for equal distances
+      for (int j = 1; j < sorted.size(); j++) {
+        Sun sun = sorted.get(j);
+        double dist = coordinate.calculateDistance(sun.getCenterCoordinate());
+        int k = j - 1;
+        while (k >= 0 && coordinate.calculateDistance(
+            sorted.get(k).getCenterCoordinate()) > dist) {
+          sorted.set(k + 1, sorted.get(k));
+          k--;
+        }
+        sorted.set(k + 1, sun);
+      }
+      int count = 1 + i % 25;
+      ArrayList<Sun> nearest = index.getNearestSuns(coordinate.getX(),
+          coordinate.getY(), count);
+      assertEquals(Math.min(count, suns.size()), nearest.size());
+      for (int j = 0; j < nearest.size(); j++) {
+        assertEquals(sorted.get(j), nearest.get(j));
+      }
+    }
+    assertEquals(0, index.getNearestSuns(5, 5, 0).size());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testNamesAndAddingPlanets() {
+    Random random = new Random(3);
+    ArrayList<Planet> planets = createPlanets(random, 10);
+    ArrayList<Sun> suns = new ArrayList<>();
+    suns.add(new Sun(new Coordinate(10, 10), "Sol"));
+    SolarSystemIndex index = new SolarSystemIndex(MAP_SIZE, MAP_SIZE, suns,
+        planets);
+    assertTrue(index.matches(suns, planets));
+    assertEquals(suns.get(0), index.getSunByName("Sol"));
+    assertNull(index.getSunByName("Vega"));
+    assertEquals(planets.get(4), index.getPlanetByName(planets.get(4).getName()));
+    Planet planet = new Planet(new Coordinate(74, 74), "Artificial", 10,
+        false);
+    planets.add(planet);
+    assertFalse(index.matches(suns, planets));
+    index.addPlanet(planet);
+    assertTrue(index.matches(suns, planets));
+    assertEquals(planet, index.getPlanetByName(planet.getName()));
+    assertEquals(planet, index.getNearestPlanet(73, 73, EVEN_PLANETS));
+  }
+
+}
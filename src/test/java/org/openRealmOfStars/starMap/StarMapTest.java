@@ -1,7 +1,12 @@
 package org.openRealmOfStars.starMap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 
@@ -9,6 +14,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.Mockito;
 import org.openRealmOfStars.AI.Mission.MissionList;
+import org.openRealmOfStars.AI.PathFinding.PathSearchEngine;
 import org.openRealmOfStars.player.PlayerInfo;
 import org.openRealmOfStars.player.PlayerList;
 import org.openRealmOfStars.player.SpaceRace.SpaceRace;
@@ -34,6 +40,8 @@ import org.openRealmOfStars.player.tech.TechList;
 import org.openRealmOfStars.starMap.history.History;
 import org.openRealmOfStars.starMap.planet.GameLengthState;
 import org.openRealmOfStars.starMap.planet.Planet;
+import org.openRealmOfStars.utilities.DiceGenerator;
+import org.openRealmOfStars.utilities.RandomStream;
 
 /**
  *
@@ -759,22 +767,27 @@ public class StarMapTest {
     Planet planet1 = Mockito.mock(Planet.class);
     Mockito.when(planet1.getX()).thenReturn(5);
     Mockito.when(planet1.getY()).thenReturn(7);
+    Mockito.when(planet1.getCoordinate()).thenReturn(new Coordinate(5, 7));
     Mockito.when(planet1.getPlanetPlayerInfo()).thenReturn(info);
     Planet planet2 = Mockito.mock(Planet.class);
     Mockito.when(planet2.getX()).thenReturn(15);
     Mockito.when(planet2.getY()).thenReturn(17);
+    Mockito.when(planet2.getCoordinate()).thenReturn(new Coordinate(15, 17));
     Mockito.when(planet2.getPlanetPlayerInfo()).thenReturn(info);
     Planet planet3 = Mockito.mock(Planet.class);
     Mockito.when(planet3.getX()).thenReturn(25);
     Mockito.when(planet3.getY()).thenReturn(27);
+    Mockito.when(planet3.getCoordinate()).thenReturn(new Coordinate(25, 27));
     Mockito.when(planet3.getPlanetPlayerInfo()).thenReturn(info2);
     Planet planet4 = Mockito.mock(Planet.class);
     Mockito.when(planet4.getX()).thenReturn(35);
     Mockito.when(planet4.getY()).thenReturn(37);
+    Mockito.when(planet4.getCoordinate()).thenReturn(new Coordinate(35, 37));
     Mockito.when(planet4.getPlanetPlayerInfo()).thenReturn(info2);
     Planet planetUnhabitated = Mockito.mock(Planet.class);
     Mockito.when(planetUnhabitated.getX()).thenReturn(45);
     Mockito.when(planetUnhabitated.getY()).thenReturn(47);
+    Mockito.when(planetUnhabitated.getCoordinate()).thenReturn(new Coordinate(45, 47));
     Mockito.when(planetUnhabitated.getPlanetPlayerInfo()).thenReturn(null);
     ArrayList<Planet> list = new ArrayList<>();
     list.add(planetUnhabitated);
@@ -789,9 +802,9 @@ public class StarMapTest {
     list.add(planetUnhabitated);
     StarMap map = new StarMap(config, players);
     map.setPlanetList(list);
-    Coordinate coord = Mockito.mock(Coordinate.class);
-    Mockito.when(coord.calculateDistance(Mockito.any(Coordinate.class))).thenReturn(3.2);
+    Coordinate coord = new Coordinate(8, 9);
     assertEquals(planet1, map.getClosestHomePort(info, coord));
+    assertEquals(planet3, map.getClosestHomePort(info2, coord));
   }
 
   @Test
@@ -1189,6 +1202,75 @@ public class StarMapTest {
     assertEquals(expected, sb.toString());
   }
 
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testIncrementalCulture() {
+    GalaxyConfig config = Mockito.mock(GalaxyConfig.class);
+    Mockito.when(config.getSizeX()).thenReturn(50);
+    Mockito.when(config.getSizeY()).thenReturn(50);
+    Mockito.when(config.getMaxPlayers()).thenReturn(4);
+    Mockito.when(config.getStartingPosition()).thenReturn(
+        GalaxyConfig.START_POSITION_BORDER);
+
+    PlayerInfo info = Mockito.mock(PlayerInfo.class);
+    Mockito.when(info.getRace()).thenReturn(SpaceRace.HUMAN);
+    Mockito.when(info.getEmpireName()).thenReturn("Empire of Human");
+    Mockito.when(info.getGovernment()).thenReturn(GovernmentType.EMPIRE);
+    MessageList msgList = Mockito.mock(MessageList.class);
+    Mockito.when(info.getMsgList()).thenReturn(msgList);
+    ShipStat[] stats = new ShipStat[0];
+    Mockito.when(info.getShipStatList()).thenReturn(stats);
+
+    PlayerList players = Mockito.mock(PlayerList.class);
+    Mockito.when(players.getPlayerInfoByIndex(0)).thenReturn(info);
+    Mockito.when(players.getPlayerInfoByIndex(1)).thenReturn(info);
+    Mockito.when(players.getPlayerInfoByIndex(2)).thenReturn(info);
+    Mockito.when(players.getPlayerInfoByIndex(3)).thenReturn(info);
+    Mockito.when(players.getCurrentMaxPlayers()).thenReturn(4);
+    Mockito.when(players.getCurrentMaxRealms()).thenReturn(4);
+    StarMap map = new StarMap(config, players);
+    StarMap reference = new StarMap(config, players);
+    assertTrue(map.isIncrementalCulture());
+    Object first = new Object();
+    Object second = new Object();
+    Object third = new Object();
+    map.beginCultureUpdate();
+    map.stampCulture(first, 5, 5, 40, 0);
+    map.stampCulture(second, 10, 8, 300, 1);
+    map.stampCulture(third, 48, 48, 1300, 2);
+    map.endCultureUpdate();
+    // First stays, second grows, third is gone and new one comes
+    map.beginCultureUpdate();
+    map.stampCulture(first, 5, 5, 40, 0);
+    map.stampCulture(second, 10, 8, 330, 1);
+    map.stampCulture(new Object(), 30, 30, 7, 3);
+    map.endCultureUpdate();
+    reference.resetCulture();
+    reference.calculateCulture(5, 5, 40, 0);
+    reference.calculateCulture(10, 8, 330, 1);
+    reference.calculateCulture(30, 30, 7, 3);
+    for (int x = 0; x < 50; x++) {
+      for (int y = 0; y < 50; y++) {
+        for (int i = 0; i < 4; i++) {
+          assertEquals(reference.getSectorCulture(x, y).getCulture(i),
+              map.getSectorCulture(x, y).getCulture(i));
+        }
+      }
+    }
+    // Culture added without stamps is cleared on next update
+    map.calculateCulture(40, 40, 100, 2);
+    map.beginCultureUpdate();
+    map.endCultureUpdate();
+    assertEquals(-1, map.getSectorCulture(40, 40).getHighestCulture());
+    assertEquals(-1, map.getSectorCulture(5, 5).getHighestCulture());
+    map.setIncrementalCulture(false);
+    assertFalse(map.isIncrementalCulture());
+    map.beginCultureUpdate();
+    map.stampCulture(first, 5, 5, 40, 0);
+    map.endCultureUpdate();
+    assertEquals(40, map.getSectorCulture(5, 5).getCulture(0));
+  }
+
   @Test
   @Category(org.openRealmOfStars.UnitTest.class)
   public void testMilitaryEstimation() {
@@ -1490,4 +1572,75 @@ public class StarMapTest {
     assertEquals(false, coord.getX() != map.getMaxX() / 2);
     assertEquals(false, coord.getY() != map.getMaxY() / 2);
   }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testPassabilityLayers() {
+    GalaxyConfig config = Mockito.mock(GalaxyConfig.class);
+    Mockito.when(config.getSizeX()).thenReturn(50);
+    Mockito.when(config.getSizeY()).thenReturn(50);
+    Mockito.when(config.getStartingPosition()).thenReturn(
+        GalaxyConfig.START_POSITION_BORDER);
+
+    PlayerList players = Mockito.mock(PlayerList.class);
+    Mockito.when(players.getCurrentMaxPlayers()).thenReturn(2);
+    Mockito.when(players.getCurrentMaxRealms()).thenReturn(2);
+
+    StarMap map = new StarMap(config, players);
+    long[] layer = map.getPassabilityLayer(false);
+    long[] dangerLayer = map.getPassabilityLayer(true);
+    for (int y = 0; y < map.getMaxY(); y++) {
+      for (int x = 0; x < map.getMaxX(); x++) {
+        int index = y * map.getMaxX() + x;
+        assertEquals(map.isBlocked(x, y),
+            PathSearchEngine.isBlocked(layer, index));
+        assertEquals(map.isBlocked(x, y) || map.isDangerous(x, y),
+            PathSearchEngine.isBlocked(dangerLayer, index));
+      }
+    }
+    assertEquals(layer, map.getPassabilityLayer(false));
+    int index = 0;
+    while (!PathSearchEngine.isBlocked(layer, index)) {
+      index++;
+    }
+    int version = map.getTileVersion();
+    map.clearTileInfo(index % map.getMaxX(), index / map.getMaxX());
+    assertNotEquals(version, map.getTileVersion());
+    long[] newLayer = map.getPassabilityLayer(false);
+    assertNotSame(layer, newLayer);
+    assertEquals(false, PathSearchEngine.isBlocked(newLayer, index));
+    // Old layer is not modified
+    assertEquals(true, PathSearchEngine.isBlocked(layer, index));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testAiRandomStream() {
+    GalaxyConfig config = Mockito.mock(GalaxyConfig.class);
+    Mockito.when(config.getSizeX()).thenReturn(50);
+    Mockito.when(config.getSizeY()).thenReturn(50);
+    Mockito.when(config.getStartingPosition()).thenReturn(
+        GalaxyConfig.START_POSITION_BORDER);
+
+    PlayerList players = Mockito.mock(PlayerList.class);
+    Mockito.when(players.getCurrentMaxPlayers()).thenReturn(2);
+    Mockito.when(players.getCurrentMaxRealms()).thenReturn(2);
+
+    StarMap map = new StarMap(config, players);
+    assertNull(map.getAiRandomStream(0));
+    try {
+      DiceGenerator.initializeDeterministic(2022L);
+      RandomStream stream = map.getAiRandomStream(1);
+      assertNotNull(stream);
+      assertEquals(stream, map.getAiRandomStream(1));
+      assertNotEquals(stream.getSeed(), map.getAiRandomStream(0).getSeed());
+      assertNull(map.getAiRandomStream(2));
+      map.clearAITurn();
+      assertNotSame(stream, map.getAiRandomStream(1));
+      assertEquals(stream.getSeed(), map.getAiRandomStream(1).getSeed());
+    } finally {
+      DiceGenerator.disableDeterministic();
+    }
+  }
+
 }
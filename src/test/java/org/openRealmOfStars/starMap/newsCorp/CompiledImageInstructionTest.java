@@ -0,0 +1,79 @@
+package org.openRealmOfStars.starMap.newsCorp;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for CompiledImageInstruction
+ *
+ */
+public class CompiledImageInstructionTest {
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testCompile() {
+    ImageInstruction instruction = new ImageInstruction();
+    instruction.addBackground(ImageInstruction.BACKGROUND_STARS);
+    instruction.addPlanet(ImageInstruction.POSITION_CENTER,
+        ImageInstruction.PLANET_EARTH, ImageInstruction.SIZE_FULL);
+    instruction.addText("NEWS");
+    CompiledImageInstruction compiled = CompiledImageInstruction.compile(
+        instruction.build());
+    assertEquals(3, compiled.getNumberOfCommands());
+    assertEquals("background", compiled.getCommand(0));
+    assertArrayEquals(new String[] {ImageInstruction.BACKGROUND_STARS },
+        compiled.getParameters(0));
+    assertEquals("planet", compiled.getCommand(1));
+    assertArrayEquals(new String[] {ImageInstruction.POSITION_CENTER,
+        ImageInstruction.PLANET_EARTH, ImageInstruction.SIZE_FULL },
+        compiled.getParameters(1));
+    assertEquals("text", compiled.getCommand(2));
+    assertArrayEquals(new String[] {"NEWS" }, compiled.getParameters(2));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testSplitLikeRegex() {
+    String[] samples = {"text()", "text(a,b,)+", "text(a,,b)",
+        "background(black)+text(a)" };
+    for (String sample : samples) {
+      CompiledImageInstruction compiled = CompiledImageInstruction.compile(
+          sample);
+      String[] lines = sample.split("\\+");
+      assertEquals(lines.length, compiled.getNumberOfCommands());
+      for (int i = 0; i < lines.length; i++) {
+        String[] parts = lines[i].split("\\(");
+        assertEquals(parts[0], compiled.getCommand(i));
+        assertArrayEquals(parts[1].substring(0, parts[1].length() - 1)
+            .split(","), compiled.getParameters(i));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testNoParameters() {
+    CompiledImageInstruction.compile("background(black)+command");
+  }
+
+}
@@ -0,0 +1,87 @@
+package org.openRealmOfStars.starMap.newsCorp;
+
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for NewsImageCache
+ *
+ */
+public class NewsImageCacheTest {
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testCachedImage() {
+    NewsImageCache.clear();
+    ImageInstruction instruction = new ImageInstruction();
+    instruction.addBackground(ImageInstruction.BACKGROUND_GREY_GRADIENT);
+    instruction.addText("NEWS");
+    instruction.addRelationSymbol(ImageInstruction.WAR);
+    String text = instruction.build();
+    assertFalse(NewsImageCache.isCached(text, 200, 100));
+    BufferedImage image = NewsImageCache.getImage(text, 200, 100);
+    assertTrue(NewsImageCache.isCached(text, 200, 100));
+    assertSame(image, NewsImageCache.getImage(text, 200, 100));
+    assertNotSame(image, NewsImageCache.getImage(text, 100, 100));
+    BufferedImage expected = ImageInstruction.parseImageInstructions(
+        new BufferedImage(200, 100, BufferedImage.TYPE_4BYTE_ABGR), text);
+    for (int y = 0; y < image.getHeight(); y++) {
+      for (int x = 0; x < image.getWidth(); x++) {
+        assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+      }
+    }
+    NewsImageCache.clear();
+    assertFalse(NewsImageCache.isCached(text, 200, 100));
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testPrefetchAndEviction() {
+    NewsImageCache.clear();
+    String text = "background(black)";
+    NewsImageCache.prefetch(text, 50, 50);
+    BufferedImage image = NewsImageCache.getImage(text, 50, 50);
+    assertTrue(NewsImageCache.isCached(text, 50, 50));
+    for (int i = 1; i <= NewsImageCache.MAX_IMAGES; i++) {
+      NewsImageCache.getImage(text, 50 + i, 50);
+    }
+    assertFalse(NewsImageCache.isCached(text, 50, 50));
+    assertNotSame(image, NewsImageCache.getImage(text, 50, 50));
+    NewsImageCache.clear();
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testBadInstructions() {
+    NewsImageCache.clear();
+    try {
+      NewsImageCache.getImage("command", 10, 10);
+      fail("Bad instructions should fail");
+    } catch (IllegalArgumentException e) {
+      assertFalse(NewsImageCache.isCached("command", 10, 10));
+    }
+  }
+
+}
@@ -6,11 +6,14 @@ import static org.junit.Assert.assertNotEquals;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.Mockito;
+import org.openRealmOfStars.game.simulation.AiSimulation;
 import org.openRealmOfStars.gui.icons.Icons;
 import org.openRealmOfStars.player.PlayerInfo;
 import org.openRealmOfStars.player.SpaceRace.SpaceRace;
 import org.openRealmOfStars.player.SpaceRace.SpaceRaceUtility;
 import org.openRealmOfStars.player.government.GovernmentType;
+import org.openRealmOfStars.player.leader.Leader;
+import org.openRealmOfStars.player.leader.Perk;
 import org.openRealmOfStars.starMap.Coordinate;
 import org.openRealmOfStars.starMap.planet.construction.Building;
 import org.openRealmOfStars.starMap.planet.construction.Construction;
@@ -620,4 +623,59 @@ public class PlanetTest {
     assertEquals(1, planet.getTotalProduction(Planet.PRODUCTION_CULTURE));
   }
 
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testProductionCacheFollowsChanges() {
+    Planet.setProductionCacheCheck(true);
+    Planet.resetProductionCacheMismatches();
+    try {
+      Planet planet = new Planet(new Coordinate(5, 5), "Test I", 1, false);
+      PlayerInfo info = new PlayerInfo(SpaceRace.HUMAN, 2, 0);
+      planet.setPlanetOwner(0, info);
+      planet.setWorkers(Planet.PRODUCTION_WORKERS, 2);
+      int production = planet.getTotalProduction(
+          Planet.PRODUCTION_PRODUCTION);
+      assertEquals(production, planet.getTotalProduction(
+          Planet.PRODUCTION_PRODUCTION));
+      Building factory = BuildingFactory.createByName("Basic factory");
+      planet.addBuilding(factory);
+      production = production + factory.getFactBonus();
+      assertEquals(production, planet.getTotalProduction(
+          Planet.PRODUCTION_PRODUCTION));
+      planet.moveWorker(Planet.PRODUCTION_WORKERS, Planet.FOOD_FARMERS);
+      production = production - 1;
+      assertEquals(production, planet.getTotalProduction(
+          Planet.PRODUCTION_PRODUCTION));
+      Leader governor = new Leader("Governor");
+      planet.setGovernor(governor);
+      assertEquals(production, planet.getTotalProduction(
+          Planet.PRODUCTION_PRODUCTION));
+      // Perk is added outside of planet
+      governor.addPerk(Perk.INDUSTRIAL);
+      assertEquals(production + 1, planet.getTotalProduction(
+          Planet.PRODUCTION_PRODUCTION));
+      planet.setTax(1, true);
+      assertEquals(production, planet.getTotalProduction(
+          Planet.PRODUCTION_PRODUCTION));
+      assertEquals(0, Planet.getProductionCacheMismatches());
+    } finally {
+      Planet.setProductionCacheCheck(false);
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testProductionCacheInSimulation() {
+    Planet.setProductionCacheCheck(true);
+    Planet.resetProductionCacheMismatches();
+    try {
+      AiSimulation simulation = new AiSimulation(
+          AiSimulation.createConfig(4, 50), 20);
+      simulation.run();
+      assertEquals(0, Planet.getProductionCacheMismatches());
+    } finally {
+      Planet.setProductionCacheCheck(false);
+    }
+  }
+
 }
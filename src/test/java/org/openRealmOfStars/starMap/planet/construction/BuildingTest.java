@@ -179,4 +179,18 @@ public class BuildingTest {
         "Cult.: +3 Happiness: +1 Broadcasting", building.getFullDescription());
   }
 
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testCreateByNameMatchesIndex() {
+    for (int i = 0; i <= BuildingFactory.COMPONENT_ASCENSION_PORTAL; i++) {
+      Building building = BuildingFactory.create(i);
+      String name = building.getName().toLowerCase();
+      assertEquals(i, BuildingFactory.getIndexByName(name));
+      assertEquals(i, BuildingFactory.createByName(name).getIndex());
+    }
+    assertEquals(-1, BuildingFactory.getIndexByName("Not a building"));
+    assertNull(BuildingFactory.createByName("Not a building"));
+    assertNull(BuildingFactory.createByName(null));
+  }
+
 }
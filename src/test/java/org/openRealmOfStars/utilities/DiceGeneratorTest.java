@@ -126,4 +126,86 @@ public class DiceGeneratorTest {
     assertEquals(true, success);
   }
 
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testDeterministicStreams() {
+    try {
+      DiceGenerator.initializeDeterministic(12345L);
+      assertTrue(DiceGenerator.isDeterministic());
+      assertEquals(12345L, DiceGenerator.getGameSeed());
+      RandomStream first = DiceGenerator.getStream(DiceGenerator.STREAM_AI,
+          1);
+      RandomStream second = DiceGenerator.getStream(DiceGenerator.STREAM_AI,
+          1);
+      RandomStream other = DiceGenerator.getStream(DiceGenerator.STREAM_AI,
+          2);
+      assertEquals(first.getSeed(), second.getSeed());
+      assertNotEquals(first.getSeed(), other.getSeed());
+      for (int i = 0; i < 100; i++) {
+        assertEquals(first.getRandom(1000), second.getRandom(1000));
+      }
+    } finally {
+      DiceGenerator.disableDeterministic();
+    }
+    assertFalse(DiceGenerator.isDeterministic());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testBoundStream() {
+    RandomStream expected = new RandomStream(42);
+    DiceGenerator.bindStream(new RandomStream(42));
+    try {
+      assertNotNull(DiceGenerator.getBoundStream());
+      for (int i = 0; i < 50; i++) {
+        assertEquals(expected.getRandom(99), DiceGenerator.getRandom(99));
+        assertEquals(expected.getRandom(5, 10),
+            DiceGenerator.getRandom(5, 10));
+      }
+      // Fixed numbers are still used before bound stream
+      DiceGenerator.initializeGenerators(7, 8, 9);
+      assertEquals(7, DiceGenerator.getRandom(99));
+      assertEquals(8, DiceGenerator.getRandom(99));
+      assertEquals(9, DiceGenerator.getRandom(99));
+      assertEquals(expected.getRandom(99), DiceGenerator.getRandom(99));
+    } finally {
+      DiceGenerator.unbindStream();
+    }
+    assertNull(DiceGenerator.getBoundStream());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testStreamsInThreads() throws InterruptedException {
+    final RandomStream base = new RandomStream(99);
+    final int[][] results = new int[4][100];
+    Thread[] threads = new Thread[results.length];
+    for (int i = 0; i < threads.length; i++) {
+      final int index = i;
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          DiceGenerator.bindStream(base.split(index));
+          try {
+            for (int j = 0; j < results[index].length; j++) {
+              results[index][j] = DiceGenerator.getRandom(1000);
+            }
+          } finally {
+            DiceGenerator.unbindStream();
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (int i = 0; i < threads.length; i++) {
+      threads[i].join();
+    }
+    for (int i = 0; i < results.length; i++) {
+      RandomStream stream = base.split(i);
+      for (int j = 0; j < results[i].length; j++) {
+        assertEquals(stream.getRandom(1000), results[i][j]);
+      }
+    }
+  }
+
 }
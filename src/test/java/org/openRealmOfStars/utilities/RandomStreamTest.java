@@ -0,0 +1,83 @@
+package org.openRealmOfStars.utilities;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+*
+* Open Realm of Stars game project
+* Copyright (C) 2022 Tuomo Untinen
+*
+* This program is free software; you can redistribute it and/or
+* modify it under the terms of the GNU General Public License
+* as published by the Free Software Foundation; either version 2
+* of the License, or (at your option) any later version.
+*
+* This program is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+* GNU General Public License for more details.
+*
+* You should have received a copy of the GNU General Public License
+* along with this program; if not, see http://www.gnu.org/licenses/
+*
+*
+* JUnit for splittable random stream
+*
+*/
+public class RandomStreamTest {
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testDistribution() {
+    RandomStream stream = new RandomStream(1234);
+    int max = 10;
+    int loop = 100000;
+    int[] scores = new int[max];
+    for (int i = 0; i < loop; i++) {
+      int index = stream.getRandom(max - 1);
+      scores[index]++;
+    }
+    int maxDeviation = loop * 100 / 90 / max;
+    for (int i = 0; i < max; i++) {
+      assertTrue(Math.abs(scores[i] - loop / max) <= maxDeviation);
+    }
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testRange() {
+    RandomStream stream = new RandomStream(5);
+    for (int i = 0; i < 1000; i++) {
+      int value = stream.getRandom(-3, 3);
+      assertTrue(value >= -3 && value <= 3);
+    }
+    assertEquals(0, stream.getRandom(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testNegative() {
+    RandomStream stream = new RandomStream(5);
+    stream.getRandom(-1);
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testSplit() {
+    RandomStream stream = new RandomStream(77);
+    RandomStream child = stream.split(3);
+    // Taking values does not change child streams
+    stream.nextLong();
+    stream.nextLong();
+    assertEquals(child.getSeed(), stream.split(3).getSeed());
+    assertNotEquals(child.getSeed(), stream.split(4).getSeed());
+    RandomStream copy = new RandomStream(child.getSeed());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(copy.nextLong(), child.nextLong());
+    }
+  }
+
+}
@@ -1,5 +1,12 @@
 package org.openRealmOfStars.utilities.repository;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.openRealmOfStars.starMap.StarMap;
@@ -63,4 +70,40 @@ public class GameRepositoryTest {
     assertEquals(2, starMap.getHistory().getByIndex(40).getNumberOfEvents());
   }
 
+  @Test
+  @Category(org.openRealmOfStars.BehaviourTest.class)
+  public void testSavingAndLoadingSectionedGame() throws IOException {
+    GameRepository repository = new GameRepository();
+    StarMap starMap = repository.loadGame("src/test/resources/saves",
+                                          "testStats.save");
+    File folder = Files.createTempDirectory("oros-saves").toFile();
+    File file = new File(folder, "sections.save");
+    try {
+      try (DataOutputStream dos = new DataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(file)))) {
+        starMap.saveGame(dos);
+      }
+      assertTrue(file.length()
+          < new File("src/test/resources/saves/testStats.save").length() / 2);
+      starMap = repository.loadGame(folder.getPath(), "sections.save");
+      assertNotNull(starMap);
+      assertEquals("Hiearchy of Centaurs",
+          starMap.getPlayerByIndex(0).getEmpireName());
+      assertEquals(199, starMap.getTurn());
+      assertEquals(75, starMap.getMaxX());
+      assertEquals(75, starMap.getMaxY());
+      int[][] data = starMap.getNewsCorpData().getMilitary().getGalaxyData();
+      assertEquals(6, data[3][1]);
+      assertEquals(13, data[4][1]);
+      assertEquals(2, starMap.getHistory().getByIndex(40)
+          .getNumberOfEvents());
+      assertEquals(repository.loadGame("src/test/resources/saves",
+          "testStats.save").getPlanetList().size(),
+          starMap.getPlanetList().size());
+    } finally {
+      file.delete();
+      folder.delete();
+    }
+  }
+
 }
@@ -0,0 +1,119 @@
+package org.openRealmOfStars.utilities.repository;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * Open Realm of Stars game project
+ * Copyright (C) 2022 Tuomo Untinen
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Test for SaveSectionWriter and SaveSectionReader
+ *
+ */
+public class SaveSectionWriterTest {
+
+  /**
+   * Write three sections, second one is compressed grid.
+   * @return Written bytes
+   * @throws IOException if writing fails
+   */
+  private static byte[] writeSections() throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    DataOutputStream dos = new DataOutputStream(buffer);
+    SaveSectionWriter writer = new SaveSectionWriter(dos);
+    DataOutputStream section = writer.beginSection(1, false);
+    section.writeInt(42);
+    writer.endSection();
+    section = writer.beginSection(2, true);
+    for (int i = 0; i < 256 * 256; i++) {
+      section.writeByte(i / 4096);
+    }
+    writer.endSection();
+    section = writer.beginSection(3, false);
+    section.writeInt(7);
+    writer.endSection();
+    writer.finish();
+    return buffer.toByteArray();
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testWriteAndRead() throws IOException {
+    byte[] data = writeSections();
+    assertTrue(data.length < 1024);
+    SaveSectionReader reader = new SaveSectionReader(new DataInputStream(
+        new ByteArrayInputStream(data)));
+    assertEquals(42, reader.readSection(1).readInt());
+    DataInputStream section = reader.readSection(2);
+    for (int i = 0; i < 256 * 256; i++) {
+      assertEquals(i / 4096, section.readByte());
+    }
+    assertEquals(-1, section.read());
+    assertEquals(7, reader.readSection(3).readInt());
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testUnknownSectionIsSkipped() throws IOException {
+    SaveSectionReader reader = new SaveSectionReader(new DataInputStream(
+        new ByteArrayInputStream(writeSections())));
+    assertEquals(7, reader.readSection(3).readInt());
+  }
+
+  @Test(expected = IOException.class)
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testMissingSection() throws IOException {
+    SaveSectionReader reader = new SaveSectionReader(new DataInputStream(
+        new ByteArrayInputStream(writeSections())));
+    reader.readSection(4);
+  }
+
+  @Test(expected = IOException.class)
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testSectionAlreadyOpen() throws IOException {
+    SaveSectionWriter writer = new SaveSectionWriter(new DataOutputStream(
+        new ByteArrayOutputStream()));
+    writer.beginSection(1, false);
+    writer.beginSection(2, false);
+  }
+
+  @Test
+  @Category(org.openRealmOfStars.UnitTest.class)
+  public void testFinishWithOpenSection() throws IOException {
+    SaveSectionWriter writer = new SaveSectionWriter(new DataOutputStream(
+        new ByteArrayOutputStream()));
+    writer.beginSection(1, true);
+    try {
+      writer.finish();
+      fail("Finish should fail when section is open");
+    } catch (IOException e) {
+      // Expected, deflater has been released already
+    }
+    // Closing again does nothing
+    writer.close();
+  }
+
+}